@@ -1,27 +1,119 @@
 package com.batallanaval.batallanaval;
 
+import com.batallanaval.batallanaval.controller.JuegoController;
+import com.batallanaval.batallanaval.metricas.RegistroMetricas;
+import com.batallanaval.batallanaval.utils.Bitacora;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Aplicación JavaFX con arranque por etapas, pensado para arranques en frío:
+ *
+ * 1. La ventana se muestra de inmediato con una escena mínima ("Cargando...").
+ * 2. JuegoView1.fxml se carga en segundo plano (el controlador construye el
+ *    modelo, lee el conocimiento de la IA y arma el tablero propio); los
+ *    nodos se pueden crear fuera del hilo de JavaFX mientras no estén en
+ *    una escena visible.
+ * 3. Ya en pantalla, el controlador termina lo que no hace falta para colocar
+ *    barcos (tablero enemigo, coordenadas) en JuegoController.completarArranque().
+ *
+ * Los tiempos hasta el primer cuadro y hasta la interfaz completa se miden
+ * desde el inicio de la JVM y se publican en RegistroMetricas. Con
+ * -Dbatallanaval.arranque.medir=true la aplicación los imprime y se cierra
+ * al terminar el arranque (para medir arranques en frío).
+ *
+ * @version 1.0
+ */
 public class BatallaNavalApp extends Application {
-    @Override
-    public void start(Stage stage) throws Exception {
-        // Cargar JuegoView.fxml (el juego completo)
-        FXMLLoader loader = new FXMLLoader(
-                getClass().getResource("/com/batallanaval/batallanaval/view/JuegoView1.fxml")
-        );
+    private static final Bitacora LOG = Bitacora.para(BatallaNavalApp.class);
+
+    private static final String VISTA = "/com/batallanaval/batallanaval/view/JuegoView1.fxml";
+    private static final double ANCHO = 940;
+    private static final double ALTO = 680;
 
-        Scene scene = new Scene(loader.load());
+    @Override
+    public void start(Stage stage) {
+        // Etapa 1: ventana mínima en pantalla
+        Label cargando = new Label("⚓ Cargando Batalla Naval...");
+        cargando.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
+        Scene scene = new Scene(new StackPane(cargando), ANCHO, ALTO);
         stage.setTitle("Batalla Naval");
         stage.setScene(scene);
         stage.getIcons().add(new javafx.scene.image.Image(
                 Objects.requireNonNull(getClass().getResource("/com/batallanaval/batallanaval/view/buque-de-guerra.png")).toExternalForm()));
+        alPrimerCuadro(scene, () -> RegistroMetricas.global().registrarPrimerCuadro(millisDesdeJvm()));
         stage.show();
 
-        System.out.println("✅ Aplicación iniciada con JuegoView1.fxml");
+        // Etapa 2: vista del juego en segundo plano
+        CompletableFuture.supplyAsync(this::cargarVista)
+                .whenComplete((loader, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        LOG.error("No se pudo cargar la vista: " + error.getMessage());
+                        cargando.setText("❌ No se pudo cargar el juego");
+                        return;
+                    }
+                    scene.setRoot(loader.<Parent>getRoot());
+                    stage.sizeToScene();
+
+                    // Etapa 3: lo que no hace falta para el primer vistazo, ya con la vista en pantalla
+                    alPrimerCuadro(scene, () -> {
+                        loader.<JuegoController>getController().completarArranque();
+                        alPrimerCuadro(scene, this::arranqueCompleto);
+                    });
+                    System.out.println("✅ Aplicación iniciada con JuegoView1.fxml");
+                }));
+    }
+
+    private FXMLLoader cargarVista() {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(VISTA));
+        try {
+            loader.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return loader;
+    }
+
+    private void arranqueCompleto() {
+        RegistroMetricas metricas = RegistroMetricas.global();
+        metricas.registrarInterfazLista(millisDesdeJvm());
+        LOG.info("🖼️ Primer cuadro a los " + metricas.getPrimerCuadroMillis()
+                + " ms; interfaz completa a los " + metricas.getInterfazListaMillis() + " ms");
+        if (Boolean.getBoolean("batallanaval.arranque.medir")) {
+            System.out.println("primer_cuadro_ms=" + metricas.getPrimerCuadroMillis()
+                    + " interfaz_lista_ms=" + metricas.getInterfazListaMillis());
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Ejecuta 'accion' una sola vez, después del próximo pulso de la escena
+     * (cuando el cuadro ya se armó para pintarse).
+     */
+    private static void alPrimerCuadro(Scene scene, Runnable accion) {
+        Runnable[] oyente = new Runnable[1];
+        oyente[0] = () -> {
+            scene.removePostLayoutPulseListener(oyente[0]);
+            // Fuera del pulso: la acción puede modificar la escena
+            Platform.runLater(accion);
+        };
+        scene.addPostLayoutPulseListener(oyente[0]);
+        Platform.requestNextPulse();
+    }
+
+    private static long millisDesdeJvm() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
     }
-}
\ No newline at end of file
+}
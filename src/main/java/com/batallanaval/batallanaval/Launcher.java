@@ -1,9 +1,26 @@
 package com.batallanaval.batallanaval;
 
+import com.batallanaval.batallanaval.metricas.EntrenamientoArranque;
+import com.batallanaval.batallanaval.utils.ConfiguracionViva;
 import javafx.application.Application;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 public class Launcher {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // --entrenamiento: partida sin interfaz para el archivo AppCDS (fuera del directorio
+        // de juegos del usuario) y, si hay pantalla, un arranque de la interfaz que se cierra solo
+        if (Arrays.asList(args).contains("--entrenamiento")) {
+            EntrenamientoArranque.ejecutarAislado();
+            if (!EntrenamientoArranque.debeAbrirInterfaz()) {
+                return;
+            }
+            System.setProperty("batallanaval.arranque.medir", "true");
+        }
+
+        // El modo de renderizado solo se puede elegir antes de arrancar JavaFX
+        ConfiguracionViva.global().actual().renderizado().aplicar();
         Application.launch(BatallaNavalApp.class, args);
     }
 }
@@ -0,0 +1,320 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Acumulador de estadísticas de partidas archivadas.
+ *
+ * Su tamaño no depende de cuántas partidas procese: contadores por lado
+ * (humano / máquina), un histograma de disparos para ganar, mapas de calor de
+ * 100 casillas y una tabla por jugador con tope de MAX_JUGADORES entradas (los
+ * que no entran se suman en OTROS). Es mutable y se combina con otros, como
+ * pide Stream.collect en paralelo: cada hilo acumula sus archivos y al final se
+ * suman los acumuladores.
+ *
+ * @version 1.0
+ */
+public final class AcumuladorAnalitica {
+
+    public static final int LADO_HUMANO = 0;
+    public static final int LADO_MAQUINA = 1;
+    public static final int MAX_JUGADORES = 512;
+    public static final String OTROS = "(otros)";
+
+    // Columnas de la tabla por jugador
+    static final int PARTIDAS = 0;
+    static final int VICTORIAS = 1;
+    static final int DISPAROS = 2;
+    static final int ACIERTOS = 3;
+    private static final int COLUMNAS_JUGADOR = 4;
+
+    private static final int MAX_DISPAROS = MascaraCeldas.CELDAS; // Nadie dispara dos veces a la misma casilla
+
+    private long partidas;
+    private long partidasSinHistorial;
+    private long juegosIgnorados;
+
+    private final long[] disparos = new long[2];
+    private final long[] aciertos = new long[2];
+    private final long[] victorias = new long[2];
+    private final int[][] disparosParaGanar = new int[2][MAX_DISPAROS + 1];
+    private final int[][] mapaDisparos = new int[2][MascaraCeldas.CELDAS];
+    private final int[][] mapaAciertos = new int[2][MascaraCeldas.CELDAS];
+    private final Map<String, long[]> jugadores = new HashMap<>();
+
+    // ========== ACUMULACIÓN ==========
+
+    /**
+     * Suma una partida archivada. Las partidas sin historial de movimientos
+     * (guardadas antes de que existiera) solo se cuentan.
+     *
+     * @param juego Juego guardado
+     */
+    public void agregar(ArchivoManager.EstadoJuego juego) {
+        partidas++;
+        if (juego.movimientosOVacio().isEmpty()) {
+            partidasSinHistorial++;
+            return;
+        }
+
+        int[] disparosPartida = new int[2];
+        int[] aciertosPartida = new int[2];
+        int[] hundidosPartida = new int[2];
+        for (Movimiento movimiento : juego.movimientosOVacio()) {
+            int lado = movimiento.isTurnoJugador() ? LADO_HUMANO : LADO_MAQUINA;
+            int celda = MascaraCeldas.indice(movimiento.getFila(), movimiento.getColumna());
+            disparosPartida[lado]++;
+            mapaDisparos[lado][celda]++;
+            if (movimiento.fueExitoso()) {
+                aciertosPartida[lado]++;
+                mapaAciertos[lado][celda]++;
+            }
+            if (movimiento.getResultado() == Movimiento.TipoResultado.HUNDIDO) {
+                hundidosPartida[lado]++;
+            }
+        }
+        for (int lado = 0; lado < 2; lado++) {
+            disparos[lado] += disparosPartida[lado];
+            aciertos[lado] += aciertosPartida[lado];
+        }
+
+        // Gana quien hundió toda la flota rival
+        int ganador = -1;
+        if (hundidosPartida[LADO_HUMANO] >= tamanioFlota(juego.jugadorMaquina())) {
+            ganador = LADO_HUMANO;
+        } else if (hundidosPartida[LADO_MAQUINA] >= tamanioFlota(juego.jugadorHumano())) {
+            ganador = LADO_MAQUINA;
+        }
+        if (ganador >= 0) {
+            victorias[ganador]++;
+            disparosParaGanar[ganador][Math.min(disparosPartida[ganador], MAX_DISPAROS)]++;
+        }
+
+        sumarJugador(nombre(juego.jugadorHumano(), "Humano"), ganador == LADO_HUMANO,
+                disparosPartida[LADO_HUMANO], aciertosPartida[LADO_HUMANO]);
+        sumarJugador(nombre(juego.jugadorMaquina(), "Máquina"), ganador == LADO_MAQUINA,
+                disparosPartida[LADO_MAQUINA], aciertosPartida[LADO_MAQUINA]);
+    }
+
+    /**
+     * Cuenta un juego que no se pudo leer.
+     */
+    public void ignorar() {
+        juegosIgnorados++;
+    }
+
+    /**
+     * Suma otro acumulador a este.
+     *
+     * @param otro Acumulador a sumar (no se modifica)
+     */
+    public void combinar(AcumuladorAnalitica otro) {
+        partidas += otro.partidas;
+        partidasSinHistorial += otro.partidasSinHistorial;
+        juegosIgnorados += otro.juegosIgnorados;
+        for (int lado = 0; lado < 2; lado++) {
+            disparos[lado] += otro.disparos[lado];
+            aciertos[lado] += otro.aciertos[lado];
+            victorias[lado] += otro.victorias[lado];
+            sumar(disparosParaGanar[lado], otro.disparosParaGanar[lado]);
+            sumar(mapaDisparos[lado], otro.mapaDisparos[lado]);
+            sumar(mapaAciertos[lado], otro.mapaAciertos[lado]);
+        }
+        for (Map.Entry<String, long[]> entrada : otro.jugadores.entrySet()) {
+            long[] fila = filaJugador(entrada.getKey());
+            for (int i = 0; i < COLUMNAS_JUGADOR; i++) {
+                fila[i] += entrada.getValue()[i];
+            }
+        }
+    }
+
+    private void sumarJugador(String nombre, boolean gano, int disparosJugador, int aciertosJugador) {
+        long[] fila = filaJugador(nombre);
+        fila[PARTIDAS]++;
+        fila[VICTORIAS] += gano ? 1 : 0;
+        fila[DISPAROS] += disparosJugador;
+        fila[ACIERTOS] += aciertosJugador;
+    }
+
+    /**
+     * Fila del jugador; si la tabla está llena y el jugador es nuevo, la de OTROS.
+     */
+    private long[] filaJugador(String nombre) {
+        long[] fila = jugadores.get(nombre);
+        if (fila == null) {
+            String clave = jugadores.size() < MAX_JUGADORES - 1 ? nombre : OTROS;
+            fila = jugadores.computeIfAbsent(clave, k -> new long[COLUMNAS_JUGADOR]);
+        }
+        return fila;
+    }
+
+    private static int tamanioFlota(Jugador jugador) {
+        return jugador == null ? Integer.MAX_VALUE : jugador.getBarcos().size();
+    }
+
+    private static String nombre(Jugador jugador, String porDefecto) {
+        return jugador == null || jugador.getNickname() == null ? porDefecto : jugador.getNickname();
+    }
+
+    private static void sumar(int[] destino, int[] origen) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origen[i];
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public long getPartidas() {
+        return partidas;
+    }
+
+    public long getPartidasSinHistorial() {
+        return partidasSinHistorial;
+    }
+
+    public long getJuegosIgnorados() {
+        return juegosIgnorados;
+    }
+
+    public long getDisparos(int lado) {
+        return disparos[lado];
+    }
+
+    public long getAciertos(int lado) {
+        return aciertos[lado];
+    }
+
+    public long getVictorias(int lado) {
+        return victorias[lado];
+    }
+
+    /**
+     * @return Fracción de disparos que tocaron o hundieron (0 si no hay disparos)
+     */
+    public double getTasaAciertos(int lado) {
+        return disparos[lado] == 0 ? 0 : (double) aciertos[lado] / disparos[lado];
+    }
+
+    /**
+     * @return Disparos medios que necesitó el lado en las partidas que ganó
+     */
+    public double getMediaDisparosParaGanar(int lado) {
+        long suma = 0;
+        for (int n = 0; n < disparosParaGanar[lado].length; n++) {
+            suma += (long) n * disparosParaGanar[lado][n];
+        }
+        return victorias[lado] == 0 ? 0 : (double) suma / victorias[lado];
+    }
+
+    /**
+     * @param lado LADO_HUMANO o LADO_MAQUINA
+     * @param percentil Entre 0 y 1 (0.5 = mediana)
+     * @return Disparos para ganar en ese percentil (0 si el lado nunca ganó)
+     */
+    public int getPercentilDisparosParaGanar(int lado, double percentil) {
+        long objetivo = (long) Math.ceil(percentil * victorias[lado]);
+        long acumulado = 0;
+        for (int n = 0; n < disparosParaGanar[lado].length; n++) {
+            acumulado += disparosParaGanar[lado][n];
+            if (acumulado >= Math.max(1, objetivo)) {
+                return n;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Partidas ganadas por el lado con exactamente n disparos
+     */
+    public int getDisparosParaGanar(int lado, int n) {
+        return disparosParaGanar[lado][n];
+    }
+
+    public int getMapaDisparos(int lado, int celda) {
+        return mapaDisparos[lado][celda];
+    }
+
+    public int getMapaAciertos(int lado, int celda) {
+        return mapaAciertos[lado][celda];
+    }
+
+    /**
+     * @return Tabla por jugador (nombre → partidas, victorias, disparos, aciertos); no modificar
+     */
+    Map<String, long[]> getJugadores() {
+        return jugadores;
+    }
+
+    // ========== FORMATO BINARIO ==========
+
+    void escribir(DataOutputStream salida) throws IOException {
+        salida.writeLong(partidas);
+        salida.writeLong(partidasSinHistorial);
+        salida.writeLong(juegosIgnorados);
+        for (int lado = 0; lado < 2; lado++) {
+            salida.writeLong(disparos[lado]);
+            salida.writeLong(aciertos[lado]);
+            salida.writeLong(victorias[lado]);
+            escribir(salida, disparosParaGanar[lado]);
+            escribir(salida, mapaDisparos[lado]);
+            escribir(salida, mapaAciertos[lado]);
+        }
+        salida.writeInt(jugadores.size());
+        for (Map.Entry<String, long[]> entrada : jugadores.entrySet()) {
+            salida.writeUTF(entrada.getKey());
+            for (long valor : entrada.getValue()) {
+                salida.writeLong(valor);
+            }
+        }
+    }
+
+    static AcumuladorAnalitica leer(DataInputStream entrada) throws IOException {
+        AcumuladorAnalitica acumulador = new AcumuladorAnalitica();
+        acumulador.partidas = entrada.readLong();
+        acumulador.partidasSinHistorial = entrada.readLong();
+        acumulador.juegosIgnorados = entrada.readLong();
+        for (int lado = 0; lado < 2; lado++) {
+            acumulador.disparos[lado] = entrada.readLong();
+            acumulador.aciertos[lado] = entrada.readLong();
+            acumulador.victorias[lado] = entrada.readLong();
+            leer(entrada, acumulador.disparosParaGanar[lado]);
+            leer(entrada, acumulador.mapaDisparos[lado]);
+            leer(entrada, acumulador.mapaAciertos[lado]);
+        }
+        int cantidad = entrada.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            long[] fila = acumulador.filaJugador(entrada.readUTF());
+            for (int columna = 0; columna < COLUMNAS_JUGADOR; columna++) {
+                fila[columna] += entrada.readLong();
+            }
+        }
+        return acumulador;
+    }
+
+    private static void escribir(DataOutputStream salida, int[] valores) throws IOException {
+        for (int valor : valores) {
+            salida.writeInt(valor);
+        }
+    }
+
+    private static void leer(DataInputStream entrada, int[] valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = entrada.readInt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AcumuladorAnalitica{partidas=%d, aciertosHumano=%.1f%%, aciertosMaquina=%.1f%%, jugadores=%d}",
+                partidas, getTasaAciertos(LADO_HUMANO) * 100, getTasaAciertos(LADO_MAQUINA) * 100, jugadores.size());
+    }
+}
@@ -0,0 +1,262 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+import com.batallanaval.batallanaval.utils.MarcaAguaJuegos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Proceso de analítica sobre los juegos archivados (juego_*.ser): tasa de
+ * aciertos por jugador, distribución de disparos para ganar, mapas de calor
+ * por casilla y comparación humano / máquina.
+ *
+ * Es incremental como el libro de aperturas: el estado acumulado se guarda en
+ * ARCHIVO junto a una marca de agua (MarcaAguaJuegos) y cada ejecución solo
+ * lee los juegos que la marca todavía no incluye. Los juegos nuevos se procesan con un stream paralelo;
+ * cada hilo tiene en memoria un juego a la vez y un AcumuladorAnalitica de
+ * tamaño fijo, así que la memoria no crece con la cantidad de partidas.
+ *
+ * Además del estado binario se escribe ARCHIVO_RESUMEN, un texto corto con
+ * las cifras agregadas.
+ *
+ * @version 1.0
+ */
+public final class AnaliticaPartidas {
+    private static final Bitacora LOG = Bitacora.para(AnaliticaPartidas.class);
+
+    public static final String ARCHIVO = "analitica.bin";
+    public static final String ARCHIVO_RESUMEN = "analitica_resumen.txt";
+
+    private static final int MAGICO = 0x424E414E; // "BNAN"
+    private static final int VERSION = 2;
+
+    private static final String[] NOMBRES_LADO = {"humano", "maquina"};
+
+    private final AcumuladorAnalitica acumulador;
+    private final MarcaAguaJuegos marcaAgua;
+
+    private AnaliticaPartidas(AcumuladorAnalitica acumulador, MarcaAguaJuegos marcaAgua) {
+        this.acumulador = acumulador;
+        this.marcaAgua = marcaAgua;
+    }
+
+    public static AnaliticaPartidas vacia() {
+        return new AnaliticaPartidas(new AcumuladorAnalitica(), MarcaAguaJuegos.VACIA);
+    }
+
+    // ========== PROCESO INCREMENTAL ==========
+
+    /**
+     * Procesa los juegos archivados que la marca de agua no incluye y devuelve la
+     * analítica ampliada (esta no se modifica). Si hubo juegos nuevos se guardan
+     * el estado y el resumen en el directorio de juegos.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @return Analítica actualizada (la misma si no había juegos nuevos)
+     */
+    public AnaliticaPartidas actualizar(ArchivoManager archivoManager) {
+        List<Path> juegos;
+        try {
+            juegos = archivoManager.listarJuegosGuardados();
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudieron listar los juegos: " + e.getMessage());
+            return this;
+        }
+
+        MarcaAguaJuegos.Lote lote = marcaAgua.nuevos(juegos);
+        if (lote.estaVacio()) {
+            return this;
+        }
+        List<Path> nuevos = lote.juegos();
+
+        long inicio = System.nanoTime();
+        AcumuladorAnalitica parcial = nuevos.parallelStream().collect(
+                AcumuladorAnalitica::new,
+                (acumuladorHilo, ruta) -> procesar(archivoManager, ruta, acumuladorHilo),
+                AcumuladorAnalitica::combinar);
+
+        AcumuladorAnalitica total = new AcumuladorAnalitica();
+        total.combinar(acumulador);
+        total.combinar(parcial);
+        AnaliticaPartidas actualizada = new AnaliticaPartidas(total, lote.siguiente());
+
+        try {
+            actualizada.guardar(archivoManager.getDirectorio());
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo guardar la analítica: " + e.getMessage());
+        }
+        LOG.info("📈 Analítica: " + nuevos.size() + " juegos nuevos en "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms, " + total);
+        return actualizada;
+    }
+
+    private static void procesar(ArchivoManager archivoManager, Path ruta, AcumuladorAnalitica acumulador) {
+        try {
+            acumulador.agregar(archivoManager.cargarJuego(ruta));
+        } catch (JuegoGuardadoException e) {
+            acumulador.ignorar();
+            LOG.advertencia("Juego ignorado por la analítica: " + ruta.getFileName());
+        }
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Carga la analítica acumulada (vacía si no existe o está dañada).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @return Analítica cargada
+     */
+    public static AnaliticaPartidas cargar(Path directorio) {
+        Path ruta = directorio.resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return vacia();
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Analítica con formato desconocido: " + ruta);
+                return vacia();
+            }
+            MarcaAguaJuegos marcaAgua = MarcaAguaJuegos.leer(entrada);
+            return new AnaliticaPartidas(AcumuladorAnalitica.leer(entrada), marcaAgua);
+
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo leer la analítica: " + e.getMessage());
+            return vacia();
+        }
+    }
+
+    /**
+     * Guarda el estado binario y el resumen de texto (temporal + reemplazo).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            marcaAgua.escribir(salida);
+            acumulador.escribir(salida);
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+
+        Path temporalResumen = directorio.resolve(ARCHIVO_RESUMEN + ".tmp");
+        try (BufferedWriter salida = Files.newBufferedWriter(temporalResumen, StandardCharsets.UTF_8)) {
+            escribirResumen(salida);
+        }
+        Files.move(temporalResumen, directorio.resolve(ARCHIVO_RESUMEN), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Resumen en texto: una sección por tabla, valores separados por comas y
+     * mapas de calor en una sola línea de 100 valores.
+     */
+    private void escribirResumen(Appendable salida) throws IOException {
+        salida.append("# Analítica de Batalla Naval - ")
+                .append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .append('\n')
+                .append(String.format("partidas,%d,sin_historial,%d,ignoradas,%d%n",
+                        acumulador.getPartidas(), acumulador.getPartidasSinHistorial(),
+                        acumulador.getJuegosIgnorados()));
+
+        salida.append("\n[lados]\nlado,disparos,aciertos,tasa_aciertos,victorias,media_para_ganar,mediana_para_ganar,p90_para_ganar\n");
+        for (int lado = 0; lado < 2; lado++) {
+            salida.append(String.format(Locale.ROOT, "%s,%d,%d,%.4f,%d,%.2f,%d,%d%n",
+                    NOMBRES_LADO[lado], acumulador.getDisparos(lado), acumulador.getAciertos(lado),
+                    acumulador.getTasaAciertos(lado), acumulador.getVictorias(lado),
+                    acumulador.getMediaDisparosParaGanar(lado),
+                    acumulador.getPercentilDisparosParaGanar(lado, 0.5),
+                    acumulador.getPercentilDisparosParaGanar(lado, 0.9)));
+        }
+
+        salida.append("\n[jugadores]\njugador,partidas,victorias,disparos,aciertos,tasa_aciertos\n");
+        for (Map.Entry<String, long[]> entrada : acumulador.getJugadores().entrySet()) {
+            long[] fila = entrada.getValue();
+            long disparos = fila[AcumuladorAnalitica.DISPAROS];
+            salida.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.4f%n",
+                    entrada.getKey().replace(',', ' '), fila[AcumuladorAnalitica.PARTIDAS],
+                    fila[AcumuladorAnalitica.VICTORIAS], disparos, fila[AcumuladorAnalitica.ACIERTOS],
+                    disparos == 0 ? 0.0 : (double) fila[AcumuladorAnalitica.ACIERTOS] / disparos));
+        }
+
+        salida.append("\n[mapas] (100 casillas por fila, A1..J10 por filas)\n");
+        for (int lado = 0; lado < 2; lado++) {
+            salida.append("disparos_").append(NOMBRES_LADO[lado]);
+            for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+                salida.append(',').append(Integer.toString(acumulador.getMapaDisparos(lado, celda)));
+            }
+            salida.append('\n').append("aciertos_").append(NOMBRES_LADO[lado]);
+            for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+                salida.append(',').append(Integer.toString(acumulador.getMapaAciertos(lado, celda)));
+            }
+            salida.append('\n');
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public AcumuladorAnalitica getAcumulador() {
+        return acumulador;
+    }
+
+    public MarcaAguaJuegos getMarcaAgua() {
+        return marcaAgua;
+    }
+
+    /**
+     * @return Comparación humano / máquina en tres líneas, para mostrar al jugador
+     */
+    public String resumenComparado() {
+        return String.format("Partidas analizadas: %d%n"
+                        + "Humano: %.1f%% de aciertos, %d victorias, %.1f disparos para ganar%n"
+                        + "Máquina: %.1f%% de aciertos, %d victorias, %.1f disparos para ganar",
+                acumulador.getPartidas(),
+                acumulador.getTasaAciertos(AcumuladorAnalitica.LADO_HUMANO) * 100,
+                acumulador.getVictorias(AcumuladorAnalitica.LADO_HUMANO),
+                acumulador.getMediaDisparosParaGanar(AcumuladorAnalitica.LADO_HUMANO),
+                acumulador.getTasaAciertos(AcumuladorAnalitica.LADO_MAQUINA) * 100,
+                acumulador.getVictorias(AcumuladorAnalitica.LADO_MAQUINA),
+                acumulador.getMediaDisparosParaGanar(AcumuladorAnalitica.LADO_MAQUINA));
+    }
+
+    // ========== HERRAMIENTA DE LÍNEA DE COMANDOS ==========
+
+    /**
+     * Actualiza la analítica con los juegos nuevos del directorio de juegos.
+     * Uso: AnaliticaPartidas [--desde-cero]
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) {
+        boolean desdeCero = args.length > 0 && args[0].equals("--desde-cero");
+        AnaliticaPartidas base = desdeCero ? vacia() : cargar(ArchivoManager.getDirectorioJuegos());
+        AnaliticaPartidas actualizada = base.actualizar(new ArchivoManager());
+        System.out.println(actualizada.resumenComparado());
+        System.out.println("✅ Resumen en " + ArchivoManager.getDirectorioJuegos()
+                .resolve(ARCHIVO_RESUMEN).toAbsolutePath());
+    }
+}
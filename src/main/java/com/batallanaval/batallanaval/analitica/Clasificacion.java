@@ -0,0 +1,255 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.datastructures.ArbolEstadistico;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tabla de clasificación de jugadores, mantenida partida a partida.
+ *
+ * Cada criterio (victorias, porcentaje de victorias, menos disparos para
+ * ganar) tiene su propio ArbolEstadistico con las entradas ordenadas, así que
+ * registrar una partida, pedir la posición de un jugador o los k primeros
+ * cuesta O(log n) (más k) en lugar de reordenar todas las estadísticas.
+ * Al registrar una partida se quita la entrada vieja de cada árbol y se
+ * inserta la nueva.
+ *
+ * Las máquinas aparecen con la misma clave que en MotorRatings. Se guarda en
+ * ARCHIVO; si no existe se reconstruye leyendo en paralelo los juegos archivados.
+ *
+ * @version 1.0
+ */
+public final class Clasificacion {
+    private static final Bitacora LOG = Bitacora.para(Clasificacion.class);
+
+    public static final String ARCHIVO = "clasificacion.bin";
+
+    private static final int MAGICO = 0x424E434C; // "BNCL"
+    private static final int VERSION = 1;
+
+    /**
+     * Fila de la clasificación; inmutable.
+     *
+     * @param jugador Clave del jugador
+     * @param partidas Partidas terminadas
+     * @param victorias Partidas ganadas
+     * @param menosDisparos Menos disparos con que ganó (0 = sin dato)
+     */
+    public record Entrada(String jugador, int partidas, int victorias, int menosDisparos) {
+
+        public double tasaVictorias() {
+            return partidas == 0 ? 0 : (double) victorias / partidas;
+        }
+
+        Entrada conPartida(boolean gano, int disparos) {
+            int mejor = menosDisparos;
+            if (gano && disparos > 0 && (mejor == 0 || disparos < mejor)) {
+                mejor = disparos;
+            }
+            return new Entrada(jugador, partidas + 1, victorias + (gano ? 1 : 0), mejor);
+        }
+    }
+
+    public enum Criterio {
+        VICTORIAS("Victorias", Comparator.comparingInt(Entrada::victorias).reversed()),
+        TASA_VICTORIAS("% de victorias", Comparator.comparingDouble(Entrada::tasaVictorias).reversed()
+                .thenComparing(Comparator.comparingInt(Entrada::partidas).reversed())),
+        MENOS_DISPAROS("Menos disparos para ganar", Comparator.comparingInt(Entrada::menosDisparos));
+
+        private final String titulo;
+        private final Comparator<Entrada> orden;
+
+        Criterio(String titulo, Comparator<Entrada> orden) {
+            this.titulo = titulo;
+            this.orden = orden.thenComparing(Entrada::jugador); // Desempate: ninguna entrada es igual a otra
+        }
+
+        public String getTitulo() {
+            return titulo;
+        }
+
+        /**
+         * Solo clasifican por menos disparos quienes ganaron alguna partida con dato.
+         */
+        boolean incluye(Entrada entrada) {
+            return this != MENOS_DISPAROS || entrada.menosDisparos() > 0;
+        }
+    }
+
+    private final Map<String, Entrada> entradas = new HashMap<>();
+    private final Map<Criterio, ArbolEstadistico<Entrada>> arboles = new EnumMap<>(Criterio.class);
+
+    public Clasificacion() {
+        for (Criterio criterio : Criterio.values()) {
+            arboles.put(criterio, new ArbolEstadistico<>(criterio.orden));
+        }
+    }
+
+    // ========== ACTUALIZACIÓN ==========
+
+    /**
+     * Suma una partida terminada.
+     *
+     * @param ganador Clave del ganador
+     * @param perdedor Clave del perdedor
+     * @param disparosGanador Disparos con que ganó (0 si no se sabe)
+     */
+    public synchronized void registrarPartida(String ganador, String perdedor, int disparosGanador) {
+        sumar(ganador, true, disparosGanador);
+        sumar(perdedor, false, 0);
+    }
+
+    private void sumar(String jugador, boolean gano, int disparos) {
+        Entrada vieja = entradas.get(jugador);
+        Entrada nueva = (vieja == null ? new Entrada(jugador, 0, 0, 0) : vieja).conPartida(gano, disparos);
+        reemplazar(vieja, nueva);
+    }
+
+    private void reemplazar(Entrada vieja, Entrada nueva) {
+        for (Criterio criterio : Criterio.values()) {
+            ArbolEstadistico<Entrada> arbol = arboles.get(criterio);
+            if (vieja != null && criterio.incluye(vieja)) {
+                arbol.eliminar(vieja);
+            }
+            if (criterio.incluye(nueva)) {
+                arbol.insertar(nueva);
+            }
+        }
+        entradas.put(nueva.jugador(), nueva);
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * @return Los k primeros según el criterio
+     */
+    public synchronized List<Entrada> primeros(Criterio criterio, int k) {
+        return arboles.get(criterio).primeros(k);
+    }
+
+    /**
+     * @return Posición del jugador desde 1, o -1 si no clasifica en ese criterio
+     */
+    public synchronized int posicion(Criterio criterio, String jugador) {
+        Entrada entrada = entradas.get(jugador);
+        if (entrada == null || !criterio.incluye(entrada)) {
+            return -1;
+        }
+        return arboles.get(criterio).posicion(entrada) + 1;
+    }
+
+    /**
+     * @return Jugadores que clasifican en el criterio
+     */
+    public synchronized int tamanio(Criterio criterio) {
+        return arboles.get(criterio).tamanio();
+    }
+
+    public synchronized Entrada obtener(String jugador) {
+        return entradas.get(jugador);
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Reconstruye la clasificación con todos los juegos archivados; se leen
+     * en paralelo y se suman en orden.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @return Clasificación reconstruida (vacía si no se pueden listar)
+     */
+    public static Clasificacion reconstruir(ArchivoManager archivoManager) {
+        Clasificacion clasificacion = new Clasificacion();
+        List<Path> juegos;
+        try {
+            juegos = archivoManager.listarJuegosGuardados();
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudieron listar los juegos: " + e.getMessage());
+            return clasificacion;
+        }
+        juegos.parallelStream()
+                .map(ruta -> ResultadoPartida.leer(archivoManager, ruta))
+                .filter(Objects::nonNull)
+                .toList()
+                .forEach(resultado -> clasificacion.registrarPartida(
+                        resultado.ganador(), resultado.perdedor(), resultado.disparosGanador()));
+        return clasificacion;
+    }
+
+    /**
+     * Carga la clasificación; si no existe, la reconstruye desde los juegos archivados.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @return Clasificación cargada
+     */
+    public static Clasificacion cargar(ArchivoManager archivoManager) {
+        Path ruta = archivoManager.getDirectorio().resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return reconstruir(archivoManager);
+        }
+        Clasificacion clasificacion = new Clasificacion();
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Clasificación con formato desconocido: " + ruta);
+                return new Clasificacion();
+            }
+            int cantidad = entrada.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                clasificacion.reemplazar(null, new Entrada(entrada.readUTF(),
+                        entrada.readInt(), entrada.readInt(), entrada.readInt()));
+            }
+            return clasificacion;
+
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo leer la clasificación: " + e.getMessage());
+            return new Clasificacion();
+        }
+    }
+
+    /**
+     * Guarda la clasificación (temporal + reemplazo).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public synchronized void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeInt(entradas.size());
+            for (Entrada entrada : entradas.values()) {
+                salida.writeUTF(entrada.jugador());
+                salida.writeInt(entrada.partidas());
+                salida.writeInt(entrada.victorias());
+                salida.writeInt(entrada.menosDisparos());
+            }
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Clasificacion{jugadores=" + entradas.size() + "}";
+    }
+}
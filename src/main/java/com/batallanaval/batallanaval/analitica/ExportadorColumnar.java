@@ -0,0 +1,424 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.datastructures.HistorialCompacto;
+import com.batallanaval.batallanaval.datastructures.PilaMovimientos;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Exporta historiales de movimientos en formato columnar (al estilo Parquet)
+ * para analítica fuera de línea.
+ *
+ * Las filas se juntan en bloques de hasta FILAS_POR_BLOQUE. En cada bloque
+ * cada columna se guarda por separado: deltas en varint zigzag comprimidos
+ * con Deflate, precedidos por el mínimo y el máximo de la columna en el
+ * bloque. Un lector que busca, por ejemplo, los disparos HUNDIDO de ciertas
+ * partidas salta sin descomprimir los bloques cuyo rango no coincide
+ * (LectorColumnar).
+ *
+ * Como el resultado tiene pocos valores, un bloque mezclado tendría casi
+ * siempre mínimo AGUA y máximo HUNDIDO y no se podría saltar: por eso se
+ * mantiene un bloque abierto por resultado y cada bloque tiene un único
+ * resultado. Dentro de un resultado las filas conservan el orden de llegada.
+ *
+ * La exportación es en streaming: las partidas se agregan de a una y los
+ * movimientos se recorren sin copiarlos (PilaMovimientos.recorrer(),
+ * HistorialCompacto por índice); en memoria solo están los bloques abiertos.
+ *
+ * Se escribe en un temporal que terminar() publica de una vez; cerrar sin
+ * terminar (o un error de escritura) lo descarta y deja el archivo anterior.
+ *
+ * Formato: MAGICO, VERSION, FILAS_POR_BLOQUE, cantidad de columnas; luego
+ * bloques (filas, y por columna mínimo, máximo y bytes comprimidos, seguidos
+ * de los datos de cada columna); termina con un bloque de 0 filas, la
+ * cantidad de partidas y la de filas.
+ *
+ * @version 1.0
+ */
+public final class ExportadorColumnar implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ExportadorColumnar.class);
+
+    public static final String ARCHIVO = "movimientos.bncol";
+    public static final int FILAS_POR_BLOQUE = 4096;
+
+    static final int MAGICO = 0x424E434C; // "BNCL"
+    static final int VERSION = 1;
+
+    /**
+     * Columnas del archivo, en el orden en que se escriben.
+     */
+    public enum Columna {
+        PARTIDA,      // Número de partida dentro de la exportación (0, 1, ...)
+        TURNO,        // Número de disparo dentro de la partida (0, 1, ...)
+        HUMANO,       // 1 si disparó el humano
+        FILA,
+        COLUMNA,
+        RESULTADO,    // Ordinal de TipoResultado
+        MARCA_MILLIS  // Instante del disparo (milisegundos de época)
+    }
+
+    static final Columna[] COLUMNAS = Columna.values();
+    private static final TipoResultado[] RESULTADOS = TipoResultado.values();
+    static final int MAX_BYTES_VARINT = 10;
+    private static final int MAX_BYTES_CRUDOS = FILAS_POR_BLOQUE * MAX_BYTES_VARINT;
+    private static final int MARGEN_DEFLATE = 64; // Cabeceras de Deflate sobre datos incompresibles
+
+    private final Path destino;
+    private final Path temporal;
+    private final DataOutputStream salida;
+    private final Bloque[] bloques = new Bloque[RESULTADOS.length];
+    private final Deflater compresor = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] crudo = new byte[MAX_BYTES_CRUDOS];
+    private final byte[][] comprimidos = new byte[COLUMNAS.length][MAX_BYTES_CRUDOS + MARGEN_DEFLATE];
+    private final int[] longitudes = new int[COLUMNAS.length];
+    private int partida = -1;
+    private int turno;
+    private long filas;
+    private int bloquesEscritos;
+    private boolean cerrado;
+    private boolean fallida; // Hubo un error de escritura: el archivo no se publica
+
+    /**
+     * Filas pendientes de un resultado, guardadas por columnas.
+     */
+    private static final class Bloque {
+        final long[][] valores = new long[COLUMNAS.length][FILAS_POR_BLOQUE];
+        int filas;
+    }
+
+    /**
+     * Abre la exportación. El archivo aparece en 'destino' recién con
+     * terminar(); si se cierra sin terminar (p. ej. por una excepción en un
+     * try-with-resources) o la escritura falla, el anterior queda intacto.
+     *
+     * @param destino Archivo a escribir
+     * @throws IOException si no se puede crear
+     */
+    public ExportadorColumnar(Path destino) throws IOException {
+        this.destino = destino;
+        this.temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        Path directorio = destino.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        this.salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)));
+        salida.writeInt(MAGICO);
+        salida.writeInt(VERSION);
+        salida.writeInt(FILAS_POR_BLOQUE);
+        salida.writeInt(COLUMNAS.length);
+        for (int i = 0; i < bloques.length; i++) {
+            bloques[i] = new Bloque();
+        }
+    }
+
+    // ========== AGREGAR MOVIMIENTOS ==========
+
+    /**
+     * Empieza una partida nueva: los disparos siguientes llevan su número.
+     *
+     * @return Número de la partida
+     */
+    public int iniciarPartida() {
+        turno = 0;
+        return ++partida;
+    }
+
+    /**
+     * Agrega un disparo a la partida actual.
+     *
+     * @throws IOException si al llenarse un bloque no se puede escribir
+     */
+    public void agregar(int fila, int columna, TipoResultado resultado, boolean humano, long marcaMillis)
+            throws IOException {
+        if (partida < 0) {
+            iniciarPartida();
+        }
+        Bloque bloque = bloques[resultado.ordinal()];
+        int n = bloque.filas++;
+        bloque.valores[Columna.PARTIDA.ordinal()][n] = partida;
+        bloque.valores[Columna.TURNO.ordinal()][n] = turno++;
+        bloque.valores[Columna.HUMANO.ordinal()][n] = humano ? 1 : 0;
+        bloque.valores[Columna.FILA.ordinal()][n] = fila;
+        bloque.valores[Columna.COLUMNA.ordinal()][n] = columna;
+        bloque.valores[Columna.RESULTADO.ordinal()][n] = resultado.ordinal();
+        bloque.valores[Columna.MARCA_MILLIS.ordinal()][n] = marcaMillis;
+        filas++;
+        if (bloque.filas == FILAS_POR_BLOQUE) {
+            escribirOFallar(bloque);
+        }
+    }
+
+    /**
+     * Agrega un disparo a la partida actual.
+     *
+     * @throws IOException si al llenarse un bloque no se puede escribir
+     */
+    public void agregar(Movimiento movimiento) throws IOException {
+        agregar(movimiento.getFila(), movimiento.getColumna(), movimiento.getResultado(),
+                movimiento.isTurnoJugador(),
+                movimiento.getFechaHora().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Exporta una partida recorriendo la pila sin copiarla.
+     *
+     * @param pila Movimientos de la partida (del más antiguo al más reciente)
+     * @throws IOException si no se puede escribir
+     */
+    public void exportar(PilaMovimientos<Movimiento> pila) throws IOException {
+        iniciarPartida();
+        try {
+            pila.recorrer(movimiento -> {
+                try {
+                    agregar(movimiento);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Exporta una partida desde su historial primitivo, sin materializar movimientos.
+     *
+     * @param historial Movimientos de la partida
+     * @throws IOException si no se puede escribir
+     */
+    public void exportar(HistorialCompacto historial) throws IOException {
+        iniciarPartida();
+        for (int i = 0; i < historial.tamanio(); i++) {
+            agregar(historial.fila(i), historial.columna(i), historial.resultado(i),
+                    historial.turnoJugador(i), historial.marcaMillis(i));
+        }
+    }
+
+    /**
+     * Exporta una partida ya cargada (p. ej. la de un juego archivado).
+     *
+     * @param movimientos Movimientos de la partida en orden cronológico
+     * @throws IOException si no se puede escribir
+     */
+    public void exportar(List<Movimiento> movimientos) throws IOException {
+        iniciarPartida();
+        for (Movimiento movimiento : movimientos) {
+            agregar(movimiento);
+        }
+    }
+
+    // ========== ESCRITURA DE BLOQUES ==========
+
+    private void escribirOFallar(Bloque bloque) throws IOException {
+        try {
+            escribir(bloque);
+        } catch (IOException | RuntimeException e) {
+            fallida = true;
+            throw e;
+        }
+    }
+
+    private void escribir(Bloque bloque) throws IOException {
+        int n = bloque.filas;
+        long[] minimos = new long[COLUMNAS.length];
+        long[] maximos = new long[COLUMNAS.length];
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            long[] valores = bloque.valores[c];
+            long minimo = Long.MAX_VALUE;
+            long maximo = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                minimo = Math.min(minimo, valores[i]);
+                maximo = Math.max(maximo, valores[i]);
+            }
+            minimos[c] = minimo;
+            maximos[c] = maximo;
+            longitudes[c] = comprimir(valores, n, minimo, comprimidos[c]);
+        }
+
+        salida.writeInt(n);
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            salida.writeLong(minimos[c]);
+            salida.writeLong(maximos[c]);
+            salida.writeInt(longitudes[c]);
+        }
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            salida.write(comprimidos[c], 0, longitudes[c]);
+        }
+        bloque.filas = 0;
+        bloquesEscritos++;
+    }
+
+    /**
+     * Codifica la columna como deltas en varint zigzag (el primero respecto
+     * del mínimo) y los comprime.
+     *
+     * @return Bytes comprimidos escritos en 'destino'
+     */
+    private int comprimir(long[] valores, int n, long minimo, byte[] destino) {
+        int largo = 0;
+        long anterior = minimo;
+        for (int i = 0; i < n; i++) {
+            long delta = valores[i] - anterior;
+            anterior = valores[i];
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                crudo[largo++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            crudo[largo++] = (byte) zigzag;
+        }
+
+        compresor.reset();
+        compresor.setInput(crudo, 0, largo);
+        compresor.finish();
+        int escritos = 0;
+        while (!compresor.finished()) {
+            if (escritos == destino.length) {
+                throw new IllegalStateException("Bloque comprimido mayor que el previsto");
+            }
+            escritos += compresor.deflate(destino, escritos, destino.length - escritos);
+        }
+        return escritos;
+    }
+
+    // ========== CIERRE ==========
+
+    /**
+     * Escribe los bloques pendientes y el pie, y publica el archivo en su destino.
+     * Si antes hubo un error de escritura, descarta la exportación.
+     *
+     * @throws IOException si no se puede escribir o la exportación ya había fallado
+     * @throws IllegalStateException si ya se terminó o se descartó
+     */
+    public void terminar() throws IOException {
+        if (cerrado) {
+            throw new IllegalStateException("La exportación ya se cerró");
+        }
+        if (fallida) {
+            abortar();
+            throw new IOException("La exportación falló; no se reemplaza " + destino.getFileName());
+        }
+        try {
+            for (Bloque bloque : bloques) {
+                if (bloque.filas > 0) {
+                    escribir(bloque);
+                }
+            }
+            salida.writeInt(0);
+            salida.writeInt(partida + 1);
+            salida.writeLong(filas);
+            salida.close();
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            abortar();
+            throw e;
+        }
+        cerrado = true;
+        compresor.end();
+        LOG.info("🗃️ Exportación columnar: " + (partida + 1) + " partidas, " + filas + " disparos, "
+                + bloquesEscritos + " bloques, " + Files.size(destino) + " bytes en " + destino.getFileName());
+    }
+
+    /**
+     * Descarta la exportación si no se terminó (ver terminar()).
+     */
+    @Override
+    public void close() {
+        abortar();
+    }
+
+    /**
+     * Descarta la exportación: borra el temporal y deja el archivo anterior
+     * tal como estaba. No hace nada si ya se terminó o se descartó.
+     */
+    public void abortar() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try {
+            salida.close();
+        } catch (IOException e) {
+            // El temporal se borra igual
+        }
+        compresor.end();
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo borrar " + temporal.getFileName() + ": " + e.getMessage());
+        }
+        LOG.advertencia("Exportación columnar descartada; se conserva el " + destino.getFileName() + " anterior");
+    }
+
+    public int getPartidas() {
+        return partida + 1;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    // ========== JUEGOS ARCHIVADOS ==========
+
+    /**
+     * Exporta todos los juegos archivados, cargando uno a la vez.
+     * Los juegos que no se pueden leer se saltan.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @param destino Archivo a escribir
+     * @return Cantidad de disparos exportados
+     * @throws IOException si no se puede escribir el archivo
+     * @throws JuegoGuardadoException si no se pueden listar los juegos
+     */
+    public static long exportarJuegosArchivados(ArchivoManager archivoManager, Path destino)
+            throws IOException, JuegoGuardadoException {
+        // Si algo falla antes de terminar(), el cierre descarta el temporal
+        try (ExportadorColumnar exportador = new ExportadorColumnar(destino)) {
+            for (Path juego : archivoManager.listarJuegosGuardados()) {
+                try {
+                    exportador.exportar(archivoManager.cargarJuego(juego).movimientosOVacio());
+                } catch (JuegoGuardadoException e) {
+                    LOG.advertencia("Juego ignorado por la exportación: " + juego.getFileName());
+                }
+            }
+            exportador.terminar();
+            return exportador.getFilas();
+        }
+    }
+
+    /**
+     * Exporta los juegos archivados.
+     * Uso: ExportadorColumnar [destino]
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) throws IOException, JuegoGuardadoException {
+        Path destino = args.length > 0 ? Path.of(args[0])
+                : ArchivoManager.getDirectorioJuegos().resolve(ARCHIVO);
+        long inicio = System.nanoTime();
+        long filas = exportarJuegosArchivados(new ArchivoManager(), destino);
+        System.out.println("✅ " + filas + " disparos exportados a " + destino.toAbsolutePath()
+                + " en " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public String toString() {
+        return "ExportadorColumnar[partidas=" + getPartidas() + ", filas=" + filas
+                + ", pendientes=" + Arrays.stream(bloques).mapToInt(b -> b.filas).sum() + "]";
+    }
+}
@@ -0,0 +1,217 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.analitica.ExportadorColumnar.Columna;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Recorre un archivo de ExportadorColumnar filtrando por el rango de una columna.
+ *
+ * Los bloques cuyo mínimo y máximo de esa columna no tocan el rango se
+ * saltan sin leer sus datos. En los demás se descomprime primero la columna
+ * del filtro y el resto solo si alguna fila coincide. Las filas se entregan
+ * en un long[] reutilizado, indexado por Columna.ordinal(), así que el
+ * recorrido no crea objetos por fila.
+ *
+ * @version 1.0
+ */
+public final class LectorColumnar {
+
+    /**
+     * Recibe cada fila que cumple el filtro.
+     */
+    @FunctionalInterface
+    public interface ConsumidorFila {
+        /**
+         * @param fila Valores de la fila por Columna.ordinal(); se reutiliza entre llamadas
+         */
+        void aceptar(long[] fila);
+    }
+
+    /**
+     * Resumen de un recorrido.
+     *
+     * @param filas Filas que cumplieron el filtro
+     * @param bloquesLeidos Bloques descomprimidos
+     * @param bloquesSaltados Bloques descartados por sus estadísticas
+     */
+    public record Escaneo(long filas, int bloquesLeidos, int bloquesSaltados) {
+    }
+
+    private LectorColumnar() {
+    }
+
+    /**
+     * Entrega las filas cuyo valor en 'columna' está en [minimo, maximo].
+     *
+     * @param archivo Archivo escrito por ExportadorColumnar
+     * @param columna Columna del filtro
+     * @param minimo Mínimo incluido
+     * @param maximo Máximo incluido
+     * @param consumidor Receptor de las filas
+     * @return Filas entregadas y bloques leídos / saltados
+     * @throws IOException si el archivo no se puede leer o no tiene el formato esperado
+     */
+    public static Escaneo escanear(Path archivo, Columna columna, long minimo, long maximo,
+                                   ConsumidorFila consumidor) throws IOException {
+        int columnas = ExportadorColumnar.COLUMNAS.length;
+        int filtro = columna.ordinal();
+        long coincidentes = 0;
+        int leidos = 0;
+        int saltados = 0;
+        Inflater descompresor = new Inflater();
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (entrada.readInt() != ExportadorColumnar.MAGICO
+                    || entrada.readInt() != ExportadorColumnar.VERSION) {
+                throw new IOException("Formato desconocido: " + archivo);
+            }
+            int filasPorBloque = entrada.readInt();
+            // Dimensiona los arreglos del bloque: un valor dañado no debe pedir memoria sin límite
+            if (filasPorBloque <= 0 || filasPorBloque > ExportadorColumnar.FILAS_POR_BLOQUE) {
+                throw new IOException("Filas por bloque fuera de rango (" + filasPorBloque + "): " + archivo);
+            }
+            if (entrada.readInt() != columnas) {
+                throw new IOException("Cantidad de columnas inesperada: " + archivo);
+            }
+
+            long[] minimos = new long[columnas];
+            long[] maximos = new long[columnas];
+            int[] longitudes = new int[columnas];
+            int[] desplazamientos = new int[columnas];
+            long[][] valores = new long[columnas][filasPorBloque];
+            boolean[] elegidas = new boolean[filasPorBloque];
+            long[] fila = new long[columnas];
+            byte[] datos = new byte[0];
+            byte[] crudo = new byte[0];
+
+            int filas;
+            while ((filas = entrada.readInt()) > 0) {
+                if (filas > filasPorBloque) {
+                    throw new IOException("Bloque de " + filas + " filas en " + archivo);
+                }
+                int total = 0;
+                for (int c = 0; c < columnas; c++) {
+                    minimos[c] = entrada.readLong();
+                    maximos[c] = entrada.readLong();
+                    longitudes[c] = entrada.readInt();
+                    desplazamientos[c] = total;
+                    total += longitudes[c];
+                }
+                if (maximos[filtro] < minimo || minimos[filtro] > maximo) {
+                    entrada.skipNBytes(total);
+                    saltados++;
+                    continue;
+                }
+
+                if (datos.length < total) {
+                    datos = new byte[total];
+                }
+                entrada.readFully(datos, 0, total);
+                leidos++;
+                if (crudo.length < filas * ExportadorColumnar.MAX_BYTES_VARINT) {
+                    crudo = new byte[filas * ExportadorColumnar.MAX_BYTES_VARINT];
+                }
+
+                descomprimir(descompresor, datos, desplazamientos[filtro], longitudes[filtro], crudo,
+                        filas, minimos[filtro], valores[filtro]);
+                boolean alguna = false;
+                for (int i = 0; i < filas; i++) {
+                    long valor = valores[filtro][i];
+                    elegidas[i] = valor >= minimo && valor <= maximo;
+                    alguna |= elegidas[i];
+                }
+                if (!alguna) {
+                    continue;
+                }
+                for (int c = 0; c < columnas; c++) {
+                    if (c != filtro) {
+                        descomprimir(descompresor, datos, desplazamientos[c], longitudes[c], crudo,
+                                filas, minimos[c], valores[c]);
+                    }
+                }
+                for (int i = 0; i < filas; i++) {
+                    if (elegidas[i]) {
+                        for (int c = 0; c < columnas; c++) {
+                            fila[c] = valores[c][i];
+                        }
+                        consumidor.aceptar(fila);
+                        coincidentes++;
+                    }
+                }
+            }
+        } finally {
+            descompresor.end();
+        }
+        return new Escaneo(coincidentes, leidos, saltados);
+    }
+
+    /**
+     * Descomprime una columna y deshace los deltas en varint zigzag.
+     */
+    private static void descomprimir(Inflater descompresor, byte[] datos, int desde, int longitud,
+                                     byte[] crudo, int filas, long minimo, long[] destino) throws IOException {
+        int largo;
+        try {
+            descompresor.reset();
+            descompresor.setInput(datos, desde, longitud);
+            largo = 0;
+            while (!descompresor.finished() && largo < crudo.length) {
+                int n = descompresor.inflate(crudo, largo, crudo.length - largo);
+                if (n == 0 && (descompresor.needsInput() || descompresor.needsDictionary())) {
+                    throw new IOException("Columna truncada");
+                }
+                largo += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Columna dañada: " + e.getMessage(), e);
+        }
+
+        int posicion = 0;
+        long anterior = minimo;
+        for (int i = 0; i < filas; i++) {
+            long zigzag = 0;
+            int desplazamiento = 0;
+            byte b;
+            do {
+                if (posicion >= largo) {
+                    throw new IOException("Columna con menos valores que filas");
+                }
+                b = crudo[posicion++];
+                zigzag |= (long) (b & 0x7F) << desplazamiento;
+                desplazamiento += 7;
+            } while (b < 0);
+            anterior += (zigzag >>> 1) ^ -(zigzag & 1);
+            destino[i] = anterior;
+        }
+    }
+
+    /**
+     * Cuenta los disparos con un resultado y muestra cuántos bloques se saltaron.
+     * Uso: LectorColumnar [archivo] [RESULTADO]
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) throws IOException {
+        Path archivo = args.length > 0 ? Path.of(args[0])
+                : ArchivoManager.getDirectorioJuegos().resolve(ExportadorColumnar.ARCHIVO);
+        TipoResultado resultado = args.length > 1 ? TipoResultado.valueOf(args[1]) : TipoResultado.HUNDIDO;
+
+        long inicio = System.nanoTime();
+        long[] humano = new long[1];
+        Escaneo escaneo = escanear(archivo, Columna.RESULTADO, resultado.ordinal(), resultado.ordinal(),
+                fila -> humano[0] += fila[Columna.HUMANO.ordinal()]);
+        System.out.println(resultado + ": " + escaneo.filas() + " disparos (" + humano[0] + " del humano); "
+                + escaneo.bloquesLeidos() + " bloques leídos, " + escaneo.bloquesSaltados() + " saltados, "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+    }
+}
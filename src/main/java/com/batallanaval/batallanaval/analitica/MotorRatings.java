@@ -0,0 +1,232 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+import com.batallanaval.batallanaval.utils.MarcaAguaJuegos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Ratings Elo de los jugadores a partir de los resultados de las partidas.
+ *
+ * Las estrategias de la máquina se califican como un jugador más: su clave
+ * es PREFIJO_IA + el nombre de la estrategia guardado en el Jugador, así que
+ * cada estrategia tiene su propio rating frente a los humanos.
+ *
+ * Los ratings viven en una TablaRatings (actualización O(1)) y se guardan en
+ * ARCHIVO con una marca de agua, como la analítica: actualizar() solo lee los
+ * juegos archivados que la marca todavía no incluye. Los juegos se leen en paralelo, pero se aplican
+ * en el orden en que se jugaron, porque el Elo depende del orden.
+ *
+ * Las consultas y actualizaciones están sincronizadas; se puede consultar
+ * desde cualquier hilo.
+ *
+ * @version 1.0
+ */
+public final class MotorRatings {
+    private static final Bitacora LOG = Bitacora.para(MotorRatings.class);
+
+    public static final String ARCHIVO = "ratings.bin";
+    public static final String PREFIJO_IA = "IA:";
+    public static final int RATING_INICIAL = 1500;
+
+    /** Factor K mientras el jugador tiene pocas partidas: su rating converge antes. */
+    private static final float K_NUEVO = 40f;
+    private static final float K_ESTABLE = 20f;
+    private static final int PARTIDAS_NUEVO = 30;
+
+    private static final int MAGICO = 0x424E5254; // "BNRT"
+    private static final int VERSION = 2;
+
+    private final TablaRatings tabla;
+    private MarcaAguaJuegos marcaAgua;
+
+    private MotorRatings(TablaRatings tabla, MarcaAguaJuegos marcaAgua) {
+        this.tabla = tabla;
+        this.marcaAgua = marcaAgua;
+    }
+
+    public static MotorRatings vacio() {
+        return new MotorRatings(new TablaRatings(), MarcaAguaJuegos.VACIA);
+    }
+
+    // ========== CLAVES ==========
+
+    public static String claveHumano(Jugador jugador) {
+        return jugador.getNickname();
+    }
+
+    public static String claveMaquina(Jugador maquina) {
+        return PREFIJO_IA + maquina.getNombreEstrategia();
+    }
+
+    // ========== ELO ==========
+
+    /**
+     * Aplica el resultado de una partida a ambos jugadores.
+     *
+     * @param ganador Clave del ganador
+     * @param perdedor Clave del perdedor
+     */
+    public synchronized void registrarPartida(String ganador, String perdedor) {
+        tabla.reservar(2);
+        int g = tabla.indice(ganador, RATING_INICIAL);
+        int p = tabla.indice(perdedor, RATING_INICIAL);
+        float ratingGanador = tabla.rating(g);
+        float ratingPerdedor = tabla.rating(p);
+
+        // Probabilidad de que ganara quien ganó
+        double esperado = 1.0 / (1.0 + Math.pow(10, (ratingPerdedor - ratingGanador) / 400.0));
+        double sorpresa = 1.0 - esperado;
+        tabla.actualizar(g, (float) (ratingGanador + factorK(tabla.partidas(g)) * sorpresa));
+        tabla.actualizar(p, (float) (ratingPerdedor - factorK(tabla.partidas(p)) * sorpresa));
+    }
+
+    private static float factorK(int partidas) {
+        return partidas < PARTIDAS_NUEVO ? K_NUEVO : K_ESTABLE;
+    }
+
+    /**
+     * @return Rating redondeado (RATING_INICIAL si el jugador no tiene partidas)
+     */
+    public synchronized int rating(String clave) {
+        int casilla = tabla.buscar(clave);
+        return casilla < 0 ? RATING_INICIAL : Math.round(tabla.rating(casilla));
+    }
+
+    public synchronized int partidas(String clave) {
+        int casilla = tabla.buscar(clave);
+        return casilla < 0 ? 0 : tabla.partidas(casilla);
+    }
+
+    public synchronized int getCantidadJugadores() {
+        return tabla.cantidad();
+    }
+
+    // ========== PROCESO DEL ARCHIVO ==========
+
+    /**
+     * Aplica los juegos archivados que la marca de agua no incluye y guarda los
+     * ratings si hubo alguno.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @return Partidas aplicadas
+     */
+    public int actualizar(ArchivoManager archivoManager) {
+        List<Path> juegos;
+        try {
+            juegos = archivoManager.listarJuegosGuardados();
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudieron listar los juegos: " + e.getMessage());
+            return 0;
+        }
+
+        MarcaAguaJuegos desde;
+        synchronized (this) {
+            desde = marcaAgua;
+        }
+        MarcaAguaJuegos.Lote lote = desde.nuevos(juegos);
+        if (lote.estaVacio()) {
+            return 0;
+        }
+
+        // Lectura en paralelo; el stream conserva el orden del listado (cronológico)
+        long inicio = System.nanoTime();
+        List<ResultadoPartida> resultados = lote.juegos().parallelStream()
+                .map(ruta -> ResultadoPartida.leer(archivoManager, ruta))
+                .filter(Objects::nonNull)
+                .toList();
+
+        synchronized (this) {
+            for (ResultadoPartida resultado : resultados) {
+                registrarPartida(resultado.ganador(), resultado.perdedor());
+            }
+            marcaAgua = marcaAgua.unir(lote.siguiente());
+        }
+        try {
+            guardar(archivoManager.getDirectorio());
+        } catch (IOException e) {
+            LOG.advertencia("No se pudieron guardar los ratings: " + e.getMessage());
+        }
+        LOG.info("🏅 Ratings: " + resultados.size() + " partidas aplicadas en "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+        return resultados.size();
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Carga los ratings (vacíos si no existen o están dañados).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @return Motor cargado
+     */
+    public static MotorRatings cargar(Path directorio) {
+        Path ruta = directorio.resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return vacio();
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Ratings con formato desconocido: " + ruta);
+                return vacio();
+            }
+            MarcaAguaJuegos marcaAgua = MarcaAguaJuegos.leer(entrada);
+            return new MotorRatings(TablaRatings.leer(entrada), marcaAgua);
+
+        } catch (IOException e) {
+            LOG.advertencia("No se pudieron leer los ratings: " + e.getMessage());
+            return vacio();
+        }
+    }
+
+    /**
+     * Guarda los ratings (temporal + reemplazo).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public synchronized void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            marcaAgua.escribir(salida);
+            tabla.escribir(salida);
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "MotorRatings{" + tabla + ", marcaAgua=" + marcaAgua + "}";
+    }
+
+    /**
+     * Actualiza los ratings con los juegos nuevos del directorio de juegos.
+     * Uso: MotorRatings [--desde-cero]
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) {
+        boolean desdeCero = args.length > 0 && args[0].equals("--desde-cero");
+        MotorRatings motor = desdeCero ? vacio() : cargar(ArchivoManager.getDirectorioJuegos());
+        int aplicadas = motor.actualizar(new ArchivoManager());
+        System.out.println("✅ " + aplicadas + " partidas aplicadas: " + motor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.nio.file.Path;
+
+/**
+ * Resultado de una partida archivada con las claves de MotorRatings: lo que
+ * necesitan los ratings y la clasificación, sin retener los jugadores.
+ *
+ * @param ganador Clave del ganador
+ * @param perdedor Clave del perdedor
+ * @param disparosGanador Disparos del ganador (0 si la partida no tiene historial)
+ * @version 1.0
+ */
+record ResultadoPartida(String ganador, String perdedor, int disparosGanador) {
+    private static final Bitacora LOG = Bitacora.para(ResultadoPartida.class);
+
+    /**
+     * @return Resultado de la partida, o null si no terminó o no se pudo leer
+     */
+    static ResultadoPartida leer(ArchivoManager archivoManager, Path ruta) {
+        ArchivoManager.EstadoJuego juego;
+        try {
+            juego = archivoManager.cargarJuego(ruta);
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("Juego ignorado: " + ruta.getFileName());
+            return null;
+        }
+
+        boolean ganoHumano = juego.jugadorMaquina().haPerdido();
+        if (!ganoHumano && !juego.jugadorHumano().haPerdido()) {
+            return null; // Partida sin terminar
+        }
+        int disparos = 0;
+        for (Movimiento movimiento : juego.movimientosOVacio()) {
+            if (movimiento.isTurnoJugador() == ganoHumano) {
+                disparos++;
+            }
+        }
+        String humano = MotorRatings.claveHumano(juego.jugadorHumano());
+        String maquina = MotorRatings.claveMaquina(juego.jugadorMaquina());
+        return ganoHumano ? new ResultadoPartida(humano, maquina, disparos)
+                : new ResultadoPartida(maquina, humano, disparos);
+    }
+}
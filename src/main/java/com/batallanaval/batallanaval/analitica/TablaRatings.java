@@ -0,0 +1,152 @@
+package com.batallanaval.batallanaval.analitica;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Tabla de ratings por jugador con direccionamiento abierto.
+ *
+ * Las claves, ratings y partidas jugadas viven en tres arreglos paralelos:
+ * buscar o actualizar a un jugador es O(1) y cada entrada ocupa una
+ * referencia, un float y un int, sin objetos por jugador. La tabla nunca se
+ * llena más de la mitad para que las búsquedas lineales sean cortas.
+ *
+ * No es segura entre hilos: MotorRatings la protege.
+ *
+ * @version 1.0
+ */
+final class TablaRatings {
+
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private String[] claves = new String[CAPACIDAD_INICIAL];
+    private float[] ratings = new float[CAPACIDAD_INICIAL];
+    private int[] partidas = new int[CAPACIDAD_INICIAL];
+    private int cantidad;
+
+    // ========== ACCESO ==========
+
+    /**
+     * @return Casilla de la clave o -1 si no está
+     */
+    int buscar(String clave) {
+        int mascara = claves.length - 1;
+        for (int i = dispersar(clave) & mascara; claves[i] != null; i = (i + 1) & mascara) {
+            if (claves[i].equals(clave)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve la casilla de la clave, agregándola con el rating inicial si no
+     * estaba. Las casillas cambian al crecer la tabla: llamar a reservar() antes
+     * de pedir varias que se usarán juntas.
+     */
+    int indice(String clave, float ratingInicial) {
+        int mascara = claves.length - 1;
+        int i = dispersar(clave) & mascara;
+        for (; claves[i] != null; i = (i + 1) & mascara) {
+            if (claves[i].equals(clave)) {
+                return i;
+            }
+        }
+        if ((cantidad + 1) * 2 > claves.length) {
+            crecer();
+            return indice(clave, ratingInicial);
+        }
+        claves[i] = clave;
+        ratings[i] = ratingInicial;
+        cantidad++;
+        return i;
+    }
+
+    /**
+     * Garantiza lugar para 'extra' claves nuevas sin crecer.
+     */
+    void reservar(int extra) {
+        while ((cantidad + extra) * 2 > claves.length) {
+            crecer();
+        }
+    }
+
+    float rating(int casilla) {
+        return ratings[casilla];
+    }
+
+    int partidas(int casilla) {
+        return partidas[casilla];
+    }
+
+    void actualizar(int casilla, float rating) {
+        ratings[casilla] = rating;
+        partidas[casilla]++;
+    }
+
+    String clave(int casilla) {
+        return claves[casilla];
+    }
+
+    /**
+     * @return Tamaño de los arreglos (las casillas van de 0 a capacidad - 1)
+     */
+    int capacidad() {
+        return claves.length;
+    }
+
+    int cantidad() {
+        return cantidad;
+    }
+
+    private void crecer() {
+        String[] viejasClaves = claves;
+        float[] viejosRatings = ratings;
+        int[] viejasPartidas = partidas;
+        claves = new String[viejasClaves.length * 2];
+        ratings = new float[claves.length];
+        partidas = new int[claves.length];
+        cantidad = 0;
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejasClaves[i] != null) {
+                int casilla = indice(viejasClaves[i], viejosRatings[i]);
+                partidas[casilla] = viejasPartidas[i];
+            }
+        }
+    }
+
+    private static int dispersar(String clave) {
+        int h = clave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // ========== FORMATO BINARIO ==========
+
+    void escribir(DataOutputStream salida) throws IOException {
+        salida.writeInt(cantidad);
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                salida.writeUTF(claves[i]);
+                salida.writeFloat(ratings[i]);
+                salida.writeInt(partidas[i]);
+            }
+        }
+    }
+
+    static TablaRatings leer(DataInputStream entrada) throws IOException {
+        TablaRatings tabla = new TablaRatings();
+        int total = entrada.readInt();
+        tabla.reservar(total);
+        for (int n = 0; n < total; n++) {
+            int casilla = tabla.indice(entrada.readUTF(), entrada.readFloat());
+            tabla.partidas[casilla] = entrada.readInt();
+        }
+        return tabla;
+    }
+
+    @Override
+    public String toString() {
+        return "TablaRatings{jugadores=" + cantidad + ", capacidad=" + claves.length + "}";
+    }
+}
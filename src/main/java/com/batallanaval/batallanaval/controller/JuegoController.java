@@ -2,6 +2,7 @@ package com.batallanaval.batallanaval.controller;
 
 import com.batallanaval.batallanaval.patterns.observer.JuegoObservable;
 import com.batallanaval.batallanaval.patterns.observer.ObservadorConsola;
+import com.batallanaval.batallanaval.patterns.observer.ObservadorEspectadores;
 import com.batallanaval.batallanaval.patterns.observer.ObservadorGuardado;
 import com.batallanaval.batallanaval.patterns.observer.ObservadorInterfaz;
 import com.batallanaval.batallanaval.model.Jugador;
@@ -10,22 +11,49 @@ import com.batallanaval.batallanaval.model.TipoBarco;
 import com.batallanaval.batallanaval.patterns.factory.BarcoFactory;
 import com.batallanaval.batallanaval.exceptions.PosicionInvalidaException;
 import com.batallanaval.batallanaval.exceptions.BarcoFueraLimitesException;
-import com.batallanaval.batallanaval.datastructures.PilaMovimientos;
+import com.batallanaval.batallanaval.datastructures.HistorialCompacto;
+import com.batallanaval.batallanaval.analitica.AnaliticaPartidas;
+import com.batallanaval.batallanaval.analitica.Clasificacion;
+import com.batallanaval.batallanaval.analitica.MotorRatings;
+import com.batallanaval.batallanaval.ia.AlmacenPerfiles;
+import com.batallanaval.batallanaval.ia.LibroAperturas;
+import com.batallanaval.batallanaval.ia.OptimizadorColocacion;
+import com.batallanaval.batallanaval.ia.PerfilColocacion;
+import com.batallanaval.batallanaval.ia.PoolColocaciones;
+import com.batallanaval.batallanaval.metricas.MetricasPartida;
+import com.batallanaval.batallanaval.metricas.RegistroMetricas;
+import com.batallanaval.batallanaval.red.CanalEspectadores;
+import com.batallanaval.batallanaval.red.ClienteRed;
+import com.batallanaval.batallanaval.red.ProtocoloRed;
+import com.batallanaval.batallanaval.red.ServidorEspectadores;
+import com.batallanaval.batallanaval.red.ServidorRed;
 import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.model.MotorRepeticion;
+import com.batallanaval.batallanaval.model.EstadoPartida;
 import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.ConfiguracionViva;
+import com.batallanaval.batallanaval.utils.Bitacora;
 import com.batallanaval.batallanaval.utils.Figuras2DUtils;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.scene.layout.*;
 import javafx.util.Duration;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
 import javafx.scene.shape.*;
 import javafx.scene.Group;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextInputDialog;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.input.KeyCode;
 
 /**
@@ -38,6 +66,9 @@ import javafx.scene.input.KeyCode;
  * @version 5.0
  */
 public class JuegoController {
+    private static final Bitacora LOG = Bitacora.para(JuegoController.class);
+    private static final long PRESUPUESTO_POOL_MILLIS = 3000; // Generación inicial del pool de flotas
+    private static final int TOP_CLASIFICACION = 10;
 
     // Variables para manejar el barco que el usuario está arrastrando
     private Barco barcoArrastrado = null;
@@ -57,9 +88,26 @@ public class JuegoController {
     @FXML private VBox panelBarcos;
     /** Tablero donde el jugador dispara al oponente. */
     @FXML private GridPane tableroOponente;
+    /** Botón de partida en red; se deshabilita mientras se conecta. */
+    @FXML private Button btnRed;
 
     private Jugador jugador;              // Jugador humano
     private Jugador maquina;              // Jugador máquina
+    /** Mapa de calor aprendido de partidas anteriores para la apertura de la máquina. */
+    private LibroAperturas libroAperturas = LibroAperturas.vacio();
+    /** Perfiles de colocación de los humanos, por nickname. */
+    private AlmacenPerfiles almacenPerfiles;
+    /** Colocaciones optimizadas de las que la máquina toma su flota. */
+    private volatile PoolColocaciones poolColocaciones = PoolColocaciones.vacio();
+    private volatile AnaliticaPartidas analitica = AnaliticaPartidas.vacia();
+    private volatile MotorRatings ratings = MotorRatings.vacio();
+    private volatile Clasificacion clasificacion = new Clasificacion();
+    private boolean arranqueCompleto;
+    private CompletableFuture<Void> archivado = CompletableFuture.completedFuture(null); // Archivos en orden
+    private final SplittableRandom aleatorio = new SplittableRandom();
+    private ClienteRed clienteRed; // null = partida contra la máquina
+    private CompletableFuture<ClienteRed> conexionRed; // != null mientras se conecta
+    private final MetricasPartida metricasPartida = RegistroMetricas.global().partidaEscritorio();
 
     /** Indica la orientación del barco a colocar: true=Horizontal, false=Vertical. */
     private boolean orientacionHorizontal = true;
@@ -76,15 +124,20 @@ public class JuegoController {
     private ObservadorConsola observadorConsola;
     private ObservadorInterfaz observadorInterfaz;
     private ObservadorGuardado observadorGuardado;
+    private ObservadorEspectadores observadorEspectadores; // null = sin retransmisión
 
     // ========== ESTRUCTURA DE DATOS: PILA ==========
-    private PilaMovimientos<Movimiento> pilaMovimientos;
+    private HistorialCompacto pilaMovimientos; // Movimientos en forma primitiva; se materializan al mostrarlos
+    private int idHumanoPila, idMaquinaPila;   // Números de jugador en la pila (resolverJugadoresPila)
 
     // ========== INICIALIZACIÓN ==========
 
     /**
      * Método de inicialización llamado automáticamente por JavaFX al cargar el FXML.
-     * Configura el modelo, inicializa observadores y estructuras de datos, y construye la interfaz.
+     * Configura el modelo, inicializa observadores y estructuras de datos, y construye
+     * lo necesario para colocar barcos. BatallaNavalApp carga el FXML en segundo plano,
+     * así que aquí no se toca ninguna escena visible; el resto de la interfaz se arma
+     * en completarArranque().
      */
     @FXML
     public void initialize() {
@@ -92,6 +145,9 @@ public class JuegoController {
 
         jugador = new Jugador("Humano");
         maquina = new Jugador("Máquina");
+        maquina.setMetricasPartida(metricasPartida);
+        configurarDificultad();
+        cargarConocimientoIa();
 
         // ========== INICIALIZAR OBSERVER ==========
         inicializarObservadores();
@@ -101,13 +157,9 @@ public class JuegoController {
         // ==========================================
 
         crearTableroVisual();       // Crear tablero de posición del jugador
-        crearTableroOponente();     // Crear tablero principal para disparos
-
-        // LLAMADA A LAS COORDENADAS
-        crearCoordenadasVisuales();
 
-        // HU-4: Colocar barcos de la máquina aleatoriamente
-        maquina.colocarBarcosAleatoriamente();
+        // HU-4: Colocar barcos de la máquina (pool optimizado o al azar)
+        colocarFlotaMaquina();
         juegoObservable.notificarObservadores(
                 JuegoObservable.BARCO_COLOCADO,
                 maquina,
@@ -142,10 +194,107 @@ public class JuegoController {
         System.out.println("✅ Juego inicializado correctamente");
         System.out.println("🎮 Jugador: " + jugador.getNickname());
         System.out.println("🤖 Máquina: " + maquina.getNickname());
-        System.out.println("📊 Estructura de datos: PilaMovimientos creada");
+        System.out.println("📊 Estructura de datos: HistorialCompacto creado");
         System.out.println("🎨 Figuras 2D JavaFX: Habilitadas");
     }
 
+    /**
+     * Segunda etapa del arranque, en el hilo de JavaFX con la ventana ya en
+     * pantalla: crea el tablero enemigo (100 celdas con figuras 2D) y las
+     * coordenadas, que no hacen falta mientras se colocan los barcos.
+     * Se puede llamar más de una vez; solo la primera hace algo.
+     */
+    public void completarArranque() {
+        if (arranqueCompleto) {
+            return;
+        }
+        arranqueCompleto = true;
+        crearTableroOponente();     // Crear tablero principal para disparos
+
+        // LLAMADA A LAS COORDENADAS
+        crearCoordenadasVisuales();
+
+        if (mainAnchorPane != null) {
+            mainAnchorPane.requestFocus();
+        }
+        generarPoolSiFalta();
+    }
+
+    /**
+     * Le da a la máquina la estrategia del nivel configurado, con el parámetro
+     * calibrado si lo hay (CalibradorDificultad), y vigila la configuración:
+     * un cambio de dificultad se aplica desde la próxima partida.
+     */
+    private void configurarDificultad() {
+        ConfiguracionViva configuracion = ConfiguracionViva.global();
+        maquina.setEstrategia(configuracion.actual().crearEstrategia());
+        LOG.info("🎚️ Dificultad " + configuracion.actual().dificultad().getTitulo()
+                + " (" + maquina.getNombreEstrategia() + ")");
+        configuracion.agregarOyente(nueva -> LOG.info("🎚️ Dificultad " + nueva.dificultad().getTitulo()
+                + " desde la próxima partida"));
+        configuracion.vigilar();
+    }
+
+    /**
+     * Carga el libro de aperturas, los perfiles de colocación, la analítica y el
+     * pool de flotas (lecturas binarias pequeñas). En segundo plano aprende del libro con los
+     * juegos guardados desde la última vez. Si aún no hay pool, lo genera
+     * completarArranque(), no el arranque.
+     */
+    private void cargarConocimientoIa() {
+        libroAperturas = LibroAperturas.cargar(ArchivoManager.getDirectorioJuegos());
+        maquina.setLibroAperturas(libroAperturas);
+        almacenPerfiles = AlmacenPerfiles.cargar(ArchivoManager.getDirectorioJuegos(),
+                AlmacenPerfiles.CAPACIDAD_POR_DEFECTO);
+
+        LibroAperturas actual = libroAperturas;
+        CompletableFuture.supplyAsync(() -> actual.actualizar(new ArchivoManager()))
+                .thenAccept(actualizado -> Platform.runLater(() -> {
+                    libroAperturas = actualizado;
+                    maquina.setLibroAperturas(actualizado);
+                }));
+
+        analitica = AnaliticaPartidas.cargar(ArchivoManager.getDirectorioJuegos());
+        ratings = MotorRatings.cargar(ArchivoManager.getDirectorioJuegos());
+        // En la cola de archivado: la primera partida terminada se suma después de cargarla
+        archivado = archivado.thenRunAsync(() -> clasificacion = Clasificacion.cargar(new ArchivoManager()));
+
+        poolColocaciones = PoolColocaciones.cargar(ArchivoManager.getDirectorioJuegos());
+    }
+
+    /**
+     * Si no hay pool de flotas (se genera de antemano con OptimizadorColocacion.main),
+     * lo busca para las partidas siguientes. La búsqueda corre en un solo hilo de
+     * prioridad mínima y después del arranque, para no competir con la carga
+     * de la interfaz ni con las tareas del pool común.
+     */
+    private void generarPoolSiFalta() {
+        if (!poolColocaciones.estaVacio()) {
+            return;
+        }
+        Thread hilo = new Thread(() -> {
+            PoolColocaciones generado = new OptimizadorColocacion(PRESUPUESTO_POOL_MILLIS, 8, 32, 1,
+                    System.nanoTime()).optimizar();
+            try {
+                generado.guardar(ArchivoManager.getDirectorioJuegos());
+            } catch (IOException e) {
+                LOG.advertencia("No se pudo guardar el pool de flotas: " + e.getMessage());
+            }
+            poolColocaciones = generado;
+        }, "pool-flotas");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MIN_PRIORITY);
+        hilo.start();
+    }
+
+    /**
+     * Coloca la flota de la máquina tomando una colocación del pool optimizado
+     * (al azar si todavía no hay pool).
+     */
+    private void colocarFlotaMaquina() {
+        poolColocaciones.colocarEn(maquina, aleatorio);
+    }
+
     /**
      * Actualiza el mensaje visible para el jugador en la etiqueta lblMensajeJugador.
      * @param mensaje El texto a mostrar.
@@ -166,16 +315,40 @@ public class JuegoController {
         // Crear observadores. Se pasa this::mostrarMensaje al ObservadorInterfaz.
         observadorConsola = new ObservadorConsola("Consola");
         observadorInterfaz = new ObservadorInterfaz("Interfaz", this::mostrarMensaje);
-        observadorGuardado = new ObservadorGuardado();
+        observadorGuardado = new ObservadorGuardado(metricasPartida);
 
         // Registrar observadores
         juegoObservable.agregarObservador(observadorConsola);
         juegoObservable.agregarObservador(observadorInterfaz);
         juegoObservable.agregarObservador(observadorGuardado);
 
+        // Retransmisión a espectadores, solo si se pidió un puerto (-Dbatallanaval.espectadores.puerto=5556)
+        int puertoEspectadores = Integer.getInteger("batallanaval.espectadores.puerto", 0);
+        if (puertoEspectadores > 0) {
+            iniciarEspectadores(puertoEspectadores);
+        }
+
         System.out.println("👁️ Observadores registrados: " + juegoObservable.cantidadObservadores());
     }
 
+    /**
+     * Abre el puerto de espectadores y registra el observador que les retransmite
+     * la partida. Los espectadores no ven las flotas hasta que termina.
+     */
+    private void iniciarEspectadores(int puerto) {
+        observadorEspectadores = new ObservadorEspectadores(
+                ObservadorEspectadores.PoliticaNiebla.REVELAR_AL_TERMINAR,
+                CanalEspectadores.PoliticaRetraso.RESINCRONIZAR);
+        try {
+            new ServidorEspectadores(puerto, observadorEspectadores.getCanal());
+            juegoObservable.agregarObservador(observadorEspectadores);
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo abrir el puerto de espectadores " + puerto + ": " + e.getMessage());
+            observadorEspectadores.close();
+            observadorEspectadores = null;
+        }
+    }
+
     /**
      * Crea las etiquetas A-J (columnas) y 1-10 (filas) para ambos tableros visuales.
      */
@@ -249,7 +422,8 @@ public class JuegoController {
         System.out.println("📊 Inicializando estructuras de datos...");
 
         // Crear pila con capacidad para 200 movimientos (más que suficiente)
-        pilaMovimientos = new PilaMovimientos<>(200);
+        pilaMovimientos = new HistorialCompacto(200);
+        resolverJugadoresPila();
 
         System.out.println("✅ Pila de movimientos creada. Capacidad: " +
                 pilaMovimientos.getCapacidad());
@@ -263,7 +437,7 @@ public class JuegoController {
      */
     private void demostrarUsoPila() {
         System.out.println("🔍 Demostrando uso de la pila:");
-        System.out.println("   - Pila vacía: " + pilaMovimientos.estaVacia());
+        System.out.println("   - Pila vacía: " + pilaMovimientos.estaVacio());
         System.out.println("   - Capacidad: " + pilaMovimientos.getCapacidad());
         System.out.println("   - tamanho actual: " + pilaMovimientos.tamanio());
     }
@@ -692,7 +866,18 @@ public class JuegoController {
             return;
         }
 
-        System.out.println("🎯 Jugador dispara en (" + fila + "," + col + ")");
+        LOG.depuracion(() -> "🎯 Jugador dispara en (" + fila + "," + col + ")");
+
+        if (clienteRed != null) {
+            // En red el resultado lo decide el servidor; se pinta al llegar RESULTADO
+            turnoJugador = false;
+            try {
+                clienteRed.disparar(fila, col);
+            } catch (IOException e) {
+                cerrarRed("Se perdió la conexión con el servidor: " + e.getMessage());
+            }
+            return;
+        }
 
         // Realizar disparo
         String resultado = jugador.realizarDisparo(fila, col, maquina);
@@ -713,16 +898,13 @@ public class JuegoController {
 
         // 1. Manejar el flujo de juego y mostrar mensajes en el Label
         if (resultado.equals("TOCADO")) {
-            System.out.println("🔥 TOCADO. Tienes otro turno. Haz clic de nuevo.");
             mostrarMensaje("🔥 ¡TOCADO en " + coordenada + "! Sigue disparando, tienes turno extra.");
 
         } else if (resultado.equals("HUNDIDO")) {
-            System.out.println("🎉 HUNDIDO. Tienes otro turno. Haz clic de nuevo.");
             mostrarMensaje("💥 ¡HUNDIDO en " + coordenada + "! Tienes turno extra.");
             verificarFinJuego();
 
         } else if (resultado.equals("AGUA")) {
-            System.out.println("🌊 AGUA. Turno de la máquina.");
             mostrarMensaje("🌊 ¡Agua en " + coordenada + "! Fallaste. Turno de la Máquina 🤖.");
 
             // 2. CAMBIO DE TURNO A LA MÁQUINA
@@ -737,7 +919,6 @@ public class JuegoController {
             postDelay.play();
 
         } else if (resultado.equals("REPETIDO")) {
-            System.out.println("⚠️ Ya Disparaste aquí. Intenta de nuevo.");
             mostrarMensaje("⚠️ ¡Ya disparaste en " + coordenada + "! Intenta en otra posición.");
         }
     }
@@ -759,7 +940,7 @@ public class JuegoController {
                 // Crear círculo azul de agua
                 Group figuraAgua = (Group) Figuras2DUtils.crearFiguraResultado("AGUA", 25);
                 celda.getChildren().add(figuraAgua);
-                System.out.println("🌊 AGUA en (" + fila + "," + col + ") [Figura 2D]");
+                LOG.depuracion(() -> "🌊 AGUA en (" + fila + "," + col + ") [Figura 2D]");
                 turnoJugador = false; // Pasa turno a la máquina
                 juegoObservable.notificarCambioTurno(false);
 
@@ -769,7 +950,7 @@ public class JuegoController {
                 // Crear círculo naranja de tocado
                 Group figuraTocado = (Group) Figuras2DUtils.crearFiguraResultado("TOCADO", 25);
                 celda.getChildren().add(figuraTocado);
-                System.out.println("🔥 TOCADO en (" + fila + "," + col + ") [Figura 2D]");
+                LOG.depuracion(() -> "🔥 TOCADO en (" + fila + "," + col + ") [Figura 2D]");
                 // Jugador sigue disparando
                 break;
 
@@ -777,7 +958,7 @@ public class JuegoController {
                 // Crear círculo rojo de hundido
                 Group figuraHundido = (Group) Figuras2DUtils.crearFiguraResultado("HUNDIDO", 25);
                 celda.getChildren().add(figuraHundido);
-                System.out.println("💥 HUNDIDO en (" + fila + "," + col + ") [Figura 2D]");
+                LOG.depuracion(() -> "💥 HUNDIDO en (" + fila + "," + col + ") [Figura 2D]");
                 // Verificar si ganó
                 verificarFinJuego();
                 break;
@@ -786,7 +967,7 @@ public class JuegoController {
                 // Crear X gris de repetido
                 Group figuraRepetido = (Group) Figuras2DUtils.crearFiguraResultado("REPETIDO", 25);
                 celda.getChildren().add(figuraRepetido);
-                System.out.println("⚠️ Ya disparaste aquí [Figura 2D]");
+                LOG.depuracion(() -> "⚠️ Ya disparaste aquí [Figura 2D]");
                 juegoObservable.notificarObservadores(
                         JuegoObservable.ADVERTENCIA,
                         jugador,
@@ -801,7 +982,7 @@ public class JuegoController {
                 circuloInvalido.setStroke(javafx.scene.paint.Color.DARKGRAY);
                 circuloInvalido.setStrokeWidth(2);
                 celda.getChildren().add(circuloInvalido);
-                System.out.println("❌ Disparo inválido [Figura 2D]");
+                LOG.advertencia("❌ Disparo inválido [Figura 2D]");
                 juegoObservable.notificarError("Disparo inválido en (" + fila + "," + col + ")");
                 break;
         }
@@ -849,7 +1030,7 @@ public class JuegoController {
                         figuraAgua.setLayoutX(7.5);
                         figuraAgua.setLayoutY(7.5);
                         celda.getChildren().add(figuraAgua);
-                        System.out.println("🤖🌊 La máquina disparó AGUA en (" + fila + "," + columna + ") [Figura 2D]");
+                        LOG.depuracion(() -> "🤖🌊 La máquina disparó AGUA en (" + fila + "," + columna + ") [Figura 2D]");
 
                         // Mostrar mensaje en el Label
                         mensajeMaquina = "💧 La máquina falló en " + coordenada + ". ¡Es tu turno!";
@@ -867,7 +1048,7 @@ public class JuegoController {
                         figuraTocado.setLayoutX(7.5);
                         figuraTocado.setLayoutY(7.5);
                         celda.getChildren().add(figuraTocado);
-                        System.out.println("🤖🔥 La máquina TOCÓ en (" + fila + "," + columna + ") [Figura 2D]");
+                        LOG.depuracion(() -> "🤖🔥 La máquina TOCÓ en (" + fila + "," + columna + ") [Figura 2D]");
 
                         // Mostrar mensaje en el Label
                         mensajeMaquina = "🤖 ¡Te han TOCADO en " + coordenada + "! La máquina tiene otro turno.";
@@ -887,7 +1068,7 @@ public class JuegoController {
                         figuraHundido.setLayoutX(7.5);
                         figuraHundido.setLayoutY(7.5);
                         celda.getChildren().add(figuraHundido);
-                        System.out.println("🤖💥 La máquina HUNDIÓ en (" + fila + "," + columna + ") [Figura 2D]");
+                        LOG.depuracion(() -> "🤖💥 La máquina HUNDIÓ en (" + fila + "," + columna + ") [Figura 2D]");
 
                         // Mostrar mensaje en el Label
                         mensajeMaquina = "💀 ¡HUNDIDO en " + coordenada + "! La máquina tiene otro turno.";
@@ -949,9 +1130,12 @@ public class JuegoController {
             juegoObservable.notificarJuegoTerminado("Jugador Humano");
 
             System.out.println("🎉 ¡EL JUGADOR GANA!");
+            LOG.info(metricasPartida.toString());
 
             // Mostrar estadísticas de la pila al final del juego
             mostrarEstadisticasPila();
+            actualizarPerfilJugador();
+            archivarPartida();
 
         } else if (jugador.haPerdido()) {
             juegoIniciado = false;
@@ -961,16 +1145,125 @@ public class JuegoController {
             juegoObservable.notificarJuegoTerminado("Máquina");
 
             System.out.println("😢 ¡LA MÁQUINA GANA!");
+            LOG.info(metricasPartida.toString());
 
             // Mostrar estadísticas de la pila al final del juego
             mostrarEstadisticasPila();
+            actualizarPerfilJugador();
+            archivarPartida();
         }
     }
 
+    /**
+     * Suma la colocación de la partida terminada al perfil del jugador
+     * y guarda el almacén en segundo plano.
+     */
+    private void actualizarPerfilJugador() {
+        almacenPerfiles.registrarPartida(jugador.getNickname(), jugador.getBarcos());
+        CompletableFuture.runAsync(() -> {
+            try {
+                almacenPerfiles.guardar(ArchivoManager.getDirectorioJuegos());
+            } catch (IOException e) {
+                LOG.advertencia("No se pudieron guardar los perfiles: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Archiva la partida terminada con su historial de movimientos y, una vez
+     * escrita, suma los juegos nuevos a la analítica y a los ratings y el
+     * resultado a la clasificación. Todo en segundo plano y en cola detrás
+     * del archivado anterior, para que dos actualizaciones de la analítica no
+     * partan de la misma marca de agua. Al reiniciar se crean
+     * jugadores nuevos, así que los de esta partida ya no cambian.
+     */
+    private void archivarPartida() {
+        Jugador humano = jugador;
+        Jugador rival = maquina;
+        List<Movimiento> movimientos = pilaMovimientos.toList();
+        boolean turno = turnoJugador;
+        boolean ganoHumano = rival.haPerdido();
+        archivado = archivado.thenRunAsync(() -> {
+            observadorGuardado.guardarManual(humano, rival, false, turno, movimientos);
+            registrarEnClasificacion(humano, rival, ganoHumano, movimientos);
+            analitica = analitica.actualizar(new ArchivoManager());
+            ratings.actualizar(new ArchivoManager());
+            LOG.info(() -> "🏅 Rating de " + humano.getNickname() + ": " + ratings.rating(MotorRatings.claveHumano(humano))
+                    + " | " + MotorRatings.claveMaquina(rival) + ": " + ratings.rating(MotorRatings.claveMaquina(rival)));
+        });
+    }
+
+    /**
+     * Suma la partida terminada a la clasificación y la guarda.
+     */
+    private void registrarEnClasificacion(Jugador humano, Jugador rival, boolean ganoHumano,
+                                          List<Movimiento> movimientos) {
+        String claveHumano = MotorRatings.claveHumano(humano);
+        String claveMaquina = MotorRatings.claveMaquina(rival);
+        int disparosGanador = (int) movimientos.stream()
+                .filter(movimiento -> movimiento.isTurnoJugador() == ganoHumano)
+                .count();
+        clasificacion.registrarPartida(ganoHumano ? claveHumano : claveMaquina,
+                ganoHumano ? claveMaquina : claveHumano, disparosGanador);
+        try {
+            clasificacion.guardar(ArchivoManager.getDirectorioJuegos());
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo guardar la clasificación: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Muestra los primeros de cada criterio de la clasificación y la posición del jugador.
+     */
+    @FXML
+    private void mostrarClasificacion() {
+        Clasificacion actual = clasificacion;
+        String clave = MotorRatings.claveHumano(jugador);
+        StringBuilder texto = new StringBuilder();
+        for (Clasificacion.Criterio criterio : Clasificacion.Criterio.values()) {
+            texto.append("— ").append(criterio.getTitulo()).append(" —\n");
+            int puesto = 1;
+            for (Clasificacion.Entrada entrada : actual.primeros(criterio, TOP_CLASIFICACION)) {
+                texto.append(String.format("%2d. %-22s %s%n", puesto++, entrada.jugador(), valor(criterio, entrada)));
+            }
+            int posicion = actual.posicion(criterio, clave);
+            texto.append(posicion > 0
+                    ? String.format("Tu puesto: %d de %d%n%n", posicion, actual.tamanio(criterio))
+                    : "Todavía no clasificas\n\n");
+        }
+
+        Alert alert = new Alert(AlertType.INFORMATION);
+        alert.setTitle("Clasificación");
+        alert.setHeaderText("🏆 Clasificación de " + jugador.getNickname());
+        Label contenido = new Label(texto.toString());
+        contenido.setStyle("-fx-font-family: monospace;");
+        alert.getDialogPane().setContent(contenido);
+        alert.showAndWait();
+    }
+
+    private static String valor(Clasificacion.Criterio criterio, Clasificacion.Entrada entrada) {
+        return switch (criterio) {
+            case VICTORIAS -> entrada.victorias() + " de " + entrada.partidas();
+            case TASA_VICTORIAS -> String.format("%.0f%% (%d)", entrada.tasaVictorias() * 100, entrada.partidas());
+            case MENOS_DISPAROS -> entrada.menosDisparos() + " disparos";
+        };
+    }
+
     // ========== MÉTODOS DE ESTRUCTURA DE DATOS ==========
 
     /**
-     * Registra un movimiento en la pila de historial (PilaMovimientos).
+     * Registra en la pila a los dos jugadores de la partida y guarda sus
+     * números, para que apilar un disparo no busque el nombre cada vez.
+     * Llamar al crear la pila y al reiniciar la partida.
+     */
+    private void resolverJugadoresPila() {
+        idHumanoPila = pilaMovimientos.jugador(jugador.getNickname());
+        idMaquinaPila = pilaMovimientos.jugador(maquina.getNickname());
+    }
+
+    /**
+     * Registra un movimiento en la pila de historial (HistorialCompacto).
+     * Apilar no crea objetos; el Movimiento se materializa para notificarlo.
      * @param jugador El jugador que realizó el movimiento.
      * @param resultadoStr El resultado del disparo ("AGUA", "TOCADO", etc.).
      * @param fila Fila del movimiento.
@@ -980,34 +1273,22 @@ public class JuegoController {
     private void registrarMovimientoEnPila(Jugador jugador, String resultadoStr,
                                            int fila, int col, boolean esTurnoJugador) {
         try {
-            // Convertir resultado string a enum
-            TipoResultado resultado = convertirResultado(resultadoStr);
-
-            // Crear objeto Movimiento
-            Movimiento movimiento = new Movimiento(
-                    jugador.getNickname(),
-                    fila,
-                    col,
-                    resultado,
-                    esTurnoJugador
-            );
+            // Apilar el movimiento (el nombre del jugador se resolvió al crear la pila)
+            pilaMovimientos.apilar(esTurnoJugador ? idHumanoPila : idMaquinaPila,
+                    fila, col, convertirResultado(resultadoStr), esTurnoJugador);
 
-            // Apilar el movimiento
-            pilaMovimientos.apilar(movimiento);
-
-            System.out.println("📝 Movimiento registrado en pila: " + movimiento);
-            System.out.println("   tamanho pila: " + pilaMovimientos.tamanio() +
-                    "/" + pilaMovimientos.getCapacidad());
+            LOG.depuracion(() -> "📝 Movimiento registrado en pila: " + pilaMovimientos.cima()
+                    + " | tamanho pila: " + pilaMovimientos.tamanio() + "/" + pilaMovimientos.getCapacidad());
 
             // Notificar a observadores
             juegoObservable.notificarObservadores(
                     "MOVIMIENTO_REGISTRADO",
                     jugador,
-                    movimiento.toDetailedString()
+                    pilaMovimientos.cima()
             );
 
         } catch (Exception e) {
-            System.err.println("❌ Error al registrar movimiento en pila: " + e.getMessage());
+            LOG.error("❌ Error al registrar movimiento en pila: " + e.getMessage());
             juegoObservable.notificarError("Error en estructura de datos: " + e.getMessage());
         }
     }
@@ -1018,7 +1299,8 @@ public class JuegoController {
      * @return El enum TipoResultado correspondiente.
      */
     private TipoResultado convertirResultado(String resultadoStr) {
-        switch (resultadoStr.toUpperCase()) {
+        // Las cadenas del modelo ya vienen en mayúsculas: sin toUpperCase() por disparo
+        switch (resultadoStr) {
             case "AGUA": return TipoResultado.AGUA;
             case "TOCADO": return TipoResultado.TOCADO;
             case "HUNDIDO": return TipoResultado.HUNDIDO;
@@ -1033,7 +1315,7 @@ public class JuegoController {
      */
     @FXML
     private void mostrarHistorialMovimientos() {
-        if (pilaMovimientos == null || pilaMovimientos.estaVacia()) {
+        if (pilaMovimientos == null || pilaMovimientos.estaVacio()) {
             mostrarAlerta(AlertType.INFORMATION, "Historial Vacío",
                     "No hay movimientos registrados aún.");
             return;
@@ -1121,6 +1403,11 @@ public class JuegoController {
      */
     @FXML
     private void iniciarJuego() {
+        if (clienteRed != null) {
+            mostrarMensaje("🌐 La partida en red empieza cuando el rival envía su flota.");
+            return;
+        }
+        completarArranque(); // Por si la vista se cargó sin BatallaNavalApp
         if (!jugador.todosBarcosColocados()) {
             mostrarAlerta(AlertType.WARNING, "Barcos incompletos",
                     "Debes colocar todos tus barcos antes de comenzar.");
@@ -1135,6 +1422,19 @@ public class JuegoController {
         // Deshabilitar panel de barcos
         panelBarcos.setDisable(true);
 
+        metricasPartida.reiniciar();
+
+        // Prior de la IA: hábitos de colocación de este jugador en partidas anteriores
+        PerfilColocacion perfil = almacenPerfiles.obtener(jugador.getNickname());
+        maquina.setPerfilOponente(perfil);
+        maquina.setLibroAperturas(libroAperturas.ajustadoA(perfil));
+
+        if (observadorEspectadores != null) {
+            observadorEspectadores.revelarFlotas(
+                    EstadoPartida.Lado.desde(jugador.getTablero()).getOcupadas(),
+                    EstadoPartida.Lado.desde(maquina.getTablero()).getOcupadas());
+        }
+
         // NOTIFICAR INICIO DEL JUEGO
         juegoObservable.notificarJuegoIniciado();
         juegoObservable.notificarCambioTurno(true);
@@ -1154,6 +1454,11 @@ public class JuegoController {
     @FXML
     private void mostrarTableroOponente() {
         // HU-3: Visualización del tablero del oponente (para profesor)
+        if (clienteRed != null) {
+            mostrarAlerta(AlertType.WARNING, "No disponible",
+                    "En una partida en red la flota rival solo la conoce el servidor.");
+            return;
+        }
         if (!juegoIniciado) {
             String tableroCompleto = maquina.mostrarTableroConBarcos();
 
@@ -1197,6 +1502,207 @@ public class JuegoController {
         }
     }
 
+    /**
+     * Abre el reproductor con la partida actual, desde las flotas iniciales
+     * hasta el último movimiento registrado en la pila.
+     */
+    @FXML
+    private void repetirPartida() {
+        if (pilaMovimientos == null || pilaMovimientos.estaVacio()) {
+            mostrarAlerta(AlertType.INFORMATION, "Sin movimientos",
+                    "Todavía no hay disparos para repetir.");
+            return;
+        }
+        try {
+            new ReproductorPartida(MotorRepeticion.de(jugador, maquina, pilaMovimientos.toList())).mostrar();
+        } catch (IllegalStateException e) {
+            LOG.error("No se pudo repetir la partida: " + e.getMessage());
+            mostrarAlerta(AlertType.ERROR, "Repetición no disponible", e.getMessage());
+        }
+    }
+
+    // ========== PARTIDA EN RED ==========
+
+    /**
+     * Conecta con un servidor de partidas en red (ServidorRed) para jugar
+     * contra otro humano con la flota ya colocada.
+     */
+    @FXML
+    private void jugarEnRed() {
+        if (juegoIniciado || clienteRed != null) {
+            mostrarAlerta(AlertType.WARNING, "No disponible", "Ya hay una partida en curso.");
+            return;
+        }
+        if (conexionRed != null) {
+            mostrarAlerta(AlertType.WARNING, "No disponible", "Ya se está conectando con el servidor.");
+            return;
+        }
+        if (!jugador.todosBarcosColocados()) {
+            mostrarAlerta(AlertType.WARNING, "Barcos incompletos",
+                    "Coloca todos tus barcos antes de buscar rival.");
+            return;
+        }
+
+        TextInputDialog dialogo = new TextInputDialog("localhost:" + ServidorRed.PUERTO_POR_DEFECTO);
+        dialogo.setTitle("Partida en red");
+        dialogo.setHeaderText("Servidor (host:puerto)");
+        dialogo.showAndWait().ifPresent(direccion -> {
+            int separador = direccion.lastIndexOf(':');
+            String host = separador < 0 ? direccion.trim() : direccion.substring(0, separador).trim();
+            int puerto;
+            try {
+                puerto = separador < 0 ? ServidorRed.PUERTO_POR_DEFECTO
+                        : Integer.parseInt(direccion.substring(separador + 1).trim());
+            } catch (NumberFormatException e) {
+                mostrarAlerta(AlertType.ERROR, "Dirección inválida", "Puerto no válido: " + direccion);
+                return;
+            }
+
+            panelBarcos.setDisable(true);
+            habilitarBotonRed(false);
+            mostrarMensaje("🌐 Conectando con " + host + ":" + puerto + "...");
+            CompletableFuture<ClienteRed> conexion = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new ClienteRed(host, puerto, new ClienteRed.Oyente() {
+                        @Override
+                        public void recibir(byte tipo, byte[] datos) {
+                            Platform.runLater(() -> procesarMensajeRed(tipo, datos));
+                        }
+
+                        @Override
+                        public void conexionPerdida() {
+                            Platform.runLater(() -> cerrarRed("Se perdió la conexión con el servidor."));
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            conexionRed = conexion;
+            conexion.whenComplete((cliente, error) -> Platform.runLater(() -> {
+                if (conexionRed != conexion) {
+                    // Se reinició el juego mientras se conectaba: esta conexión ya no sirve
+                    if (cliente != null) {
+                        cliente.close();
+                    }
+                    return;
+                }
+                conexionRed = null;
+                habilitarBotonRed(true);
+                if (error != null) {
+                    panelBarcos.setDisable(false);
+                    mostrarAlerta(AlertType.ERROR, "Sin conexión",
+                            "No se pudo conectar con " + host + ":" + puerto);
+                } else {
+                    // Se pide partida una vez asignado el cliente, para no perder la respuesta
+                    clienteRed = cliente;
+                    try {
+                        cliente.unirse(jugador.getNickname());
+                    } catch (IOException e) {
+                        cerrarRed("Se perdió la conexión con el servidor: " + e.getMessage());
+                    }
+                }
+            }));
+        });
+    }
+
+    private void procesarMensajeRed(byte tipo, byte[] datos) {
+        if (clienteRed == null) {
+            return;
+        }
+        switch (tipo) {
+            case ProtocoloRed.ESPERANDO_RIVAL:
+                mostrarMensaje("⏳ Esperando a otro jugador...");
+                break;
+
+            case ProtocoloRed.EMPAREJADO:
+                mostrarMensaje("🤝 Rival encontrado: " + ProtocoloRed.decodificarNickname(datos)
+                        + ". Enviando tu flota...");
+                try {
+                    clienteRed.enviarColocacion(jugador.getBarcos());
+                } catch (IOException e) {
+                    cerrarRed("Se perdió la conexión con el servidor: " + e.getMessage());
+                }
+                break;
+
+            case ProtocoloRed.INICIO:
+                juegoIniciado = true;
+                turnoJugador = datos[0] == 1;
+                metricasPartida.reiniciar();
+                juegoObservable.notificarJuegoIniciado();
+                mostrarMensaje(turnoJugador ? "🎮 ¡Empieza la partida! Es tu turno."
+                        : "🎮 ¡Empieza la partida! Dispara primero tu rival.");
+                break;
+
+            case ProtocoloRed.RESULTADO:
+                int fila = (datos[0] & 0xFF) / 10;
+                int columna = (datos[0] & 0xFF) % 10;
+                String resultado = TipoResultado.values()[datos[1]].name();
+                boolean propio = datos[2] == 1;
+                turnoJugador = datos[3] == 1;
+
+                Pane celda = propio ? obtenerCelda(tableroOponente, fila, columna)
+                        : encontrarCeldaTableroJugador(fila, columna);
+                if (celda != null) {
+                    celda.getChildren().clear();
+                    Group figura = Figuras2DUtils.crearFiguraResultado(resultado, 25);
+                    if (!propio) {
+                        figura.setLayoutX(7.5);
+                        figura.setLayoutY(7.5);
+                    }
+                    celda.getChildren().add(figura);
+                    celda.setDisable(true);
+                }
+                String coordenada = String.format("%c%d", (char) ('A' + columna), fila + 1);
+                mostrarMensaje((propio ? "🎯 Tu disparo en " : "💣 El rival disparó en ") + coordenada
+                        + ": " + resultado + (turnoJugador ? ". Es tu turno." : ". Turno del rival."));
+                break;
+
+            case ProtocoloRed.FIN:
+                boolean gane = datos[0] == 1;
+                juegoIniciado = false;
+                juegoObservable.notificarJuegoTerminado(gane ? "Jugador Humano" : "Rival en red");
+                cerrarRed(null);
+                mostrarMensaje(gane ? "🎉 ¡Ganaste la partida en red!" : "😢 Tu rival hundió tu flota.");
+                break;
+
+            case ProtocoloRed.ERROR:
+                if (datos[0] == ProtocoloRed.ERROR_DISPARO_INVALIDO || datos[0] == ProtocoloRed.ERROR_FUERA_DE_TURNO) {
+                    turnoJugador = datos[0] == ProtocoloRed.ERROR_DISPARO_INVALIDO;
+                }
+                mostrarMensaje("⚠️ El servidor rechazó la acción (código " + datos[0] + ").");
+                break;
+
+            case ProtocoloRed.RIVAL_DESCONECTADO:
+                juegoIniciado = false;
+                cerrarRed("Tu rival se desconectó.");
+                break;
+
+            default:
+                LOG.advertencia("Mensaje de red desconocido: " + tipo);
+        }
+    }
+
+    private void habilitarBotonRed(boolean habilitado) {
+        if (btnRed != null) {
+            btnRed.setDisable(!habilitado);
+        }
+    }
+
+    /**
+     * Cierra la conexión de red; si hay motivo, lo muestra en una alerta.
+     */
+    private void cerrarRed(String motivo) {
+        if (clienteRed != null) {
+            clienteRed.close();
+            clienteRed = null;
+        }
+        juegoIniciado = false;
+        if (motivo != null) {
+            mostrarAlerta(AlertType.WARNING, "Partida en red", motivo);
+        }
+    }
+
     /**
      * Reinicia el juego, reestablece los jugadores, limpia los tableros y recrea los barcos.
      */
@@ -1209,14 +1715,25 @@ public class JuegoController {
                 "Juego reiniciado"
         );
 
+        if (clienteRed != null) {
+            clienteRed.close();
+            clienteRed = null;
+        }
+        conexionRed = null; // Una conexión en curso se cierra al completarse
+        habilitarBotonRed(true);
+
         // Reiniciar todo el juego
         jugador = new Jugador("Humano");
         maquina = new Jugador("Máquina");
-        maquina.colocarBarcosAleatoriamente();
+        maquina.setMetricasPartida(metricasPartida);
+        maquina.setLibroAperturas(libroAperturas);
+        maquina.setEstrategia(ConfiguracionViva.global().actual().crearEstrategia());
+        colocarFlotaMaquina();
 
         // Reiniciar la pila de movimientos
         if (pilaMovimientos != null) {
             pilaMovimientos.vaciar();
+            resolverJugadoresPila();
             System.out.println("🗑️ Pila de movimientos vaciada");
         }
 
@@ -1240,7 +1757,7 @@ public class JuegoController {
         );
 
         System.out.println("🔄 Juego reiniciado");
-        System.out.println("📊 Estructura de datos: PilaMovimientos reiniciada");
+        System.out.println("📊 Estructura de datos: HistorialCompacto reiniciado");
         System.out.println("🎨 Figuras 2D JavaFX: Reiniciadas");
     }
 
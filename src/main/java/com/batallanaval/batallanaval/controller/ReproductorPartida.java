@@ -0,0 +1,188 @@
+package com.batallanaval.batallanaval.controller;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.EstadoPartida;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.model.MotorRepeticion;
+import com.batallanaval.batallanaval.model.Tablero;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Ventana de repetición de una partida sobre un MotorRepeticion.
+ *
+ * La reproducción usa un Timeline cuya velocidad (1x a 100x) es la tasa del
+ * propio Timeline; a 1x se aplica un movimiento cada medio segundo. La barra
+ * de posición permite saltar a cualquier movimiento: el motor parte de la
+ * instantánea más cercana, así que saltar no depende del largo de la partida.
+ *
+ * @version 1.0
+ */
+public class ReproductorPartida {
+
+    private static final Duration PASO_BASE = Duration.millis(500); // Un movimiento por paso a 1x
+    private static final double TAMANHO_CELDA = 24;
+
+    private final MotorRepeticion motor;
+    private final Rectangle[] celdasHumano = new Rectangle[MascaraCeldas.CELDAS];
+    private final Rectangle[] celdasMaquina = new Rectangle[MascaraCeldas.CELDAS];
+    private final Timeline timeline;
+    private final Slider posicion;
+    private final Label lblMovimiento = new Label();
+    private final Button btnReproducir = new Button("▶");
+
+    private EstadoPartida estado;
+    private boolean actualizandoPosicion; // Evita que mover la barra desde código provoque un salto
+
+    /**
+     * @param motor Motor con la partida a repetir
+     */
+    public ReproductorPartida(MotorRepeticion motor) {
+        this.motor = motor;
+        this.estado = motor.getEstadoInicial();
+
+        this.timeline = new Timeline(new KeyFrame(PASO_BASE, e -> avanzar()));
+        this.timeline.setCycleCount(Animation.INDEFINITE);
+
+        this.posicion = new Slider(0, motor.getCantidadMovimientos(), 0);
+        this.posicion.setBlockIncrement(1);
+        this.posicion.setMajorTickUnit(1);
+        this.posicion.setSnapToTicks(true);
+        this.posicion.valueProperty().addListener((obs, anterior, nuevo) -> {
+            if (!actualizandoPosicion) {
+                irA(nuevo.intValue());
+            }
+        });
+    }
+
+    // ========== VENTANA ==========
+
+    /**
+     * Abre la ventana del reproductor. Al cerrarla se detiene la reproducción.
+     */
+    public void mostrar() {
+        Slider velocidad = new Slider(1, 100, 1);
+        Label lblVelocidad = new Label("1x");
+        velocidad.valueProperty().addListener((obs, anterior, nuevo) -> {
+            timeline.setRate(nuevo.doubleValue());
+            lblVelocidad.setText(nuevo.intValue() + "x");
+        });
+
+        Button btnInicio = new Button("⏮");
+        btnInicio.setOnAction(e -> irA(0));
+        Button btnFinal = new Button("⏭");
+        btnFinal.setOnAction(e -> irA(motor.getCantidadMovimientos()));
+        btnReproducir.setOnAction(e -> alternarReproduccion());
+
+        HBox tableros = new HBox(30,
+                new VBox(5, new Label("TU FLOTA"), crearTablero(celdasHumano)),
+                new VBox(5, new Label("FLOTA ENEMIGA"), crearTablero(celdasMaquina)));
+        HBox controles = new HBox(10, btnInicio, btnReproducir, btnFinal,
+                new Label("Velocidad:"), velocidad, lblVelocidad);
+        controles.setAlignment(Pos.CENTER_LEFT);
+
+        VBox raiz = new VBox(10, tableros, posicion, controles, lblMovimiento);
+        raiz.setPadding(new Insets(15));
+
+        Stage ventana = new Stage();
+        ventana.setTitle("Repetición de la partida");
+        ventana.setScene(new Scene(raiz));
+        ventana.setOnHidden(e -> timeline.stop());
+
+        dibujar();
+        ventana.show();
+    }
+
+    private GridPane crearTablero(Rectangle[] celdas) {
+        GridPane tablero = new GridPane();
+        tablero.setHgap(1);
+        tablero.setVgap(1);
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            Rectangle rectangulo = new Rectangle(TAMANHO_CELDA, TAMANHO_CELDA);
+            celdas[celda] = rectangulo;
+            tablero.add(rectangulo, celda % MascaraCeldas.LADO, celda / MascaraCeldas.LADO);
+        }
+        return tablero;
+    }
+
+    // ========== REPRODUCCIÓN ==========
+
+    private void alternarReproduccion() {
+        if (timeline.getStatus() == Animation.Status.RUNNING) {
+            timeline.pause();
+            btnReproducir.setText("▶");
+        } else {
+            if (estado.getNumeroMovimiento() >= motor.getCantidadMovimientos()) {
+                irA(0);
+            }
+            timeline.play();
+            btnReproducir.setText("⏸");
+        }
+    }
+
+    private void avanzar() {
+        if (estado.getNumeroMovimiento() >= motor.getCantidadMovimientos()) {
+            timeline.stop();
+            btnReproducir.setText("▶");
+            return;
+        }
+        estado = motor.siguiente(estado);
+        dibujar();
+    }
+
+    /**
+     * Salta al estado tras n movimientos.
+     */
+    private void irA(int n) {
+        estado = motor.estadoEn(n);
+        dibujar();
+    }
+
+    private void dibujar() {
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            celdasHumano[celda].setFill(color(estado.getLadoHumano().estadoCelda(celda)));
+            celdasMaquina[celda].setFill(color(estado.getLadoMaquina().estadoCelda(celda)));
+        }
+
+        int n = estado.getNumeroMovimiento();
+        actualizandoPosicion = true;
+        posicion.setValue(n);
+        actualizandoPosicion = false;
+
+        if (n == 0) {
+            lblMovimiento.setText("Movimiento 0 / " + motor.getCantidadMovimientos() + " - inicio de la partida");
+        } else {
+            Movimiento movimiento = motor.getMovimiento(n - 1);
+            lblMovimiento.setText("Movimiento " + n + " / " + motor.getCantidadMovimientos() + " - " + movimiento);
+        }
+    }
+
+    private static Color color(Tablero.EstadoCelda estadoCelda) {
+        switch (estadoCelda) {
+            case AGUA_DISPARADA:
+                return Color.web("#4682B4");
+            case BARCO_INTACTO:
+                return Color.web("#7f8c8d");
+            case BARCO_TOCADO:
+                return Color.web("#e67e22");
+            case BARCO_HUNDIDO:
+                return Color.web("#c0392b");
+            default:
+                return Color.web("#87CEEB");
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.batallanaval.batallanaval.datastructures;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Árbol de estadísticas de orden: un treap (árbol binario de búsqueda con
+ * prioridades aleatorias) en el que cada nodo guarda el tamaño de su
+ * subárbol. Así, además de insertar y eliminar, responde en O(log n)
+ * esperado la posición de un elemento y el k-ésimo elemento, y devuelve los
+ * k primeros en O(log n + k).
+ *
+ * El orden lo da el comparador, que no debe considerar iguales a dos
+ * elementos distintos (desempatar, por ejemplo, por nombre).
+ *
+ * @param <T> Tipo de los elementos
+ * @version 1.0
+ */
+public class ArbolEstadistico<T> {
+
+    private static final class Nodo<T> {
+        final T valor;
+        final int prioridad;
+        int tamanio = 1;
+        Nodo<T> izquierdo;
+        Nodo<T> derecho;
+
+        Nodo(T valor, int prioridad) {
+            this.valor = valor;
+            this.prioridad = prioridad;
+        }
+    }
+
+    /** Resultado de dividir(): los nodos menores que el valor y el resto. */
+    private static final class Division<T> {
+        Nodo<T> menores;
+        Nodo<T> resto;
+    }
+
+    private final Comparator<? super T> comparador;
+    private final SplittableRandom aleatorio = new SplittableRandom();
+    private Nodo<T> raiz;
+
+    /**
+     * @param comparador Orden de los elementos (el primero es el de posición 0)
+     */
+    public ArbolEstadistico(Comparator<? super T> comparador) {
+        this.comparador = comparador;
+    }
+
+    // ========== MODIFICACIÓN ==========
+
+    /**
+     * Inserta un elemento.
+     *
+     * @return false si ya había uno igual según el comparador
+     */
+    public boolean insertar(T valor) {
+        if (contiene(valor)) {
+            return false;
+        }
+        Division<T> partes = new Division<>();
+        dividir(raiz, valor, partes);
+        raiz = unir(unir(partes.menores, new Nodo<>(valor, aleatorio.nextInt())), partes.resto);
+        return true;
+    }
+
+    /**
+     * Elimina el elemento igual a 'valor' según el comparador.
+     *
+     * @return true si estaba
+     */
+    public boolean eliminar(T valor) {
+        int tamanioAntes = tamanio();
+        raiz = eliminar(raiz, valor);
+        return tamanio() < tamanioAntes;
+    }
+
+    private Nodo<T> eliminar(Nodo<T> nodo, T valor) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = comparador.compare(valor, nodo.valor);
+        if (comparacion == 0) {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        if (comparacion < 0) {
+            nodo.izquierdo = eliminar(nodo.izquierdo, valor);
+        } else {
+            nodo.derecho = eliminar(nodo.derecho, valor);
+        }
+        actualizar(nodo);
+        return nodo;
+    }
+
+    public void vaciar() {
+        raiz = null;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int tamanio() {
+        return tamanio(raiz);
+    }
+
+    public boolean estaVacio() {
+        return raiz == null;
+    }
+
+    public boolean contiene(T valor) {
+        Nodo<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(valor, nodo.valor);
+            if (comparacion == 0) {
+                return true;
+            }
+            nodo = comparacion < 0 ? nodo.izquierdo : nodo.derecho;
+        }
+        return false;
+    }
+
+    /**
+     * @return Cantidad de elementos que van antes de 'valor' (su posición desde 0
+     *         si está en el árbol)
+     */
+    public int posicion(T valor) {
+        int antes = 0;
+        Nodo<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparador.compare(valor, nodo.valor);
+            if (comparacion <= 0) {
+                if (comparacion == 0) {
+                    return antes + tamanio(nodo.izquierdo);
+                }
+                nodo = nodo.izquierdo;
+            } else {
+                antes += tamanio(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return antes;
+    }
+
+    /**
+     * @param k Posición desde 0
+     * @return Elemento en la posición k
+     * @throws IndexOutOfBoundsException si k no está entre 0 y tamanio() - 1
+     */
+    public T kesimo(int k) {
+        if (k < 0 || k >= tamanio()) {
+            throw new IndexOutOfBoundsException("Posición " + k + " fuera de 0.." + (tamanio() - 1));
+        }
+        Nodo<T> nodo = raiz;
+        while (true) {
+            int izquierdos = tamanio(nodo.izquierdo);
+            if (k < izquierdos) {
+                nodo = nodo.izquierdo;
+            } else if (k == izquierdos) {
+                return nodo.valor;
+            } else {
+                k -= izquierdos + 1;
+                nodo = nodo.derecho;
+            }
+        }
+    }
+
+    /**
+     * @return Los primeros k elementos en orden (menos si no hay tantos)
+     */
+    public List<T> primeros(int k) {
+        List<T> resultado = new ArrayList<>(Math.min(k, tamanio()));
+        recorrer(raiz, k, resultado);
+        return resultado;
+    }
+
+    private void recorrer(Nodo<T> nodo, int k, List<T> resultado) {
+        if (nodo == null || resultado.size() >= k) {
+            return;
+        }
+        recorrer(nodo.izquierdo, k, resultado);
+        if (resultado.size() < k) {
+            resultado.add(nodo.valor);
+            recorrer(nodo.derecho, k, resultado);
+        }
+    }
+
+    // ========== TREAP ==========
+
+    /**
+     * Divide en (menores que valor, el resto), dejando las dos partes en 'partes'.
+     */
+    private void dividir(Nodo<T> nodo, T valor, Division<T> partes) {
+        if (nodo == null) {
+            partes.menores = null;
+            partes.resto = null;
+            return;
+        }
+        if (comparador.compare(nodo.valor, valor) < 0) {
+            dividir(nodo.derecho, valor, partes);
+            nodo.derecho = partes.menores;
+            actualizar(nodo);
+            partes.menores = nodo;
+            return;
+        }
+        dividir(nodo.izquierdo, valor, partes);
+        nodo.izquierdo = partes.resto;
+        actualizar(nodo);
+        partes.resto = nodo;
+    }
+
+    /**
+     * Une dos treaps donde todo 'a' va antes que todo 'b'.
+     */
+    private Nodo<T> unir(Nodo<T> a, Nodo<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            a.derecho = unir(a.derecho, b);
+            actualizar(a);
+            return a;
+        }
+        b.izquierdo = unir(a, b.izquierdo);
+        actualizar(b);
+        return b;
+    }
+
+    private static int tamanio(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    private static void actualizar(Nodo<?> nodo) {
+        nodo.tamanio = 1 + tamanio(nodo.izquierdo) + tamanio(nodo.derecho);
+    }
+
+    @Override
+    public String toString() {
+        return "ArbolEstadistico{tamanio=" + tamanio() + "}";
+    }
+}
@@ -0,0 +1,163 @@
+package com.batallanaval.batallanaval.datastructures;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+
+/**
+ * Cola doble (deque) de casillas del tablero sobre un arreglo circular de int,
+ * sin duplicados: la pertenencia se controla con un bitboard de 100 bits.
+ * Todas las operaciones son O(1) y no crean objetos.
+ *
+ * Las casillas se guardan como índice fila * 10 + columna.
+ *
+ * @version 1.0
+ */
+public class ColaCeldas implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int CAPACIDAD = 128; // Potencia de 2 mayor que las 100 casillas
+
+    private final int[] elementos = new int[CAPACIDAD];
+    private int frente;
+    private int tamanio;
+    private long presentesBajo;
+    private long presentesAlto;
+
+    // ========== OPERACIONES DE COLA DOBLE ==========
+
+    /**
+     * Agrega una casilla al final si no está ya en la cola.
+     *
+     * @param celda Índice de casilla (0-99)
+     * @return true si se agregó
+     */
+    public boolean agregarAlFinal(int celda) {
+        if (!marcar(celda)) {
+            return false;
+        }
+        elementos[(frente + tamanio) & (CAPACIDAD - 1)] = celda;
+        tamanio++;
+        return true;
+    }
+
+    /**
+     * Agrega una casilla al frente si no está ya en la cola.
+     *
+     * @param celda Índice de casilla (0-99)
+     * @return true si se agregó
+     */
+    public boolean agregarAlFrente(int celda) {
+        if (!marcar(celda)) {
+            return false;
+        }
+        frente = (frente - 1) & (CAPACIDAD - 1);
+        elementos[frente] = celda;
+        tamanio++;
+        return true;
+    }
+
+    /**
+     * Quita y devuelve la casilla del frente.
+     *
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public int quitarDelFrente() {
+        if (tamanio == 0) {
+            throw new NoSuchElementException("Cola de casillas vacía");
+        }
+        int celda = elementos[frente];
+        frente = (frente + 1) & (CAPACIDAD - 1);
+        tamanio--;
+        desmarcar(celda);
+        return celda;
+    }
+
+    /**
+     * Quita una casilla cualquiera de la cola conservando el orden del resto (O(n)).
+     *
+     * @return true si estaba presente
+     */
+    public boolean quitar(int celda) {
+        if (!contiene(celda)) {
+            return false;
+        }
+        int escritura = 0;
+        for (int i = 0; i < tamanio; i++) {
+            int valor = elementos[(frente + i) & (CAPACIDAD - 1)];
+            if (valor != celda) {
+                elementos[(frente + escritura) & (CAPACIDAD - 1)] = valor;
+                escritura++;
+            }
+        }
+        tamanio = escritura;
+        desmarcar(celda);
+        return true;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public boolean contiene(int celda) {
+        return MascaraCeldas.contiene(presentesBajo, presentesAlto, celda);
+    }
+
+    /**
+     * @param i Posición desde el frente (0 = frente)
+     * @return Casilla en esa posición
+     */
+    public int obtener(int i) {
+        if (i < 0 || i >= tamanio) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de rango. tamaño: " + tamanio);
+        }
+        return elementos[(frente + i) & (CAPACIDAD - 1)];
+    }
+
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * @return Bitboard con las casillas presentes
+     */
+    public MascaraCeldas getMascara() {
+        return MascaraCeldas.de(presentesBajo, presentesAlto);
+    }
+
+    public void vaciar() {
+        frente = 0;
+        tamanio = 0;
+        presentesBajo = 0;
+        presentesAlto = 0;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private boolean marcar(int celda) {
+        if (celda < 0 || celda >= MascaraCeldas.CELDAS) {
+            throw new IndexOutOfBoundsException("Casilla inválida: " + celda);
+        }
+        if (contiene(celda)) {
+            return false;
+        }
+        if (celda < 64) presentesBajo |= 1L << celda; else presentesAlto |= 1L << (celda - 64);
+        return true;
+    }
+
+    private void desmarcar(int celda) {
+        if (celda < 64) presentesBajo &= ~(1L << celda); else presentesAlto &= ~(1L << (celda - 64));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ColaCeldas[");
+        for (int i = 0; i < tamanio; i++) {
+            int celda = obtener(i);
+            sb.append('(').append(celda / MascaraCeldas.LADO).append(',').append(celda % MascaraCeldas.LADO).append(')');
+            if (i < tamanio - 1) sb.append(", ");
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,327 @@
+package com.batallanaval.batallanaval.datastructures;
+
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Pila (LIFO) de movimientos en forma primitiva: cada disparo es un int con
+ * la casilla, el turno, el resultado y el jugador, más un long con los
+ * nanosegundos transcurridos desde que se creó (o vació) el historial.
+ * El origen se guarda como dos long (nanoTime y milisegundos de época), así
+ * que tampoco vaciar() crea objetos.
+ *
+ * Los nombres de los jugadores se guardan una sola vez (flyweight) y cada
+ * jugada lleva su número. Apilar no crea objetos ni lee el reloj de pared
+ * (solo System.nanoTime()), así que registrar la historia de una simulación
+ * no genera basura. Los Movimiento se materializan solo al consultarlos para
+ * mostrarlos o archivarlos (movimiento(i), vista(), toList()).
+ *
+ * Codificación: casilla (bits 0-6) | turno del humano (bit 7)
+ * | resultado (bits 8-10) | jugador (bits 11 en adelante).
+ *
+ * @version 1.0
+ */
+public class HistorialCompacto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MASCARA_CELDA = (1 << 7) - 1;
+    private static final int BIT_TURNO_JUGADOR = 1 << 7;
+    private static final int DESPLAZAMIENTO_RESULTADO = 8;
+    private static final int MASCARA_RESULTADO = 0b111;
+    private static final int DESPLAZAMIENTO_JUGADOR = 11;
+    private static final TipoResultado[] RESULTADOS = TipoResultado.values();
+
+    private final int[] jugadas;
+    private final long[] nanos;
+    private String[] jugadores = new String[2];
+    private int cantidadJugadores;
+    private int tamanio;
+    private long origenNanos;
+    private long origenEpochMillis;
+
+    /**
+     * @param capacidad Cantidad máxima de movimientos
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public HistorialCompacto(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva");
+        }
+        this.jugadas = new int[capacidad];
+        this.nanos = new long[capacidad];
+        reiniciarOrigen();
+    }
+
+    // ========== JUGADORES (FLYWEIGHT) ==========
+
+    /**
+     * Devuelve el número de un jugador, registrándolo la primera vez.
+     * Conviene llamarlo una vez por partida y guardar el número.
+     *
+     * @param nombre Nombre del jugador
+     * @return Número del jugador para apilar()
+     */
+    public int jugador(String nombre) {
+        for (int i = 0; i < cantidadJugadores; i++) {
+            if (jugadores[i].equals(nombre)) {
+                return i;
+            }
+        }
+        if (cantidadJugadores == jugadores.length) {
+            jugadores = Arrays.copyOf(jugadores, jugadores.length * 2);
+        }
+        jugadores[cantidadJugadores] = nombre;
+        return cantidadJugadores++;
+    }
+
+    // ========== OPERACIONES PRINCIPALES DE PILA ==========
+
+    /**
+     * Apila un disparo sin crear objetos.
+     *
+     * @param jugador Número devuelto por jugador(String)
+     * @param fila Fila (0-9)
+     * @param columna Columna (0-9)
+     * @param resultado Resultado del disparo
+     * @param turnoJugador true si era turno del jugador humano
+     * @throws IllegalStateException si el historial está lleno
+     * @throws IllegalArgumentException si el jugador o las coordenadas no son válidos
+     */
+    public void apilar(int jugador, int fila, int columna, TipoResultado resultado, boolean turnoJugador) {
+        if (estaLleno()) {
+            throw new IllegalStateException("Historial lleno. Capacidad: " + jugadas.length);
+        }
+        if (jugador < 0 || jugador >= cantidadJugadores) {
+            throw new IllegalArgumentException("Jugador no registrado: " + jugador);
+        }
+        if (fila < 0 || fila >= MascaraCeldas.LADO || columna < 0 || columna >= MascaraCeldas.LADO) {
+            throw new IllegalArgumentException("Coordenadas inválidas: (" + fila + "," + columna + ")");
+        }
+        jugadas[tamanio] = MascaraCeldas.indice(fila, columna)
+                | (turnoJugador ? BIT_TURNO_JUGADOR : 0)
+                | resultado.ordinal() << DESPLAZAMIENTO_RESULTADO
+                | jugador << DESPLAZAMIENTO_JUGADOR;
+        nanos[tamanio] = System.nanoTime() - origenNanos;
+        tamanio++;
+    }
+
+    /**
+     * Desapila el último movimiento.
+     *
+     * @return Vista del movimiento desapilado
+     * @throws EmptyStackException si el historial está vacío
+     */
+    public Movimiento desapilar() {
+        Movimiento cima = cima();
+        tamanio--;
+        return cima;
+    }
+
+    /**
+     * @return Vista del último movimiento, sin desapilarlo
+     * @throws EmptyStackException si el historial está vacío
+     */
+    public Movimiento cima() {
+        if (estaVacio()) {
+            throw new EmptyStackException();
+        }
+        return movimiento(tamanio - 1);
+    }
+
+    /**
+     * Vacía el historial y toma un origen de tiempo nuevo (los jugadores registrados se conservan).
+     */
+    public void vaciar() {
+        tamanio = 0;
+        reiniciarOrigen();
+    }
+
+    private void reiniciarOrigen() {
+        origenNanos = System.nanoTime();
+        origenEpochMillis = System.currentTimeMillis();
+    }
+
+    // ========== OPERACIONES DE CONSULTA ==========
+
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+
+    public boolean estaLleno() {
+        return tamanio == jugadas.length;
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    public int getCapacidad() {
+        return jugadas.length;
+    }
+
+    // ========== ACCESO PRIMITIVO (del más antiguo, 0, al más reciente) ==========
+
+    public int fila(int i) {
+        return celda(i) / MascaraCeldas.LADO;
+    }
+
+    public int columna(int i) {
+        return celda(i) % MascaraCeldas.LADO;
+    }
+
+    public TipoResultado resultado(int i) {
+        return RESULTADOS[codigo(i) >>> DESPLAZAMIENTO_RESULTADO & MASCARA_RESULTADO];
+    }
+
+    public boolean turnoJugador(int i) {
+        return (codigo(i) & BIT_TURNO_JUGADOR) != 0;
+    }
+
+    public String nombreJugador(int i) {
+        return jugadores[codigo(i) >>> DESPLAZAMIENTO_JUGADOR];
+    }
+
+    /**
+     * @return Nanosegundos entre el origen del historial y el disparo i
+     */
+    public long nanosDesdeOrigen(int i) {
+        comprobarIndice(i);
+        return nanos[i];
+    }
+
+    /**
+     * @return Instante del disparo i en milisegundos de época (sin crear objetos)
+     */
+    public long marcaMillis(int i) {
+        return origenEpochMillis + nanosDesdeOrigen(i) / 1_000_000;
+    }
+
+    private int celda(int i) {
+        return codigo(i) & MASCARA_CELDA;
+    }
+
+    private int codigo(int i) {
+        comprobarIndice(i);
+        return jugadas[i];
+    }
+
+    private void comprobarIndice(int i) {
+        if (i < 0 || i >= tamanio) {
+            throw new IndexOutOfBoundsException("Movimiento " + i + " fuera de rango. Total: " + tamanio);
+        }
+    }
+
+    // ========== VISTAS MATERIALIZADAS ==========
+
+    /**
+     * Materializa el movimiento i (0 = el más antiguo).
+     *
+     * @return Movimiento nuevo con la fecha del disparo
+     */
+    public Movimiento movimiento(int i) {
+        int codigo = codigo(i);
+        int celda = codigo & MASCARA_CELDA;
+        return new Movimiento(jugadores[codigo >>> DESPLAZAMIENTO_JUGADOR],
+                celda / MascaraCeldas.LADO, celda % MascaraCeldas.LADO,
+                RESULTADOS[codigo >>> DESPLAZAMIENTO_RESULTADO & MASCARA_RESULTADO],
+                (codigo & BIT_TURNO_JUGADOR) != 0, fechaHora(i));
+    }
+
+    private LocalDateTime fechaHora(int i) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(origenEpochMillis).plusNanos(nanos[i]),
+                ZoneId.systemDefault());
+    }
+
+    /**
+     * Vista de solo lectura, en orden cronológico, que materializa cada
+     * Movimiento al pedirlo. Refleja los cambios posteriores del historial;
+     * para guardar una copia que sobreviva a vaciar() usar toList().
+     *
+     * @return Lista perezosa de movimientos
+     */
+    public List<Movimiento> vista() {
+        return new Vista();
+    }
+
+    /**
+     * @return Copia materializada del historial (del más antiguo al más reciente)
+     */
+    public List<Movimiento> toList() {
+        return new ArrayList<>(vista());
+    }
+
+    /**
+     * Obtiene los últimos N movimientos.
+     *
+     * @param n Cantidad de movimientos a obtener
+     * @return Lista con los últimos movimientos (del más reciente al más antiguo)
+     * @throws IllegalArgumentException si n es negativo
+     */
+    public List<Movimiento> ultimosMovimientos(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n no puede ser negativo");
+        }
+        n = Math.min(n, tamanio);
+        List<Movimiento> resultado = new ArrayList<>(n);
+        for (int i = tamanio - 1; i >= tamanio - n; i--) {
+            resultado.add(movimiento(i));
+        }
+        return resultado;
+    }
+
+    private final class Vista extends AbstractList<Movimiento> implements RandomAccess {
+        @Override
+        public Movimiento get(int indice) {
+            return movimiento(indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanio;
+        }
+    }
+
+    // ========== MÉTODOS DE DEBUG/LOG ==========
+
+    @Override
+    public String toString() {
+        return "HistorialCompacto[tamanho=" + tamanio + ", capacidad=" + jugadas.length
+                + ", jugadores=" + Arrays.toString(Arrays.copyOf(jugadores, cantidadJugadores)) + "]";
+    }
+
+    /**
+     * Muestra el contenido del historial de forma legible.
+     *
+     * @return String formateado con los movimientos
+     */
+    public String mostrarContenido() {
+        if (estaVacio()) {
+            return "Pila vacía";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== CONTENIDO DE LA PILA ===\n");
+        sb.append("Capacidad: ").append(jugadas.length).append("\n");
+        sb.append("tamanho actual: ").append(tamanio).append("\n");
+        sb.append("Elementos (del más reciente al más antiguo):\n");
+
+        int contador = 1;
+        for (int i = tamanio - 1; i >= 0; i--) {
+            sb.append(contador).append(". ").append(movimiento(i)).append("\n");
+            contador++;
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package com.batallanaval.batallanaval.datastructures;
+
+import java.io.Serializable;
+
+/**
+ * Conjunto inmutable de casillas de un tablero 10x10 representado como bitboard.
+ * Usa dos long: las casillas 0-63 en 'bajo' y las 64-99 en 'alto'.
+ * La casilla (fila, columna) tiene índice fila * 10 + columna.
+ *
+ * @version 1.0
+ */
+public final class MascaraCeldas implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int LADO = 10;
+    public static final int CELDAS = LADO * LADO;
+    private static final long MASCARA_ALTO = (1L << (CELDAS - 64)) - 1;
+
+    public static final MascaraCeldas VACIA = new MascaraCeldas(0L, 0L);
+    public static final MascaraCeldas COMPLETA = new MascaraCeldas(-1L, MASCARA_ALTO);
+
+    private final long bajo;
+    private final long alto;
+
+    private MascaraCeldas(long bajo, long alto) {
+        this.bajo = bajo;
+        this.alto = alto & MASCARA_ALTO;
+    }
+
+    /**
+     * Crea una máscara a partir de sus dos palabras.
+     *
+     * @param bajo Casillas 0-63
+     * @param alto Casillas 64-99
+     * @return Máscara equivalente
+     */
+    public static MascaraCeldas de(long bajo, long alto) {
+        if (bajo == 0 && (alto & MASCARA_ALTO) == 0) {
+            return VACIA;
+        }
+        return new MascaraCeldas(bajo, alto);
+    }
+
+    /**
+     * Convierte coordenadas a índice de casilla.
+     */
+    public static int indice(int fila, int columna) {
+        return fila * LADO + columna;
+    }
+
+    // ========== OPERACIONES SOBRE PALABRAS (SIN OBJETOS) ==========
+
+    /**
+     * Verifica si una casilla está en el par (bajo, alto) sin crear objetos.
+     */
+    public static boolean contiene(long bajo, long alto, int celda) {
+        return celda < 64 ? (bajo & (1L << celda)) != 0 : (alto & (1L << (celda - 64))) != 0;
+    }
+
+    /**
+     * Devuelve la k-ésima casilla (desde 0) presente en el par (bajo, alto).
+     *
+     * @return Índice de la casilla o -1 si k excede la cantidad
+     */
+    public static int enesima(long bajo, long alto, int k) {
+        int enBajo = Long.bitCount(bajo);
+        long palabra = k < enBajo ? bajo : alto;
+        int restante = k < enBajo ? k : k - enBajo;
+        int base = k < enBajo ? 0 : 64;
+
+        for (int i = 0; i < restante && palabra != 0; i++) {
+            palabra &= palabra - 1; // Elimina el bit más bajo
+        }
+        if (palabra == 0) {
+            return -1;
+        }
+        return base + Long.numberOfTrailingZeros(palabra);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public boolean contiene(int celda) {
+        return contiene(bajo, alto, celda);
+    }
+
+    public boolean contiene(int fila, int columna) {
+        return contiene(indice(fila, columna));
+    }
+
+    public int cantidad() {
+        return Long.bitCount(bajo) + Long.bitCount(alto);
+    }
+
+    public boolean estaVacia() {
+        return bajo == 0 && alto == 0;
+    }
+
+    /**
+     * @return true si comparte al menos una casilla con otra máscara
+     */
+    public boolean seSolapa(MascaraCeldas otra) {
+        return (bajo & otra.bajo) != 0 || (alto & otra.alto) != 0;
+    }
+
+    /**
+     * @param k Posición (desde 0) entre las casillas presentes
+     * @return Índice de la k-ésima casilla o -1 si no existe
+     */
+    public int enesima(int k) {
+        return enesima(bajo, alto, k);
+    }
+
+    public long getBajo() {
+        return bajo;
+    }
+
+    public long getAlto() {
+        return alto;
+    }
+
+    // ========== OPERACIONES (DEVUELVEN NUEVAS MÁSCARAS) ==========
+
+    public MascaraCeldas con(int celda) {
+        if (contiene(celda)) {
+            return this;
+        }
+        return celda < 64 ? new MascaraCeldas(bajo | (1L << celda), alto)
+                : new MascaraCeldas(bajo, alto | (1L << (celda - 64)));
+    }
+
+    public MascaraCeldas sin(int celda) {
+        if (!contiene(celda)) {
+            return this;
+        }
+        return celda < 64 ? de(bajo & ~(1L << celda), alto)
+                : de(bajo, alto & ~(1L << (celda - 64)));
+    }
+
+    public MascaraCeldas union(MascaraCeldas otra) {
+        return de(bajo | otra.bajo, alto | otra.alto);
+    }
+
+    public MascaraCeldas interseccion(MascaraCeldas otra) {
+        return de(bajo & otra.bajo, alto & otra.alto);
+    }
+
+    public MascaraCeldas diferencia(MascaraCeldas otra) {
+        return de(bajo & ~otra.bajo, alto & ~otra.alto);
+    }
+
+    public MascaraCeldas complemento() {
+        return de(~bajo, ~alto);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof MascaraCeldas)) return false;
+
+        MascaraCeldas other = (MascaraCeldas) obj;
+        return bajo == other.bajo && alto == other.alto;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bajo) * 31 + Long.hashCode(alto);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int fila = 0; fila < LADO; fila++) {
+            for (int col = 0; col < LADO; col++) {
+                sb.append(contiene(fila, col) ? '#' : '.');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
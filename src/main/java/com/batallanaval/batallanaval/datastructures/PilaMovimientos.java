@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.EmptyStackException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementación de una Pila (Stack) para almacenar movimientos del juego.
@@ -164,6 +165,18 @@ public class PilaMovimientos<T> implements Serializable {
         return new ArrayList<>(elementos);
     }
 
+    /**
+     * Recorre los elementos del más antiguo al más reciente sin copiarlos
+     * (a diferencia de toList()). La acción no debe apilar ni desapilar.
+     *
+     * @param accion Acción a aplicar a cada elemento
+     */
+    public void recorrer(Consumer<? super T> accion) {
+        for (int i = 0; i <= tope; i++) {
+            accion.accept(elementos.get(i));
+        }
+    }
+
     /**
      * Convierte la pila a un array.
      *
@@ -0,0 +1,33 @@
+package com.batallanaval.batallanaval.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR con duración para el guardado y la carga de partidas.
+ *
+ * @version 1.0
+ */
+@Name("batallanaval.Archivo")
+@Label("Guardado/Carga")
+@Category({"Batalla Naval", "Archivos"})
+@Description("Operación de ArchivoManager sobre un juego guardado")
+public class EventoArchivo extends Event {
+
+    @Label("Operación")
+    public String operacion;
+
+    @Label("Archivo")
+    public String archivo;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Exitoso")
+    public boolean exitoso;
+}
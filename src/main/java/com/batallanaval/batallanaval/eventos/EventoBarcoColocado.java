@@ -0,0 +1,36 @@
+package com.batallanaval.batallanaval.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido cuando un barco queda colocado en un tablero.
+ *
+ * @version 1.0
+ */
+@Name("batallanaval.BarcoColocado")
+@Label("Barco colocado")
+@Category({"Batalla Naval", "Juego"})
+@Description("Barco colocado en el tablero de un jugador")
+@StackTrace(false)
+public class EventoBarcoColocado extends Event {
+
+    @Label("Jugador")
+    public String jugador;
+
+    @Label("Barco")
+    public String barco;
+
+    @Label("Fila")
+    public int fila;
+
+    @Label("Columna")
+    public int columna;
+
+    @Label("Horizontal")
+    public boolean horizontal;
+}
@@ -0,0 +1,27 @@
+package com.batallanaval.batallanaval.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR con duración para la notificación de un evento a los observadores.
+ *
+ * @version 1.0
+ */
+@Name("batallanaval.DespachoObservadores")
+@Label("Despacho a observadores")
+@Category({"Batalla Naval", "Observer"})
+@Description("Notificación de un evento del juego a todos los observadores")
+@StackTrace(false)
+public class EventoDespachoObservadores extends Event {
+
+    @Label("Evento")
+    public String evento;
+
+    @Label("Observadores")
+    public int observadores;
+}
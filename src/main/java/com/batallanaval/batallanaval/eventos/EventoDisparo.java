@@ -0,0 +1,37 @@
+package com.batallanaval.batallanaval.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR emitido por cada disparo resuelto.
+ * El modo indica cómo se eligió la casilla: "Caza", "Búsqueda" o "Manual".
+ *
+ * @version 1.0
+ */
+@Name("batallanaval.Disparo")
+@Label("Disparo")
+@Category({"Batalla Naval", "Juego"})
+@Description("Disparo realizado por un jugador")
+@StackTrace(false)
+public class EventoDisparo extends Event {
+
+    @Label("Jugador")
+    public String jugador;
+
+    @Label("Fila")
+    public int fila;
+
+    @Label("Columna")
+    public int columna;
+
+    @Label("Resultado")
+    public String resultado;
+
+    @Label("Modo IA")
+    public String modo;
+}
@@ -0,0 +1,27 @@
+package com.batallanaval.batallanaval.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR del ciclo de vida de una partida ("INICIADA" o "TERMINADA").
+ *
+ * @version 1.0
+ */
+@Name("batallanaval.Partida")
+@Label("Partida")
+@Category({"Batalla Naval", "Juego"})
+@Description("Inicio o fin de una partida")
+@StackTrace(false)
+public class EventoPartida extends Event {
+
+    @Label("Fase")
+    public String fase;
+
+    @Label("Ganador")
+    public String ganador;
+}
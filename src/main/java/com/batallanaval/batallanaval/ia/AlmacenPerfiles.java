@@ -0,0 +1,152 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.model.Barco;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén de perfiles de colocación por nickname.
+ *
+ * Búsqueda O(1) por nickname sobre un LinkedHashMap en orden de acceso con
+ * capacidad acotada: al superarla se descarta el jugador usado hace más tiempo (LRU).
+ * Se persiste en un binario compacto (nickname + 7 enteros por jugador) en el
+ * orden LRU, para que el orden sobreviva entre ejecuciones.
+ *
+ * Thread-safe: todos los accesos están sincronizados (en orden de acceso,
+ * incluso una consulta modifica el mapa).
+ *
+ * @version 1.0
+ */
+public class AlmacenPerfiles {
+    private static final Bitacora LOG = Bitacora.para(AlmacenPerfiles.class);
+
+    public static final String ARCHIVO = "perfiles.bin";
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    private static final int MAGICO = 0x424E5046; // "BNPF"
+    private static final int VERSION = 1;
+
+    private final int capacidad;
+    private final LinkedHashMap<String, PerfilColocacion> perfiles;
+
+    /**
+     * @param capacidad Máximo de jugadores en memoria
+     */
+    public AlmacenPerfiles(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.perfiles = new LinkedHashMap<>(Math.min(capacidad, 64), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PerfilColocacion> mayor) {
+                return size() > AlmacenPerfiles.this.capacidad;
+            }
+        };
+    }
+
+    // ========== OPERACIONES ==========
+
+    /**
+     * @param nickname Jugador a consultar
+     * @return Copia del perfil, o null si el jugador no tiene partidas registradas
+     */
+    public synchronized PerfilColocacion obtener(String nickname) {
+        PerfilColocacion perfil = perfiles.get(nickname);
+        return perfil == null ? null : perfil.copia();
+    }
+
+    /**
+     * Actualiza el perfil del jugador con la colocación de una partida terminada.
+     *
+     * @param nickname Jugador
+     * @param barcos Barcos del jugador con su posición final
+     */
+    public synchronized void registrarPartida(String nickname, List<Barco> barcos) {
+        if (nickname == null || nickname.isBlank()) {
+            throw new IllegalArgumentException("El nickname no puede ser vacío");
+        }
+        perfiles.computeIfAbsent(nickname, n -> new PerfilColocacion()).registrarPartida(barcos);
+    }
+
+    public synchronized int tamanio() {
+        return perfiles.size();
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Carga el almacén del directorio indicado (vacío si no existe o está dañado).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @param capacidad Máximo de jugadores en memoria
+     * @return Almacén cargado
+     */
+    public static AlmacenPerfiles cargar(Path directorio, int capacidad) {
+        AlmacenPerfiles almacen = new AlmacenPerfiles(capacidad);
+        Path ruta = directorio.resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return almacen;
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Archivo de perfiles con formato desconocido: " + ruta);
+                return almacen;
+            }
+            int cantidad = entrada.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                String nickname = entrada.readUTF();
+                // Del menos al más reciente: si el archivo excede la capacidad, se descartan los viejos
+                almacen.perfiles.put(nickname, PerfilColocacion.leer(entrada));
+            }
+        } catch (IOException e) {
+            LOG.advertencia("No se pudieron leer los perfiles: " + e.getMessage());
+        }
+        return almacen;
+    }
+
+    /**
+     * Guarda el almacén (temporal + reemplazo) en orden LRU.
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public synchronized void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeInt(perfiles.size());
+            for (Map.Entry<String, PerfilColocacion> entrada : perfiles.entrySet()) {
+                salida.writeUTF(entrada.getKey());
+                entrada.getValue().escribir(salida);
+            }
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("AlmacenPerfiles{jugadores=%d, capacidad=%d}", perfiles.size(), capacidad);
+    }
+}
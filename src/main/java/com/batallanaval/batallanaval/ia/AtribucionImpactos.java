@@ -0,0 +1,235 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Atribución de impactos a barcos hundidos.
+ *
+ * Al hundir un barco el tirador solo conoce la casilla del disparo final y el
+ * tamaño del barco; si había impactos de dos barcos contiguos, hay que decidir
+ * cuáles pertenecían al hundido para no olvidar los del otro.
+ *
+ * atribuir() decide un barco a la vez (para quien lleva la cuenta jugada a
+ * jugada); atribuirTodos() decide todos los hundimientos juntos, de modo que
+ * una elección ambigua no deje sin explicación a los barcos hundidos después.
+ *
+ * @version 1.0
+ */
+public final class AtribucionImpactos {
+
+    private AtribucionImpactos() {
+    }
+
+    /**
+     * Marca como hundidas las casillas del barco que hundió el disparo en (fila, columna).
+     * Busca un segmento recto de 'tamanho' impactos aún no atribuidos que contenga la casilla,
+     * prefiriendo aquellos en que el disparo final está en un extremo.
+     *
+     * @param fila Fila del disparo que hundió el barco
+     * @param columna Columna del disparo que hundió el barco
+     * @param tamanho Tamaño anunciado del barco hundido
+     * @param impactosBajo Impactos conocidos (casillas 0-63), incluido el disparo final
+     * @param impactosAlto Impactos conocidos (casillas 64-99), incluido el disparo final
+     * @param hundidas Entrada/salida {bajo, alto}: casillas ya atribuidas; se le suman las del barco
+     * @return true si se encontró un segmento consistente (si no, solo se marca la casilla del disparo)
+     */
+    public static boolean atribuir(int fila, int columna, int tamanho,
+                                   long impactosBajo, long impactosAlto, long[] hundidas) {
+        long[] segmentos = segmentos(fila, columna, tamanho, impactosBajo, impactosAlto, hundidas[0], hundidas[1]);
+        if (segmentos.length == 0) {
+            // Observación inconsistente: al menos descartar la casilla del hundimiento
+            int celda = MascaraCeldas.indice(fila, columna);
+            if (celda < 64) hundidas[0] |= 1L << celda; else hundidas[1] |= 1L << (celda - 64);
+            return false;
+        }
+        hundidas[0] |= segmentos[0];
+        hundidas[1] |= segmentos[1];
+        return true;
+    }
+
+    /** Nodos máximos de la búsqueda conjunta antes de quedarse con la mejor atribución vista. */
+    private static final int MAX_NODOS = 20_000;
+    /** Flotas que se intentan generar para decidir si una atribución deja alguna posible. */
+    private static final int INTENTOS_FLOTA = 64;
+
+    /**
+     * Marca como hundidas las casillas de todos los barcos hundidos, buscando
+     * (con vuelta atrás) una atribución en la que cada hundimiento tenga su
+     * segmento de impactos, sin compartir casillas, y los barcos a flote
+     * todavía se puedan colocar cubriendo los impactos que quedan sin atribuir.
+     * Entre las consistentes se prefiere, hundimiento por hundimiento, el
+     * disparo final en un extremo. Si no se encuentra ninguna, se usa la
+     * primera cuyos impactos sin atribuir caben en los barcos a flote y, si
+     * tampoco la hay, se atribuye de a uno como atribuir().
+     *
+     * @param hundimientos Barcos hundidos en orden, cada uno {fila, columna, tamanho}
+     * @param aguaBajo Agua conocida (casillas 0-63)
+     * @param aguaAlto Agua conocida (casillas 64-99)
+     * @param impactosBajo Impactos conocidos (casillas 0-63)
+     * @param impactosAlto Impactos conocidos (casillas 64-99)
+     * @param tamanhosRestantes Tamaños de los barcos a flote, de mayor a menor
+     * @param hundidas Salida {bajo, alto}: casillas atribuidas a barcos hundidos
+     * @return true si se encontró una atribución con flotas posibles
+     */
+    public static boolean atribuirTodos(List<int[]> hundimientos, long aguaBajo, long aguaAlto,
+                                        long impactosBajo, long impactosAlto, int[] tamanhosRestantes,
+                                        long[] hundidas) {
+        Busqueda busqueda = new Busqueda(hundimientos, aguaBajo, aguaAlto, impactosBajo, impactosAlto,
+                tamanhosRestantes);
+        if (busqueda.buscar(0, 0L, 0L)) {
+            hundidas[0] |= busqueda.hundidasBajo;
+            hundidas[1] |= busqueda.hundidasAlto;
+            return true;
+        }
+        if (busqueda.hayRespaldo) {
+            hundidas[0] |= busqueda.respaldoBajo;
+            hundidas[1] |= busqueda.respaldoAlto;
+            return false;
+        }
+        for (int[] hundimiento : hundimientos) {
+            atribuir(hundimiento[0], hundimiento[1], hundimiento[2], impactosBajo, impactosAlto, hundidas);
+        }
+        return false;
+    }
+
+    /**
+     * Estado de la vuelta atrás de atribuirTodos().
+     */
+    private static final class Busqueda {
+        private final List<int[]> hundimientos;
+        private final long aguaBajo, aguaAlto;
+        private final long impactosBajo, impactosAlto;
+        private final int casillasAFlote;
+        private final GeneradorFlotas.Flota flota;
+        private final SplittableRandom aleatorio;
+        private int nodos;
+        private long hundidasBajo, hundidasAlto;
+        private boolean hayRespaldo;
+        private long respaldoBajo, respaldoAlto;
+
+        Busqueda(List<int[]> hundimientos, long aguaBajo, long aguaAlto, long impactosBajo, long impactosAlto,
+                 int[] tamanhosRestantes) {
+            this.hundimientos = hundimientos;
+            this.aguaBajo = aguaBajo;
+            this.aguaAlto = aguaAlto;
+            this.impactosBajo = impactosBajo;
+            this.impactosAlto = impactosAlto;
+            this.casillasAFlote = Arrays.stream(tamanhosRestantes).sum();
+            this.flota = new GeneradorFlotas.Flota(tamanhosRestantes);
+            // Semilla fija: la misma observación da siempre la misma atribución
+            this.aleatorio = new SplittableRandom(impactosBajo ^ Long.rotateLeft(impactosAlto, 32));
+        }
+
+        boolean buscar(int indice, long bajo, long alto) {
+            if (++nodos > MAX_NODOS) {
+                return false;
+            }
+            if (indice == hundimientos.size()) {
+                return admitir(bajo, alto);
+            }
+            int[] hundimiento = hundimientos.get(indice);
+            long[] segmentos = segmentos(hundimiento[0], hundimiento[1], hundimiento[2],
+                    impactosBajo, impactosAlto, bajo, alto);
+            for (int i = 0; i < segmentos.length; i += 2) {
+                if (buscar(indice + 1, bajo | segmentos[i], alto | segmentos[i + 1])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return true si con estas casillas hundidas se puede generar alguna flota
+         */
+        private boolean admitir(long bajo, long alto) {
+            long pendientesBajo = impactosBajo & ~bajo;
+            long pendientesAlto = impactosAlto & ~alto;
+            if (Long.bitCount(pendientesBajo) + Long.bitCount(pendientesAlto) > casillasAFlote) {
+                return false;
+            }
+            if (!hayRespaldo) {
+                hayRespaldo = true;
+                respaldoBajo = bajo;
+                respaldoAlto = alto;
+            }
+            if (flota.getCantidadBarcos() == 0) {
+                return aceptar(bajo, alto);
+            }
+            long permitidasBajo = ~(aguaBajo | bajo);
+            long permitidasAlto = ~(aguaAlto | alto);
+            for (int intento = 0; intento < INTENTOS_FLOTA; intento++) {
+                if (GeneradorFlotas.generar(flota, permitidasBajo, permitidasAlto,
+                        pendientesBajo, pendientesAlto, aleatorio)) {
+                    return aceptar(bajo, alto);
+                }
+            }
+            return false;
+        }
+
+        private boolean aceptar(long bajo, long alto) {
+            hundidasBajo = bajo;
+            hundidasAlto = alto;
+            return true;
+        }
+    }
+
+    /**
+     * @return Segmentos posibles del barco como pares {bajo, alto}, primero los
+     *         que tienen el disparo final en un extremo
+     */
+    private static long[] segmentos(int fila, int columna, int tamanho, long impactosBajo, long impactosAlto,
+                                    long hundidasBajo, long hundidasAlto) {
+        long[] extremos = new long[4 * tamanho];
+        long[] interiores = new long[4 * tamanho];
+        int cantidadExtremos = 0;
+        int cantidadInteriores = 0;
+
+        for (int orientacion = 0; orientacion < (tamanho == 1 ? 1 : 2); orientacion++) {
+            boolean horizontal = orientacion == 0;
+            for (int desplazamiento = 0; desplazamiento < tamanho; desplazamiento++) {
+                int filaInicio = horizontal ? fila : fila - desplazamiento;
+                int colInicio = horizontal ? columna - desplazamiento : columna;
+                long segmentoBajo = 0, segmentoAlto = 0;
+                boolean valido = true;
+
+                for (int i = 0; i < tamanho && valido; i++) {
+                    int f = horizontal ? filaInicio : filaInicio + i;
+                    int c = horizontal ? colInicio + i : colInicio;
+                    if (f < 0 || f >= MascaraCeldas.LADO || c < 0 || c >= MascaraCeldas.LADO) {
+                        valido = false;
+                        break;
+                    }
+                    int celda = MascaraCeldas.indice(f, c);
+                    if (!MascaraCeldas.contiene(impactosBajo, impactosAlto, celda)
+                            || MascaraCeldas.contiene(hundidasBajo, hundidasAlto, celda)) {
+                        valido = false;
+                    } else if (celda < 64) {
+                        segmentoBajo |= 1L << celda;
+                    } else {
+                        segmentoAlto |= 1L << (celda - 64);
+                    }
+                }
+
+                if (!valido) {
+                    continue;
+                }
+                if (desplazamiento == 0 || desplazamiento == tamanho - 1) {
+                    extremos[cantidadExtremos++] = segmentoBajo;
+                    extremos[cantidadExtremos++] = segmentoAlto;
+                } else {
+                    interiores[cantidadInteriores++] = segmentoBajo;
+                    interiores[cantidadInteriores++] = segmentoAlto;
+                }
+            }
+        }
+
+        long[] segmentos = new long[cantidadExtremos + cantidadInteriores];
+        System.arraycopy(extremos, 0, segmentos, 0, cantidadExtremos);
+        System.arraycopy(interiores, 0, segmentos, cantidadExtremos, cantidadInteriores);
+        return segmentos;
+    }
+}
@@ -0,0 +1,215 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.patterns.strategy.Dificultad;
+import com.batallanaval.batallanaval.patterns.strategy.EstrategiaDisparo;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Calibra los niveles de dificultad jugando contra sí misma en paralelo.
+ *
+ * Las estrategias solo miran su propio tablero de disparos, así que una
+ * partida se puede jugar como dos "solitarios" independientes: cada lado
+ * dispara a una flota al azar hasta hundirla. Con la regla del turno extra
+ * al acertar, cada lado falla exactamente (disparos - casillas de la flota)
+ * veces antes de ganar, y gana quien necesita menos disparos (el que empieza
+ * si empatan). La tasa de victorias contra Caza/Búsqueda sale entonces de
+ * comparar la cantidad de disparos del nivel con la distribución de la
+ * referencia, medida una sola vez, promediando quién empieza.
+ *
+ * Cada solitario corre en un parallel stream (todos los núcleos). Los niveles
+ * ajustables buscan por bisección el parámetro que más se acerca a su tasa
+ * objetivo, suponiendo que la fuerza crece con el parámetro.
+ *
+ * @version 1.0
+ */
+public final class CalibradorDificultad {
+    private static final Bitacora LOG = Bitacora.para(CalibradorDificultad.class);
+
+    public static final int PARTIDAS_POR_DEFECTO = 300;
+    /** Con 5 pasos la resolución ya es menor que el ruido de 300 solitarios. */
+    private static final int ITERACIONES = 5;
+
+    /**
+     * Un hilo de Monte Carlo por solitario: el paralelismo ya lo dan las partidas.
+     * El total de muestras no depende de los hilos y el presupuesto es el de la
+     * partida, así que el límite es maxMuestras y el parámetro calibrado vale lo
+     * mismo al jugar.
+     */
+    private static final int HILOS_ESTRATEGIA = 1;
+    private static final long PRESUPUESTO_ESTRATEGIA_MILLIS = Dificultad.PRESUPUESTO_JUGADA_MILLIS;
+
+    /**
+     * Resultado de medir un nivel con un parámetro.
+     *
+     * @param dificultad Nivel medido
+     * @param parametro Parámetro usado
+     * @param disparosMedios Disparos medios para hundir toda la flota
+     * @param tasaVictorias Tasa de victorias contra Caza/Búsqueda
+     */
+    public record Medicion(Dificultad dificultad, double parametro, double disparosMedios, double tasaVictorias) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s parámetro=%8.3f  disparos=%5.1f  victorias=%5.1f%%",
+                    dificultad, parametro, disparosMedios, tasaVictorias * 100);
+        }
+    }
+
+    private final int partidas;
+    private final long semilla;
+    /** Fracción de solitarios de la referencia que necesitaron más de n disparos, y exactamente n. */
+    private final double[] referenciaMas = new double[MascaraCeldas.CELDAS + 2];
+    private final double[] referenciaIgual = new double[MascaraCeldas.CELDAS + 2];
+
+    /**
+     * Mide la referencia (Caza/Búsqueda) con 'partidas' solitarios.
+     *
+     * @param partidas Solitarios por medición
+     * @param semilla Semilla base de las estrategias
+     */
+    public CalibradorDificultad(int partidas, long semilla) {
+        if (partidas <= 0) {
+            throw new IllegalArgumentException("La cantidad de partidas debe ser positiva");
+        }
+        this.partidas = partidas;
+        this.semilla = semilla;
+
+        int[] disparos = jugar(s -> null);
+        for (int d : disparos) {
+            referenciaIgual[d] += 1.0 / partidas;
+        }
+        for (int n = referenciaMas.length - 2; n >= 0; n--) {
+            referenciaMas[n] = referenciaMas[n + 1] + referenciaIgual[n + 1];
+        }
+    }
+
+    // ========== MEDICIÓN ==========
+
+    /**
+     * Mide un nivel con un parámetro dado.
+     */
+    public Medicion medir(Dificultad dificultad, double parametro) {
+        int[] disparos = jugar(s -> dificultad.crearEstrategia(parametro, HILOS_ESTRATEGIA,
+                PRESUPUESTO_ESTRATEGIA_MILLIS, s));
+        double victorias = 0;
+        for (int d : disparos) {
+            // Gana si la referencia necesita más; si empatan, gana quien empieza (la mitad de las veces)
+            victorias += referenciaMas[d] + referenciaIgual[d] / 2;
+        }
+        return new Medicion(dificultad, parametro, Arrays.stream(disparos).average().orElse(0),
+                victorias / partidas);
+    }
+
+    /**
+     * Busca el parámetro del nivel más cercano a su tasa objetivo.
+     *
+     * @return Mejor medición de la bisección (la del parámetro por defecto si el nivel no es ajustable)
+     */
+    public Medicion calibrar(Dificultad dificultad) {
+        if (!dificultad.esAjustable()) {
+            return medir(dificultad, dificultad.getParametroPorDefecto());
+        }
+
+        Medicion mejor = null;
+        double bajo = dificultad.getMinimo();
+        double alto = dificultad.getMaximo();
+        for (int i = 0; i < ITERACIONES; i++) {
+            Medicion medicion = medir(dificultad, (bajo + alto) / 2);
+            LOG.depuracion(medicion::toString);
+            if (mejor == null || error(medicion) < error(mejor)) {
+                mejor = medicion;
+            }
+            if (medicion.tasaVictorias() < dificultad.getTasaObjetivo()) {
+                bajo = medicion.parametro();
+            } else {
+                alto = medicion.parametro();
+            }
+        }
+        return mejor;
+    }
+
+    private static double error(Medicion medicion) {
+        return Math.abs(medicion.tasaVictorias() - medicion.dificultad().getTasaObjetivo());
+    }
+
+    /**
+     * Juega 'partidas' solitarios en paralelo.
+     *
+     * @param estrategias Crea la estrategia de cada solitario a partir de su semilla (null = Caza/Búsqueda)
+     * @return Disparos que necesitó cada uno
+     */
+    private int[] jugar(LongFunction<EstrategiaDisparo> estrategias) {
+        return IntStream.range(0, partidas)
+                .parallel()
+                .map(i -> disparosParaHundir(estrategias.apply(semilla + i * 0x9E3779B97F4A7C15L)))
+                .toArray();
+    }
+
+    /**
+     * @return Disparos que necesita la estrategia para hundir una flota colocada al azar
+     */
+    static int disparosParaHundir(EstrategiaDisparo estrategia) {
+        Jugador tirador = new Jugador("Calibración");
+        tirador.setEstrategia(estrategia);
+        Jugador objetivo = new Jugador("Objetivo");
+        objetivo.colocarBarcosAleatoriamente();
+
+        int disparos = 0;
+        while (!objetivo.haPerdido()) {
+            tirador.realizarDisparoOptimo(objetivo);
+            disparos++;
+        }
+        return disparos;
+    }
+
+    /**
+     * Calibra todos los niveles y guarda los parámetros en la configuración.
+     * Uso: CalibradorDificultad [partidas] [--solo-medir]
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : PARTIDAS_POR_DEFECTO;
+        boolean soloMedir = Arrays.asList(args).contains("--solo-medir");
+
+        long inicio = System.nanoTime();
+        CalibradorDificultad calibrador = new CalibradorDificultad(partidas, System.nanoTime());
+        ArchivoManager archivoManager = new ArchivoManager();
+        Properties configuracion;
+        try {
+            configuracion = archivoManager.cargarConfiguracion();
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudo leer la configuración: " + e.getMessage());
+            configuracion = new Properties();
+        }
+
+        for (Dificultad dificultad : Dificultad.values()) {
+            Medicion medicion = soloMedir
+                    ? calibrador.medir(dificultad, dificultad.parametro(configuracion))
+                    : calibrador.calibrar(dificultad);
+            System.out.println(medicion + "  (objetivo " + Math.round(dificultad.getTasaObjetivo() * 100) + "%)");
+            if (dificultad.esAjustable()) {
+                configuracion.setProperty(dificultad.getClaveParametro(), String.valueOf(medicion.parametro()));
+            }
+        }
+        System.out.printf("⏱️ %d solitarios por medición en %d ms con %d núcleos%n", partidas,
+                (System.nanoTime() - inicio) / 1_000_000, Runtime.getRuntime().availableProcessors());
+
+        if (!soloMedir) {
+            try {
+                archivoManager.guardarConfiguracion(configuracion);
+            } catch (JuegoGuardadoException e) {
+                System.err.println("❌ No se pudo guardar la configuración: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generador rápido de flotas completas sobre bitboards.
+ *
+ * Todas las colocaciones posibles de cada tamaño de barco se precalculan una sola
+ * vez como pares de long, junto con el índice de colocaciones que contienen cada
+ * casilla. Generar una flota no crea objetos: se reutiliza una instancia de Flota.
+ *
+ * @version 1.0
+ */
+public final class GeneradorFlotas {
+
+    /** Tamaños de la flota reglamentaria: 1 portaaviones, 2 submarinos, 3 destructores, 4 fragatas. */
+    public static final int[] TAMANHOS_FLOTA = {4, 3, 3, 2, 2, 2, 1, 1, 1, 1};
+
+    private static final int TAMANHO_MAXIMO = 4;
+    private static final int INTENTOS_ALEATORIOS = 48;
+
+    // Índices [tamanho][colocacion]
+    private static final long[][] BAJO = new long[TAMANHO_MAXIMO + 1][];
+    private static final long[][] ALTO = new long[TAMANHO_MAXIMO + 1][];
+    private static final int[][] INICIO = new int[TAMANHO_MAXIMO + 1][];          // celda inicial
+    private static final boolean[][] HORIZONTAL = new boolean[TAMANHO_MAXIMO + 1][];
+    // Índices [tamanho][celda] -> colocaciones que cubren la celda
+    private static final int[][][] CONTIENEN = new int[TAMANHO_MAXIMO + 1][][];
+
+    static {
+        for (int t = 1; t <= TAMANHO_MAXIMO; t++) {
+            precalcular(t);
+        }
+    }
+
+    private GeneradorFlotas() {
+    }
+
+    /**
+     * Flota generada: máscara de casillas ocupadas y colocación elegida para cada barco.
+     * Es mutable y se reutiliza entre generaciones para no asignar memoria.
+     */
+    public static final class Flota {
+        private long bajo;
+        private long alto;
+        private final int[] tamanhos;
+        private final int[] colocaciones;
+
+        /**
+         * @param tamanhos Tamaños de los barcos a generar
+         */
+        public Flota(int[] tamanhos) {
+            this.tamanhos = tamanhos.clone();
+            this.colocaciones = new int[tamanhos.length];
+        }
+
+        public long getBajo() {
+            return bajo;
+        }
+
+        public long getAlto() {
+            return alto;
+        }
+
+        public MascaraCeldas getMascara() {
+            return MascaraCeldas.de(bajo, alto);
+        }
+
+        public int getCantidadBarcos() {
+            return tamanhos.length;
+        }
+
+        public int getTamanho(int barco) {
+            return tamanhos[barco];
+        }
+
+        public int getFila(int barco) {
+            return INICIO[tamanhos[barco]][colocaciones[barco]] / MascaraCeldas.LADO;
+        }
+
+        public int getColumna(int barco) {
+            return INICIO[tamanhos[barco]][colocaciones[barco]] % MascaraCeldas.LADO;
+        }
+
+        public boolean isHorizontal(int barco) {
+            return HORIZONTAL[tamanhos[barco]][colocaciones[barco]];
+        }
+
+        public long getBajoBarco(int barco) {
+            return BAJO[tamanhos[barco]][colocaciones[barco]];
+        }
+
+        public long getAltoBarco(int barco) {
+            return ALTO[tamanhos[barco]][colocaciones[barco]];
+        }
+
+        /**
+         * Copia las colocaciones de otra flota con los mismos tamaños.
+         *
+         * @param otra Flota de origen
+         */
+        public void copiarDe(Flota otra) {
+            if (!Arrays.equals(tamanhos, otra.tamanhos)) {
+                throw new IllegalArgumentException("Las flotas tienen tamaños distintos");
+            }
+            System.arraycopy(otra.colocaciones, 0, colocaciones, 0, colocaciones.length);
+            bajo = otra.bajo;
+            alto = otra.alto;
+        }
+
+        /**
+         * @return Índice de barco por casilla (-1 = agua)
+         */
+        public byte[] barcoPorCelda() {
+            byte[] resultado = new byte[MascaraCeldas.CELDAS];
+            Arrays.fill(resultado, (byte) -1);
+            for (int b = 0; b < tamanhos.length; b++) {
+                int t = tamanhos[b];
+                int c = colocaciones[b];
+                for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+                    if (MascaraCeldas.contiene(BAJO[t][c], ALTO[t][c], celda)) {
+                        resultado[celda] = (byte) b;
+                    }
+                }
+            }
+            return resultado;
+        }
+    }
+
+    // ========== GENERACIÓN ==========
+
+    /**
+     * Genera una flota aleatoria sin restricciones.
+     *
+     * @return true si se pudo generar (siempre en un tablero vacío)
+     */
+    public static boolean generar(Flota destino, SplittableRandom aleatorio) {
+        return generar(destino, -1L, -1L, 0L, 0L, aleatorio);
+    }
+
+    /**
+     * Genera una flota cuyos barcos solo ocupan casillas permitidas y que cubre
+     * todas las casillas pendientes (impactos aún no atribuidos a barcos hundidos).
+     *
+     * Primero coloca barcos que cubran cada casilla pendiente y luego el resto al azar.
+     *
+     * @param destino Flota a rellenar (define los tamaños)
+     * @param permitidasBajo Casillas permitidas 0-63
+     * @param permitidasAlto Casillas permitidas 64-99
+     * @param pendientesBajo Casillas que deben quedar cubiertas 0-63
+     * @param pendientesAlto Casillas que deben quedar cubiertas 64-99
+     * @param aleatorio Fuente de aleatoriedad (una por hilo)
+     * @return true si se generó una flota consistente
+     */
+    public static boolean generar(Flota destino, long permitidasBajo, long permitidasAlto,
+                                  long pendientesBajo, long pendientesAlto, SplittableRandom aleatorio) {
+        int[] tamanhos = destino.tamanhos;
+        int cantidad = tamanhos.length;
+        int colocados = 0; // bitmask de barcos ya colocados
+        long ocupadasBajo = 0, ocupadasAlto = 0;
+        long faltanBajo = pendientesBajo, faltanAlto = pendientesAlto;
+
+        // FASE 1: cubrir casillas pendientes
+        while ((faltanBajo | faltanAlto) != 0) {
+            int celda = faltanBajo != 0 ? Long.numberOfTrailingZeros(faltanBajo)
+                    : 64 + Long.numberOfTrailingZeros(faltanAlto);
+            boolean cubierta = false;
+
+            for (int intento = 0; intento < INTENTOS_ALEATORIOS && !cubierta; intento++) {
+                int barco = aleatorio.nextInt(cantidad);
+                if ((colocados & (1 << barco)) != 0) {
+                    continue;
+                }
+                int t = tamanhos[barco];
+                int[] candidatas = CONTIENEN[t][celda];
+                int c = candidatas[aleatorio.nextInt(candidatas.length)];
+                if (compatible(t, c, permitidasBajo, permitidasAlto, ocupadasBajo, ocupadasAlto)) {
+                    destino.colocaciones[barco] = c;
+                    colocados |= 1 << barco;
+                    ocupadasBajo |= BAJO[t][c];
+                    ocupadasAlto |= ALTO[t][c];
+                    faltanBajo &= ~BAJO[t][c];
+                    faltanAlto &= ~ALTO[t][c];
+                    cubierta = true;
+                }
+            }
+            if (!cubierta) {
+                return false;
+            }
+        }
+
+        // FASE 2: colocar el resto de barcos (en el orden dado, normalmente de mayor a menor)
+        for (int barco = 0; barco < cantidad; barco++) {
+            if ((colocados & (1 << barco)) != 0) {
+                continue;
+            }
+            int t = tamanhos[barco];
+            int c = elegirColocacion(t, permitidasBajo, permitidasAlto, ocupadasBajo, ocupadasAlto, aleatorio);
+            if (c < 0) {
+                return false;
+            }
+            destino.colocaciones[barco] = c;
+            colocados |= 1 << barco;
+            ocupadasBajo |= BAJO[t][c];
+            ocupadasAlto |= ALTO[t][c];
+        }
+
+        destino.bajo = ocupadasBajo;
+        destino.alto = ocupadasAlto;
+        return true;
+    }
+
+    /**
+     * Mueve un barco de una flota ya generada a otra colocación al azar que no
+     * se superponga con el resto (vecindad para búsquedas locales).
+     *
+     * @param flota Flota completa a modificar
+     * @param barco Índice del barco a mover
+     * @param aleatorio Fuente de aleatoriedad
+     * @return true si se encontró una colocación distinta
+     */
+    public static boolean recolocar(Flota flota, int barco, SplittableRandom aleatorio) {
+        int t = flota.tamanhos[barco];
+        int actual = flota.colocaciones[barco];
+        long restoBajo = flota.bajo & ~BAJO[t][actual];
+        long restoAlto = flota.alto & ~ALTO[t][actual];
+
+        int c = elegirColocacion(t, -1L, -1L, restoBajo, restoAlto, aleatorio);
+        if (c < 0 || c == actual) {
+            return false;
+        }
+        flota.colocaciones[barco] = c;
+        flota.bajo = restoBajo | BAJO[t][c];
+        flota.alto = restoAlto | ALTO[t][c];
+        return true;
+    }
+
+    // ========== CONSULTAS DE COLOCACIONES ==========
+
+    public static int cantidadColocaciones(int tamanho) {
+        return BAJO[tamanho].length;
+    }
+
+    public static long bajoColocacion(int tamanho, int colocacion) {
+        return BAJO[tamanho][colocacion];
+    }
+
+    public static long altoColocacion(int tamanho, int colocacion) {
+        return ALTO[tamanho][colocacion];
+    }
+
+    /**
+     * @return Índices de las colocaciones del tamaño dado que cubren la casilla (no modificar)
+     */
+    public static int[] colocacionesQueContienen(int tamanho, int celda) {
+        return CONTIENEN[tamanho][celda];
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static boolean compatible(int t, int c, long permitidasBajo, long permitidasAlto,
+                                      long ocupadasBajo, long ocupadasAlto) {
+        long b = BAJO[t][c];
+        long a = ALTO[t][c];
+        return (b & ~permitidasBajo) == 0 && (a & ~permitidasAlto) == 0
+                && (b & ocupadasBajo) == 0 && (a & ocupadasAlto) == 0;
+    }
+
+    private static int elegirColocacion(int t, long permitidasBajo, long permitidasAlto,
+                                        long ocupadasBajo, long ocupadasAlto, SplittableRandom aleatorio) {
+        int total = BAJO[t].length;
+        for (int intento = 0; intento < INTENTOS_ALEATORIOS; intento++) {
+            int c = aleatorio.nextInt(total);
+            if (compatible(t, c, permitidasBajo, permitidasAlto, ocupadasBajo, ocupadasAlto)) {
+                return c;
+            }
+        }
+
+        // Tablero muy restringido: recorrer desde un punto aleatorio
+        int desde = aleatorio.nextInt(total);
+        for (int i = 0; i < total; i++) {
+            int c = (desde + i) % total;
+            if (compatible(t, c, permitidasBajo, permitidasAlto, ocupadasBajo, ocupadasAlto)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private static void precalcular(int t) {
+        int lado = MascaraCeldas.LADO;
+        int maximo = 2 * lado * (lado - t + 1);
+        long[] bajo = new long[maximo];
+        long[] alto = new long[maximo];
+        int[] inicio = new int[maximo];
+        boolean[] horizontal = new boolean[maximo];
+        int n = 0;
+
+        for (int orientacion = 0; orientacion < 2; orientacion++) {
+            boolean esHorizontal = orientacion == 0;
+            if (t == 1 && !esHorizontal) {
+                break; // Una casilla: ambas orientaciones son la misma colocación
+            }
+            for (int fila = 0; fila < lado; fila++) {
+                for (int col = 0; col < lado; col++) {
+                    if ((esHorizontal ? col : fila) + t > lado) {
+                        continue;
+                    }
+                    for (int i = 0; i < t; i++) {
+                        int celda = MascaraCeldas.indice(esHorizontal ? fila : fila + i, esHorizontal ? col + i : col);
+                        if (celda < 64) bajo[n] |= 1L << celda; else alto[n] |= 1L << (celda - 64);
+                    }
+                    inicio[n] = MascaraCeldas.indice(fila, col);
+                    horizontal[n] = esHorizontal;
+                    n++;
+                }
+            }
+        }
+
+        BAJO[t] = Arrays.copyOf(bajo, n);
+        ALTO[t] = Arrays.copyOf(alto, n);
+        INICIO[t] = Arrays.copyOf(inicio, n);
+        HORIZONTAL[t] = Arrays.copyOf(horizontal, n);
+
+        int[][] contienen = new int[MascaraCeldas.CELDAS][];
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            int[] temporal = new int[n];
+            int k = 0;
+            for (int c = 0; c < n; c++) {
+                if (MascaraCeldas.contiene(BAJO[t][c], ALTO[t][c], celda)) {
+                    temporal[k++] = c;
+                }
+            }
+            contienen[celda] = Arrays.copyOf(temporal, k);
+        }
+        CONTIENEN[t] = contienen;
+    }
+}
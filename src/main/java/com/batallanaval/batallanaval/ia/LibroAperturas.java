@@ -0,0 +1,294 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.model.EstadoPartida;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+import com.batallanaval.batallanaval.utils.MarcaAguaJuegos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Libro de aperturas de la máquina: mapa de calor por casilla con la frecuencia
+ * con que los humanos colocaron barcos en ella, aprendido de los juegos archivados.
+ *
+ * Se guarda como un binario pequeño (cabecera + 100 enteros) que se lee de una
+ * sola vez al arrancar. El aprendizaje es incremental: solo procesa los juegos
+ * que la marca de agua del libro todavía no incluye (ver MarcaAguaJuegos).
+ *
+ * Formato: MAGICO, VERSION, marcaAgua (MarcaAguaJuegos), partidas (int), 100 × ocupacion (int).
+ *
+ * @version 1.0
+ */
+public final class LibroAperturas {
+    private static final Bitacora LOG = Bitacora.para(LibroAperturas.class);
+
+    public static final String ARCHIVO = "libro_aperturas.bin";
+    /** Disparos de la partida durante los que se consulta el libro. */
+    public static final int DISPAROS_APERTURA = 20;
+
+    private static final int MAGICO = 0x424E4C41; // "BNLA"
+    private static final int VERSION = 2;
+    private static final int MINIMO_PARTIDAS = 3;
+    private static final int ESCALA = 8;          // Peso máximo = 1 + ESCALA
+
+    private final int[] ocupacion;
+    private final int[] pesos;
+    private final int partidas;
+    private final MarcaAguaJuegos marcaAgua;
+    private final boolean entrenado;
+
+    private LibroAperturas(int[] ocupacion, int partidas, MarcaAguaJuegos marcaAgua) {
+        this.ocupacion = ocupacion;
+        this.partidas = partidas;
+        this.marcaAgua = marcaAgua;
+        this.entrenado = partidas >= MINIMO_PARTIDAS;
+        this.pesos = new int[MascaraCeldas.CELDAS];
+        for (int celda = 0; celda < pesos.length; celda++) {
+            // Suavizado: toda casilla conserva peso 1 aunque nunca haya tenido barcos
+            pesos[celda] = 1 + (partidas == 0 ? 0 : (int) ((long) ocupacion[celda] * ESCALA / partidas));
+        }
+    }
+
+    private LibroAperturas(LibroAperturas base, int[] pesos, boolean entrenado) {
+        this.ocupacion = base.ocupacion;
+        this.partidas = base.partidas;
+        this.marcaAgua = base.marcaAgua;
+        this.pesos = pesos;
+        this.entrenado = entrenado;
+    }
+
+    /**
+     * @return Libro sin partidas aprendidas (no sesga los disparos)
+     */
+    public static LibroAperturas vacio() {
+        return new LibroAperturas(new int[MascaraCeldas.CELDAS], 0, MarcaAguaJuegos.VACIA);
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Carga el libro del directorio indicado. Si no existe o está dañado,
+     * devuelve un libro vacío: la máquina juega igual, solo que sin apertura aprendida.
+     *
+     * @param directorio Directorio de juegos guardados
+     * @return Libro cargado o vacío
+     */
+    public static LibroAperturas cargar(Path directorio) {
+        Path ruta = directorio.resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return vacio();
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta), 512))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Libro de aperturas con formato desconocido: " + ruta);
+                return vacio();
+            }
+            MarcaAguaJuegos marcaAgua = MarcaAguaJuegos.leer(entrada);
+            int partidas = entrada.readInt();
+            int[] ocupacion = new int[MascaraCeldas.CELDAS];
+            for (int celda = 0; celda < ocupacion.length; celda++) {
+                ocupacion[celda] = entrada.readInt();
+            }
+            return new LibroAperturas(ocupacion, partidas, marcaAgua);
+
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo leer el libro de aperturas: " + e.getMessage());
+            return vacio();
+        }
+    }
+
+    /**
+     * Guarda el libro escribiendo primero un temporal y reemplazando el archivo,
+     * para no dejar un libro a medias si el proceso se interrumpe.
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), 512))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            marcaAgua.escribir(salida);
+            salida.writeInt(partidas);
+            for (int valor : ocupacion) {
+                salida.writeInt(valor);
+            }
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // ========== APRENDIZAJE INCREMENTAL ==========
+
+    /**
+     * Procesa los juegos archivados que la marca de agua no incluye y devuelve
+     * el libro ampliado (este libro no se modifica). Si hubo juegos nuevos, el
+     * resultado se guarda en el directorio de juegos.
+     *
+     * @param archivoManager Acceso a los juegos guardados
+     * @return Libro actualizado (el mismo si no había juegos nuevos)
+     */
+    public LibroAperturas actualizar(ArchivoManager archivoManager) {
+        List<Path> juegos;
+        try {
+            juegos = archivoManager.listarJuegosGuardados();
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudieron listar los juegos: " + e.getMessage());
+            return this;
+        }
+
+        MarcaAguaJuegos.Lote lote = marcaAgua.nuevos(juegos);
+        if (lote.estaVacio()) {
+            return this;
+        }
+
+        int[] nuevaOcupacion = ocupacion.clone();
+        int nuevasPartidas = partidas;
+        int aprendidas = 0;
+
+        for (Path juego : lote.juegos()) {
+            try {
+                Jugador humano = archivoManager.cargarJuego(juego).jugadorHumano();
+                if (humano == null || !humano.todosBarcosColocados()) {
+                    continue;
+                }
+                MascaraCeldas ocupadas = EstadoPartida.Lado.desde(humano.getTableroPropio()).getOcupadas();
+                for (int i = 0, n = ocupadas.cantidad(); i < n; i++) {
+                    nuevaOcupacion[ocupadas.enesima(i)]++;
+                }
+                nuevasPartidas++;
+                aprendidas++;
+            } catch (JuegoGuardadoException e) {
+                LOG.advertencia("Juego ignorado por el libro de aperturas: " + juego.getFileName());
+            }
+        }
+
+        LibroAperturas actualizado = new LibroAperturas(nuevaOcupacion, nuevasPartidas, lote.siguiente());
+        try {
+            actualizado.guardar(archivoManager.getDirectorio());
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo guardar el libro de aperturas: " + e.getMessage());
+        }
+        LOG.info("📖 Libro de aperturas: " + aprendidas + " partidas nuevas, "
+                + actualizado.partidas + " en total");
+        return actualizado;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * @return true si hay suficientes partidas como para sesgar los disparos
+     */
+    public boolean estaEntrenado() {
+        return entrenado;
+    }
+
+    /**
+     * Combina el libro (lo habitual entre todos los humanos) con el perfil del
+     * rival concreto: las casillas del borde se ponderan por su factor de uso de bordes.
+     *
+     * @param perfil Perfil de colocación del rival (puede ser null)
+     * @return Libro ajustado; este mismo si el libro no está entrenado o no
+     *         hay perfil con partidas
+     */
+    public LibroAperturas ajustadoA(PerfilColocacion perfil) {
+        // Un libro con pocas partidas no debe pasar por entrenado al ajustarlo
+        if (!entrenado || perfil == null || perfil.getPartidas() == 0) {
+            return this;
+        }
+        double factor = perfil.getFactorBorde();
+        int[] ajustados = new int[MascaraCeldas.CELDAS];
+        for (int celda = 0; celda < ajustados.length; celda++) {
+            int fila = celda / MascaraCeldas.LADO;
+            int columna = celda % MascaraCeldas.LADO;
+            boolean borde = fila == 0 || columna == 0
+                    || fila == MascaraCeldas.LADO - 1 || columna == MascaraCeldas.LADO - 1;
+            // Escala x4 para conservar resolución con factores fraccionarios
+            ajustados[celda] = (int) Math.max(1, Math.round(pesos[celda] * 4 * (borde ? factor : 1.0)));
+        }
+        return new LibroAperturas(this, ajustados, entrenado);
+    }
+
+    /**
+     * Elige una casilla entre las candidatas con probabilidad proporcional a su peso.
+     * No crea objetos: recorre los bits dos veces (suma de pesos y selección).
+     *
+     * @param candidatasBajo Casillas candidatas 0-63
+     * @param candidatasAlto Casillas candidatas 64-99
+     * @param aleatorio Número uniforme en [0, 1)
+     * @return Índice de casilla elegida, o -1 si no hay candidatas
+     */
+    public int elegir(long candidatasBajo, long candidatasAlto, double aleatorio) {
+        long total = sumarPesos(candidatasBajo, 0) + sumarPesos(candidatasAlto, 64);
+        if (total == 0) {
+            return -1;
+        }
+        long objetivo = (long) (aleatorio * total);
+
+        for (int palabra = 0; palabra < 2; palabra++) {
+            long bits = palabra == 0 ? candidatasBajo : candidatasAlto;
+            int base = palabra * 64;
+            while (bits != 0) {
+                int celda = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (celda >= MascaraCeldas.CELDAS) {
+                    break;
+                }
+                objetivo -= pesos[celda];
+                if (objetivo < 0) {
+                    return celda;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long sumarPesos(long bits, int base) {
+        long suma = 0;
+        while (bits != 0) {
+            int celda = base + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+            if (celda < MascaraCeldas.CELDAS) {
+                suma += pesos[celda];
+            }
+        }
+        return suma;
+    }
+
+    /**
+     * @param celda Índice de casilla (0-99)
+     * @return Veces que la casilla tuvo un barco humano en las partidas aprendidas
+     */
+    public int getOcupacion(int celda) {
+        return ocupacion[celda];
+    }
+
+    public int getPartidas() {
+        return partidas;
+    }
+
+    public MarcaAguaJuegos getMarcaAgua() {
+        return marcaAgua;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LibroAperturas{partidas=%d, entrenado=%s}", partidas, estaEntrenado());
+    }
+}
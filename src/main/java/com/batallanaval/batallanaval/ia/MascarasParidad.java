@@ -0,0 +1,80 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+
+/**
+ * Máscaras precalculadas de paridad (tablero de ajedrez generalizado).
+ *
+ * Un barco de tamaño t siempre cubre una casilla con (fila + columna) % t == o
+ * para cualquier desfase o. Por eso, en modo Búsqueda basta con disparar en
+ * esa retícula usando el tamaño del barco más pequeño que sigue a flote; a medida
+ * que se hunden los pequeños la retícula se ensancha.
+ *
+ * @version 1.0
+ */
+public final class MascarasParidad {
+
+    private static final int MODULO_MAXIMO = 4;
+
+    // Índices [modulo][desfase] -> {bajo, alto}
+    private static final long[][][] MASCARAS = new long[MODULO_MAXIMO + 1][][];
+
+    static {
+        for (int m = 1; m <= MODULO_MAXIMO; m++) {
+            MASCARAS[m] = new long[m][2];
+            for (int fila = 0; fila < MascaraCeldas.LADO; fila++) {
+                for (int col = 0; col < MascaraCeldas.LADO; col++) {
+                    int celda = MascaraCeldas.indice(fila, col);
+                    long[] mascara = MASCARAS[m][(fila + col) % m];
+                    if (celda < 64) mascara[0] |= 1L << celda; else mascara[1] |= 1L << (celda - 64);
+                }
+            }
+        }
+    }
+
+    private MascarasParidad() {
+    }
+
+    /**
+     * @param modulo Tamaño del barco más pequeño a flote (1-4)
+     * @param desfase Desfase de la retícula (0 a modulo-1)
+     * @return Casillas 0-63 de la retícula
+     */
+    public static long bajo(int modulo, int desfase) {
+        return MASCARAS[limitar(modulo)][desfase][0];
+    }
+
+    /**
+     * @return Casillas 64-99 de la retícula
+     */
+    public static long alto(int modulo, int desfase) {
+        return MASCARAS[limitar(modulo)][desfase][1];
+    }
+
+    /**
+     * Elige la retícula con más casillas libres para el módulo dado.
+     *
+     * @param modulo Tamaño del barco más pequeño a flote
+     * @param disparadasBajo Casillas ya disparadas 0-63
+     * @param disparadasAlto Casillas ya disparadas 64-99
+     * @return Desfase de la mejor retícula
+     */
+    public static int mejorDesfase(int modulo, long disparadasBajo, long disparadasAlto) {
+        int m = limitar(modulo);
+        int mejor = 0;
+        int mejorCantidad = -1;
+        for (int desfase = 0; desfase < m; desfase++) {
+            int libres = Long.bitCount(MASCARAS[m][desfase][0] & ~disparadasBajo)
+                    + Long.bitCount(MASCARAS[m][desfase][1] & ~disparadasAlto);
+            if (libres > mejorCantidad) {
+                mejorCantidad = libres;
+                mejor = desfase;
+            }
+        }
+        return mejor;
+    }
+
+    private static int limitar(int modulo) {
+        return Math.max(1, Math.min(MODULO_MAXIMO, modulo));
+    }
+}
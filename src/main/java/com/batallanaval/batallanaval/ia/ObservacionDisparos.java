@@ -0,0 +1,142 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Tablero;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lo que un tirador sabe del tablero enemigo, en forma de bitboards:
+ * casillas de agua, impactos, casillas atribuidas a barcos ya hundidos
+ * y los tamaños de los barcos que siguen a flote.
+ *
+ * Los impactos que no pertenecen a ningún barco hundido quedan como "pendientes":
+ * son la pista de barcos tocados que todavía hay que rematar.
+ *
+ * @version 1.0
+ */
+public final class ObservacionDisparos {
+
+    private final long aguaBajo, aguaAlto;
+    private final long impactosBajo, impactosAlto;
+    private final long hundidasBajo, hundidasAlto;
+    private final int[] tamanhosRestantes;
+
+    private ObservacionDisparos(long aguaBajo, long aguaAlto, long impactosBajo, long impactosAlto,
+                                long hundidasBajo, long hundidasAlto, int[] tamanhosRestantes) {
+        this.aguaBajo = aguaBajo;
+        this.aguaAlto = aguaAlto;
+        this.impactosBajo = impactosBajo;
+        this.impactosAlto = impactosAlto;
+        this.hundidasBajo = hundidasBajo;
+        this.hundidasAlto = hundidasAlto;
+        this.tamanhosRestantes = tamanhosRestantes;
+    }
+
+    /**
+     * Construye la observación a partir del tablero de disparos del tirador.
+     *
+     * @param tableroDisparos Tablero donde el tirador registra sus disparos
+     * @param hundimientos Barcos hundidos en orden, cada uno {fila, columna, tamanho}
+     * @return Observación equivalente
+     */
+    public static ObservacionDisparos desde(Tablero tableroDisparos, List<int[]> hundimientos) {
+        long aguaBajo = 0, aguaAlto = 0, impactosBajo = 0, impactosAlto = 0;
+
+        for (int fila = 0; fila < MascaraCeldas.LADO; fila++) {
+            for (int col = 0; col < MascaraCeldas.LADO; col++) {
+                int celda = MascaraCeldas.indice(fila, col);
+                long bit = 1L << (celda & 63);
+                switch (tableroDisparos.getCelda(fila, col).getEstado()) {
+                    case AGUA_DISPARADA:
+                        if (celda < 64) aguaBajo |= bit; else aguaAlto |= bit;
+                        break;
+                    case BARCO_TOCADO:
+                    case BARCO_HUNDIDO:
+                        if (celda < 64) impactosBajo |= bit; else impactosAlto |= bit;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        int[] restantes = GeneradorFlotas.TAMANHOS_FLOTA.clone();
+        int cantidadRestantes = restantes.length;
+
+        for (int[] hundimiento : hundimientos) {
+            // Quitar un barco de ese tamaño de los restantes
+            for (int i = 0; i < cantidadRestantes; i++) {
+                if (restantes[i] == hundimiento[2]) {
+                    restantes[i] = restantes[--cantidadRestantes];
+                    break;
+                }
+            }
+        }
+
+        int[] tamanhosRestantes = Arrays.copyOf(restantes, cantidadRestantes);
+        // De mayor a menor: los barcos grandes se colocan primero al generar flotas
+        Arrays.sort(tamanhosRestantes);
+        for (int i = 0, j = tamanhosRestantes.length - 1; i < j; i++, j--) {
+            int temporal = tamanhosRestantes[i];
+            tamanhosRestantes[i] = tamanhosRestantes[j];
+            tamanhosRestantes[j] = temporal;
+        }
+
+        // Todos los hundimientos juntos: una atribución inconsistente deja sin flotas posibles
+        long[] hundidas = {0L, 0L};
+        AtribucionImpactos.atribuirTodos(hundimientos, aguaBajo, aguaAlto, impactosBajo, impactosAlto,
+                tamanhosRestantes, hundidas);
+
+        return new ObservacionDisparos(aguaBajo, aguaAlto, impactosBajo, impactosAlto,
+                hundidas[0], hundidas[1], tamanhosRestantes);
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * @return Casillas donde aún puede haber barcos a flote (ni agua ni barcos hundidos)
+     */
+    public long permitidasBajo() {
+        return ~(aguaBajo | hundidasBajo);
+    }
+
+    public long permitidasAlto() {
+        return ~(aguaAlto | hundidasAlto);
+    }
+
+    /**
+     * @return Impactos no atribuidos a barcos hundidos
+     */
+    public long pendientesBajo() {
+        return impactosBajo & ~hundidasBajo;
+    }
+
+    public long pendientesAlto() {
+        return impactosAlto & ~hundidasAlto;
+    }
+
+    public long disparadasBajo() {
+        return aguaBajo | impactosBajo;
+    }
+
+    public long disparadasAlto() {
+        return aguaAlto | impactosAlto;
+    }
+
+    public MascaraCeldas getPendientes() {
+        return MascaraCeldas.de(pendientesBajo(), pendientesAlto());
+    }
+
+    public MascaraCeldas getHundidas() {
+        return MascaraCeldas.de(hundidasBajo, hundidasAlto);
+    }
+
+    /**
+     * @return Tamaños de los barcos a flote, de mayor a menor (no modificar)
+     */
+    public int[] getTamanhosRestantes() {
+        return tamanhosRestantes;
+    }
+}
@@ -0,0 +1,229 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Busca colocaciones de la flota de la máquina difíciles de hundir para una IA
+ * de densidad (SimuladorDensidad), dentro de un presupuesto de tiempo.
+ *
+ * Cada hilo repite: flota aleatoria, búsqueda local moviendo un barco a la vez
+ * (se acepta el movimiento si no empeora los disparos medios) y se queda con las
+ * mejores. Al final se reevalúan las finalistas con más simulaciones para no
+ * premiar el ruido, y las mejores forman el PoolColocaciones.
+ *
+ * Se usa fuera de la partida (en segundo plano o con main) y el resultado se
+ * guarda en disco: colocar la flota en el juego no tiene costo de búsqueda.
+ *
+ * @version 1.0
+ */
+public final class OptimizadorColocacion {
+    private static final Bitacora LOG = Bitacora.para(OptimizadorColocacion.class);
+
+    private static final int PASOS_BUSQUEDA_LOCAL = 40;
+    private static final int FACTOR_REEVALUACION = 4;
+
+    private final long presupuestoNanos;
+    private final int simulacionesPorFlota;
+    private final int tamanioPool;
+    private final int hilos;
+    private final SplittableRandom semilla;
+
+    /**
+     * Candidata evaluada: flota y disparos medios que necesitó la IA de referencia.
+     */
+    private record Candidata(GeneradorFlotas.Flota flota, double puntaje) {
+    }
+
+    /**
+     * Constructor con valores por defecto (8 simulaciones por flota, pool de 32,
+     * un hilo por núcleo).
+     *
+     * @param presupuestoMillis Tiempo total de búsqueda
+     */
+    public OptimizadorColocacion(long presupuestoMillis) {
+        this(presupuestoMillis, 8, 32, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param presupuestoMillis Tiempo total de búsqueda
+     * @param simulacionesPorFlota Partidas simuladas para evaluar cada flota
+     * @param tamanioPool Colocaciones a conservar
+     * @param hilos Tareas paralelas (con 1, todo corre en el hilo que llama)
+     * @param semilla Semilla para reproducibilidad
+     */
+    public OptimizadorColocacion(long presupuestoMillis, int simulacionesPorFlota, int tamanioPool,
+                                 int hilos, long semilla) {
+        if (presupuestoMillis <= 0 || simulacionesPorFlota <= 0 || tamanioPool <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("El presupuesto, las simulaciones, el pool y los hilos deben ser positivos");
+        }
+        this.presupuestoNanos = presupuestoMillis * 1_000_000L;
+        this.simulacionesPorFlota = simulacionesPorFlota;
+        this.tamanioPool = tamanioPool;
+        this.hilos = hilos;
+        this.semilla = new SplittableRandom(semilla);
+    }
+
+    // ========== OPTIMIZACIÓN ==========
+
+    /**
+     * Ejecuta la búsqueda hasta agotar el presupuesto.
+     *
+     * @return Pool con las mejores colocaciones encontradas
+     */
+    public PoolColocaciones optimizar() {
+        long inicio = System.nanoTime();
+        long limite = inicio + presupuestoNanos;
+        SplittableRandom[] aleatorios = new SplittableRandom[hilos];
+        for (int i = 0; i < hilos; i++) {
+            aleatorios[i] = semilla.split();
+        }
+
+        List<Candidata> finalistas = rango(hilos)
+                .mapToObj(i -> buscar(aleatorios[i], limite))
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingDouble(Candidata::puntaje).reversed())
+                .collect(Collectors.toList());
+
+        // Reevaluación de las finalistas con más partidas (en paralelo, una semilla por flota)
+        long[] semillas = new long[Math.min(finalistas.size(), tamanioPool * 2)];
+        for (int i = 0; i < semillas.length; i++) {
+            semillas[i] = semilla.nextLong();
+        }
+        List<Candidata> reevaluadas = rango(semillas.length)
+                .mapToObj(i -> new Candidata(finalistas.get(i).flota(),
+                        evaluar(new SimuladorDensidad(GeneradorFlotas.TAMANHOS_FLOTA.length),
+                                finalistas.get(i).flota(), new SplittableRandom(semillas[i]),
+                                simulacionesPorFlota * FACTOR_REEVALUACION)))
+                .sorted(Comparator.comparingDouble(Candidata::puntaje).reversed())
+                .collect(Collectors.toList());
+
+        List<GeneradorFlotas.Flota> elegidas = new ArrayList<>();
+        List<Float> puntajes = new ArrayList<>();
+        for (Candidata candidata : reevaluadas) {
+            if (elegidas.size() == tamanioPool) {
+                break;
+            }
+            if (!repetida(elegidas, candidata.flota())) {
+                elegidas.add(candidata.flota());
+                puntajes.add((float) candidata.puntaje());
+            }
+        }
+
+        float[] arreglo = new float[puntajes.size()];
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = puntajes.get(i);
+        }
+        PoolColocaciones pool = PoolColocaciones.de(elegidas, arreglo);
+        LOG.info(() -> "🧭 Optimización de flotas: " + pool + " en "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+        return pool;
+    }
+
+    /**
+     * @return Índices 0..n-1, en paralelo salvo que el optimizador tenga un solo hilo
+     */
+    private IntStream rango(int n) {
+        IntStream rango = IntStream.range(0, n);
+        return hilos > 1 ? rango.parallel() : rango;
+    }
+
+    /**
+     * Trabajo de un hilo: reinicios aleatorios con búsqueda local.
+     *
+     * @return Mejores candidatas del hilo (como máximo tamanioPool)
+     */
+    private List<Candidata> buscar(SplittableRandom aleatorio, long limite) {
+        SimuladorDensidad simulador = new SimuladorDensidad(GeneradorFlotas.TAMANHOS_FLOTA.length);
+        GeneradorFlotas.Flota actual = new GeneradorFlotas.Flota(GeneradorFlotas.TAMANHOS_FLOTA);
+        GeneradorFlotas.Flota vecina = new GeneradorFlotas.Flota(GeneradorFlotas.TAMANHOS_FLOTA);
+        List<Candidata> mejores = new ArrayList<>();
+
+        while (System.nanoTime() < limite) {
+            GeneradorFlotas.generar(actual, aleatorio);
+            double puntajeActual = evaluar(simulador, actual, aleatorio, simulacionesPorFlota);
+
+            for (int paso = 0; paso < PASOS_BUSQUEDA_LOCAL && System.nanoTime() < limite; paso++) {
+                vecina.copiarDe(actual);
+                if (!GeneradorFlotas.recolocar(vecina, aleatorio.nextInt(vecina.getCantidadBarcos()), aleatorio)) {
+                    continue;
+                }
+                double puntajeVecina = evaluar(simulador, vecina, aleatorio, simulacionesPorFlota);
+                if (puntajeVecina >= puntajeActual) {
+                    GeneradorFlotas.Flota temporal = actual;
+                    actual = vecina;
+                    vecina = temporal;
+                    puntajeActual = puntajeVecina;
+                }
+            }
+            ofrecer(mejores, actual, puntajeActual);
+        }
+        return mejores;
+    }
+
+    /**
+     * Inserta la flota (copiada) entre las mejores si tiene lugar o supera a la peor.
+     */
+    private void ofrecer(List<Candidata> mejores, GeneradorFlotas.Flota flota, double puntaje) {
+        if (mejores.size() == tamanioPool) {
+            int peor = 0;
+            for (int i = 1; i < mejores.size(); i++) {
+                if (mejores.get(i).puntaje() < mejores.get(peor).puntaje()) {
+                    peor = i;
+                }
+            }
+            if (mejores.get(peor).puntaje() >= puntaje) {
+                return;
+            }
+            mejores.remove(peor);
+        }
+        GeneradorFlotas.Flota copia = new GeneradorFlotas.Flota(GeneradorFlotas.TAMANHOS_FLOTA);
+        copia.copiarDe(flota);
+        mejores.add(new Candidata(copia, puntaje));
+    }
+
+    private static double evaluar(SimuladorDensidad simulador, GeneradorFlotas.Flota flota,
+                                  SplittableRandom aleatorio, int simulaciones) {
+        long total = 0;
+        for (int i = 0; i < simulaciones; i++) {
+            total += simulador.simular(flota, aleatorio);
+        }
+        return (double) total / simulaciones;
+    }
+
+    private static boolean repetida(List<GeneradorFlotas.Flota> elegidas, GeneradorFlotas.Flota flota) {
+        for (GeneradorFlotas.Flota otra : elegidas) {
+            if (otra.getBajo() == flota.getBajo() && otra.getAlto() == flota.getAlto()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== HERRAMIENTA DE LÍNEA DE COMANDOS ==========
+
+    /**
+     * Genera el pool y lo guarda en el directorio de juegos.
+     * Uso: OptimizadorColocacion [presupuestoMillis] (por defecto 60000)
+     *
+     * @param args Argumentos de línea de comandos
+     * @throws IOException si no se puede guardar el pool
+     */
+    public static void main(String[] args) throws IOException {
+        long presupuesto = args.length > 0 ? Long.parseLong(args[0]) : 60_000L;
+        PoolColocaciones pool = new OptimizadorColocacion(presupuesto).optimizar();
+        pool.guardar(ArchivoManager.getDirectorioJuegos());
+        System.out.println("✅ " + pool + " guardado en " + ArchivoManager.getDirectorioJuegos()
+                .resolve(PoolColocaciones.ARCHIVO).toAbsolutePath());
+    }
+}
@@ -0,0 +1,199 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Barco;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hábitos de colocación de un jugador, acumulados partida a partida:
+ * uso de los bordes, barcos pegados entre sí y preferencia de orientación.
+ *
+ * Solo guarda contadores enteros, de modo que actualizar es O(barcos) y el
+ * perfil ocupa unos pocos bytes en disco.
+ *
+ * @version 1.0
+ */
+public final class PerfilColocacion {
+
+    /** Fracción de casillas del tablero que están en el borde (36 de 100). */
+    private static final double PROPORCION_BORDE = 0.36;
+
+    private int partidas;
+    private int celdasTotales;
+    private int celdasBorde;
+    private int barcosTotales;
+    private int barcosContiguos;   // Barcos que tocan a otro (incluye diagonales)
+    private int barcosOrientables; // Barcos de tamaño > 1
+    private int barcosHorizontales;
+
+    public PerfilColocacion() {
+    }
+
+    private PerfilColocacion(PerfilColocacion otro) {
+        this.partidas = otro.partidas;
+        this.celdasTotales = otro.celdasTotales;
+        this.celdasBorde = otro.celdasBorde;
+        this.barcosTotales = otro.barcosTotales;
+        this.barcosContiguos = otro.barcosContiguos;
+        this.barcosOrientables = otro.barcosOrientables;
+        this.barcosHorizontales = otro.barcosHorizontales;
+    }
+
+    // ========== ACTUALIZACIÓN ==========
+
+    /**
+     * Suma al perfil la colocación de una partida terminada.
+     * Los barcos sin colocar se ignoran.
+     *
+     * @param barcos Barcos del jugador con su posición final
+     */
+    public void registrarPartida(List<Barco> barcos) {
+        byte[] barcoPorCelda = new byte[MascaraCeldas.CELDAS];
+        Arrays.fill(barcoPorCelda, (byte) -1);
+
+        for (int i = 0; i < barcos.size(); i++) {
+            Barco barco = barcos.get(i);
+            if (!barco.estaColocado()) {
+                continue;
+            }
+            for (int k = 0; k < barco.gettamanho(); k++) {
+                int fila = barco.getFilaInicio() + (barco.isHorizontal() ? 0 : k);
+                int columna = barco.getColumnaInicio() + (barco.isHorizontal() ? k : 0);
+                barcoPorCelda[MascaraCeldas.indice(fila, columna)] = (byte) i;
+                celdasTotales++;
+                if (fila == 0 || columna == 0 || fila == MascaraCeldas.LADO - 1 || columna == MascaraCeldas.LADO - 1) {
+                    celdasBorde++;
+                }
+            }
+            barcosTotales++;
+            if (barco.gettamanho() > 1) {
+                barcosOrientables++;
+                if (barco.isHorizontal()) {
+                    barcosHorizontales++;
+                }
+            }
+        }
+
+        for (int i = 0; i < barcos.size(); i++) {
+            if (barcos.get(i).estaColocado() && tocaOtroBarco(barcoPorCelda, i)) {
+                barcosContiguos++;
+            }
+        }
+        partidas++;
+    }
+
+    private static boolean tocaOtroBarco(byte[] barcoPorCelda, int barco) {
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            if (barcoPorCelda[celda] != barco) {
+                continue;
+            }
+            int fila = celda / MascaraCeldas.LADO;
+            int columna = celda % MascaraCeldas.LADO;
+            for (int df = -1; df <= 1; df++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int f = fila + df;
+                    int c = columna + dc;
+                    if (f >= 0 && f < MascaraCeldas.LADO && c >= 0 && c < MascaraCeldas.LADO) {
+                        int vecino = barcoPorCelda[MascaraCeldas.indice(f, c)];
+                        if (vecino >= 0 && vecino != barco) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // ========== MÉTRICAS ==========
+
+    /**
+     * @return Fracción de casillas de barco en el borde (0.36 si no hay datos)
+     */
+    public double getUsoBordes() {
+        return celdasTotales == 0 ? PROPORCION_BORDE : (double) celdasBorde / celdasTotales;
+    }
+
+    /**
+     * @return Fracción de barcos que tocan a otro (0 si no hay datos)
+     */
+    public double getAgrupamiento() {
+        return barcosTotales == 0 ? 0.0 : (double) barcosContiguos / barcosTotales;
+    }
+
+    /**
+     * @return Fracción de barcos horizontales entre los de tamaño > 1 (0.5 si no hay datos)
+     */
+    public double getSesgoHorizontal() {
+        return barcosOrientables == 0 ? 0.5 : (double) barcosHorizontales / barcosOrientables;
+    }
+
+    /**
+     * Factor por el que multiplicar el peso de las casillas del borde como prior:
+     * mayor que 1 si el jugador usa los bordes más que una colocación uniforme.
+     *
+     * @return Factor acotado a [0.5, 3]
+     */
+    public double getFactorBorde() {
+        if (partidas == 0) {
+            return 1.0;
+        }
+        return Math.max(0.5, Math.min(3.0, getUsoBordes() / PROPORCION_BORDE));
+    }
+
+    /**
+     * @return true si el jugador prefiere claramente la orientación vertical
+     */
+    public boolean prefiereVertical() {
+        return partidas > 0 && getSesgoHorizontal() < 0.4;
+    }
+
+    public int getPartidas() {
+        return partidas;
+    }
+
+    /**
+     * @return Copia independiente (para entregar a la IA sin compartir contadores)
+     */
+    public PerfilColocacion copia() {
+        return new PerfilColocacion(this);
+    }
+
+    // ========== FORMATO BINARIO ==========
+
+    /**
+     * Escribe los contadores (7 enteros).
+     */
+    void escribir(DataOutput salida) throws IOException {
+        salida.writeInt(partidas);
+        salida.writeInt(celdasTotales);
+        salida.writeInt(celdasBorde);
+        salida.writeInt(barcosTotales);
+        salida.writeInt(barcosContiguos);
+        salida.writeInt(barcosOrientables);
+        salida.writeInt(barcosHorizontales);
+    }
+
+    static PerfilColocacion leer(DataInput entrada) throws IOException {
+        PerfilColocacion perfil = new PerfilColocacion();
+        perfil.partidas = entrada.readInt();
+        perfil.celdasTotales = entrada.readInt();
+        perfil.celdasBorde = entrada.readInt();
+        perfil.barcosTotales = entrada.readInt();
+        perfil.barcosContiguos = entrada.readInt();
+        perfil.barcosOrientables = entrada.readInt();
+        perfil.barcosHorizontales = entrada.readInt();
+        return perfil;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PerfilColocacion{partidas=%d, bordes=%.2f, agrupamiento=%.2f, horizontal=%.2f}",
+                partidas, getUsoBordes(), getAgrupamiento(), getSesgoHorizontal());
+    }
+}
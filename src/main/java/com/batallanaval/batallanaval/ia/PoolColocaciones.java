@@ -0,0 +1,232 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Barco;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto de colocaciones fuertes precalculadas para la flota de la máquina.
+ *
+ * Cada colocación ocupa un byte por barco (casilla inicial + bit de orientación),
+ * en el orden de GeneradorFlotas.TAMANHOS_FLOTA, que es el orden de la flota de
+ * Jugador. Al colocar se aplica además una de las 8 simetrías del tablero, que
+ * no cambian la fuerza de la colocación pero la hacen menos predecible.
+ *
+ * Formato: MAGICO, VERSION, cantidad, y por colocación: puntaje (float) + 10 bytes.
+ *
+ * @version 1.0
+ */
+public final class PoolColocaciones {
+    private static final Bitacora LOG = Bitacora.para(PoolColocaciones.class);
+
+    public static final String ARCHIVO = "flotas_optimizadas.bin";
+
+    private static final int MAGICO = 0x424E464F; // "BNFO"
+    private static final int VERSION = 1;
+    private static final int BIT_HORIZONTAL = 0x80;
+
+    private final List<byte[]> colocaciones;
+    private final float[] puntajes;
+
+    private PoolColocaciones(List<byte[]> colocaciones, float[] puntajes) {
+        this.colocaciones = colocaciones;
+        this.puntajes = puntajes;
+    }
+
+    /**
+     * Crea el pool a partir de flotas ya evaluadas.
+     *
+     * @param flotas Flotas con los tamaños de TAMANHOS_FLOTA
+     * @param puntajes Disparos medios que necesitó la IA de referencia para cada una
+     * @return Pool con esas colocaciones
+     */
+    public static PoolColocaciones de(List<GeneradorFlotas.Flota> flotas, float[] puntajes) {
+        List<byte[]> codificadas = new ArrayList<>(flotas.size());
+        for (GeneradorFlotas.Flota flota : flotas) {
+            byte[] codigo = new byte[flota.getCantidadBarcos()];
+            for (int b = 0; b < codigo.length; b++) {
+                int inicio = MascaraCeldas.indice(flota.getFila(b), flota.getColumna(b));
+                codigo[b] = (byte) (inicio | (flota.isHorizontal(b) ? BIT_HORIZONTAL : 0));
+            }
+            codificadas.add(codigo);
+        }
+        return new PoolColocaciones(codificadas, puntajes.clone());
+    }
+
+    public static PoolColocaciones vacio() {
+        return new PoolColocaciones(Collections.emptyList(), new float[0]);
+    }
+
+    // ========== COLOCACIÓN ==========
+
+    /**
+     * Coloca la flota del jugador con una colocación del pool elegida al azar
+     * y transformada por una simetría al azar. Si algo no cuadra (flota de otro
+     * tamaño, barco que no entra), los barcos restantes se colocan al azar.
+     *
+     * @param jugador Jugador sin barcos colocados
+     * @param aleatorio Fuente de aleatoriedad
+     * @return true si toda la flota salió del pool
+     */
+    public boolean colocarEn(Jugador jugador, SplittableRandom aleatorio) {
+        List<Barco> barcos = jugador.getBarcos();
+        if (colocaciones.isEmpty() || barcos.size() != GeneradorFlotas.TAMANHOS_FLOTA.length) {
+            jugador.colocarBarcosAleatoriamente();
+            return false;
+        }
+
+        byte[] codigo = colocaciones.get(aleatorio.nextInt(colocaciones.size()));
+        int simetria = aleatorio.nextInt(8);
+        boolean completa = true;
+
+        for (int b = 0; b < codigo.length; b++) {
+            int tamanho = GeneradorFlotas.TAMANHOS_FLOTA[b];
+            if (barcos.get(b).gettamanho() != tamanho) {
+                completa = false;
+                break;
+            }
+            int inicio = codigo[b] & (BIT_HORIZONTAL - 1);
+            boolean horizontal = (codigo[b] & BIT_HORIZONTAL) != 0;
+            int fin = horizontal ? inicio + tamanho - 1 : inicio + (tamanho - 1) * MascaraCeldas.LADO;
+
+            int a = transformar(inicio, simetria);
+            int z = transformar(fin, simetria);
+            int fila = Math.min(a, z) / MascaraCeldas.LADO;
+            int columna = Math.min(a % MascaraCeldas.LADO, z % MascaraCeldas.LADO);
+            boolean nuevaHorizontal = tamanho == 1 || a / MascaraCeldas.LADO == z / MascaraCeldas.LADO;
+
+            if (!jugador.colocarBarco(b, fila, columna, nuevaHorizontal)) {
+                completa = false;
+                break;
+            }
+        }
+
+        if (!completa) {
+            LOG.advertencia("Colocación del pool inválida; se completa al azar");
+            jugador.colocarBarcosAleatoriamente();
+        }
+        return completa;
+    }
+
+    /**
+     * Aplica una de las 8 simetrías del cuadrado (rotaciones y reflejos) a una casilla.
+     */
+    private static int transformar(int celda, int simetria) {
+        int n = MascaraCeldas.LADO - 1;
+        int f = celda / MascaraCeldas.LADO;
+        int c = celda % MascaraCeldas.LADO;
+        if ((simetria & 1) != 0) {
+            f = n - f;
+        }
+        if ((simetria & 2) != 0) {
+            c = n - c;
+        }
+        if ((simetria & 4) != 0) {
+            int temporal = f;
+            f = c;
+            c = temporal;
+        }
+        return MascaraCeldas.indice(f, c);
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Carga el pool (vacío si no existe o está dañado).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @return Pool cargado
+     */
+    public static PoolColocaciones cargar(Path directorio) {
+        Path ruta = directorio.resolve(ARCHIVO);
+        if (!Files.exists(ruta)) {
+            return vacio();
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+            if (entrada.readInt() != MAGICO || entrada.readInt() != VERSION) {
+                LOG.advertencia("Pool de colocaciones con formato desconocido: " + ruta);
+                return vacio();
+            }
+            int cantidad = entrada.readInt();
+            List<byte[]> colocaciones = new ArrayList<>(cantidad);
+            float[] puntajes = new float[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                puntajes[i] = entrada.readFloat();
+                byte[] codigo = new byte[GeneradorFlotas.TAMANHOS_FLOTA.length];
+                entrada.readFully(codigo);
+                colocaciones.add(codigo);
+            }
+            return new PoolColocaciones(colocaciones, puntajes);
+
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo leer el pool de colocaciones: " + e.getMessage());
+            return vacio();
+        }
+    }
+
+    /**
+     * Guarda el pool (temporal + reemplazo).
+     *
+     * @param directorio Directorio de juegos guardados
+     * @throws IOException si no se puede escribir
+     */
+    public void guardar(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path temporal = directorio.resolve(ARCHIVO + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION);
+            salida.writeInt(colocaciones.size());
+            for (int i = 0; i < colocaciones.size(); i++) {
+                salida.writeFloat(puntajes[i]);
+                salida.write(colocaciones.get(i));
+            }
+        }
+        Files.move(temporal, directorio.resolve(ARCHIVO), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int tamanio() {
+        return colocaciones.size();
+    }
+
+    public boolean estaVacio() {
+        return colocaciones.isEmpty();
+    }
+
+    /**
+     * @return Disparos medios de la IA de referencia sobre la colocación i
+     */
+    public float getPuntaje(int i) {
+        return puntajes[i];
+    }
+
+    @Override
+    public String toString() {
+        float suma = 0;
+        for (float puntaje : puntajes) {
+            suma += puntaje;
+        }
+        return String.format("PoolColocaciones{colocaciones=%d, disparosMedios=%.1f}",
+                colocaciones.size(), colocaciones.isEmpty() ? 0f : suma / colocaciones.size());
+    }
+}
@@ -0,0 +1,148 @@
+package com.batallanaval.batallanaval.ia;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Tirador de referencia para simulaciones rápidas: IA de densidad de probabilidad.
+ *
+ * En cada turno cuenta, para cada casilla no disparada, cuántas colocaciones de
+ * los barcos a flote la cubren sin tocar agua ni barcos hundidos; las que cubren
+ * impactos pendientes pesan mucho más, lo que produce el remate natural de los
+ * barcos tocados. Dispara a la casilla de mayor densidad (empates al azar).
+ *
+ * Trabaja solo con bitboards y arreglos de trabajo reutilizables: una partida
+ * completa no crea objetos.
+ *
+ * @version 1.0
+ */
+public final class SimuladorDensidad {
+
+    private static final int PESO_IMPACTO = 64;
+
+    private final int[] densidad = new int[MascaraCeldas.CELDAS];
+    private final long[] barcoBajo;
+    private final long[] barcoAlto;
+    private final int[] tamanhos;
+    private final int[] tocados;
+    private final int[] restantes = new int[5];
+
+    /**
+     * @param cantidadBarcos Barcos de las flotas a simular (normalmente 10)
+     */
+    public SimuladorDensidad(int cantidadBarcos) {
+        this.barcoBajo = new long[cantidadBarcos];
+        this.barcoAlto = new long[cantidadBarcos];
+        this.tamanhos = new int[cantidadBarcos];
+        this.tocados = new int[cantidadBarcos];
+    }
+
+    /**
+     * Juega una partida completa contra la flota dada.
+     *
+     * @param flota Flota enemiga (no se modifica)
+     * @param aleatorio Fuente de aleatoriedad para desempates
+     * @return Disparos necesarios para hundir toda la flota
+     */
+    public int simular(GeneradorFlotas.Flota flota, SplittableRandom aleatorio) {
+        int cantidad = flota.getCantidadBarcos();
+        Arrays.fill(restantes, 0);
+        for (int b = 0; b < cantidad; b++) {
+            barcoBajo[b] = flota.getBajoBarco(b);
+            barcoAlto[b] = flota.getAltoBarco(b);
+            tamanhos[b] = flota.getTamanho(b);
+            tocados[b] = 0;
+            restantes[tamanhos[b]]++;
+        }
+
+        long aguaBajo = 0, aguaAlto = 0;
+        long pendientesBajo = 0, pendientesAlto = 0;
+        long hundidasBajo = 0, hundidasAlto = 0;
+        int hundidos = 0;
+        int disparos = 0;
+
+        while (hundidos < cantidad) {
+            long disparadasBajo = aguaBajo | pendientesBajo | hundidasBajo;
+            long disparadasAlto = aguaAlto | pendientesAlto | hundidasAlto;
+            int celda = elegir(restantes, ~(aguaBajo | hundidasBajo), ~(aguaAlto | hundidasAlto),
+                    pendientesBajo, pendientesAlto, disparadasBajo, disparadasAlto, aleatorio);
+            disparos++;
+
+            int barco = barcoEn(celda, cantidad);
+            if (barco < 0) {
+                if (celda < 64) aguaBajo |= 1L << celda; else aguaAlto |= 1L << (celda - 64);
+                continue;
+            }
+            if (celda < 64) pendientesBajo |= 1L << celda; else pendientesAlto |= 1L << (celda - 64);
+            if (++tocados[barco] == tamanhos[barco]) {
+                hundidasBajo |= barcoBajo[barco];
+                hundidasAlto |= barcoAlto[barco];
+                pendientesBajo &= ~barcoBajo[barco];
+                pendientesAlto &= ~barcoAlto[barco];
+                restantes[tamanhos[barco]]--;
+                hundidos++;
+            }
+        }
+        return disparos;
+    }
+
+    private int elegir(int[] restantes, long permitidasBajo, long permitidasAlto,
+                       long pendientesBajo, long pendientesAlto,
+                       long disparadasBajo, long disparadasAlto, SplittableRandom aleatorio) {
+        Arrays.fill(densidad, 0);
+        long libresBajo = ~disparadasBajo;
+        long libresAlto = ~disparadasAlto & ((1L << 36) - 1);
+
+        for (int t = 1; t < restantes.length; t++) {
+            if (restantes[t] == 0) {
+                continue;
+            }
+            for (int c = 0, n = GeneradorFlotas.cantidadColocaciones(t); c < n; c++) {
+                long b = GeneradorFlotas.bajoColocacion(t, c);
+                long a = GeneradorFlotas.altoColocacion(t, c);
+                if ((b & ~permitidasBajo) != 0 || (a & ~permitidasAlto) != 0) {
+                    continue;
+                }
+                int cubiertas = Long.bitCount(b & pendientesBajo) + Long.bitCount(a & pendientesAlto);
+                int peso = restantes[t] * (cubiertas == 0 ? 1 : PESO_IMPACTO * cubiertas);
+                long bits = b & libresBajo;
+                while (bits != 0) {
+                    densidad[Long.numberOfTrailingZeros(bits)] += peso;
+                    bits &= bits - 1;
+                }
+                bits = a & libresAlto;
+                while (bits != 0) {
+                    densidad[64 + Long.numberOfTrailingZeros(bits)] += peso;
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        // Máximo con desempate uniforme (muestreo de reservorio)
+        int mejor = -1;
+        int empates = 0;
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            if (MascaraCeldas.contiene(disparadasBajo, disparadasAlto, celda)) {
+                continue;
+            }
+            if (mejor < 0 || densidad[celda] > densidad[mejor]) {
+                mejor = celda;
+                empates = 1;
+            } else if (densidad[celda] == densidad[mejor] && aleatorio.nextInt(++empates) == 0) {
+                mejor = celda;
+            }
+        }
+        return mejor;
+    }
+
+    private int barcoEn(int celda, int cantidad) {
+        for (int b = 0; b < cantidad; b++) {
+            if (MascaraCeldas.contiene(barcoBajo[b], barcoAlto[b], celda)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,165 @@
+package com.batallanaval.batallanaval.metricas;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Mide el arranque en frío de la imagen jlink con y sin el archivo CDS.
+ *
+ * Lanza procesos nuevos alternando las variantes (CDS por defecto de la
+ * imagen / -Xshare:off), cada uno en un directorio temporal vacío, y toma
+ * la mediana del tiempo de reloj hasta que el proceso termina y del pico de
+ * memoria residente que informa el hijo. Por defecto el hijo juega la
+ * partida de EntrenamientoArranque sin interfaz; con --interfaz, arranca la
+ * interfaz y mide hasta el primer cuadro (hace falta pantalla).
+ *
+ * Termina con código 1 si el CDS no reduce el tiempo de arranque, para que
+ * el perfil "empaquetado" del pom falle si el archivo dejó de servir.
+ *
+ * @version 1.0
+ */
+public final class BenchmarkArranque {
+
+    private static final String MODULO_PRINCIPAL =
+            "com.batallanaval.batallanaval/com.batallanaval.batallanaval.Launcher";
+    private static final int REPETICIONES_POR_DEFECTO = 5;
+
+    /**
+     * Medición de un arranque.
+     *
+     * @param relojMillis Tiempo de reloj desde lanzar el proceso hasta que terminó
+     * @param primerCuadroMillis Primer cuadro según el hijo (-1 sin interfaz)
+     * @param rssPicoKb Pico de memoria residente según el hijo (-1 si no se conoce)
+     */
+    record Medicion(long relojMillis, long primerCuadroMillis, long rssPicoKb) {
+    }
+
+    private BenchmarkArranque() {
+    }
+
+    /**
+     * Uso: BenchmarkArranque &lt;java de la imagen&gt; [repeticiones] [--interfaz]
+     *
+     * @param args Argumentos de línea de comandos
+     * @throws IOException si no se puede lanzar la imagen
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Uso: BenchmarkArranque <java de la imagen> [repeticiones] [--interfaz]");
+            System.exit(2);
+        }
+        String java = args[0];
+        int repeticiones = args.length > 1 && !args[1].startsWith("--")
+                ? Integer.parseInt(args[1]) : REPETICIONES_POR_DEFECTO;
+        boolean interfaz = Arrays.asList(args).contains("--interfaz");
+
+        // Un arranque de calentamiento por variante (caché de disco del sistema)
+        medir(java, true, interfaz);
+        medir(java, false, interfaz);
+
+        List<Medicion> conCds = new ArrayList<>();
+        List<Medicion> sinCds = new ArrayList<>();
+        for (int i = 0; i < repeticiones; i++) {
+            conCds.add(medir(java, true, interfaz));
+            sinCds.add(medir(java, false, interfaz));
+        }
+
+        long relojCon = mediana(conCds, Medicion::relojMillis);
+        long relojSin = mediana(sinCds, Medicion::relojMillis);
+        System.out.printf("%-8s reloj=%5d ms  primer_cuadro=%5d ms  rss_pico=%7d KB%n", "con CDS",
+                relojCon, mediana(conCds, Medicion::primerCuadroMillis), mediana(conCds, Medicion::rssPicoKb));
+        System.out.printf("%-8s reloj=%5d ms  primer_cuadro=%5d ms  rss_pico=%7d KB%n", "sin CDS",
+                relojSin, mediana(sinCds, Medicion::primerCuadroMillis), mediana(sinCds, Medicion::rssPicoKb));
+        System.out.printf("Mejora del arranque: %.1f%%%n", 100.0 * (relojSin - relojCon) / relojSin);
+
+        if (relojCon >= relojSin) {
+            System.err.println("❌ El archivo CDS no acelera el arranque");
+            System.exit(1);
+        }
+    }
+
+    private static Medicion medir(String java, boolean cds, boolean interfaz)
+            throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(java);
+        if (!cds) {
+            comando.add("-Xshare:off");
+        }
+        comando.add("-Dbatallanaval.log.nivel=ADVERTENCIA");
+        if (interfaz) {
+            comando.add("-Dbatallanaval.arranque.medir=true");
+        } else {
+            comando.add("-D" + EntrenamientoArranque.PROPIEDAD_INTERFAZ + "=false");
+        }
+        comando.add("-m");
+        comando.add(MODULO_PRINCIPAL);
+        if (!interfaz) {
+            comando.add("--entrenamiento");
+        }
+
+        Path directorio = Files.createTempDirectory("batallanaval-arranque");
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .directory(directorio.toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        long primerCuadro = -1;
+        long rss = -1;
+        try (BufferedReader salida = new BufferedReader(
+                new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = salida.readLine()) != null) {
+                primerCuadro = Math.max(primerCuadro, valor(linea, "primer_cuadro_ms="));
+                rss = Math.max(rss, valor(linea, "rss_pico_kb="));
+            }
+        }
+        int codigo = proceso.waitFor();
+        long reloj = (System.nanoTime() - inicio) / 1_000_000;
+        borrar(directorio);
+        if (codigo != 0) {
+            throw new IllegalStateException("El arranque terminó con código " + codigo + ": " + comando);
+        }
+        return new Medicion(reloj, primerCuadro, rss);
+    }
+
+    /**
+     * @return Valor numérico que sigue a 'clave' en la línea, o -1 si no está
+     */
+    private static long valor(String linea, String clave) {
+        int desde = linea.indexOf(clave);
+        if (desde < 0) {
+            return -1;
+        }
+        desde += clave.length();
+        int hasta = desde;
+        while (hasta < linea.length() && Character.isDigit(linea.charAt(hasta))) {
+            hasta++;
+        }
+        return hasta > desde ? Long.parseLong(linea.substring(desde, hasta)) : -1;
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            for (Path ruta : rutas.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(ruta);
+            }
+        }
+    }
+
+    private static long mediana(List<Medicion> mediciones, ToLongFunction<Medicion> campo) {
+        long[] valores = mediciones.stream().mapToLong(campo).sorted().toArray();
+        return valores[valores.length / 2];
+    }
+}
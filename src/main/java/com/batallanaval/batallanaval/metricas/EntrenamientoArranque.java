@@ -0,0 +1,163 @@
+package com.batallanaval.batallanaval.metricas;
+
+import com.batallanaval.batallanaval.analitica.AnaliticaPartidas;
+import com.batallanaval.batallanaval.analitica.Clasificacion;
+import com.batallanaval.batallanaval.analitica.MotorRatings;
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.ia.LibroAperturas;
+import com.batallanaval.batallanaval.ia.PoolColocaciones;
+import com.batallanaval.batallanaval.servidor.MotorPartida;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+import com.batallanaval.batallanaval.utils.ConfiguracionViva;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Partida completa sin interfaz para entrenar el archivo AppCDS (perfil
+ * "empaquetado" del pom) y para medir arranques en frío (BenchmarkArranque).
+ *
+ * Recorre lo mismo que una partida real fuera de JavaFX: configuración,
+ * conocimiento de la IA, colocación, disparos de ambos lados, archivado del
+ * juego y actualización de analítica, ratings y clasificación. Todo se
+ * escribe en el directorio que se le pasa, nunca en el de juegos del usuario:
+ * una partida de entrenamiento no debe aparecer en su historial, sus ratings
+ * ni su clasificación.
+ *
+ * @version 1.0
+ */
+public final class EntrenamientoArranque {
+
+    /** Propiedad para no abrir la interfaz después de la partida aunque haya pantalla. */
+    public static final String PROPIEDAD_INTERFAZ = "batallanaval.entrenamiento.interfaz";
+    /** Propiedad con el directorio donde escribir; sin ella se usa uno temporal que se borra al terminar. */
+    public static final String PROPIEDAD_DIRECTORIO = "batallanaval.entrenamiento.directorio";
+
+    private static final Bitacora LOG = Bitacora.para(EntrenamientoArranque.class);
+
+    private static final long SEMILLA = 20_240_601L;
+
+    private EntrenamientoArranque() {
+    }
+
+    /**
+     * Juega la partida en el directorio de PROPIEDAD_DIRECTORIO o, si no se
+     * indicó, en uno temporal que se borra al terminar.
+     *
+     * @throws IOException si no se puede crear el directorio temporal
+     */
+    public static void ejecutarAislado() throws IOException {
+        String indicado = System.getProperty(PROPIEDAD_DIRECTORIO);
+        if (indicado != null) {
+            ejecutar(Paths.get(indicado));
+            return;
+        }
+        Path temporal = Files.createTempDirectory("batallanaval-entrenamiento");
+        try {
+            ejecutar(temporal);
+        } finally {
+            borrar(temporal);
+        }
+    }
+
+    /**
+     * Juega una partida de principio a fin e imprime una línea
+     * "entrenamiento_ms=... rss_pico_kb=..." para BenchmarkArranque.
+     *
+     * @param directorio Directorio de juegos de la partida (no el del usuario)
+     */
+    public static void ejecutar(Path directorio) {
+        ArchivoManager archivoManager = new ArchivoManager(directorio);
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+
+        MotorPartida partida = new MotorPartida("Entrenamiento", PoolColocaciones.cargar(directorio),
+                LibroAperturas.cargar(directorio), aleatorio.split());
+        partida.getMaquina().setEstrategia(ConfiguracionViva.global().actual().crearEstrategia());
+        partida.colocarAleatoriamente();
+        partida.iniciar();
+
+        // El "humano" dispara a las casillas en orden aleatorio
+        int[] casillas = new int[MascaraCeldas.CELDAS];
+        for (int i = 0; i < casillas.length; i++) {
+            int j = aleatorio.nextInt(i + 1);
+            casillas[i] = casillas[j];
+            casillas[j] = i;
+        }
+        for (int i = 0; i < casillas.length && partida.getFase() == MotorPartida.Fase.EN_CURSO; i++) {
+            partida.disparar(casillas[i] / MascaraCeldas.LADO, casillas[i] % MascaraCeldas.LADO);
+        }
+
+        try {
+            archivoManager.guardarJuegoCompleto(partida.getHumano(), partida.getMaquina(), false,
+                    partida.isTurnoJugador(), partida.getMovimientos());
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudo archivar la partida de entrenamiento: " + e.getMessage());
+        }
+        AnaliticaPartidas.cargar(directorio).actualizar(archivoManager);
+        MotorRatings.cargar(directorio).actualizar(archivoManager);
+        Clasificacion.cargar(archivoManager);
+
+        // Las métricas de la partida quedan con ella; el volcado al cerrar no las lleva al usuario
+        RegistroMetricas metricas = RegistroMetricas.global();
+        try {
+            metricas.volcar(directorio.resolve(RegistroMetricas.ARCHIVO));
+        } catch (IOException e) {
+            LOG.advertencia("No se pudieron volcar las métricas del entrenamiento: " + e.getMessage());
+        }
+        metricas.reiniciar();
+
+        System.out.println("entrenamiento_ms=" + ManagementFactory.getRuntimeMXBean().getUptime()
+                + " rss_pico_kb=" + rssPicoKb() + " jugadas=" + partida.getCantidadJugadas());
+    }
+
+    private static void borrar(Path directorio) {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            rutas.sorted(Comparator.reverseOrder()).forEach(ruta -> {
+                try {
+                    Files.deleteIfExists(ruta);
+                } catch (IOException e) {
+                    LOG.advertencia("No se pudo borrar " + ruta + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            LOG.advertencia("No se pudo borrar " + directorio + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return true si después de la partida se puede abrir la interfaz para
+     *         que sus clases también entren en el archivo CDS
+     */
+    public static boolean debeAbrirInterfaz() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPIEDAD_INTERFAZ, "true"))) {
+            return false;
+        }
+        boolean linux = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("linux");
+        return !linux || System.getenv("DISPLAY") != null || System.getenv("WAYLAND_DISPLAY") != null;
+    }
+
+    /**
+     * @return Pico de memoria residente del proceso en KB (VmHWM), o -1 si no se conoce
+     */
+    static long rssPicoKb() {
+        try {
+            for (String linea : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (linea.startsWith("VmHWM:")) {
+                    return Long.parseLong(linea.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Fuera de Linux no hay /proc
+        }
+        return -1;
+    }
+}
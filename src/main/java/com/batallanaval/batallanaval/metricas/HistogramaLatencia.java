@@ -0,0 +1,143 @@
+package com.batallanaval.batallanaval.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas log-lineales (estilo HDR).
+ * Cada potencia de dos se divide en 32 sub-cubetas, lo que da un error
+ * relativo menor al 3% con memoria fija y registro sin bloqueos.
+ *
+ * Los valores se registran en nanosegundos.
+ *
+ * @version 1.0
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;       // 32
+    private static final int LIMITE_LINEAL = SUBCUBETAS * 2;         // 64
+    private static final int CANTIDAD_CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS + LIMITE_LINEAL;
+
+    private final String nombre;
+    private final AtomicLongArray cubetas;
+    private final LongAdder conteo;
+    private final LongAdder suma;
+    private volatile long maximo;
+
+    /**
+     * Constructor principal.
+     *
+     * @param nombre Nombre de la métrica
+     */
+    public HistogramaLatencia(String nombre) {
+        this.nombre = nombre;
+        this.cubetas = new AtomicLongArray(CANTIDAD_CUBETAS);
+        this.conteo = new LongAdder();
+        this.suma = new LongAdder();
+        this.maximo = 0;
+    }
+
+    // ========== REGISTRO ==========
+
+    /**
+     * Registra una medición.
+     *
+     * @param nanos Duración en nanosegundos (los negativos se toman como 0)
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(indiceCubeta(valor));
+        conteo.increment();
+        suma.add(valor);
+        if (valor > maximo) {
+            maximo = valor; // Carrera benigna: solo informativo
+        }
+    }
+
+    /**
+     * Reinicia todas las cubetas.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        conteo.reset();
+        suma.reset();
+        maximo = 0;
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Calcula un percentil aproximado.
+     *
+     * @param percentil Valor entre 0 y 100
+     * @return Límite inferior de la cubeta que contiene el percentil (nanosegundos)
+     */
+    public long percentil(double percentil) {
+        long total = conteo.sum();
+        if (total == 0) {
+            return 0;
+        }
+
+        long objetivo = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentil)) / 100.0);
+        objetivo = Math.max(1, objetivo);
+
+        long acumulado = 0;
+        for (int i = 0; i < CANTIDAD_CUBETAS; i++) {
+            acumulado += cubetas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(valorCubeta(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getConteo() {
+        return conteo.sum();
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * @return Promedio en nanosegundos (0 si no hay mediciones)
+     */
+    public double getPromedio() {
+        long total = conteo.sum();
+        return total == 0 ? 0 : (double) suma.sum() / total;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static int indiceCubeta(long valor) {
+        if (valor < LIMITE_LINEAL) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        return (desplazamiento - 1) * SUBCUBETAS + (int) (valor >>> desplazamiento) + SUBCUBETAS;
+    }
+
+    private static long valorCubeta(int indice) {
+        if (indice < LIMITE_LINEAL) {
+            return indice;
+        }
+        int desplazamiento = (indice - LIMITE_LINEAL) / SUBCUBETAS + 1;
+        long mantisa = (indice - LIMITE_LINEAL) % SUBCUBETAS + SUBCUBETAS;
+        return mantisa << desplazamiento;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{n=%d, p50=%.1fµs, p99=%.1fµs, max=%.1fµs}",
+                nombre, getConteo(),
+                percentil(50) / 1000.0, percentil(99) / 1000.0, maximo / 1000.0);
+    }
+}
@@ -0,0 +1,51 @@
+package com.batallanaval.batallanaval.metricas;
+
+/**
+ * Interfaz JMX con las métricas del motor del juego.
+ * Los tiempos se exponen en microsegundos.
+ *
+ * @version 1.0
+ */
+public interface MetricasMXBean {
+
+    long getDisparos();
+
+    double getDisparosPorSegundo();
+
+    long getDecisionesIa();
+
+    double getDecisionIaP50Micros();
+
+    double getDecisionIaP99Micros();
+
+    /**
+     * @return p99 de la IA en la partida de escritorio en curso (no incluye las del servidor)
+     */
+    double getDecisionIaP99PartidaMicros();
+
+    long getGuardados();
+
+    double getGuardadoP99Micros();
+
+    /**
+     * @return p99 del guardado en la partida de escritorio en curso
+     */
+    double getGuardadoP99PartidaMicros();
+
+    double getDespachoObservadoresP99Micros();
+
+    /**
+     * @return Milisegundos desde el inicio de la JVM hasta el primer cuadro (-1 si aún no)
+     */
+    long getPrimerCuadroMillis();
+
+    /**
+     * @return Milisegundos desde el inicio de la JVM hasta la interfaz completa (-1 si aún no)
+     */
+    long getInterfazListaMillis();
+
+    /**
+     * Reinicia todas las métricas.
+     */
+    void reiniciar();
+}
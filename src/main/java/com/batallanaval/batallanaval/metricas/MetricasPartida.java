@@ -0,0 +1,61 @@
+package com.batallanaval.batallanaval.metricas;
+
+/**
+ * Histogramas de una sola partida: decisión de la IA y guardado.
+ *
+ * Los tiene quien conduce la partida (JuegoController en el escritorio, cada
+ * MotorPartida en el servidor), así que las partidas simultáneas del servidor
+ * no se mezclan con la de escritorio. RegistroMetricas sigue acumulando los
+ * totales de todo el proceso.
+ *
+ * @version 1.0
+ */
+public final class MetricasPartida {
+
+    private final String origen;
+    private final HistogramaLatencia decisionIa = new HistogramaLatencia("decision_ia_partida");
+    private final HistogramaLatencia guardado = new HistogramaLatencia("guardado_partida");
+
+    /**
+     * @param origen Etiqueta de la partida en el resumen ("escritorio", "servidor Ana"…)
+     */
+    public MetricasPartida(String origen) {
+        this.origen = origen;
+    }
+
+    public void registrarDecisionIa(long nanos) {
+        decisionIa.registrar(nanos);
+    }
+
+    public void registrarGuardado(long nanos) {
+        guardado.registrar(nanos);
+    }
+
+    /**
+     * Vacía los histogramas. Llamar al iniciar cada juego.
+     */
+    public void reiniciar() {
+        decisionIa.reiniciar();
+        guardado.reiniciar();
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public double getDecisionIaP99Micros() {
+        return decisionIa.percentil(99) / 1000.0;
+    }
+
+    public double getGuardadoP99Micros() {
+        return guardado.percentil(99) / 1000.0;
+    }
+
+    /**
+     * @return Resumen de la partida (p99 de IA y de guardado)
+     */
+    @Override
+    public String toString() {
+        return String.format("Partida (%s): IA %s | Guardado %s", origen, decisionIa, guardado);
+    }
+}
@@ -0,0 +1,229 @@
+package com.batallanaval.batallanaval.metricas;
+
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro global de métricas del motor: contadores y histogramas de latencia
+ * para la decisión de la IA, el guardado de partidas y el despacho de observadores.
+ *
+ * Se publica por JMX como "com.batallanaval:type=Metricas" y se vuelca a
+ * juegos_guardados/metricas.txt al cerrar la JVM.
+ *
+ * Los histogramas por partida no están aquí sino en MetricasPartida, uno por
+ * partida; el registro solo guarda el de la partida de escritorio para
+ * publicarlo por JMX.
+ *
+ * @version 1.0
+ */
+public final class RegistroMetricas implements MetricasMXBean {
+    private static final Bitacora LOG = Bitacora.para(RegistroMetricas.class);
+
+    private static final String NOMBRE_JMX = "com.batallanaval:type=Metricas";
+    /** Nombre del volcado dentro del directorio de juegos. */
+    public static final String ARCHIVO = "metricas.txt";
+    private static final Path ARCHIVO_VOLCADO = Paths.get("juegos_guardados", ARCHIVO);
+
+    private static final RegistroMetricas GLOBAL = new RegistroMetricas();
+
+    static {
+        GLOBAL.exportarJmx();
+        Runtime.getRuntime().addShutdownHook(new Thread(GLOBAL::volcarAlCerrar, "metricas-volcado"));
+    }
+
+    private final long inicioNanos = System.nanoTime();
+
+    private final LongAdder disparos = new LongAdder();
+    private final HistogramaLatencia decisionIa = new HistogramaLatencia("decision_ia");
+    private final HistogramaLatencia guardado = new HistogramaLatencia("guardado");
+    private final HistogramaLatencia despacho = new HistogramaLatencia("despacho_observadores");
+
+    private final MetricasPartida partidaEscritorio = new MetricasPartida("escritorio");
+
+    // Arranque de la interfaz, en milisegundos desde el inicio de la JVM (-1 = aún no)
+    private volatile long primerCuadroMillis = -1;
+    private volatile long interfazListaMillis = -1;
+
+    private RegistroMetricas() {
+    }
+
+    /**
+     * @return Instancia global del registro
+     */
+    public static RegistroMetricas global() {
+        return GLOBAL;
+    }
+
+    // ========== REGISTRO ==========
+
+    /**
+     * @param millisDesdeJvm Momento en que se pintó la primera ventana
+     */
+    public void registrarPrimerCuadro(long millisDesdeJvm) {
+        primerCuadroMillis = millisDesdeJvm;
+    }
+
+    /**
+     * @param millisDesdeJvm Momento en que la interfaz del juego quedó completa
+     */
+    public void registrarInterfazLista(long millisDesdeJvm) {
+        interfazListaMillis = millisDesdeJvm;
+    }
+
+    public void contarDisparo() {
+        disparos.increment();
+    }
+
+    public void registrarDecisionIa(long nanos) {
+        decisionIa.registrar(nanos);
+    }
+
+    public void registrarGuardado(long nanos) {
+        guardado.registrar(nanos);
+    }
+
+    public void registrarDespacho(long nanos) {
+        despacho.registrar(nanos);
+    }
+
+    /**
+     * @return Métricas de la partida de escritorio (las que se publican por JMX)
+     */
+    public MetricasPartida partidaEscritorio() {
+        return partidaEscritorio;
+    }
+
+    // ========== JMX ==========
+
+    private void exportarJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (!servidor.isRegistered(nombre)) {
+                servidor.registerMBean(this, nombre);
+            }
+        } catch (Exception | LinkageError e) {
+            LOG.advertencia("No se pudieron exportar las métricas por JMX: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long getDisparos() {
+        return disparos.sum();
+    }
+
+    @Override
+    public double getDisparosPorSegundo() {
+        double segundos = (System.nanoTime() - inicioNanos) / 1e9;
+        return segundos <= 0 ? 0 : disparos.sum() / segundos;
+    }
+
+    @Override
+    public long getDecisionesIa() {
+        return decisionIa.getConteo();
+    }
+
+    @Override
+    public double getDecisionIaP50Micros() {
+        return decisionIa.percentil(50) / 1000.0;
+    }
+
+    @Override
+    public double getDecisionIaP99Micros() {
+        return decisionIa.percentil(99) / 1000.0;
+    }
+
+    @Override
+    public double getDecisionIaP99PartidaMicros() {
+        return partidaEscritorio.getDecisionIaP99Micros();
+    }
+
+    @Override
+    public long getGuardados() {
+        return guardado.getConteo();
+    }
+
+    @Override
+    public double getGuardadoP99Micros() {
+        return guardado.percentil(99) / 1000.0;
+    }
+
+    @Override
+    public double getGuardadoP99PartidaMicros() {
+        return partidaEscritorio.getGuardadoP99Micros();
+    }
+
+    @Override
+    public double getDespachoObservadoresP99Micros() {
+        return despacho.percentil(99) / 1000.0;
+    }
+
+    @Override
+    public long getPrimerCuadroMillis() {
+        return primerCuadroMillis;
+    }
+
+    @Override
+    public long getInterfazListaMillis() {
+        return interfazListaMillis;
+    }
+
+    @Override
+    public void reiniciar() {
+        disparos.reset();
+        decisionIa.reiniciar();
+        guardado.reiniciar();
+        despacho.reiniciar();
+        partidaEscritorio.reiniciar();
+    }
+
+    // ========== VOLCADO ==========
+
+    /**
+     * Escribe un resumen legible de todas las métricas.
+     *
+     * @param ruta Archivo destino (se sobrescribe)
+     * @throws IOException si falla la escritura
+     */
+    public void volcar(Path ruta) throws IOException {
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        Files.write(ruta, toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void volcarAlCerrar() {
+        if (disparos.sum() == 0 && guardado.getConteo() == 0) {
+            return; // Nada que reportar
+        }
+        try {
+            volcar(ARCHIVO_VOLCADO);
+        } catch (IOException e) {
+            LOG.advertencia("No se pudieron volcar las métricas: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== MÉTRICAS BATALLA NAVAL (").append(LocalDateTime.now()).append(") ===\n");
+        sb.append(String.format("disparos=%d (%.2f/s)%n", getDisparos(), getDisparosPorSegundo()));
+        sb.append(String.format("arranque: primer_cuadro=%dms interfaz_lista=%dms%n",
+                primerCuadroMillis, interfazListaMillis));
+        sb.append(decisionIa).append('\n');
+        sb.append(guardado).append('\n');
+        sb.append(despacho).append('\n');
+        sb.append(partidaEscritorio).append('\n');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,349 @@
+package com.batallanaval.batallanaval.model;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantánea INMUTABLE de una partida completa (ambos tableros y el turno).
+ *
+ * A diferencia de los constructores de copia de Tablero y Jugador, que copian
+ * celda por celda y comparten las instancias de Barco, este valor usa bitboards
+ * (MascaraCeldas) y arreglos compactos. Aplicar un disparo devuelve un nuevo
+ * estado en O(1): solo se reemplaza el lado disparado y se comparte todo lo demás.
+ * Al no mutar nunca, puede compartirse entre hilos sin bloqueos.
+ *
+ * @version 1.0
+ */
+public final class EstadoPartida implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Lado ladoHumano;       // Flota del humano y disparos recibidos
+    private final Lado ladoMaquina;      // Flota de la máquina y disparos recibidos
+    private final boolean turnoJugador;  // true si le toca al humano
+    private final TipoResultado ultimoResultado;
+    private final int numeroMovimiento;  // Disparos aplicados desde el estado inicial
+
+    /**
+     * CLASE INTERNA Lado - Una flota con los disparos que ha recibido.
+     * Las posiciones de los barcos (ocupadas, barcoPorCelda, tamanhos) se comparten
+     * entre todas las instantáneas derivadas; solo 'disparos' e 'impactos' cambian.
+     */
+    public static final class Lado implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final MascaraCeldas ocupadas;   // Casillas con barco
+        private final byte[] barcoPorCelda;     // Índice de barco por casilla (-1 = agua), COMPARTIDO
+        private final byte[] tamanhos;          // Tamaño de cada barco, COMPARTIDO
+        private final MascaraCeldas disparos;   // Casillas disparadas
+        private final byte[] impactos;          // Impactos recibidos por barco
+        private final int hundidos;             // Barcos hundidos
+
+        private Lado(MascaraCeldas ocupadas, byte[] barcoPorCelda, byte[] tamanhos,
+                     MascaraCeldas disparos, byte[] impactos, int hundidos) {
+            this.ocupadas = ocupadas;
+            this.barcoPorCelda = barcoPorCelda;
+            this.tamanhos = tamanhos;
+            this.disparos = disparos;
+            this.impactos = impactos;
+            this.hundidos = hundidos;
+        }
+
+        /**
+         * Construye un lado a partir de un tablero con barcos (incluye los disparos ya recibidos).
+         *
+         * @param tablero Tablero propio de un jugador
+         * @return Lado equivalente
+         */
+        public static Lado desde(Tablero tablero) {
+            byte[] barcoPorCelda = new byte[MascaraCeldas.CELDAS];
+            Map<Barco, Integer> indices = new IdentityHashMap<>();
+            List<Barco> barcos = tablero.getBarcos();
+            byte[] tamanhos = new byte[barcos.size()];
+            for (int i = 0; i < barcos.size(); i++) {
+                indices.put(barcos.get(i), i);
+                tamanhos[i] = (byte) barcos.get(i).gettamanho();
+            }
+
+            long ocupadasBajo = 0, ocupadasAlto = 0, disparosBajo = 0, disparosAlto = 0;
+            byte[] impactos = new byte[tamanhos.length];
+
+            for (int fila = 0; fila < MascaraCeldas.LADO; fila++) {
+                for (int col = 0; col < MascaraCeldas.LADO; col++) {
+                    int celda = MascaraCeldas.indice(fila, col);
+                    Tablero.Celda origen = tablero.getCelda(fila, col);
+                    Integer indice = origen.tieneBarco() ? indices.get(origen.getBarco()) : null;
+
+                    barcoPorCelda[celda] = indice == null ? -1 : indice.byteValue();
+                    if (indice != null) {
+                        if (celda < 64) ocupadasBajo |= 1L << celda; else ocupadasAlto |= 1L << (celda - 64);
+                    }
+                    if (origen.estaDisparada()) {
+                        if (celda < 64) disparosBajo |= 1L << celda; else disparosAlto |= 1L << (celda - 64);
+                        if (indice != null) {
+                            impactos[indice]++;
+                        }
+                    }
+                }
+            }
+
+            int hundidos = 0;
+            for (int i = 0; i < tamanhos.length; i++) {
+                if (impactos[i] >= tamanhos[i]) {
+                    hundidos++;
+                }
+            }
+
+            return new Lado(MascaraCeldas.de(ocupadasBajo, ocupadasAlto), barcoPorCelda, tamanhos,
+                    MascaraCeldas.de(disparosBajo, disparosAlto), impactos, hundidos);
+        }
+
+        /**
+         * Construye un lado directamente desde arreglos compactos (p. ej. un generador de flotas).
+         *
+         * @param barcoPorCelda Índice de barco por casilla (-1 = agua); no se copia
+         * @param tamanhos Tamaño de cada barco; no se copia
+         * @return Lado sin disparos
+         */
+        public static Lado desdeArreglos(byte[] barcoPorCelda, byte[] tamanhos) {
+            if (barcoPorCelda.length != MascaraCeldas.CELDAS) {
+                throw new IllegalArgumentException("Se esperaban " + MascaraCeldas.CELDAS + " casillas");
+            }
+            long bajo = 0, alto = 0;
+            for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+                if (barcoPorCelda[celda] >= 0) {
+                    if (celda < 64) bajo |= 1L << celda; else alto |= 1L << (celda - 64);
+                }
+            }
+            return new Lado(MascaraCeldas.de(bajo, alto), barcoPorCelda, tamanhos,
+                    MascaraCeldas.VACIA, new byte[tamanhos.length], 0);
+        }
+
+        /**
+         * @return El mismo lado (misma flota) sin ningún disparo recibido
+         */
+        public Lado sinDisparos() {
+            return new Lado(ocupadas, barcoPorCelda, tamanhos, MascaraCeldas.VACIA, new byte[tamanhos.length], 0);
+        }
+
+        /**
+         * Calcula el resultado de un disparo sin modificar este lado.
+         */
+        public TipoResultado resultadoDe(int celda) {
+            if (celda < 0 || celda >= MascaraCeldas.CELDAS) {
+                return TipoResultado.INVALIDO;
+            }
+            if (disparos.contiene(celda)) {
+                return TipoResultado.REPETIDO;
+            }
+            int barco = barcoPorCelda[celda];
+            if (barco < 0) {
+                return TipoResultado.AGUA;
+            }
+            return impactos[barco] + 1 >= tamanhos[barco] ? TipoResultado.HUNDIDO : TipoResultado.TOCADO;
+        }
+
+        /**
+         * Aplica un disparo en O(1).
+         *
+         * @return Nuevo lado (o este mismo si el disparo es repetido/inválido)
+         */
+        Lado recibirDisparo(int celda, TipoResultado resultado) {
+            switch (resultado) {
+                case AGUA:
+                    return new Lado(ocupadas, barcoPorCelda, tamanhos, disparos.con(celda), impactos, hundidos);
+                case TOCADO:
+                case HUNDIDO:
+                    byte[] nuevosImpactos = impactos.clone(); // Un byte por barco: tamaño constante
+                    nuevosImpactos[barcoPorCelda[celda]]++;
+                    return new Lado(ocupadas, barcoPorCelda, tamanhos, disparos.con(celda), nuevosImpactos,
+                            resultado == TipoResultado.HUNDIDO ? hundidos + 1 : hundidos);
+                default:
+                    return this;
+            }
+        }
+
+        // ========== GETTERS ==========
+
+        public MascaraCeldas getOcupadas() {
+            return ocupadas;
+        }
+
+        public MascaraCeldas getDisparos() {
+            return disparos;
+        }
+
+        /**
+         * @return Casillas disparadas que tenían barco
+         */
+        public MascaraCeldas getImpactos() {
+            return disparos.interseccion(ocupadas);
+        }
+
+        public int getHundidos() {
+            return hundidos;
+        }
+
+        public int getCantidadBarcos() {
+            return tamanhos.length;
+        }
+
+        public boolean flotaHundida() {
+            return hundidos >= tamanhos.length;
+        }
+
+        /**
+         * @return Índice del barco en la casilla o -1 si es agua
+         */
+        public int barcoEn(int celda) {
+            return barcoPorCelda[celda];
+        }
+
+        public int tamanhoBarco(int barco) {
+            return tamanhos[barco];
+        }
+
+        public boolean barcoHundido(int barco) {
+            return impactos[barco] >= tamanhos[barco];
+        }
+
+        /**
+         * Estado visible de una casilla, con la misma semántica que Tablero.EstadoCelda.
+         */
+        public Tablero.EstadoCelda estadoCelda(int celda) {
+            int barco = barcoPorCelda[celda];
+            boolean disparada = disparos.contiene(celda);
+            if (barco < 0) {
+                return disparada ? Tablero.EstadoCelda.AGUA_DISPARADA : Tablero.EstadoCelda.AGUA_LIBRE;
+            }
+            if (!disparada) {
+                return Tablero.EstadoCelda.BARCO_INTACTO;
+            }
+            return barcoHundido(barco) ? Tablero.EstadoCelda.BARCO_HUNDIDO : Tablero.EstadoCelda.BARCO_TOCADO;
+        }
+    }
+
+    // ========== CONSTRUCCIÓN ==========
+
+    private EstadoPartida(Lado ladoHumano, Lado ladoMaquina, boolean turnoJugador,
+                          TipoResultado ultimoResultado, int numeroMovimiento) {
+        this.ladoHumano = ladoHumano;
+        this.ladoMaquina = ladoMaquina;
+        this.turnoJugador = turnoJugador;
+        this.ultimoResultado = ultimoResultado;
+        this.numeroMovimiento = numeroMovimiento;
+    }
+
+    /**
+     * Crea una instantánea a partir de los tableros actuales de ambos jugadores.
+     *
+     * @param humano Jugador humano
+     * @param maquina Jugador máquina
+     * @param turnoJugador true si le toca al humano
+     * @return Instantánea inmutable
+     */
+    public static EstadoPartida desde(Jugador humano, Jugador maquina, boolean turnoJugador) {
+        return new EstadoPartida(Lado.desde(humano.getTableroPropio()),
+                Lado.desde(maquina.getTableroPropio()), turnoJugador, null, 0);
+    }
+
+    /**
+     * Crea el estado inicial (sin disparos, turno del humano) con las flotas
+     * actuales de ambos jugadores, aunque ya hayan recibido disparos.
+     * Es el punto de partida para repetir una partida.
+     *
+     * @param humano Jugador humano
+     * @param maquina Jugador máquina
+     * @return Estado inicial de la partida
+     */
+    public static EstadoPartida inicialDesde(Jugador humano, Jugador maquina) {
+        return new EstadoPartida(Lado.desde(humano.getTableroPropio()).sinDisparos(),
+                Lado.desde(maquina.getTableroPropio()).sinDisparos(), true, null, 0);
+    }
+
+    /**
+     * Crea una instantánea a partir de dos lados ya construidos.
+     */
+    public static EstadoPartida de(Lado ladoHumano, Lado ladoMaquina, boolean turnoJugador) {
+        return new EstadoPartida(ladoHumano, ladoMaquina, turnoJugador, null, 0);
+    }
+
+    // ========== TRANSICIONES ==========
+
+    /**
+     * Aplica un disparo y devuelve el nuevo estado en O(1).
+     * Reglas del juego: AGUA cede el turno; TOCADO y HUNDIDO lo conservan.
+     *
+     * @param disparaHumano true si dispara el humano (contra la flota de la máquina)
+     * @param fila Fila del disparo
+     * @param columna Columna del disparo
+     * @return Nuevo estado; el resultado queda en getUltimoResultado()
+     */
+    public EstadoPartida disparar(boolean disparaHumano, int fila, int columna) {
+        if (fila < 0 || fila >= MascaraCeldas.LADO || columna < 0 || columna >= MascaraCeldas.LADO) {
+            return new EstadoPartida(ladoHumano, ladoMaquina, turnoJugador, TipoResultado.INVALIDO, numeroMovimiento);
+        }
+
+        int celda = MascaraCeldas.indice(fila, columna);
+        Lado objetivo = disparaHumano ? ladoMaquina : ladoHumano;
+        TipoResultado resultado = objetivo.resultadoDe(celda);
+
+        if (resultado == TipoResultado.REPETIDO) {
+            return new EstadoPartida(ladoHumano, ladoMaquina, turnoJugador, resultado, numeroMovimiento);
+        }
+
+        Lado nuevo = objetivo.recibirDisparo(celda, resultado);
+        boolean nuevoTurno = resultado == TipoResultado.AGUA ? !disparaHumano : disparaHumano;
+
+        return disparaHumano
+                ? new EstadoPartida(ladoHumano, nuevo, nuevoTurno, resultado, numeroMovimiento + 1)
+                : new EstadoPartida(nuevo, ladoMaquina, nuevoTurno, resultado, numeroMovimiento + 1);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public Lado getLadoHumano() {
+        return ladoHumano;
+    }
+
+    public Lado getLadoMaquina() {
+        return ladoMaquina;
+    }
+
+    public boolean isTurnoJugador() {
+        return turnoJugador;
+    }
+
+    /**
+     * @return Resultado del último disparo aplicado (null en el estado inicial)
+     */
+    public TipoResultado getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    public int getNumeroMovimiento() {
+        return numeroMovimiento;
+    }
+
+    public boolean haTerminado() {
+        return ladoHumano.flotaHundida() || ladoMaquina.flotaHundida();
+    }
+
+    /**
+     * @return true si ganó el humano (solo válido si haTerminado())
+     */
+    public boolean ganoHumano() {
+        return ladoMaquina.flotaHundida();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstadoPartida{movimiento=%d, turno=%s, hundidosHumano=%d, hundidosMaquina=%d}",
+                numeroMovimiento, turnoJugador ? "Jugador" : "Máquina",
+                ladoHumano.getHundidos(), ladoMaquina.getHundidos());
+    }
+}
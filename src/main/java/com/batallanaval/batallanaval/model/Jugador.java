@@ -2,8 +2,23 @@ package com.batallanaval.batallanaval.model;
 
 import com.batallanaval.batallanaval.patterns.composite.FlotaComposite;
 import com.batallanaval.batallanaval.patterns.factory.BarcoFactory;
+import com.batallanaval.batallanaval.patterns.strategy.EstrategiaDisparo;
+import com.batallanaval.batallanaval.datastructures.ColaCeldas;
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.eventos.EventoBarcoColocado;
+import com.batallanaval.batallanaval.eventos.EventoDisparo;
 import com.batallanaval.batallanaval.exceptions.BarcoSuperpuestoException;
-
+import com.batallanaval.batallanaval.ia.AtribucionImpactos;
+import com.batallanaval.batallanaval.ia.GeneradorFlotas;
+import com.batallanaval.batallanaval.ia.LibroAperturas;
+import com.batallanaval.batallanaval.ia.PerfilColocacion;
+import com.batallanaval.batallanaval.ia.MascarasParidad;
+import com.batallanaval.batallanaval.metricas.MetricasPartida;
+import com.batallanaval.batallanaval.metricas.RegistroMetricas;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +33,10 @@ import java.util.List;
  */
 public class Jugador implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final Bitacora LOG = Bitacora.para(Jugador.class);
+
+    /** Nombre de la estrategia de disparo por defecto (sin EstrategiaDisparo). */
+    public static final String ESTRATEGIA_POR_DEFECTO = "Caza/Búsqueda";
 
     private final String nickname;
     private final Tablero tableroPropio;      // Donde coloca sus barcos
@@ -25,8 +44,18 @@ public class Jugador implements Serializable {
     private final FlotaComposite flota;       // Flota usando patrón Composite
     private int barcosHundidosPropios;        // Contador de barcos propios hundidos
     private int barcosHundidosEnemigos;       // Contador de barcos enemigos hundidos
-    private List<int[]> impactosRecientes = new ArrayList<>(); // Registra coordenadas [fila, col] de un barco TOCADO
-    private List<int[]> posiblesObjetivos = new ArrayList<>(); // Celdas adyacentes pendientes de ataque (Modo Caza)
+    private ColaCeldas impactosPendientes = new ColaCeldas(); // Casillas TOCADO de barcos aún no hundidos
+    private ColaCeldas objetivos = new ColaCeldas();          // Casillas pendientes de ataque (Modo Caza)
+    private List<int[]> hundimientos = new ArrayList<>();      // Barcos enemigos hundidos: {fila, col, tamanho}
+    private transient EstrategiaDisparo estrategia;            // Estrategia alternativa (null = Caza/Búsqueda)
+    private String nombreEstrategia;                           // Se guarda con la partida (null = Caza/Búsqueda)
+    private transient LibroAperturas libroAperturas;           // Mapa de calor aprendido para los primeros disparos
+    private transient PerfilColocacion perfilOponente;         // Hábitos de colocación del rival (puede ser null)
+    private transient MetricasPartida metricasPartida;         // Histogramas de la partida en curso (null = solo globales)
+    private transient long disparosBajo, disparosAlto;         // Bitboard de casillas disparadas (espejo de tableroDisparos)
+
+    private static final int[][] DIRECCIONES = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}}; // Este, Oeste, Sur, Norte
+    private static final int[][] DIRECCIONES_VERTICAL = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}}; // Sur, Norte, Este, Oeste
 
 
     /**
@@ -51,6 +80,8 @@ public class Jugador implements Serializable {
 
     /**
      * Constructor de copia (TDA-friendly).
+     * Nota: comparte las instancias de Barco con el original; para instantáneas
+     * independientes y baratas usar EstadoPartida.
      *
      * @param otro Jugador a copiar
      */
@@ -61,6 +92,10 @@ public class Jugador implements Serializable {
         this.flota = otro.flota; // Nota: Composite debería tener constructor de copia
         this.barcosHundidosPropios = otro.barcosHundidosPropios;
         this.barcosHundidosEnemigos = otro.barcosHundidosEnemigos;
+        this.hundimientos = new ArrayList<>(otro.getHundimientos());
+        this.nombreEstrategia = otro.nombreEstrategia;
+        this.disparosBajo = otro.disparosBajo;
+        this.disparosAlto = otro.disparosAlto;
     }
 
     // ========== INICIALIZACIÓN ==========
@@ -113,6 +148,7 @@ public class Jugador implements Serializable {
             // Actualizar posición del barco
             barco.setPosicion(fila, columna);
             barco.setHorizontal(horizontal);
+            emitirEventoColocacion(barco, fila, columna, horizontal);
             return true;
         }
         return false;
@@ -165,11 +201,27 @@ public class Jugador implements Serializable {
             if (colocado) {
                 barco.setPosicion(fila, columna);
                 barco.setHorizontal(horizontal);
+                emitirEventoColocacion(barco, fila, columna, horizontal);
             }
             intentos++;
         }
     }
 
+    /**
+     * Emite el evento JFR de colocación (sin costo si la grabación está apagada).
+     */
+    private void emitirEventoColocacion(Barco barco, int fila, int columna, boolean horizontal) {
+        EventoBarcoColocado evento = new EventoBarcoColocado();
+        if (evento.isEnabled()) {
+            evento.jugador = nickname;
+            evento.barco = barco.getNombre();
+            evento.fila = fila;
+            evento.columna = columna;
+            evento.horizontal = horizontal;
+            evento.commit();
+        }
+    }
+
     // ========== DISPAROS ==========
 
     /**
@@ -199,18 +251,45 @@ public class Jugador implements Serializable {
      * @return Resultado del disparo
      */
     public String realizarDisparo(int fila, int columna, Jugador oponente) {
+        return realizarDisparo(fila, columna, oponente, "Manual");
+    }
+
+    /**
+     * Realiza un disparo indicando el modo con que se eligió la casilla.
+     *
+     * @param modo "Manual", "Caza" o "Búsqueda" (para el evento JFR)
+     */
+    private String realizarDisparo(int fila, int columna, Jugador oponente, String modo) {
         // Verificar si ya se disparó aquí
         if (tableroDisparos.estaDisparada(fila, columna)) {
             return "REPETIDO";
         }
 
         String resultado = oponente.recibirDisparo(fila, columna);
+        RegistroMetricas.global().contarDisparo();
 
         // Registrar en el tablero de disparos
         tableroDisparos.registrarDisparo(fila, columna, resultado);
+        if (tableroDisparos.estaDisparada(fila, columna)) {
+            int celda = MascaraCeldas.indice(fila, columna);
+            if (celda < 64) disparosBajo |= 1L << celda; else disparosAlto |= 1L << (celda - 64);
+        }
 
         if (resultado.equals("HUNDIDO")) {
             barcosHundidosEnemigos++;
+            // El tamaño del barco hundido se anuncia al tirador
+            Barco hundido = oponente.getTableroPropio().getBarcoEn(fila, columna);
+            getHundimientos().add(new int[]{fila, columna, hundido != null ? hundido.gettamanho() : 1});
+        }
+
+        EventoDisparo evento = new EventoDisparo();
+        if (evento.isEnabled()) {
+            evento.jugador = nickname;
+            evento.fila = fila;
+            evento.columna = columna;
+            evento.resultado = resultado;
+            evento.modo = modo;
+            evento.commit();
         }
 
         return resultado;
@@ -226,7 +305,9 @@ public class Jugador implements Serializable {
      * Realiza un disparo óptimo (para la máquina).
      *
      * Si está en modo 'Caza' (hay objetivos), ataca un objetivo adyacente.
-     * Si está en modo 'Búsqueda' (no hay objetivos), dispara aleatoriamente.
+     * Si está en modo 'Búsqueda' (no hay objetivos), dispara al azar dentro de la
+     * retícula de paridad del barco más pequeño que sigue a flote.
+     * Si se configuró una EstrategiaDisparo, es ella quien elige la casilla.
      *
      * @param oponente Jugador oponente
      * @return Array con [fila, columna, resultado]
@@ -234,44 +315,67 @@ public class Jugador implements Serializable {
     public int[] realizarDisparoOptimo(Jugador oponente) {
         int fila, columna;
         String resultado;
+        String modo;
+        long inicioDecision = System.nanoTime();
+
+        // 0. ESTRATEGIA CONFIGURADA (p. ej. Monte Carlo)
+        if (estrategia != null) {
+            int[] elegido = estrategia.elegirDisparo(tableroDisparos, getHundimientos());
+            fila = elegido[0];
+            columna = elegido[1];
+            modo = estrategia.getNombre();
 
         // 1. ESTRATEGIA: MODO CAZA
-        if (!posiblesObjetivos.isEmpty()) {
-            // Toma y remueve el primer objetivo adyacente
-            int[] objetivo = posiblesObjetivos.remove(0);
-            fila = objetivo[0];
-            columna = objetivo[1];
-            System.out.println("🤖🎯 Modo Caza: Disparando en (" + fila + "," + columna + ")");
+        } else if (!objetivos.estaVacia()) {
+            // Toma y remueve el primer objetivo (O(1), sin crear objetos)
+            int objetivo = objetivos.quitarDelFrente();
+            fila = objetivo / MascaraCeldas.LADO;
+            columna = objetivo % MascaraCeldas.LADO;
+            modo = "Caza";
+            final int f = fila, c = columna;
+            LOG.depuracion(() -> "🤖🎯 Modo Caza: Disparando en (" + f + "," + c + ")");
 
         } else {
-            // 2. ESTRATEGIA: MODO BÚSQUEDA (Aleatorio/Random)
-            do {
-                fila = (int) (Math.random() * 10);
-                columna = (int) (Math.random() * 10);
-                // Si el disparo es repetido, el bucle lo manejará
-            } while (tableroDisparos.estaDisparada(fila, columna)); // Asegura que no sea REPETIDO antes de disparar
-            System.out.println("🤖🔍 Modo Búsqueda: Disparando en (" + fila + "," + columna + ")");
+            // 2. ESTRATEGIA: MODO BÚSQUEDA (retícula de paridad, nunca REPETIDO)
+            int celda = elegirCasillaBusqueda();
+            fila = celda / MascaraCeldas.LADO;
+            columna = celda % MascaraCeldas.LADO;
+            modo = "Búsqueda";
+            final int f = fila, c = columna;
+            LOG.depuracion(() -> "🤖🔍 Modo Búsqueda: Disparando en (" + f + "," + c + ")");
+        }
+
+        long nanosDecision = System.nanoTime() - inicioDecision;
+        RegistroMetricas.global().registrarDecisionIa(nanosDecision);
+        if (metricasPartida != null) {
+            metricasPartida.registrarDecisionIa(nanosDecision);
         }
 
         // 3. EJECUTAR DISPARO
-        resultado = realizarDisparo(fila, columna, oponente);
+        resultado = realizarDisparo(fila, columna, oponente, modo);
 
         // 4. FEEDBACK DE LA IA (Aprender del disparo)
         if (resultado.equals("TOCADO")) {
-            impactosRecientes.add(new int[]{fila, columna});
-            // Genera y agrega los 4 vecinos a la cola de objetivos
-            agregarAdyacentes(fila, columna);
+            impactosPendientes.agregarAlFinal(MascaraCeldas.indice(fila, columna));
+            recalcularObjetivos();
 
         } else if (resultado.equals("HUNDIDO")) {
-            // Cuando se hunde, limpia el estado para volver a BÚSQUEDA
-            impactosRecientes.clear();
-            posiblesObjetivos.clear();
-            System.out.println("🤖💥 Barco Hundido. Volviendo a modo Búsqueda.");
+            // Descuenta solo las casillas del barco hundido; los impactos que
+            // sobran son de otro barco contiguo y se siguen cazando
+            descontarBarcoHundido(fila, columna);
+            if (impactosPendientes.estaVacia()) {
+                objetivos.vaciar();
+                LOG.depuracion(() -> "🤖💥 Barco Hundido. Volviendo a modo Búsqueda.");
+            } else {
+                recalcularObjetivos();
+                LOG.depuracion(() -> "🤖💥 Barco Hundido. Quedan " + impactosPendientes.tamanio()
+                        + " impactos de otro barco: sigue el modo Caza.");
+            }
 
-        } else if (resultado.equals("AGUA") && !impactosRecientes.isEmpty()) {
-            // Si estaba en modo Caza (es decir, impactosRecientes no está vacío) y falla (AGUA),
-            // No hacemos nada más que eliminarlo de posiblesObjetivos (que ya se hizo arriba)
-            // y seguir con el siguiente objetivo en la lista.
+        } else if (resultado.equals("AGUA") && !impactosPendientes.estaVacia()) {
+            // Falló en modo Caza: si la línea quedó cerrada por agua en ambos
+            // extremos, se recalcula (vuelve a los vecinos de cada impacto)
+            recalcularObjetivos();
         }
 
         // Mapea el resultado a tu formato [0, 1, 2] para el controlador
@@ -280,33 +384,203 @@ public class Jugador implements Serializable {
     }
 
     /**
-     * Genera y agrega las coordenadas adyacentes válidas (no disparadas)
-     * al listado de posibles objetivos de caza.
+     * Elige al azar una casilla libre de la retícula de paridad.
+     * La retícula depende del barco enemigo más pequeño aún a flote: con fragatas
+     * vivas se usa todo el tablero, y se ensancha a medida que se hunden los pequeños.
+     * En los primeros disparos, si hay libro de aperturas, la elección dentro de la
+     * retícula se pondera con su mapa de calor.
+     *
+     * @return Índice de casilla (fila * 10 + columna)
      */
-    private void agregarAdyacentes(int r, int c) {
-        int[][] direcciones = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}}; // Este, Oeste, Sur, Norte
+    private int elegirCasillaBusqueda() {
+        int modulo = tamanhoMinimoEnemigoAFlote();
+        int desfase = MascarasParidad.mejorDesfase(modulo, disparosBajo, disparosAlto);
+        long candidatasBajo = MascarasParidad.bajo(modulo, desfase) & ~disparosBajo;
+        long candidatasAlto = MascarasParidad.alto(modulo, desfase) & ~disparosAlto;
+
+        int cantidad = Long.bitCount(candidatasBajo) + Long.bitCount(candidatasAlto);
+        if (cantidad > 0 && libroAperturas != null && libroAperturas.estaEntrenado()
+                && Long.bitCount(disparosBajo) + Long.bitCount(disparosAlto) < LibroAperturas.DISPAROS_APERTURA) {
+            // Apertura: sesgar hacia donde los humanos suelen colocar sus barcos
+            int celda = libroAperturas.elegir(candidatasBajo, candidatasAlto, Math.random());
+            if (celda >= 0) {
+                return celda;
+            }
+        }
+        if (cantidad == 0) {
+            // Retícula agotada: cualquier casilla libre
+            candidatasBajo = MascaraCeldas.COMPLETA.getBajo() & ~disparosBajo;
+            candidatasAlto = MascaraCeldas.COMPLETA.getAlto() & ~disparosAlto;
+            cantidad = Long.bitCount(candidatasBajo) + Long.bitCount(candidatasAlto);
+        }
+
+        return MascaraCeldas.enesima(candidatasBajo, candidatasAlto, (int) (Math.random() * cantidad));
+    }
+
+    /**
+     * @return Tamaño del barco enemigo más pequeño que sigue a flote (1 si no se sabe)
+     */
+    private int tamanhoMinimoEnemigoAFlote() {
+        int[] restantes = new int[5];
+        for (int tamanho : GeneradorFlotas.TAMANHOS_FLOTA) {
+            restantes[tamanho]++;
+        }
+        for (int[] hundimiento : getHundimientos()) {
+            restantes[hundimiento[2]]--;
+        }
+        for (int tamanho = 1; tamanho < restantes.length; tamanho++) {
+            if (restantes[tamanho] > 0) {
+                return tamanho;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Quita de los impactos pendientes las casillas atribuidas al barco que
+     * acaba de hundir el disparo en (fila, columna), usando solo lo que el
+     * tirador conoce: la casilla del disparo y el tamaño anunciado.
+     */
+    private void descontarBarcoHundido(int fila, int columna) {
+        List<int[]> hundimientos = getHundimientos();
+        int tamanho = hundimientos.get(hundimientos.size() - 1)[2];
+
+        long impactosBajo = 0, impactosAlto = 0;
+        impactosPendientes.agregarAlFinal(MascaraCeldas.indice(fila, columna));
+        for (int i = 0; i < impactosPendientes.tamanio(); i++) {
+            int celda = impactosPendientes.obtener(i);
+            if (celda < 64) impactosBajo |= 1L << celda; else impactosAlto |= 1L << (celda - 64);
+        }
+
+        long[] hundidas = {0L, 0L};
+        AtribucionImpactos.atribuir(fila, columna, tamanho, impactosBajo, impactosAlto, hundidas);
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            if (MascaraCeldas.contiene(hundidas[0], hundidas[1], celda)) {
+                impactosPendientes.quitar(celda);
+            }
+        }
+    }
+
+    /**
+     * Recalcula la cola de objetivos a partir de los impactos pendientes.
+     *
+     * Con dos o más impactos alineados en una fila o columna ya se conoce la
+     * orientación del barco: solo se encolan las casillas que extienden la línea
+     * por ambos extremos. Si los impactos no forman una línea (barcos contiguos)
+     * o la línea está cerrada por agua, se encolan los vecinos de cada impacto.
+     */
+    private void recalcularObjetivos() {
+        objetivos.vaciar();
+        if (impactosPendientes.tamanio() >= 2 && extenderLinea()) {
+            return;
+        }
+        for (int i = 0; i < impactosPendientes.tamanio(); i++) {
+            int celda = impactosPendientes.obtener(i);
+            agregarAdyacentes(celda / MascaraCeldas.LADO, celda % MascaraCeldas.LADO);
+        }
+    }
+
+    /**
+     * Encola los extremos libres de la línea formada por los impactos pendientes.
+     *
+     * @return true si los impactos están alineados, son contiguos y queda algún extremo libre
+     */
+    private boolean extenderLinea() {
+        int primera = impactosPendientes.obtener(0);
+        int fila = primera / MascaraCeldas.LADO;
+        int columna = primera % MascaraCeldas.LADO;
+        boolean mismaFila = true;
+        boolean mismaColumna = true;
+        int minimo = MascaraCeldas.LADO;
+        int maximo = -1;
+
+        for (int i = 0; i < impactosPendientes.tamanio(); i++) {
+            int celda = impactosPendientes.obtener(i);
+            mismaFila &= celda / MascaraCeldas.LADO == fila;
+            mismaColumna &= celda % MascaraCeldas.LADO == columna;
+        }
+        if (!mismaFila && !mismaColumna) {
+            return false;
+        }
+
+        for (int i = 0; i < impactosPendientes.tamanio(); i++) {
+            int celda = impactosPendientes.obtener(i);
+            int posicion = mismaFila ? celda % MascaraCeldas.LADO : celda / MascaraCeldas.LADO;
+            minimo = Math.min(minimo, posicion);
+            maximo = Math.max(maximo, posicion);
+        }
+
+        // Un hueco ya disparado (agua) significa que son barcos distintos
+        for (int posicion = minimo + 1; posicion < maximo; posicion++) {
+            int celda = mismaFila ? MascaraCeldas.indice(fila, posicion) : MascaraCeldas.indice(posicion, columna);
+            if (!impactosPendientes.contiene(celda) && estaDisparada(celda)) {
+                return false;
+            }
+        }
+
+        encolarSiLibre(mismaFila, fila, columna, minimo - 1);
+        encolarSiLibre(mismaFila, fila, columna, maximo + 1);
+        for (int posicion = minimo + 1; posicion < maximo; posicion++) {
+            encolarSiLibre(mismaFila, fila, columna, posicion);
+        }
+        return !objetivos.estaVacia();
+    }
 
+    /**
+     * Encola la casilla de la línea en la posición indicada si existe y no fue disparada.
+     */
+    private void encolarSiLibre(boolean horizontal, int fila, int columna, int posicion) {
+        if (posicion < 0 || posicion >= MascaraCeldas.LADO) {
+            return;
+        }
+        int celda = horizontal ? MascaraCeldas.indice(fila, posicion) : MascaraCeldas.indice(posicion, columna);
+        if (!estaDisparada(celda)) {
+            objetivos.agregarAlFinal(celda);
+        }
+    }
+
+    /**
+     * Agrega las coordenadas adyacentes válidas (no disparadas) a la cola de
+     * objetivos de caza. Los duplicados se descartan con el bitboard de la cola.
+     * El orden sigue el sesgo de orientación del rival si se conoce su perfil.
+     */
+    private void agregarAdyacentes(int r, int c) {
+        // Si el rival suele colocar en vertical, probar primero arriba y abajo
+        int[][] direcciones = perfilOponente != null && perfilOponente.prefiereVertical()
+                ? DIRECCIONES_VERTICAL : DIRECCIONES;
         for (int[] dir : direcciones) {
             int nuevaFila = r + dir[0];
             int nuevaCol = c + dir[1];
 
-            // 1. Verificar límites del tablero
             if (nuevaFila >= 0 && nuevaFila < 10 && nuevaCol >= 0 && nuevaCol < 10) {
+                int celda = MascaraCeldas.indice(nuevaFila, nuevaCol);
+                if (!estaDisparada(celda)) {
+                    objetivos.agregarAlFinal(celda);
+                }
+            }
+        }
+    }
 
-                // 2. Verificar si ya se ha disparado en esa casilla
-                if (!tableroDisparos.estaDisparada(nuevaFila, nuevaCol)) {
-
-                    // 3. Verificar si no está ya en la cola de objetivos pendientes
-                    boolean existe = false;
-                    for(int[] obj : posiblesObjetivos) {
-                        if(obj[0] == nuevaFila && obj[1] == nuevaCol) {
-                            existe = true;
-                            break;
-                        }
-                    }
-                    if(!existe) {
-                        posiblesObjetivos.add(new int[]{nuevaFila, nuevaCol});
-                    }
+    private boolean estaDisparada(int celda) {
+        return MascaraCeldas.contiene(disparosBajo, disparosAlto, celda);
+    }
+
+    /**
+     * Reconstruye el bitboard de disparos al cargar un juego guardado.
+     */
+    private void readObject(ObjectInputStream entrada) throws IOException, ClassNotFoundException {
+        entrada.defaultReadObject();
+        if (impactosPendientes == null) {
+            impactosPendientes = new ColaCeldas(); // Juegos guardados con las listas anteriores
+        }
+        if (objetivos == null) {
+            objetivos = new ColaCeldas();
+        }
+        for (int fila = 0; fila < tableroDisparos.getFilas(); fila++) {
+            for (int col = 0; col < tableroDisparos.getColumnas(); col++) {
+                if (tableroDisparos.estaDisparada(fila, col)) {
+                    int celda = MascaraCeldas.indice(fila, col);
+                    if (celda < 64) disparosBajo |= 1L << celda; else disparosAlto |= 1L << (celda - 64);
                 }
             }
         }
@@ -417,19 +691,110 @@ public class Jugador implements Serializable {
                 nickname, getBarcosRestantes(), haPerdido());
     }
 
+    /**
+     * @return Copia de los impactos pendientes, cada uno {fila, columna}
+     */
     public List<int[]> getImpactosRecientes() {
-        return impactosRecientes;
+        return aLista(impactosPendientes);
     }
 
     public void setImpactosRecientes(List<int[]> impactosRecientes) {
-        this.impactosRecientes = impactosRecientes;
+        cargarCola(impactosPendientes, impactosRecientes);
     }
 
+    /**
+     * @return Copia de la cola de objetivos de caza, cada uno {fila, columna}
+     */
     public List<int[]> getPosiblesObjetivos() {
-        return posiblesObjetivos;
+        return aLista(objetivos);
     }
 
     public void setPosiblesObjetivos(List<int[]> posiblesObjetivos) {
-        this.posiblesObjetivos = posiblesObjetivos;
+        cargarCola(objetivos, posiblesObjetivos);
+    }
+
+    private static List<int[]> aLista(ColaCeldas cola) {
+        List<int[]> lista = new ArrayList<>(cola.tamanio());
+        for (int i = 0; i < cola.tamanio(); i++) {
+            int celda = cola.obtener(i);
+            lista.add(new int[]{celda / MascaraCeldas.LADO, celda % MascaraCeldas.LADO});
+        }
+        return lista;
+    }
+
+    private static void cargarCola(ColaCeldas cola, List<int[]> casillas) {
+        cola.vaciar();
+        if (casillas != null) {
+            for (int[] casilla : casillas) {
+                cola.agregarAlFinal(MascaraCeldas.indice(casilla[0], casilla[1]));
+            }
+        }
+    }
+
+    /**
+     * @return Barcos enemigos hundidos en orden, cada uno {fila, columna, tamanho}
+     */
+    public List<int[]> getHundimientos() {
+        if (hundimientos == null) {
+            hundimientos = new ArrayList<>(); // Juegos guardados antes de existir el campo
+        }
+        return hundimientos;
+    }
+
+    public EstrategiaDisparo getEstrategia() {
+        return estrategia;
+    }
+
+    /**
+     * Configura la estrategia con que la máquina elige sus disparos.
+     *
+     * @param estrategia Estrategia a usar, o null para el modo Caza/Búsqueda por defecto
+     */
+    public void setEstrategia(EstrategiaDisparo estrategia) {
+        this.estrategia = estrategia;
+        this.nombreEstrategia = estrategia == null ? null : estrategia.getNombre();
+    }
+
+    /**
+     * @return Nombre de la estrategia con que dispara (se conserva en los juegos guardados)
+     */
+    public String getNombreEstrategia() {
+        return nombreEstrategia == null ? ESTRATEGIA_POR_DEFECTO : nombreEstrategia;
+    }
+
+    public LibroAperturas getLibroAperturas() {
+        return libroAperturas;
+    }
+
+    /**
+     * Configura el libro de aperturas que sesga los primeros disparos de búsqueda.
+     *
+     * @param libroAperturas Libro a usar, o null para búsqueda uniforme
+     */
+    public void setLibroAperturas(LibroAperturas libroAperturas) {
+        this.libroAperturas = libroAperturas;
+    }
+
+    public PerfilColocacion getPerfilOponente() {
+        return perfilOponente;
+    }
+
+    /**
+     * Configura el perfil de colocación del rival, usado como prior en el modo Caza.
+     *
+     * @param perfilOponente Perfil del rival, o null si no se conoce
+     */
+    public void setPerfilOponente(PerfilColocacion perfilOponente) {
+        this.perfilOponente = perfilOponente;
+    }
+
+    /**
+     * Configura dónde se registran los tiempos de decisión de esta partida,
+     * además del registro global.
+     *
+     * @param metricasPartida Métricas de la partida, o null para solo las globales
+     */
+    public void setMetricasPartida(MetricasPartida metricasPartida) {
+        this.metricasPartida = metricasPartida;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.batallanaval.batallanaval.model;
+
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Motor de repetición determinista de partidas.
+ *
+ * Parte de las flotas iniciales (un EstadoPartida sin disparos) y reaplica la
+ * lista de movimientos con EstadoPartida.disparar. Al construirse recorre toda
+ * la partida una vez a máxima velocidad, verifica que cada resultado coincida
+ * con el registrado y guarda una instantánea cada INTERVALO_INSTANTANEAS
+ * movimientos: ir al movimiento N cuesta como mucho INTERVALO_INSTANTANEAS
+ * disparos desde la instantánea anterior, no repetir desde el principio.
+ *
+ * Al ser EstadoPartida inmutable, el motor puede consultarse desde varios hilos.
+ *
+ * @version 1.0
+ */
+public final class MotorRepeticion {
+
+    /** Movimientos entre instantáneas consecutivas. */
+    public static final int INTERVALO_INSTANTANEAS = 16;
+
+    private final List<Movimiento> movimientos;
+    private final EstadoPartida[] instantaneas;
+    private final EstadoPartida estadoFinal;
+
+    /**
+     * Crea el motor y repite la partida completa una vez.
+     *
+     * @param inicial Estado inicial (flotas sin disparos)
+     * @param movimientos Movimientos en orden cronológico
+     * @throws IllegalStateException si un movimiento no produce el resultado registrado
+     */
+    public MotorRepeticion(EstadoPartida inicial, List<Movimiento> movimientos) {
+        if (inicial == null || movimientos == null) {
+            throw new IllegalArgumentException("El estado inicial y los movimientos no pueden ser null");
+        }
+        this.movimientos = Collections.unmodifiableList(new ArrayList<>(movimientos));
+        this.instantaneas = new EstadoPartida[movimientos.size() / INTERVALO_INSTANTANEAS + 1];
+
+        EstadoPartida estado = inicial;
+        instantaneas[0] = estado;
+        for (int i = 0; i < this.movimientos.size(); i++) {
+            estado = aplicar(estado, i);
+            if ((i + 1) % INTERVALO_INSTANTANEAS == 0) {
+                instantaneas[(i + 1) / INTERVALO_INSTANTANEAS] = estado;
+            }
+        }
+        this.estadoFinal = estado;
+    }
+
+    /**
+     * Crea el motor para la partida en curso de dos jugadores.
+     *
+     * @param humano Jugador humano
+     * @param maquina Jugador máquina
+     * @param movimientos Movimientos en orden cronológico
+     * @return Motor de repetición
+     */
+    public static MotorRepeticion de(Jugador humano, Jugador maquina, List<Movimiento> movimientos) {
+        return new MotorRepeticion(EstadoPartida.inicialDesde(humano, maquina), movimientos);
+    }
+
+    /**
+     * Crea el motor para un juego guardado.
+     *
+     * @param estado Juego guardado (debe incluir la lista de movimientos)
+     * @return Motor de repetición
+     */
+    public static MotorRepeticion de(ArchivoManager.EstadoJuego estado) {
+        return de(estado.jugadorHumano(), estado.jugadorMaquina(), estado.movimientosOVacio());
+    }
+
+    // ========== NAVEGACIÓN ==========
+
+    /**
+     * Estado de la partida tras aplicar los primeros n movimientos.
+     *
+     * @param n Cantidad de movimientos aplicados (0 = estado inicial)
+     * @return Estado en ese punto
+     * @throws IndexOutOfBoundsException si n está fuera de [0, cantidad de movimientos]
+     */
+    public EstadoPartida estadoEn(int n) {
+        if (n < 0 || n > movimientos.size()) {
+            throw new IndexOutOfBoundsException(
+                    "Movimiento " + n + " fuera de rango. Total: " + movimientos.size());
+        }
+        int base = n / INTERVALO_INSTANTANEAS;
+        EstadoPartida estado = instantaneas[base];
+        for (int i = base * INTERVALO_INSTANTANEAS; i < n; i++) {
+            estado = aplicar(estado, i);
+        }
+        return estado;
+    }
+
+    /**
+     * Avanza un movimiento desde un estado obtenido de este motor (reproducción continua).
+     *
+     * @param estado Estado tras n movimientos
+     * @return Estado tras n + 1 movimientos (el mismo si ya era el final)
+     */
+    public EstadoPartida siguiente(EstadoPartida estado) {
+        int n = estado.getNumeroMovimiento();
+        return n >= movimientos.size() ? estado : aplicar(estado, n);
+    }
+
+    private EstadoPartida aplicar(EstadoPartida estado, int indice) {
+        Movimiento movimiento = movimientos.get(indice);
+        EstadoPartida siguiente = estado.disparar(movimiento.isTurnoJugador(),
+                movimiento.getFila(), movimiento.getColumna());
+        TipoResultado obtenido = siguiente.getUltimoResultado();
+        if (obtenido != movimiento.getResultado()) {
+            throw new IllegalStateException(String.format(
+                    "La repetición diverge en el movimiento %d (%s): registrado %s, obtenido %s",
+                    indice + 1, movimiento.getCoordenadasFormatoTablero(), movimiento.getResultado(), obtenido));
+        }
+        return siguiente;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int getCantidadMovimientos() {
+        return movimientos.size();
+    }
+
+    /**
+     * @param indice Índice del movimiento (0 = primero)
+     */
+    public Movimiento getMovimiento(int indice) {
+        return movimientos.get(indice);
+    }
+
+    public EstadoPartida getEstadoInicial() {
+        return instantaneas[0];
+    }
+
+    public EstadoPartida getEstadoFinal() {
+        return estadoFinal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MotorRepeticion{movimientos=%d, instantaneas=%d, final=%s}",
+                movimientos.size(), instantaneas.length, estadoFinal);
+    }
+}
@@ -29,6 +29,15 @@ public class Movimiento implements Serializable {
      */
     public Movimiento(String jugador, int fila, int columna,
                       TipoResultado resultado, boolean turnoJugador) {
+        this(jugador, fila, columna, resultado, turnoJugador, LocalDateTime.now());
+    }
+
+    /**
+     * Constructor con la fecha ya conocida (vistas de HistorialCompacto,
+     * que guarda el instante del disparo y no lee el reloj del sistema).
+     */
+    public Movimiento(String jugador, int fila, int columna,
+                      TipoResultado resultado, boolean turnoJugador, LocalDateTime fechaHora) {
         if (jugador == null || jugador.trim().isEmpty()) {
             throw new IllegalArgumentException("El jugador no puede ser vacío");
         }
@@ -42,7 +51,7 @@ public class Movimiento implements Serializable {
         this.columna = columna;
         this.resultado = resultado;
         this.turnoJugador = turnoJugador;
-        this.fechaHora = LocalDateTime.now();
+        this.fechaHora = fechaHora;
     }
 
     // ========== GETTERS ==========
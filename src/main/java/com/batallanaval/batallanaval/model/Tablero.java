@@ -176,6 +176,8 @@ public class Tablero implements Serializable {
 
     /**
      * Constructor de copia (para TDA-friendly).
+     * Nota: las celdas copiadas comparten las instancias de Barco con el original;
+     * para instantáneas independientes usar EstadoPartida.
      */
     public Tablero(Tablero otro) {
         this.celdas = new Celda[FILAS][COLUMNAS];
@@ -1,6 +1,7 @@
 package com.batallanaval.batallanaval.patterns.composite;
 
 import com.batallanaval.batallanaval.model.Barco;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,7 +9,9 @@ import java.util.List;
  * Representa una flota compuesta por múltiples barcos.
  * Implementa el patrón Composite.
  */
-public class FlotaComposite implements ComponenteFlota {
+public class FlotaComposite implements ComponenteFlota, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String nombre;
     private List<Barco> barcos;
 
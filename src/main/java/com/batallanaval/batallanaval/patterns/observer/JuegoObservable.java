@@ -1,5 +1,6 @@
 package com.batallanaval.batallanaval.patterns.observer;
 
+import com.batallanaval.batallanaval.eventos.EventoPartida;
 import com.batallanaval.batallanaval.model.Jugador;
 
 /**
@@ -77,6 +78,7 @@ public class JuegoObservable extends SujetoJuego {
      * Notifica el inicio del juego.
      */
     public void notificarJuegoIniciado() {
+        emitirEventoPartida("INICIADA", null);
         notificarObservadores(JUEGO_INICIADO, null, "El juego ha comenzado");
     }
 
@@ -84,6 +86,7 @@ public class JuegoObservable extends SujetoJuego {
      * Notifica el fin del juego.
      */
     public void notificarJuegoTerminado(String ganador) {
+        emitirEventoPartida("TERMINADA", ganador);
         notificarObservadores(JUEGO_TERMINADO, null, " " + ganador);
 
         if (ganador.contains("Humano")) {
@@ -93,6 +96,18 @@ public class JuegoObservable extends SujetoJuego {
         }
     }
 
+    /**
+     * Emite el evento JFR del ciclo de vida de la partida.
+     */
+    private void emitirEventoPartida(String fase, String ganador) {
+        EventoPartida evento = new EventoPartida();
+        if (evento.isEnabled()) {
+            evento.fase = fase;
+            evento.ganador = ganador;
+            evento.commit();
+        }
+    }
+
     /**
      * Notifica un error.
      */
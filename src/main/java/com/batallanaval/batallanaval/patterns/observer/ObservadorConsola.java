@@ -1,12 +1,15 @@
 package com.batallanaval.batallanaval.patterns.observer;
 
 import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.utils.Bitacora;
 
 /**
  * Observador que muestra eventos en la consola.
  * Útil para depuración y registro de partidas.
  */
 public class ObservadorConsola implements ObservadorJuego {
+    private static final Bitacora LOG = Bitacora.para(ObservadorConsola.class);
+
     private String nombre;
 
     public ObservadorConsola(String nombre) {
@@ -15,6 +18,11 @@ public class ObservadorConsola implements ObservadorJuego {
 
     @Override
     public void actualizar(String evento, Jugador jugador, Object datos) {
+        // Si el nivel está deshabilitado no se construye el mensaje
+        if (!LOG.estaHabilitado(Bitacora.Nivel.DEPURACION)) {
+            return;
+        }
+
         StringBuilder mensaje = new StringBuilder();
         mensaje.append("[").append(nombre).append("] ");
         mensaje.append("Evento: ").append(evento);
@@ -27,7 +35,7 @@ public class ObservadorConsola implements ObservadorJuego {
             mensaje.append(" | Datos: ").append(datos.toString());
         }
 
-        System.out.println(mensaje.toString());
+        LOG.depuracion(mensaje::toString);
 
         // También podríamos registrar en un archivo de log
         registrarEnLog(mensaje.toString());
@@ -0,0 +1,203 @@
+package com.batallanaval.batallanaval.patterns.observer;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.red.CanalEspectadores;
+import com.batallanaval.batallanaval.red.ProtocoloRed;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Observador que retransmite la partida a espectadores de solo lectura.
+ *
+ * Traduce los eventos del juego a tramas ESPECTADOR_* de ProtocoloRed y las
+ * publica en un CanalEspectadores, que las reparte sin recodificarlas. Lleva
+ * una vista con lo que ya es público (agua, impactos y hundimientos de cada
+ * lado) para las instantáneas de alta y resincronización. Las flotas solo se
+ * envían si la PoliticaNiebla lo permite.
+ *
+ * Aplicar dos veces un mismo disparo no cambia la vista, así que un espectador
+ * que recibe una instantánea y después una trama ya incluida en ella ve lo mismo.
+ *
+ * @version 1.0
+ */
+public class ObservadorEspectadores implements ObservadorJuego, AutoCloseable {
+
+    public enum PoliticaNiebla {
+        /** Nunca se envían las flotas: solo lo que revelan los disparos. */
+        TOTAL,
+        /** Las flotas se revelan cuando termina la partida. */
+        REVELAR_AL_TERMINAR,
+        /** Las flotas se envían desde el inicio (árbitros, retransmisión diferida). */
+        SIN_NIEBLA
+    }
+
+    /**
+     * Lo que un espectador sabe de un lado del tablero.
+     */
+    private record LadoVisible(MascaraCeldas agua, MascaraCeldas impactos, MascaraCeldas hundidos) {
+        static final LadoVisible VACIO = new LadoVisible(MascaraCeldas.VACIA, MascaraCeldas.VACIA, MascaraCeldas.VACIA);
+
+        LadoVisible con(int casilla, Movimiento.TipoResultado resultado) {
+            return switch (resultado) {
+                case AGUA -> new LadoVisible(agua.con(casilla), impactos, hundidos);
+                case TOCADO -> new LadoVisible(agua, impactos.con(casilla), hundidos);
+                case HUNDIDO -> new LadoVisible(agua, impactos.con(casilla), hundidos.con(casilla));
+                default -> this;
+            };
+        }
+    }
+
+    /**
+     * Vista inmutable de la partida; se reemplaza completa en cada evento.
+     */
+    private record Vista(boolean turnoHumano, boolean terminada, LadoVisible[] lados,
+                         MascaraCeldas flotaHumano, MascaraCeldas flotaMaquina) {
+        static final Vista INICIAL = new Vista(true, false,
+                new LadoVisible[]{LadoVisible.VACIO, LadoVisible.VACIO}, MascaraCeldas.VACIA, MascaraCeldas.VACIA);
+    }
+
+    private final PoliticaNiebla niebla;
+    private final CanalEspectadores canal;
+    private volatile Vista vista = Vista.INICIAL;
+
+    /**
+     * @param niebla Qué pueden ver los espectadores de las flotas
+     * @param retraso Qué hacer con los espectadores que se atrasan
+     */
+    public ObservadorEspectadores(PoliticaNiebla niebla, CanalEspectadores.PoliticaRetraso retraso) {
+        this.niebla = niebla;
+        this.canal = new CanalEspectadores(this::instantanea, retraso);
+    }
+
+    // ========== EVENTOS ==========
+
+    @Override
+    public void actualizar(String evento, Jugador jugador, Object datos) {
+        Vista actual = vista;
+        switch (evento) {
+            case JuegoObservable.JUEGO_INICIADO -> {
+                // Las flotas de esta partida llegan antes por revelarFlotas
+                vista = new Vista(true, false, Vista.INICIAL.lados(), actual.flotaHumano(), actual.flotaMaquina());
+                canal.publicar(ProtocoloRed.ESPECTADOR_ESTADO, codificarEstado(vista));
+            }
+            case JuegoObservable.JUEGO_REINICIADO -> {
+                vista = Vista.INICIAL;
+                canal.publicar(ProtocoloRed.ESPECTADOR_ESTADO, codificarEstado(vista));
+            }
+            case "MOVIMIENTO_REGISTRADO" -> {
+                if (datos instanceof Movimiento movimiento) {
+                    registrarDisparo(actual, movimiento);
+                }
+            }
+            case JuegoObservable.TURNO_JUGADOR, JuegoObservable.TURNO_MAQUINA -> {
+                boolean turnoHumano = JuegoObservable.TURNO_JUGADOR.equals(evento);
+                if (turnoHumano != actual.turnoHumano()) {
+                    vista = new Vista(turnoHumano, actual.terminada(), actual.lados(),
+                            actual.flotaHumano(), actual.flotaMaquina());
+                    canal.publicar(ProtocoloRed.ESPECTADOR_TURNO, ProtocoloRed.bandera(turnoHumano));
+                }
+            }
+            case JuegoObservable.JUGADOR_GANO, JuegoObservable.MAQUINA_GANO -> {
+                vista = new Vista(actual.turnoHumano(), true, actual.lados(),
+                        actual.flotaHumano(), actual.flotaMaquina());
+                canal.publicar(ProtocoloRed.ESPECTADOR_FIN, JuegoObservable.JUGADOR_GANO.equals(evento)
+                        ? ProtocoloRed.LADO_HUMANO : ProtocoloRed.LADO_MAQUINA);
+                if (niebla == PoliticaNiebla.REVELAR_AL_TERMINAR) {
+                    canal.publicar(ProtocoloRed.ESPECTADOR_FLOTAS, codificarFlotas(vista));
+                }
+            }
+            default -> {
+                // Los demás eventos no cambian lo que ve un espectador
+            }
+        }
+    }
+
+    private void registrarDisparo(Vista actual, Movimiento movimiento) {
+        Movimiento.TipoResultado resultado = movimiento.getResultado();
+        if (resultado == Movimiento.TipoResultado.REPETIDO || resultado == Movimiento.TipoResultado.INVALIDO) {
+            return;
+        }
+        // El humano dispara sobre el tablero de la máquina y viceversa
+        byte lado = movimiento.isTurnoJugador() ? ProtocoloRed.LADO_MAQUINA : ProtocoloRed.LADO_HUMANO;
+        int casilla = MascaraCeldas.indice(movimiento.getFila(), movimiento.getColumna());
+
+        LadoVisible[] lados = actual.lados().clone();
+        lados[lado] = lados[lado].con(casilla, resultado);
+        vista = new Vista(actual.turnoHumano(), actual.terminada(), lados,
+                actual.flotaHumano(), actual.flotaMaquina());
+        canal.publicar(ProtocoloRed.ESPECTADOR_DISPARO, lado, (byte) casilla, (byte) resultado.ordinal());
+    }
+
+    /**
+     * Informa las flotas de la partida que empieza. Con niebla TOTAL no se
+     * envían nunca; con REVELAR_AL_TERMINAR se guardan hasta el final.
+     *
+     * @param flotaHumano Casillas ocupadas por la flota del humano
+     * @param flotaMaquina Casillas ocupadas por la flota de la máquina
+     */
+    public void revelarFlotas(MascaraCeldas flotaHumano, MascaraCeldas flotaMaquina) {
+        if (niebla == PoliticaNiebla.TOTAL) {
+            return;
+        }
+        Vista actual = vista;
+        vista = new Vista(actual.turnoHumano(), actual.terminada(), actual.lados(), flotaHumano, flotaMaquina);
+        if (niebla == PoliticaNiebla.SIN_NIEBLA) {
+            canal.publicar(ProtocoloRed.ESPECTADOR_FLOTAS, codificarFlotas(vista));
+        }
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    /**
+     * Trama ESPECTADOR_ESTADO con la vista actual; la usa el canal para altas
+     * y resincronizaciones, desde su propio hilo.
+     */
+    private ByteBuffer instantanea() {
+        return ProtocoloRed.trama(ProtocoloRed.ESPECTADOR_ESTADO, codificarEstado(vista)).asReadOnlyBuffer();
+    }
+
+    private byte[] codificarEstado(Vista v) {
+        boolean conFlotas = flotasVisibles(v);
+        ByteBuffer datos = ByteBuffer.allocate(2 + 6 * 16 + (conFlotas ? 2 * 16 : 0));
+        datos.put(ProtocoloRed.bandera(v.turnoHumano())).put(ProtocoloRed.bandera(v.terminada()));
+        for (LadoVisible lado : v.lados()) {
+            ProtocoloRed.ponerMascara(datos, lado.agua());
+            ProtocoloRed.ponerMascara(datos, lado.impactos());
+            ProtocoloRed.ponerMascara(datos, lado.hundidos());
+        }
+        if (conFlotas) {
+            ProtocoloRed.ponerMascara(datos, v.flotaHumano());
+            ProtocoloRed.ponerMascara(datos, v.flotaMaquina());
+        }
+        return datos.array();
+    }
+
+    private static byte[] codificarFlotas(Vista v) {
+        ByteBuffer datos = ByteBuffer.allocate(2 * 16);
+        ProtocoloRed.ponerMascara(datos, v.flotaHumano());
+        ProtocoloRed.ponerMascara(datos, v.flotaMaquina());
+        return datos.array();
+    }
+
+    private boolean flotasVisibles(Vista v) {
+        return niebla == PoliticaNiebla.SIN_NIEBLA
+                || (niebla == PoliticaNiebla.REVELAR_AL_TERMINAR && v.terminada());
+    }
+
+    // ========== CONSULTAS ==========
+
+    public CanalEspectadores getCanal() {
+        return canal;
+    }
+
+    public PoliticaNiebla getNiebla() {
+        return niebla;
+    }
+
+    @Override
+    public void close() {
+        canal.close();
+    }
+}
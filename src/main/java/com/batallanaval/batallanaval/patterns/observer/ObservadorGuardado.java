@@ -1,32 +1,48 @@
 package com.batallanaval.batallanaval.patterns.observer;
 
+import com.batallanaval.batallanaval.analitica.AnaliticaPartidas;
+import com.batallanaval.batallanaval.metricas.MetricasPartida;
 import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento;
 import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Configuracion;
+import com.batallanaval.batallanaval.utils.ConfiguracionViva;
+
+import java.util.List;
 
 /**
  * Observador que guarda automáticamente el estado del juego.
  * Implementa HU-5: Guardado automático del juego.
+ * La política y la frecuencia salen de la configuración vigente, que se
+ * consulta en cada evento sin tocar el disco (ConfiguracionViva).
  *
  * @author
  * @version 1.0
  */
 public class ObservadorGuardado implements ObservadorJuego {
     private ArchivoManager archivoManager;
+    private final MetricasPartida metricasPartida;
     private int contadorGuardados = 0;
     private static final int MAX_GUARDADOS_SIMULTANEOS = 10;
 
-    public ObservadorGuardado() {
+    /**
+     * @param metricasPartida Métricas de la partida en la que se registran los guardados
+     */
+    public ObservadorGuardado(MetricasPartida metricasPartida) {
         this.archivoManager = new ArchivoManager();
+        this.metricasPartida = metricasPartida;
     }
 
     @Override
     public void actualizar(String evento, Jugador jugador, Object datos) {
+        Configuracion configuracion = ConfiguracionViva.global().actual();
+
         // Eventos que activan el guardado automático
-        if (debeGuardar(evento)) {
+        if (configuracion.autoguardadoActivo() && debeGuardar(evento)) {
             contadorGuardados++;
 
             // Evitar guardados demasiado frecuentes
-            if (contadorGuardados % 2 == 0) { // Guardar cada 2 eventos importantes
+            if (contadorGuardados % configuracion.eventosPorAutoguardado() == 0) {
                 try {
                     System.out.println("💾 Guardado automático #" + contadorGuardados +
                             " por evento: " + evento);
@@ -84,13 +100,30 @@ public class ObservadorGuardado implements ObservadorJuego {
      */
     public void guardarManual(Jugador jugadorHumano, Jugador jugadorMaquina,
                               boolean juegoIniciado, boolean turnoJugador) {
+        guardarManual(jugadorHumano, jugadorMaquina, juegoIniciado, turnoJugador, List.of());
+    }
+
+    /**
+     * Guarda manualmente incluyendo los movimientos, para poder repetir la partida.
+     *
+     * @param jugadorHumano Jugador humano
+     * @param jugadorMaquina Jugador máquina
+     * @param juegoIniciado Estado del juego
+     * @param turnoJugador De quién es el turno
+     * @param movimientos Movimientos en orden cronológico
+     */
+    public void guardarManual(Jugador jugadorHumano, Jugador jugadorMaquina,
+                              boolean juegoIniciado, boolean turnoJugador, List<Movimiento> movimientos) {
+        long inicio = System.nanoTime();
         try {
             archivoManager.guardarJuegoCompleto(
-                    jugadorHumano, jugadorMaquina, juegoIniciado, turnoJugador
+                    jugadorHumano, jugadorMaquina, juegoIniciado, turnoJugador, movimientos
             );
             System.out.println("💾 Guardado manual realizado");
         } catch (Exception e) {
             System.err.println("❌ Error en guardado manual: " + e.getMessage());
+        } finally {
+            metricasPartida.registrarGuardado(System.nanoTime() - inicio);
         }
     }
 
@@ -116,9 +149,14 @@ public class ObservadorGuardado implements ObservadorJuego {
     }
 
     /**
-     * Obtiene estadísticas guardadas.
+     * Obtiene estadísticas guardadas: el resumen de la analítica si ya se
+     * analizaron partidas, si no el texto plano de estadísticas.
      */
     public String obtenerEstadisticas() {
+        AnaliticaPartidas analitica = AnaliticaPartidas.cargar(ArchivoManager.getDirectorioJuegos());
+        if (analitica.getAcumulador().getPartidas() > 0) {
+            return analitica.resumenComparado();
+        }
         try {
             return archivoManager.cargarEstadisticas();
         } catch (Exception e) {
@@ -1,5 +1,7 @@
 package com.batallanaval.batallanaval.patterns.observer;
 
+import com.batallanaval.batallanaval.eventos.EventoDespachoObservadores;
+import com.batallanaval.batallanaval.metricas.RegistroMetricas;
 import com.batallanaval.batallanaval.model.Jugador;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,9 +45,19 @@ public class SujetoJuego {
      * @param datos Datos adicionales
      */
     public void notificarObservadores(String evento, Jugador jugador, Object datos) {
+        EventoDespachoObservadores eventoJfr = new EventoDespachoObservadores();
+        eventoJfr.begin();
+        long inicio = System.nanoTime();
         for (ObservadorJuego observador : observadores) {
             observador.actualizar(evento, jugador, datos);
         }
+        RegistroMetricas.global().registrarDespacho(System.nanoTime() - inicio);
+        eventoJfr.end();
+        if (eventoJfr.shouldCommit()) {
+            eventoJfr.evento = evento;
+            eventoJfr.observadores = observadores.size();
+            eventoJfr.commit();
+        }
     }
 
     /**
@@ -0,0 +1,156 @@
+package com.batallanaval.batallanaval.patterns.strategy;
+
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Niveles de dificultad de la máquina, cada uno con su propia estrategia:
+ * FACIL dispara al azar con remates ocasionales (EstrategiaAleatoria),
+ * NORMAL usa Caza/Búsqueda y DIFICIL muestrea flotas (EstrategiaMonteCarlo).
+ *
+ * Los niveles ajustables tienen un parámetro (probabilidad de remate o
+ * muestras por jugada) que CalibradorDificultad elige para acercarse a la
+ * tasa de victorias objetivo contra Caza/Búsqueda, y guarda en la
+ * configuración con la clave de getClaveParametro().
+ *
+ * @version 1.0
+ */
+public enum Dificultad {
+    FACIL("Fácil", 0.25, 0.0, 1.0, 0.3),
+    NORMAL("Normal", 0.50, 0.0, 0.0, 0.0),
+    DIFICIL("Difícil", 0.55, 10, 500, 200);
+
+    private static final Bitacora LOG = Bitacora.para(Dificultad.class);
+
+    /** Clave de la configuración con el nivel elegido. */
+    public static final String CLAVE = "dificultad";
+
+    /** Tiempo máximo de muestreo por jugada de DIFICIL en partida, si la configuración no dice otro. */
+    public static final long PRESUPUESTO_JUGADA_MILLIS = 150;
+
+    private final String titulo;
+    private final double tasaObjetivo;
+    private final double minimo;
+    private final double maximo;
+    private final double parametroPorDefecto;
+
+    Dificultad(String titulo, double tasaObjetivo, double minimo, double maximo, double parametroPorDefecto) {
+        this.titulo = titulo;
+        this.tasaObjetivo = tasaObjetivo;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.parametroPorDefecto = parametroPorDefecto;
+    }
+
+    // ========== ESTRATEGIAS ==========
+
+    /**
+     * Crea la estrategia del nivel para una partida (Monte Carlo usa todos los núcleos).
+     *
+     * @param parametro Parámetro del nivel (se acota a su rango)
+     * @return Estrategia, o null para Caza/Búsqueda
+     */
+    public EstrategiaDisparo crearEstrategia(double parametro) {
+        return crearEstrategia(parametro, PRESUPUESTO_JUGADA_MILLIS);
+    }
+
+    /**
+     * Crea la estrategia del nivel para una partida con un presupuesto por jugada.
+     *
+     * @param parametro Parámetro del nivel (se acota a su rango)
+     * @param presupuestoMillis Tiempo máximo por jugada de Monte Carlo
+     * @return Estrategia, o null para Caza/Búsqueda
+     */
+    public EstrategiaDisparo crearEstrategia(double parametro, long presupuestoMillis) {
+        return crearEstrategia(parametro, Runtime.getRuntime().availableProcessors(),
+                presupuestoMillis, System.nanoTime());
+    }
+
+    /**
+     * Crea la estrategia del nivel con recursos explícitos.
+     *
+     * @param parametro Parámetro del nivel (se acota a su rango)
+     * @param hilos Tareas paralelas de Monte Carlo
+     * @param presupuestoMillis Tiempo máximo por jugada de Monte Carlo
+     * @param semilla Semilla para reproducibilidad
+     * @return Estrategia, o null para Caza/Búsqueda
+     */
+    public EstrategiaDisparo crearEstrategia(double parametro, int hilos, long presupuestoMillis, long semilla) {
+        double valor = acotar(parametro);
+        return switch (this) {
+            case FACIL -> new EstrategiaAleatoria(valor, semilla);
+            case NORMAL -> null;
+            case DIFICIL -> new EstrategiaMonteCarlo(presupuestoMillis, (int) Math.round(valor), hilos, semilla);
+        };
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    /**
+     * @return Nivel de la configuración (NORMAL si falta o no es válido)
+     */
+    public static Dificultad desde(Properties configuracion) {
+        String valor = configuracion.getProperty(CLAVE, NORMAL.name()).trim();
+        try {
+            return valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.advertencia("Dificultad desconocida '" + valor + "', se usa NORMAL");
+            return NORMAL;
+        }
+    }
+
+    /**
+     * @return Parámetro calibrado de la configuración, o el de por defecto
+     */
+    public double parametro(Properties configuracion) {
+        String valor = configuracion.getProperty(getClaveParametro());
+        if (valor == null) {
+            return parametroPorDefecto;
+        }
+        try {
+            return acotar(Double.parseDouble(valor.trim()));
+        } catch (NumberFormatException e) {
+            LOG.advertencia("Parámetro de " + this + " no válido: '" + valor + "'");
+            return parametroPorDefecto;
+        }
+    }
+
+    public String getClaveParametro() {
+        return "parametro_" + name().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean esAjustable() {
+        return minimo < maximo;
+    }
+
+    public double acotar(double parametro) {
+        return Math.max(minimo, Math.min(maximo, parametro));
+    }
+
+    // ========== GETTERS ==========
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /**
+     * @return Tasa de victorias buscada contra Caza/Búsqueda
+     */
+    public double getTasaObjetivo() {
+        return tasaObjetivo;
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+
+    public double getParametroPorDefecto() {
+        return parametroPorDefecto;
+    }
+}
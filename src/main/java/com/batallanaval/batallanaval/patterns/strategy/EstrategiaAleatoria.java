@@ -0,0 +1,82 @@
+package com.batallanaval.batallanaval.patterns.strategy;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.ia.ObservacionDisparos;
+import com.batallanaval.batallanaval.model.Tablero;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Estrategia de principiante: dispara al azar y, solo a veces, remata un
+ * barco tocado disparando junto a un impacto pendiente.
+ *
+ * La probabilidad de remate regula la fuerza: con 0 es puro azar y con 1 se
+ * parece a Caza/Búsqueda sin la retícula de paridad.
+ *
+ * @version 1.0
+ */
+public class EstrategiaAleatoria implements EstrategiaDisparo {
+
+    private final double probabilidadRemate;
+    private final SplittableRandom aleatorio;
+
+    /**
+     * @param probabilidadRemate Probabilidad (0-1) de rematar cuando hay un barco tocado
+     * @param semilla Semilla para reproducibilidad
+     */
+    public EstrategiaAleatoria(double probabilidadRemate, long semilla) {
+        if (probabilidadRemate < 0 || probabilidadRemate > 1) {
+            throw new IllegalArgumentException("La probabilidad de remate debe estar entre 0 y 1");
+        }
+        this.probabilidadRemate = probabilidadRemate;
+        this.aleatorio = new SplittableRandom(semilla);
+    }
+
+    @Override
+    public synchronized int[] elegirDisparo(Tablero tableroDisparos, List<int[]> hundimientos) {
+        ObservacionDisparos observacion = ObservacionDisparos.desde(tableroDisparos, hundimientos);
+        long libresBajo = ~observacion.disparadasBajo() & MascaraCeldas.COMPLETA.getBajo();
+        long libresAlto = ~observacion.disparadasAlto() & MascaraCeldas.COMPLETA.getAlto();
+
+        long candidatasBajo = libresBajo;
+        long candidatasAlto = libresAlto;
+        if (aleatorio.nextDouble() < probabilidadRemate) {
+            MascaraCeldas vecinas = vecinas(observacion.getPendientes());
+            long vecinasBajo = vecinas.getBajo() & libresBajo;
+            long vecinasAlto = vecinas.getAlto() & libresAlto;
+            if ((vecinasBajo | vecinasAlto) != 0) {
+                candidatasBajo = vecinasBajo;
+                candidatasAlto = vecinasAlto;
+            }
+        }
+
+        int cantidad = Long.bitCount(candidatasBajo) + Long.bitCount(candidatasAlto);
+        int celda = MascaraCeldas.enesima(candidatasBajo, candidatasAlto, aleatorio.nextInt(cantidad));
+        return new int[]{celda / MascaraCeldas.LADO, celda % MascaraCeldas.LADO};
+    }
+
+    /**
+     * @return Casillas ortogonalmente adyacentes a alguna de 'celdas'
+     */
+    private static MascaraCeldas vecinas(MascaraCeldas celdas) {
+        MascaraCeldas vecinas = MascaraCeldas.VACIA;
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            if (!celdas.contiene(celda)) {
+                continue;
+            }
+            int fila = celda / MascaraCeldas.LADO;
+            int columna = celda % MascaraCeldas.LADO;
+            if (fila > 0) vecinas = vecinas.con(celda - MascaraCeldas.LADO);
+            if (fila < MascaraCeldas.LADO - 1) vecinas = vecinas.con(celda + MascaraCeldas.LADO);
+            if (columna > 0) vecinas = vecinas.con(celda - 1);
+            if (columna < MascaraCeldas.LADO - 1) vecinas = vecinas.con(celda + 1);
+        }
+        return vecinas;
+    }
+
+    @Override
+    public String getNombre() {
+        return "Aleatoria";
+    }
+}
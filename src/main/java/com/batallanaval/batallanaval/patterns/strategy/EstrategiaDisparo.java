@@ -0,0 +1,30 @@
+package com.batallanaval.batallanaval.patterns.strategy;
+
+import com.batallanaval.batallanaval.model.Tablero;
+
+import java.util.List;
+
+/**
+ * Patrón de diseño COMPORTAMIENTO: Strategy
+ * Interfaz para los algoritmos con que la máquina elige dónde disparar.
+ *
+ * @version 1.0
+ */
+public interface EstrategiaDisparo {
+
+    /**
+     * Elige la siguiente casilla a disparar. Solo puede usar información visible
+     * para el tirador: su tablero de disparos y los barcos hundidos anunciados.
+     *
+     * @param tableroDisparos Tablero donde el tirador registra sus disparos
+     * @param hundimientos Barcos hundidos en orden: cada elemento es {fila, columna, tamanho}
+     *                     con la casilla del disparo que lo hundió
+     * @return Array con [fila, columna] de una casilla no disparada
+     */
+    int[] elegirDisparo(Tablero tableroDisparos, List<int[]> hundimientos);
+
+    /**
+     * @return Nombre de la estrategia (se usa como modo en eventos y métricas)
+     */
+    String getNombre();
+}
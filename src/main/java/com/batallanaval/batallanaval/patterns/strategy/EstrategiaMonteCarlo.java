@@ -0,0 +1,170 @@
+package com.batallanaval.batallanaval.patterns.strategy;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.ia.GeneradorFlotas;
+import com.batallanaval.batallanaval.ia.ObservacionDisparos;
+import com.batallanaval.batallanaval.model.Tablero;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Estrategia Monte Carlo: muestrea muchas flotas enemigas completas que sean
+ * consistentes con lo observado (agua, impactos y barcos hundidos) y dispara
+ * a la casilla no disparada que aparece ocupada en más muestras.
+ *
+ * El muestreo se reparte entre todos los núcleos y se detiene al agotar el
+ * presupuesto de tiempo por jugada, de modo que la dificultad se ajusta por
+ * latencia y no debilitando el algoritmo.
+ *
+ * @version 1.0
+ */
+public class EstrategiaMonteCarlo implements EstrategiaDisparo {
+
+    private static final int LOTE = 64; // Muestras entre consultas del reloj
+
+    private final long presupuestoNanos;
+    private final int maxMuestras;
+    private final int hilos;
+    private final SplittableRandom semilla;
+
+    /**
+     * Constructor con presupuesto de tiempo y valores por defecto
+     * (hasta 20000 muestras, un hilo por núcleo).
+     *
+     * @param presupuestoMillis Tiempo máximo de muestreo por jugada
+     */
+    public EstrategiaMonteCarlo(long presupuestoMillis) {
+        this(presupuestoMillis, 20_000, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Constructor completo.
+     *
+     * @param presupuestoMillis Tiempo máximo de muestreo por jugada
+     * @param maxMuestras Muestras aceptadas a partir de las cuales se corta antes de tiempo
+     * @param hilos Cantidad de tareas paralelas
+     * @param semilla Semilla para reproducibilidad
+     */
+    public EstrategiaMonteCarlo(long presupuestoMillis, int maxMuestras, int hilos, long semilla) {
+        if (presupuestoMillis <= 0 || maxMuestras <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("El presupuesto, las muestras y los hilos deben ser positivos");
+        }
+        this.presupuestoNanos = presupuestoMillis * 1_000_000L;
+        this.maxMuestras = maxMuestras;
+        this.hilos = hilos;
+        this.semilla = new SplittableRandom(semilla);
+    }
+
+    @Override
+    public int[] elegirDisparo(Tablero tableroDisparos, List<int[]> hundimientos) {
+        ObservacionDisparos observacion = ObservacionDisparos.desde(tableroDisparos, hundimientos);
+        long limite = System.nanoTime() + presupuestoNanos;
+        int muestrasPorHilo = Math.max(1, maxMuestras / hilos);
+
+        SplittableRandom[] aleatorios = new SplittableRandom[hilos];
+        synchronized (semilla) {
+            for (int i = 0; i < hilos; i++) {
+                aleatorios[i] = semilla.split();
+            }
+        }
+
+        // Cada tarea acumula sus propios conteos; se suman al final sin contención
+        int[] conteos = IntStream.range(0, hilos)
+                .parallel()
+                .mapToObj(i -> muestrear(observacion, aleatorios[i], limite, muestrasPorHilo))
+                .reduce(new int[MascaraCeldas.CELDAS], EstrategiaMonteCarlo::sumar);
+
+        long disparadasBajo = observacion.disparadasBajo();
+        long disparadasAlto = observacion.disparadasAlto();
+        int mejor = -1;
+        for (int celda = 0; celda < MascaraCeldas.CELDAS; celda++) {
+            if (!MascaraCeldas.contiene(disparadasBajo, disparadasAlto, celda)
+                    && (mejor < 0 || conteos[celda] > conteos[mejor])) {
+                mejor = celda;
+            }
+        }
+
+        if (mejor < 0) {
+            throw new IllegalStateException("No quedan casillas sin disparar");
+        }
+        if (conteos[mejor] == 0) {
+            // Ninguna muestra consistente a tiempo: casilla libre al azar
+            MascaraCeldas libres = MascaraCeldas.de(~disparadasBajo, ~disparadasAlto);
+            synchronized (semilla) {
+                mejor = libres.enesima(semilla.nextInt(libres.cantidad()));
+            }
+        }
+        return new int[]{mejor / MascaraCeldas.LADO, mejor % MascaraCeldas.LADO};
+    }
+
+    /**
+     * Genera muestras hasta agotar el tiempo o la cuota y cuenta la ocupación
+     * de las casillas aún no disparadas.
+     */
+    private static int[] muestrear(ObservacionDisparos observacion, SplittableRandom aleatorio,
+                                   long limite, int cuota) {
+        int[] conteos = new int[MascaraCeldas.CELDAS];
+        int[] tamanhos = observacion.getTamanhosRestantes();
+        if (tamanhos.length == 0) {
+            return conteos;
+        }
+
+        GeneradorFlotas.Flota flota = new GeneradorFlotas.Flota(tamanhos);
+        long permitidasBajo = observacion.permitidasBajo();
+        long permitidasAlto = observacion.permitidasAlto();
+        long pendientesBajo = observacion.pendientesBajo();
+        long pendientesAlto = observacion.pendientesAlto();
+        long libresBajo = ~observacion.disparadasBajo();
+        long libresAlto = ~observacion.disparadasAlto();
+
+        int aceptadas = 0;
+        while (aceptadas < cuota) {
+            for (int i = 0; i < LOTE && aceptadas < cuota; i++) {
+                if (!GeneradorFlotas.generar(flota, permitidasBajo, permitidasAlto,
+                        pendientesBajo, pendientesAlto, aleatorio)) {
+                    continue;
+                }
+                aceptadas++;
+                long bajo = flota.getBajo() & libresBajo;
+                long alto = flota.getAlto() & libresAlto & ((1L << 36) - 1);
+                while (bajo != 0) {
+                    conteos[Long.numberOfTrailingZeros(bajo)]++;
+                    bajo &= bajo - 1;
+                }
+                while (alto != 0) {
+                    conteos[64 + Long.numberOfTrailingZeros(alto)]++;
+                    alto &= alto - 1;
+                }
+            }
+            if (System.nanoTime() >= limite) {
+                break;
+            }
+        }
+        return conteos;
+    }
+
+    private static int[] sumar(int[] a, int[] b) {
+        int[] suma = new int[MascaraCeldas.CELDAS];
+        for (int i = 0; i < suma.length; i++) {
+            suma[i] = a[i] + b[i];
+        }
+        return suma;
+    }
+
+    @Override
+    public String getNombre() {
+        return "MonteCarlo";
+    }
+
+    public long getPresupuestoMillis() {
+        return presupuestoNanos / 1_000_000L;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EstrategiaMonteCarlo{presupuesto=%dms, maxMuestras=%d, hilos=%d}",
+                getPresupuestoMillis(), maxMuestras, hilos);
+    }
+}
@@ -0,0 +1,249 @@
+package com.batallanaval.batallanaval.red;
+
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Difusión de una partida a muchos espectadores de solo lectura.
+ *
+ * Cada evento se codifica una sola vez como trama de ProtocoloRed y se guarda
+ * en un anillo de CAPACIDAD tramas. Un hilo propio reparte el anillo: a cada
+ * espectador le escribe duplicados de esas tramas (comparten los bytes, no se
+ * copian ni se recodifican) a partir de su cursor.
+ *
+ * Quien publica nunca espera a los espectadores. Si uno se atrasa tanto como
+ * el anillo, según la PoliticaRetraso se lo descarta o se lo resincroniza con
+ * una instantánea del estado y sigue desde la última trama. Cada casilla del
+ * anillo guarda el número de su trama: si al leerla ya fue reemplazada por
+ * una publicación concurrente, el espectador se trata como atrasado en lugar
+ * de recibir una trama equivocada.
+ *
+ * @version 1.0
+ */
+public final class CanalEspectadores implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(CanalEspectadores.class);
+
+    public static final int CAPACIDAD = 256;                  // Potencia de 2
+    private static final long ESPERA_REINTENTO_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    public enum PoliticaRetraso {
+        /** Se desconecta al espectador que pierde tramas. */
+        DESCARTAR,
+        /** Se le envía una instantánea y continúa desde la trama más reciente. */
+        RESINCRONIZAR
+    }
+
+    /**
+     * Destino de las tramas de un espectador. La escritura no debe bloquear:
+     * puede escribir solo parte de la trama (como un SocketChannel no bloqueante).
+     */
+    public interface Espectador {
+        /**
+         * @param trama Trama a escribir (se avanza su posición)
+         * @throws IOException si el espectador ya no está disponible
+         */
+        void escribir(ByteBuffer trama) throws IOException;
+
+        /**
+         * Se llama al quitar al espectador del canal.
+         */
+        default void cerrar() {
+        }
+    }
+
+    /**
+     * Casilla del anillo: la trama y su número de publicación (inmutable, se
+     * reemplaza entera).
+     */
+    private record Ranura(long secuencia, ByteBuffer trama) {
+    }
+
+    private final Ranura[] anillo = new Ranura[CAPACIDAD];
+    private volatile long publicadas;                          // Tramas publicadas hasta ahora
+    private final Supplier<ByteBuffer> instantanea;
+    private final PoliticaRetraso politica;
+    private final Queue<Suscripcion> nuevas = new ConcurrentLinkedQueue<>();
+    private final List<Suscripcion> suscripciones = new ArrayList<>(); // Solo del hilo repartidor
+    private final Thread repartidor;
+    private volatile boolean activo = true;
+    private volatile int cantidadEspectadores;
+
+    /**
+     * @param instantanea Codifica el estado actual como trama (para altas y resincronizaciones)
+     * @param politica Qué hacer con los espectadores atrasados
+     */
+    public CanalEspectadores(Supplier<ByteBuffer> instantanea, PoliticaRetraso politica) {
+        this.instantanea = instantanea;
+        this.politica = politica;
+        this.repartidor = new Thread(this::repartir, "espectadores");
+        repartidor.setDaemon(true);
+        repartidor.start();
+    }
+
+    // ========== PUBLICACIÓN ==========
+
+    /**
+     * Codifica el evento una vez y lo deja disponible para todos los espectadores.
+     * No bloquea ni depende de cuántos espectadores haya.
+     *
+     * @param tipo Tipo de trama
+     * @param datos Datos de la trama
+     */
+    public synchronized void publicar(byte tipo, byte... datos) {
+        long secuencia = publicadas;
+        anillo[(int) (secuencia & (CAPACIDAD - 1))] =
+                new Ranura(secuencia, ProtocoloRed.trama(tipo, datos).asReadOnlyBuffer());
+        publicadas = secuencia + 1;
+        LockSupport.unpark(repartidor);
+    }
+
+    /**
+     * Agrega un espectador; primero recibe una instantánea y luego los eventos.
+     */
+    public void suscribir(Espectador espectador) {
+        nuevas.add(new Suscripcion(espectador));
+        LockSupport.unpark(repartidor);
+    }
+
+    // ========== REPARTO ==========
+
+    private void repartir() {
+        while (activo) {
+            Suscripcion nueva;
+            while ((nueva = nuevas.poll()) != null) {
+                nueva.pendiente = instantanea.get();
+                nueva.cursor = publicadas;
+                suscripciones.add(nueva);
+            }
+
+            long hasta = publicadas;
+            ByteBuffer resincronizacion = null; // Una sola instantánea por vuelta para todos los atrasados
+            boolean atascados = false;
+
+            for (int i = suscripciones.size() - 1; i >= 0; i--) {
+                Suscripcion suscripcion = suscripciones.get(i);
+                try {
+                    // Con CAPACIDAD tramas de atraso, la próxima publicación pisa la siguiente a enviar
+                    Avance avance = hasta - suscripcion.cursor >= CAPACIDAD
+                            ? Avance.ATRASADA : suscripcion.avanzar(hasta);
+                    if (avance == Avance.ATRASADA) {
+                        if (politica == PoliticaRetraso.DESCARTAR) {
+                            quitar(i, "se atrasó " + CAPACIDAD + " tramas o más");
+                            continue;
+                        }
+                        if (resincronizacion == null) {
+                            resincronizacion = instantanea.get();
+                        }
+                        suscripcion.resincronizacion = resincronizacion.duplicate();
+                        suscripcion.cursor = hasta;
+                        avance = suscripcion.avanzar(hasta);
+                    }
+                    atascados |= avance == Avance.ATASCADA;
+                } catch (IOException e) {
+                    quitar(i, e.getMessage());
+                }
+            }
+            cantidadEspectadores = suscripciones.size();
+
+            if (publicadas == hasta && nuevas.isEmpty()) {
+                // Sin trabajo: se espera una publicación, o un rato si alguien no admitía más bytes
+                if (atascados) {
+                    LockSupport.parkNanos(this, ESPERA_REINTENTO_NANOS);
+                } else {
+                    LockSupport.park(this);
+                }
+            }
+        }
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.espectador.cerrar();
+        }
+    }
+
+    private void quitar(int indice, String motivo) {
+        Suscripcion suscripcion = suscripciones.remove(indice);
+        suscripcion.espectador.cerrar();
+        LOG.depuracion(() -> "👁️ Espectador retirado: " + motivo);
+    }
+
+    /**
+     * Resultado de Suscripcion.avanzar().
+     */
+    private enum Avance {
+        /** Se escribió todo hasta la trama pedida. */
+        AL_DIA,
+        /** El espectador no admitió más bytes. */
+        ATASCADA,
+        /** La trama siguiente ya fue reemplazada en el anillo. */
+        ATRASADA
+    }
+
+    /**
+     * Estado de un espectador; solo lo toca el hilo repartidor.
+     */
+    private final class Suscripcion {
+        final Espectador espectador;
+        long cursor;                 // Siguiente trama del anillo a enviar
+        ByteBuffer pendiente;        // Trama a medio escribir (duplicado propio)
+        ByteBuffer resincronizacion; // Instantánea a enviar al terminar 'pendiente'
+
+        Suscripcion(Espectador espectador) {
+            this.espectador = espectador;
+        }
+
+        /**
+         * Escribe todo lo posible hasta la trama 'hasta'. Una trama a medio
+         * escribir se termina antes que la instantánea de resincronización,
+         * para no cortar el flujo en medio de una trama.
+         */
+        Avance avanzar(long hasta) throws IOException {
+            while (true) {
+                if (pendiente != null) {
+                    espectador.escribir(pendiente);
+                    if (pendiente.hasRemaining()) {
+                        return Avance.ATASCADA;
+                    }
+                    pendiente = null;
+                }
+                if (resincronizacion != null) {
+                    pendiente = resincronizacion;
+                    resincronizacion = null;
+                    continue;
+                }
+                if (cursor >= hasta) {
+                    return Avance.AL_DIA;
+                }
+                Ranura ranura = anillo[(int) (cursor & (CAPACIDAD - 1))];
+                if (ranura.secuencia() != cursor) {
+                    return Avance.ATRASADA;
+                }
+                pendiente = ranura.trama().duplicate();
+                cursor++;
+            }
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int getCantidadEspectadores() {
+        return cantidadEspectadores;
+    }
+
+    public long getPublicadas() {
+        return publicadas;
+    }
+
+    @Override
+    public void close() {
+        activo = false;
+        LockSupport.unpark(repartidor);
+    }
+}
@@ -0,0 +1,132 @@
+package com.batallanaval.batallanaval.red;
+
+import com.batallanaval.batallanaval.model.Barco;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+/**
+ * Cliente de las partidas en red.
+ *
+ * Usa un SocketChannel bloqueante: los envíos son tramas de pocos bytes y las
+ * respuestas se leen en un hilo propio que entrega cada mensaje al Oyente.
+ * El oyente se invoca desde ese hilo; en JavaFX hay que pasar a
+ * Platform.runLater antes de tocar la interfaz.
+ *
+ * @version 1.0
+ */
+public final class ClienteRed implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ClienteRed.class);
+
+    /**
+     * Recibe los mensajes del servidor.
+     */
+    public interface Oyente {
+        /**
+         * @param tipo Tipo de mensaje (constantes de ProtocoloRed)
+         * @param datos Datos del mensaje
+         */
+        void recibir(byte tipo, byte[] datos);
+
+        /**
+         * Se llama una vez si la conexión se pierde sin haber llamado a close().
+         */
+        default void conexionPerdida() {
+        }
+    }
+
+    private final SocketChannel canal;
+    private final Oyente oyente;
+    private final Thread lector;
+    private volatile boolean cerrado;
+
+    /**
+     * Conecta con el servidor. Para pedir partida hay que llamar a unirse().
+     *
+     * @param host Host del servidor
+     * @param puerto Puerto del servidor
+     * @param oyente Receptor de los mensajes del servidor
+     * @throws IOException si no se puede conectar
+     */
+    public ClienteRed(String host, int puerto, Oyente oyente) throws IOException {
+        this.canal = SocketChannel.open(new InetSocketAddress(host, puerto));
+        this.canal.socket().setTcpNoDelay(true);
+        this.oyente = oyente;
+        this.lector = new Thread(this::leer, "cliente-red");
+        lector.setDaemon(true);
+        lector.start();
+    }
+
+    // ========== ENVÍO ==========
+
+    /**
+     * Pide partida; el servidor responde ESPERANDO_RIVAL o EMPAREJADO.
+     *
+     * @param nickname Nombre del jugador
+     */
+    public void unirse(String nickname) throws IOException {
+        enviar(ProtocoloRed.UNIRSE, ProtocoloRed.codificarNickname(nickname));
+    }
+
+    /**
+     * Envía la colocación de la flota (todos los barcos ya colocados).
+     */
+    public void enviarColocacion(List<Barco> barcos) throws IOException {
+        enviar(ProtocoloRed.COLOCACION, ProtocoloRed.codificarColocacion(barcos));
+    }
+
+    public void disparar(int fila, int columna) throws IOException {
+        enviar(ProtocoloRed.DISPARO, ProtocoloRed.celda(fila, columna));
+    }
+
+    private synchronized void enviar(byte tipo, byte... datos) throws IOException {
+        ByteBuffer trama = ProtocoloRed.trama(tipo, datos);
+        while (trama.hasRemaining()) {
+            canal.write(trama);
+        }
+    }
+
+    // ========== RECEPCIÓN ==========
+
+    private void leer() {
+        ByteBuffer entrada = ByteBuffer.allocate(ProtocoloRed.MAX_TRAMA);
+        try {
+            while (canal.read(entrada) >= 0) {
+                entrada.flip();
+                while (entrada.remaining() >= ProtocoloRed.CABECERA) {
+                    int largo = entrada.get(entrada.position() + 1) & 0xFF;
+                    if (entrada.remaining() < ProtocoloRed.CABECERA + largo) {
+                        break;
+                    }
+                    byte tipo = entrada.get();
+                    entrada.get();
+                    byte[] datos = new byte[largo];
+                    entrada.get(datos);
+                    oyente.recibir(tipo, datos);
+                }
+                entrada.compact();
+            }
+        } catch (IOException e) {
+            if (!cerrado) {
+                LOG.advertencia("Conexión con el servidor perdida: " + e.getMessage());
+            }
+        }
+        if (!cerrado) {
+            oyente.conexionPerdida();
+        }
+    }
+
+    @Override
+    public void close() {
+        cerrado = true;
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Ya cerrado: nada más que hacer
+        }
+    }
+}
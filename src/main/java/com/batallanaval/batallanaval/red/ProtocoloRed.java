@@ -0,0 +1,174 @@
+package com.batallanaval.batallanaval.red;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Barco;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Protocolo binario de las partidas en red.
+ *
+ * Cada trama es [tipo: 1 byte][largo: 1 byte][datos: largo bytes], así que
+ * ninguna pasa de 257 bytes y el servidor puede leer cada conexión con un
+ * búfer fijo. Las casillas viajan como un byte (fila * 10 + columna) y la
+ * colocación como un byte por barco: casilla inicial | BIT_HORIZONTAL, en el
+ * orden de la flota de Jugador (como PoolColocaciones).
+ *
+ * Flujo: UNIRSE → EMPAREJADO → COLOCACION (ambos) → INICIO → DISPARO /
+ * RESULTADO … → FIN. El servidor es la única autoridad sobre los tableros:
+ * los clientes solo reciben resultados, nunca la flota rival.
+ *
+ * Los espectadores (CanalEspectadores) solo reciben tramas ESPECTADOR_*,
+ * con las máscaras de casillas como dos longs (bajo, alto).
+ *
+ * @version 1.0
+ */
+public final class ProtocoloRed {
+
+    public static final int CABECERA = 2;
+    public static final int MAX_DATOS = 255;
+    public static final int MAX_TRAMA = CABECERA + MAX_DATOS;
+    public static final int BIT_HORIZONTAL = 0x80;
+    public static final int MAX_NICKNAME = 32;
+
+    // ========== CLIENTE → SERVIDOR ==========
+
+    /** Datos: nickname en UTF-8. */
+    public static final byte UNIRSE = 1;
+    /** Datos: un byte por barco (casilla | BIT_HORIZONTAL). */
+    public static final byte COLOCACION = 2;
+    /** Datos: casilla. */
+    public static final byte DISPARO = 3;
+
+    // ========== SERVIDOR → CLIENTE ==========
+
+    /** Sin datos: en espera de un rival. */
+    public static final byte ESPERANDO_RIVAL = 10;
+    /** Datos: nickname del rival. El cliente debe enviar su COLOCACION. */
+    public static final byte EMPAREJADO = 11;
+    /** Datos: 1 si empieza este jugador. */
+    public static final byte INICIO = 12;
+    /** Datos: casilla, resultado (ordinal de TipoResultado), 1 si disparó este jugador, 1 si le toca a este jugador. */
+    public static final byte RESULTADO = 13;
+    /** Datos: 1 si ganó este jugador. */
+    public static final byte FIN = 14;
+    /** Datos: código de error (ERROR_*). */
+    public static final byte ERROR = 15;
+    /** Sin datos: el rival se desconectó y la partida terminó. */
+    public static final byte RIVAL_DESCONECTADO = 16;
+
+    // ========== SERVIDOR → ESPECTADOR ==========
+
+    /** Lado del tablero del jugador humano (disparos de la máquina). */
+    public static final byte LADO_HUMANO = 0;
+    /** Lado del tablero de la máquina (disparos del humano). */
+    public static final byte LADO_MAQUINA = 1;
+
+    /**
+     * Datos: 1 si le toca al humano, 1 si terminó y, por lado, las máscaras de
+     * agua, impactos y hundimientos (2 longs cada una); si la política de
+     * niebla lo permite, siguen las flotas de ambos lados (2 longs cada una).
+     */
+    public static final byte ESPECTADOR_ESTADO = 20;
+    /** Datos: lado, casilla, resultado (ordinal de TipoResultado). */
+    public static final byte ESPECTADOR_DISPARO = 21;
+    /** Datos: 1 si le toca al humano. */
+    public static final byte ESPECTADOR_TURNO = 22;
+    /** Datos: lado ganador (el del jugador que ganó). */
+    public static final byte ESPECTADOR_FIN = 23;
+    /** Datos: flotas de ambos lados (2 longs cada una). */
+    public static final byte ESPECTADOR_FLOTAS = 24;
+
+    // ========== CÓDIGOS DE ERROR ==========
+
+    public static final byte ERROR_MENSAJE_DESCONOCIDO = 1;
+    public static final byte ERROR_FASE_INCORRECTA = 2;
+    public static final byte ERROR_FUERA_DE_TURNO = 3;
+    public static final byte ERROR_DISPARO_INVALIDO = 4;
+    public static final byte ERROR_COLOCACION_INVALIDA = 5;
+
+    private ProtocoloRed() {
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    /**
+     * Crea una trama lista para escribir (en modo lectura).
+     *
+     * @param tipo Tipo de mensaje
+     * @param datos Datos (como máximo MAX_DATOS bytes)
+     * @return Búfer con la trama
+     */
+    public static ByteBuffer trama(byte tipo, byte... datos) {
+        if (datos.length > MAX_DATOS) {
+            throw new IllegalArgumentException("Datos demasiado largos: " + datos.length);
+        }
+        ByteBuffer trama = ByteBuffer.allocate(CABECERA + datos.length);
+        trama.put(tipo).put((byte) datos.length).put(datos);
+        return trama.flip();
+    }
+
+    /**
+     * @return Nickname en UTF-8, recortado a MAX_NICKNAME caracteres
+     */
+    public static byte[] codificarNickname(String nickname) {
+        String recortado = nickname.length() > MAX_NICKNAME ? nickname.substring(0, MAX_NICKNAME) : nickname;
+        return recortado.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static String decodificarNickname(byte[] datos) {
+        return new String(datos, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Codifica la colocación de una flota ya colocada.
+     *
+     * @param barcos Barcos en el orden de la flota de Jugador
+     * @return Un byte por barco
+     */
+    public static byte[] codificarColocacion(List<Barco> barcos) {
+        byte[] codigo = new byte[barcos.size()];
+        for (int b = 0; b < codigo.length; b++) {
+            Barco barco = barcos.get(b);
+            int inicio = MascaraCeldas.indice(barco.getFilaInicio(), barco.getColumnaInicio());
+            codigo[b] = (byte) (inicio | (barco.isHorizontal() ? BIT_HORIZONTAL : 0));
+        }
+        return codigo;
+    }
+
+    public static int casilla(byte codigo) {
+        return codigo & (BIT_HORIZONTAL - 1);
+    }
+
+    public static boolean horizontal(byte codigo) {
+        return (codigo & BIT_HORIZONTAL) != 0;
+    }
+
+    /**
+     * @return Casilla codificada en un byte
+     */
+    public static byte celda(int fila, int columna) {
+        return (byte) MascaraCeldas.indice(fila, columna);
+    }
+
+    public static byte bandera(boolean valor) {
+        return (byte) (valor ? 1 : 0);
+    }
+
+    /**
+     * Escribe una máscara como dos longs (bajo, alto).
+     */
+    public static ByteBuffer ponerMascara(ByteBuffer destino, MascaraCeldas mascara) {
+        return destino.putLong(mascara.getBajo()).putLong(mascara.getAlto());
+    }
+
+    /**
+     * Lee una máscara escrita con ponerMascara.
+     */
+    public static MascaraCeldas leerMascara(ByteBuffer origen) {
+        long bajo = origen.getLong();
+        return MascaraCeldas.de(bajo, origen.getLong());
+    }
+}
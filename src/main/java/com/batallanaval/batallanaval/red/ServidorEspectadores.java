@@ -0,0 +1,91 @@
+package com.batallanaval.batallanaval.red;
+
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Acepta espectadores por TCP y los suscribe a un CanalEspectadores.
+ *
+ * Un hilo acepta conexiones de forma bloqueante; cada conexión se pasa a modo
+ * no bloqueante para que el repartidor del canal nunca se quede esperando a
+ * un espectador lento. Los espectadores no envían nada: lo que manden se ignora.
+ *
+ * @version 1.0
+ */
+public final class ServidorEspectadores implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ServidorEspectadores.class);
+
+    public static final int PUERTO_POR_DEFECTO = 5556;
+
+    private final ServerSocketChannel servidor;
+    private final CanalEspectadores canal;
+    private final Thread aceptador;
+
+    /**
+     * @param puerto Puerto de escucha (0 = uno libre)
+     * @param canal Canal cuyas tramas se reparten
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorEspectadores(int puerto, CanalEspectadores canal) throws IOException {
+        this.servidor = ServerSocketChannel.open();
+        this.servidor.bind(new InetSocketAddress(puerto));
+        this.canal = canal;
+        this.aceptador = new Thread(this::aceptar, "espectadores-aceptador");
+        aceptador.setDaemon(true);
+        aceptador.start();
+        LOG.info(() -> "👁️ Espectadores en el puerto " + getPuerto());
+    }
+
+    private void aceptar() {
+        while (servidor.isOpen()) {
+            try {
+                SocketChannel conexion = servidor.accept();
+                conexion.configureBlocking(false);
+                conexion.socket().setTcpNoDelay(true);
+                canal.suscribir(new EspectadorSocket(conexion));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                LOG.advertencia("No se pudo aceptar un espectador: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Espectador remoto; write() no bloquea y puede escribir solo parte de la trama.
+     */
+    private record EspectadorSocket(SocketChannel conexion) implements CanalEspectadores.Espectador {
+        @Override
+        public void escribir(ByteBuffer trama) throws IOException {
+            conexion.write(trama);
+        }
+
+        @Override
+        public void cerrar() {
+            try {
+                conexion.close();
+            } catch (IOException e) {
+                // Ya cerrada: nada más que hacer
+            }
+        }
+    }
+
+    public int getPuerto() {
+        return servidor.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            // Ya cerrado: nada más que hacer
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.batallanaval.batallanaval.red;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import com.batallanaval.batallanaval.analitica.MotorRatings;
+import com.batallanaval.batallanaval.servidor.ColaEmparejamiento;
+import com.batallanaval.batallanaval.servidor.ProveedorRating;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Servidor de partidas humano contra humano por TCP.
+ *
+ * Un solo hilo atiende todas las conexiones con un Selector de NIO: las
+ * conexiones inactivas solo cuestan su búfer de lectura de ProtocoloRed.MAX_TRAMA
+ * bytes, así que miles de ellas no necesitan miles de hilos. Las partidas se
+ * juegan en ese mismo hilo, de modo que no hay estado compartido entre hilos.
+ *
+ * El servidor guarda los tableros de ambos jugadores (un Jugador por lado) y
+ * valida cada disparo contra ellos: turno, casilla y resultado los decide él,
+ * y a los clientes solo les llegan resultados.
+ *
+ * Los rivales se eligen con una ColaEmparejamiento según el rating de cada
+ * nickname. La cola entrega las parejas desde otro hilo; se pasan al hilo del
+ * selector por una cola concurrente y un wakeup().
+ *
+ * @version 1.0
+ */
+public final class ServidorRed implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ServidorRed.class);
+
+    public static final int PUERTO_POR_DEFECTO = 5555;
+
+    /** Tramas pendientes de envío a partir de las que se desconecta a un cliente lento. */
+    private static final int MAX_PENDIENTES = 64;
+
+    private final Selector selector;
+    private final ServerSocketChannel canalServidor;
+    private final Thread hilo;
+    private volatile boolean activo = true;
+
+    private final ProveedorRating ratings;
+    private final ColaEmparejamiento<Conexion> cola;
+    private final Queue<Conexion[]> emparejadas = new ConcurrentLinkedQueue<>();
+    private volatile int conexiones;
+
+    /**
+     * Abre el puerto y empieza a atender en un hilo propio; todos los
+     * jugadores tienen el mismo rating (emparejamiento por orden de llegada).
+     *
+     * @param puerto Puerto TCP (0 = cualquiera libre, ver getPuerto)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorRed(int puerto) throws IOException {
+        this(puerto, ProveedorRating.uniforme());
+    }
+
+    /**
+     * @param puerto Puerto TCP (0 = cualquiera libre, ver getPuerto)
+     * @param ratings Rating de cada nickname para el emparejamiento
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public ServidorRed(int puerto, ProveedorRating ratings) throws IOException {
+        this.ratings = ratings;
+        this.selector = Selector.open();
+        this.cola = new ColaEmparejamiento<>((primera, segunda) -> {
+            emparejadas.add(new Conexion[]{primera, segunda});
+            selector.wakeup();
+        });
+        this.canalServidor = ServerSocketChannel.open();
+        canalServidor.bind(new InetSocketAddress(puerto));
+        canalServidor.configureBlocking(false);
+        canalServidor.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.hilo = new Thread(this::atender, "servidor-red");
+        hilo.setDaemon(true);
+        hilo.start();
+        LOG.info(() -> "🌐 Servidor de partidas en red escuchando en el puerto " + getPuerto());
+    }
+
+    public int getPuerto() {
+        return canalServidor.socket().getLocalPort();
+    }
+
+    // ========== BUCLE DEL SELECTOR ==========
+
+    private void atender() {
+        while (activo) {
+            try {
+                selector.select();
+                crearPartidasEmparejadas();
+                Iterator<SelectionKey> claves = selector.selectedKeys().iterator();
+                while (claves.hasNext()) {
+                    SelectionKey clave = claves.next();
+                    claves.remove();
+                    if (!clave.isValid()) {
+                        continue;
+                    }
+                    if (clave.isAcceptable()) {
+                        aceptar();
+                    } else {
+                        Conexion conexion = (Conexion) clave.attachment();
+                        try {
+                            if (clave.isReadable()) {
+                                leer(conexion);
+                            }
+                            if (clave.isValid() && clave.isWritable()) {
+                                vaciarSalida(conexion);
+                            }
+                        } catch (IOException e) {
+                            desconectar(conexion);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (activo) {
+                    LOG.error("Error en el selector del servidor: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void aceptar() throws IOException {
+        SocketChannel canal;
+        while ((canal = canalServidor.accept()) != null) {
+            canal.configureBlocking(false);
+            canal.socket().setTcpNoDelay(true);
+            Conexion conexion = new Conexion(canal);
+            conexion.clave = canal.register(selector, SelectionKey.OP_READ, conexion);
+            conexiones++;
+        }
+    }
+
+    private void leer(Conexion conexion) throws IOException {
+        if (conexion.canal.read(conexion.entrada) < 0) {
+            desconectar(conexion);
+            return;
+        }
+        ByteBuffer entrada = conexion.entrada.flip();
+        while (entrada.remaining() >= ProtocoloRed.CABECERA) {
+            int largo = entrada.get(entrada.position() + 1) & 0xFF;
+            if (entrada.remaining() < ProtocoloRed.CABECERA + largo) {
+                break;
+            }
+            byte tipo = entrada.get();
+            entrada.get();
+            byte[] datos = new byte[largo];
+            entrada.get(datos);
+            procesar(conexion, tipo, datos);
+            if (!conexion.canal.isOpen()) {
+                return;
+            }
+        }
+        entrada.compact();
+    }
+
+    // ========== ENVÍO ==========
+
+    private void enviar(Conexion conexion, byte tipo, byte... datos) {
+        if (!conexion.canal.isOpen()) {
+            return;
+        }
+        ByteBuffer trama = ProtocoloRed.trama(tipo, datos);
+        try {
+            if (conexion.salida.isEmpty()) {
+                conexion.canal.write(trama);
+                if (!trama.hasRemaining()) {
+                    return;
+                }
+            }
+            if (conexion.salida.size() >= MAX_PENDIENTES) {
+                LOG.advertencia("Cliente lento desconectado: " + conexion.nickname);
+                desconectar(conexion);
+                return;
+            }
+            conexion.salida.add(trama);
+            conexion.clave.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            desconectar(conexion);
+        }
+    }
+
+    private void vaciarSalida(Conexion conexion) throws IOException {
+        while (!conexion.salida.isEmpty()) {
+            ByteBuffer trama = conexion.salida.peek();
+            conexion.canal.write(trama);
+            if (trama.hasRemaining()) {
+                return;
+            }
+            conexion.salida.poll();
+        }
+        conexion.clave.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void desconectar(Conexion conexion) {
+        if (!conexion.canal.isOpen()) {
+            return;
+        }
+        conexiones--;
+        conexion.clave.cancel();
+        try {
+            conexion.canal.close();
+        } catch (IOException e) {
+            // Ya cerrada: nada más que hacer
+        }
+        if (conexion.solicitud != null) {
+            cola.cancelar(conexion.solicitud); // Si ya estaba emparejada, crearPartida lo detecta
+        }
+        PartidaRed partida = conexion.partida;
+        if (partida != null && !partida.terminada) {
+            partida.terminada = true;
+            Conexion rival = partida.rivalDe(conexion);
+            rival.partida = null;
+            enviar(rival, ProtocoloRed.RIVAL_DESCONECTADO);
+        }
+    }
+
+    // ========== LÓGICA DE PARTIDA ==========
+
+    private void procesar(Conexion conexion, byte tipo, byte[] datos) {
+        switch (tipo) {
+            case ProtocoloRed.UNIRSE:
+                unirse(conexion, datos);
+                break;
+            case ProtocoloRed.COLOCACION:
+                colocar(conexion, datos);
+                break;
+            case ProtocoloRed.DISPARO:
+                disparar(conexion, datos);
+                break;
+            default:
+                enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_MENSAJE_DESCONOCIDO);
+        }
+    }
+
+    private void unirse(Conexion conexion, byte[] datos) {
+        if (conexion.partida != null || conexion.solicitud != null) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_FASE_INCORRECTA);
+            return;
+        }
+        conexion.nickname = datos.length == 0 ? "Jugador" : ProtocoloRed.decodificarNickname(datos);
+        conexion.rating = ratings.rating(conexion.nickname);
+        conexion.solicitud = cola.encolar(conexion, conexion.rating);
+        if (conexion.solicitud.estaEsperando()) {
+            enviar(conexion, ProtocoloRed.ESPERANDO_RIVAL);
+        }
+    }
+
+    /**
+     * Convierte en partidas las parejas que entregó la cola desde otro hilo.
+     */
+    private void crearPartidasEmparejadas() {
+        Conexion[] pareja;
+        while ((pareja = emparejadas.poll()) != null) {
+            crearPartida(pareja[0], pareja[1]);
+        }
+    }
+
+    private void crearPartida(Conexion rival, Conexion conexion) {
+        rival.solicitud = null;
+        conexion.solicitud = null;
+        // Si uno se desconectó mientras la pareja cruzaba de hilo, el otro vuelve a la cola
+        if (!rival.canal.isOpen() || !conexion.canal.isOpen()) {
+            Conexion abierta = rival.canal.isOpen() ? rival : conexion.canal.isOpen() ? conexion : null;
+            if (abierta != null) {
+                abierta.solicitud = cola.encolar(abierta, abierta.rating);
+            }
+            return;
+        }
+        PartidaRed partida = new PartidaRed(rival, conexion);
+        rival.partida = partida;
+        conexion.partida = partida;
+        enviar(rival, ProtocoloRed.EMPAREJADO, ProtocoloRed.codificarNickname(conexion.nickname));
+        enviar(conexion, ProtocoloRed.EMPAREJADO, ProtocoloRed.codificarNickname(rival.nickname));
+        LOG.info(() -> "🤝 Partida en red: " + rival.nickname + " (" + rival.rating + ") contra "
+                + conexion.nickname + " (" + conexion.rating + ")");
+    }
+
+    private void colocar(Conexion conexion, byte[] datos) {
+        PartidaRed partida = conexion.partida;
+        int lado = partida == null ? -1 : partida.ladoDe(conexion);
+        if (partida == null || partida.enCurso || partida.jugadores[lado] != null) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_FASE_INCORRECTA);
+            return;
+        }
+
+        Jugador jugador = new Jugador(conexion.nickname);
+        boolean valida = datos.length == jugador.getBarcos().size();
+        for (int b = 0; valida && b < datos.length; b++) {
+            int casilla = ProtocoloRed.casilla(datos[b]);
+            valida = casilla < MascaraCeldas.CELDAS && jugador.colocarBarco(b,
+                    casilla / MascaraCeldas.LADO, casilla % MascaraCeldas.LADO, ProtocoloRed.horizontal(datos[b]));
+        }
+        if (!valida) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_COLOCACION_INVALIDA);
+            return;
+        }
+        partida.jugadores[lado] = jugador;
+
+        if (partida.jugadores[1 - lado] != null) {
+            partida.enCurso = true;
+            enviar(partida.conexiones[0], ProtocoloRed.INICIO, ProtocoloRed.bandera(true));
+            enviar(partida.conexiones[1], ProtocoloRed.INICIO, ProtocoloRed.bandera(false));
+        }
+    }
+
+    private void disparar(Conexion conexion, byte[] datos) {
+        PartidaRed partida = conexion.partida;
+        if (partida == null || !partida.enCurso || partida.terminada) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_FASE_INCORRECTA);
+            return;
+        }
+        int lado = partida.ladoDe(conexion);
+        if (partida.turno != lado) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_FUERA_DE_TURNO);
+            return;
+        }
+        int casilla = datos.length == 1 ? datos[0] & 0xFF : MascaraCeldas.CELDAS;
+        if (casilla >= MascaraCeldas.CELDAS) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_DISPARO_INVALIDO);
+            return;
+        }
+
+        Jugador tirador = partida.jugadores[lado];
+        Jugador rival = partida.jugadores[1 - lado];
+        TipoResultado resultado = TipoResultado.valueOf(tirador.realizarDisparo(
+                casilla / MascaraCeldas.LADO, casilla % MascaraCeldas.LADO, rival));
+        if (resultado == TipoResultado.REPETIDO || resultado == TipoResultado.INVALIDO) {
+            enviar(conexion, ProtocoloRed.ERROR, ProtocoloRed.ERROR_DISPARO_INVALIDO);
+            return;
+        }
+        if (resultado == TipoResultado.AGUA) {
+            partida.turno = 1 - lado;
+        }
+
+        for (int k = 0; k < 2; k++) {
+            enviar(partida.conexiones[k], ProtocoloRed.RESULTADO, (byte) casilla, (byte) resultado.ordinal(),
+                    ProtocoloRed.bandera(k == lado), ProtocoloRed.bandera(partida.turno == k));
+        }
+        if (rival.haPerdido()) {
+            partida.terminada = true;
+            for (int k = 0; k < 2; k++) {
+                partida.conexiones[k].partida = null;
+                enviar(partida.conexiones[k], ProtocoloRed.FIN, ProtocoloRed.bandera(k == lado));
+            }
+            LOG.info(() -> "🏁 Partida en red terminada: gana " + conexion.nickname);
+        }
+    }
+
+    // ========== CIERRE ==========
+
+    /**
+     * @return Conexiones abiertas (lectura aproximada desde otro hilo)
+     */
+    public int getConexiones() {
+        return conexiones;
+    }
+
+    @Override
+    public void close() throws IOException {
+        activo = false;
+        cola.close();
+        selector.wakeup();
+        try {
+            hilo.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey clave : selector.keys()) {
+            clave.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Arranca un servidor independiente.
+     * Uso: ServidorRed [puerto] (por defecto 5555)
+     *
+     * @param args Argumentos de línea de comandos
+     * @throws IOException si no se puede abrir el puerto
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        MotorRatings ratings = MotorRatings.cargar(ArchivoManager.getDirectorioJuegos());
+        ServidorRed servidor = new ServidorRed(puerto, ratings::rating);
+        System.out.println("✅ Servidor escuchando en el puerto " + servidor.getPuerto());
+        servidor.hilo.join();
+    }
+
+    // ========== ESTADO POR CONEXIÓN ==========
+
+    private static final class Conexion {
+        final SocketChannel canal;
+        final ByteBuffer entrada = ByteBuffer.allocate(ProtocoloRed.MAX_TRAMA);
+        final ArrayDeque<ByteBuffer> salida = new ArrayDeque<>(2);
+        SelectionKey clave;
+        String nickname = "Jugador";
+        int rating = ProveedorRating.RATING_INICIAL;
+        ColaEmparejamiento.Solicitud<Conexion> solicitud; // null si no busca rival
+        PartidaRed partida;
+
+        Conexion(SocketChannel canal) {
+            this.canal = canal;
+        }
+    }
+
+    private static final class PartidaRed {
+        final Conexion[] conexiones;
+        final Jugador[] jugadores = new Jugador[2]; // null hasta que el lado envía su colocación
+        int turno; // Lado al que le toca disparar (empieza el primero en unirse)
+        boolean enCurso;
+        boolean terminada;
+
+        PartidaRed(Conexion primera, Conexion segunda) {
+            this.conexiones = new Conexion[]{primera, segunda};
+        }
+
+        int ladoDe(Conexion conexion) {
+            return conexiones[0] == conexion ? 0 : 1;
+        }
+
+        Conexion rivalDe(Conexion conexion) {
+            return conexiones[1 - ladoDe(conexion)];
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.batallanaval.batallanaval.servidor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Buzón que ejecuta sus tareas de una en una, en orden de llegada, sobre un
+ * pool de hilos compartido.
+ *
+ * Hace el papel de "un hilo por sesión" sin reservar un hilo a cada sesión:
+ * mientras el buzón tiene trabajo ocupa un hilo del pool y lo devuelve al
+ * vaciarse, así que miles de sesiones inactivas no consumen hilos. Las tareas
+ * de un mismo buzón nunca se solapan y ven los cambios de las anteriores.
+ *
+ * @version 1.0
+ */
+final class BuzonSerial implements Executor {
+
+    /** Tareas como máximo por turno de hilo, para no acaparar el pool. */
+    private static final int LOTE = 32;
+
+    private final Executor pool;
+    private final Queue<Runnable> tareas = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean programado = new AtomicBoolean();
+
+    BuzonSerial(Executor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable tarea) {
+        tareas.add(tarea);
+        programar();
+    }
+
+    private void programar() {
+        if (!tareas.isEmpty() && programado.compareAndSet(false, true)) {
+            pool.execute(this::drenar);
+        }
+    }
+
+    private void drenar() {
+        try {
+            Runnable tarea;
+            for (int i = 0; i < LOTE && (tarea = tareas.poll()) != null; i++) {
+                tarea.run();
+            }
+        } finally {
+            programado.set(false);
+            // Una tarea pudo llegar entre el último poll y el set(false)
+            programar();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.batallanaval.batallanaval.servidor;
+
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Cola de emparejamiento por rating.
+ *
+ * Los jugadores en espera se reparten en cubetas de ANCHO_CUBETA puntos de
+ * rating, cada una una cola concurrente en orden de llegada. Quien llega
+ * busca rival solo en las cubetas que caen dentro de su ventana, de la más
+ * cercana a la más lejana, así que el costo depende del ancho de la ventana
+ * y no de cuántos esperan.
+ *
+ * La ventana crece con la espera (ventanaInicial + ensanchePorSegundo por
+ * segundo, hasta ventanaMaxima). Un hilo programado revisa cada PERIODO_MILLIS
+ * a los que esperan y empareja a los que sus ventanas ensanchadas ya alcanzan;
+ * una pareja es válida si la diferencia cabe en la ventana del que más esperó.
+ *
+ * Cada solicitud se reclama con un CAS sobre su estado, por lo que nadie queda
+ * emparejado dos veces aunque encolen muchos hilos a la vez. Las solicitudes
+ * emparejadas o canceladas se desenlazan de su cubeta al recorrerla, estén
+ * donde estén.
+ *
+ * @param <T> Tipo del jugador que se empareja (una conexión, un id…)
+ * @version 1.0
+ */
+public final class ColaEmparejamiento<T> implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ColaEmparejamiento.class);
+
+    public static final int ANCHO_CUBETA = 50;
+    public static final int VENTANA_INICIAL_POR_DEFECTO = 100;
+    public static final int ENSANCHE_POR_SEGUNDO_POR_DEFECTO = 50;
+    public static final int VENTANA_MAXIMA_POR_DEFECTO = 800;
+    private static final long PERIODO_MILLIS = 100;
+
+    private static final int CUBETAS = ProveedorRating.RATING_MAXIMO / ANCHO_CUBETA + 1;
+
+    private static final int ESPERANDO = 0;
+    private static final int RESERVADA = 1;  // El revisor la tiene apartada mientras reclama al rival
+    private static final int EMPAREJADA = 2;
+    private static final int CANCELADA = 3;
+
+    /**
+     * Jugador en espera; sirve para cancelar la búsqueda.
+     */
+    public static final class Solicitud<T> {
+        private final T jugador;
+        private final int rating;
+        private final long desde = System.nanoTime();
+        private final AtomicInteger estado = new AtomicInteger(ESPERANDO);
+
+        private Solicitud(T jugador, int rating) {
+            this.jugador = jugador;
+            this.rating = rating;
+        }
+
+        public T getJugador() {
+            return jugador;
+        }
+
+        public int getRating() {
+            return rating;
+        }
+
+        public boolean estaEsperando() {
+            return estado.get() == ESPERANDO;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ConcurrentLinkedQueue<Solicitud<T>>[] cubetas = new ConcurrentLinkedQueue[CUBETAS];
+    private final AtomicInteger enEspera = new AtomicInteger();
+    private final AtomicLong parejas = new AtomicLong();
+    private final BiConsumer<T, T> alEmparejar;
+    private final int ventanaInicial;
+    private final int ensanchePorSegundo;
+    private final int ventanaMaxima;
+    private final ScheduledExecutorService revisor;
+
+    /**
+     * Cola con la ventana por defecto.
+     *
+     * @param alEmparejar Recibe cada pareja (el que esperaba primero va primero);
+     *                    se llama desde el hilo que encola o desde el revisor
+     */
+    public ColaEmparejamiento(BiConsumer<T, T> alEmparejar) {
+        this(alEmparejar, VENTANA_INICIAL_POR_DEFECTO, ENSANCHE_POR_SEGUNDO_POR_DEFECTO, VENTANA_MAXIMA_POR_DEFECTO);
+    }
+
+    /**
+     * @param alEmparejar Recibe cada pareja (el que esperaba primero va primero)
+     * @param ventanaInicial Diferencia de rating aceptada al llegar
+     * @param ensanchePorSegundo Puntos que crece la ventana por segundo de espera
+     * @param ventanaMaxima Tope de la ventana
+     */
+    public ColaEmparejamiento(BiConsumer<T, T> alEmparejar, int ventanaInicial,
+                              int ensanchePorSegundo, int ventanaMaxima) {
+        if (ventanaInicial < 0 || ensanchePorSegundo < 0 || ventanaMaxima < ventanaInicial) {
+            throw new IllegalArgumentException("Ventana de emparejamiento inválida");
+        }
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.alEmparejar = alEmparejar;
+        this.ventanaInicial = ventanaInicial;
+        this.ensanchePorSegundo = ensanchePorSegundo;
+        this.ventanaMaxima = ventanaMaxima;
+        this.revisor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "emparejamiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        revisor.scheduleWithFixedDelay(this::revisar, PERIODO_MILLIS, PERIODO_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // ========== ENCOLAR ==========
+
+    /**
+     * Busca rival dentro de la ventana inicial; si no lo hay, deja al jugador en espera.
+     *
+     * @param jugador Jugador que busca partida
+     * @param rating Rating del jugador (se acota a la escala de ProveedorRating)
+     * @return Solicitud (ya emparejada si había rival)
+     */
+    public Solicitud<T> encolar(T jugador, int rating) {
+        Solicitud<T> nueva = new Solicitud<>(jugador, ProveedorRating.acotar(rating));
+        long ahora = System.nanoTime();
+
+        // La nueva todavía no es visible: basta con reclamar al rival
+        Solicitud<T> rival = buscarRival(nueva, ahora);
+        if (rival != null) {
+            nueva.estado.set(EMPAREJADA);
+            emparejar(rival, nueva);
+            return nueva;
+        }
+        enEspera.incrementAndGet();
+        cubetas[cubeta(nueva.rating)].add(nueva);
+        return nueva;
+    }
+
+    /**
+     * Retira al jugador de la espera.
+     *
+     * @return false si ya estaba emparejado
+     */
+    public boolean cancelar(Solicitud<T> solicitud) {
+        while (true) {
+            int estado = solicitud.estado.get();
+            if (estado == ESPERANDO && solicitud.estado.compareAndSet(ESPERANDO, CANCELADA)) {
+                enEspera.decrementAndGet();
+                return true;
+            }
+            if (estado == EMPAREJADA || estado == CANCELADA) {
+                return false;
+            }
+            Thread.onSpinWait(); // RESERVADA: el revisor decide enseguida
+        }
+    }
+
+    // ========== BÚSQUEDA ==========
+
+    /**
+     * Recorre las cubetas de la ventana de 'quien', de la más cercana a la más
+     * lejana, y reclama a la primera solicitud compatible.
+     *
+     * @return Rival ya reclamado (EMPAREJADA) o null
+     */
+    private Solicitud<T> buscarRival(Solicitud<T> quien, long ahora) {
+        int ventana = ventana(quien, ahora);
+        int propia = cubeta(quien.rating);
+        int alcance = ventana / ANCHO_CUBETA + 1;
+        for (int distancia = 0; distancia <= alcance; distancia++) {
+            for (int signo = distancia == 0 ? 1 : -1; signo <= 1; signo += 2) {
+                int indice = propia + signo * distancia;
+                if (indice < 0 || indice >= CUBETAS) {
+                    continue;
+                }
+                Solicitud<T> rival = reclamarEn(cubetas[indice], quien, ventana, ahora);
+                if (rival != null) {
+                    return rival;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Solicitud<T> reclamarEn(ConcurrentLinkedQueue<Solicitud<T>> cubeta, Solicitud<T> quien,
+                                    int ventana, long ahora) {
+        for (Iterator<Solicitud<T>> it = cubeta.iterator(); it.hasNext(); ) {
+            Solicitud<T> candidata = it.next();
+            int estado = candidata.estado.get();
+            if (estado >= EMPAREJADA) {
+                it.remove();
+                continue;
+            }
+            if (candidata == quien || estado != ESPERANDO) {
+                continue;
+            }
+            int diferencia = Math.abs(candidata.rating - quien.rating);
+            if (diferencia <= Math.max(ventana, ventana(candidata, ahora))
+                    && candidata.estado.compareAndSet(ESPERANDO, EMPAREJADA)) {
+                enEspera.decrementAndGet();
+                return candidata;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Empareja a los que esperan cuyas ventanas ya se alcanzan. Solo lo ejecuta
+     * el hilo revisor, así que es el único que reserva solicitudes en espera.
+     * Revisa todas: en una misma cubeta los ratings difieren, así que la
+     * primera puede no tener rival y las siguientes sí.
+     */
+    private void revisar() {
+        try {
+            long ahora = System.nanoTime();
+            for (ConcurrentLinkedQueue<Solicitud<T>> cubeta : cubetas) {
+                for (Iterator<Solicitud<T>> it = cubeta.iterator(); it.hasNext(); ) {
+                    Solicitud<T> solicitud = it.next();
+                    if (!solicitud.estado.compareAndSet(ESPERANDO, RESERVADA)) {
+                        if (solicitud.estado.get() >= EMPAREJADA) {
+                            it.remove();
+                        }
+                        continue;
+                    }
+                    Solicitud<T> rival = buscarRival(solicitud, ahora);
+                    if (rival == null) {
+                        solicitud.estado.set(ESPERANDO);
+                        continue;
+                    }
+                    solicitud.estado.set(EMPAREJADA);
+                    enEspera.decrementAndGet();
+                    if (solicitud.desde - rival.desde <= 0) {
+                        emparejar(solicitud, rival);
+                    } else {
+                        emparejar(rival, solicitud);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Error al revisar la cola de emparejamiento: " + e.getMessage());
+        }
+    }
+
+    private void emparejar(Solicitud<T> primera, Solicitud<T> segunda) {
+        parejas.incrementAndGet();
+        alEmparejar.accept(primera.jugador, segunda.jugador);
+    }
+
+    // ========== VENTANA ==========
+
+    /**
+     * @return Diferencia de rating que acepta la solicitud tras su espera
+     */
+    private int ventana(Solicitud<T> solicitud, long ahora) {
+        long esperaMillis = TimeUnit.NANOSECONDS.toMillis(ahora - solicitud.desde);
+        long ventana = ventanaInicial + ensanchePorSegundo * esperaMillis / 1000;
+        return (int) Math.min(ventanaMaxima, ventana);
+    }
+
+    private static int cubeta(int rating) {
+        return rating / ANCHO_CUBETA;
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int getEnEspera() {
+        return enEspera.get();
+    }
+
+    public long getParejas() {
+        return parejas.get();
+    }
+
+    @Override
+    public void close() {
+        revisor.shutdownNow();
+    }
+}
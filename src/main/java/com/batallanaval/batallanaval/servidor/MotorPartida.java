@@ -0,0 +1,213 @@
+package com.batallanaval.batallanaval.servidor;
+
+import com.batallanaval.batallanaval.datastructures.HistorialCompacto;
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.ia.LibroAperturas;
+import com.batallanaval.batallanaval.ia.PoolColocaciones;
+import com.batallanaval.batallanaval.metricas.MetricasPartida;
+import com.batallanaval.batallanaval.model.EstadoPartida;
+import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Partida humano contra máquina sin interfaz: las mismas reglas que
+ * JuegoController (turno extra al acertar, la máquina dispara hasta fallar)
+ * pero sin JavaFX, pausas ni observadores, para alojar muchas en un servidor.
+ *
+ * No es seguro para hilos: cada partida la usa un solo hilo a la vez (el buzón
+ * de su SesionJuego). Su memoria está acotada: dos jugadores con sus tableros
+ * y un historial de como mucho 2 × 100 disparos codificados en enteros
+ * (HistorialCompacto: registrar un disparo no crea objetos).
+ *
+ * Cada partida lleva su propio MetricasPartida, así que sus tiempos de la IA
+ * no se mezclan con los de otras partidas ni con la de escritorio.
+ *
+ * @version 1.0
+ */
+public final class MotorPartida {
+
+    public enum Fase {
+        COLOCACION, EN_CURSO, TERMINADA
+    }
+
+    /**
+     * Resultado de un disparo del humano y de la respuesta de la máquina, si la hubo.
+     *
+     * @param resultado Resultado del disparo del humano
+     * @param disparosMaquina Disparos de la máquina, cada uno {fila, columna, 0=agua 1=tocado 2=hundido}
+     * @param fase Fase de la partida tras el turno
+     */
+    public record ResultadoTurno(TipoResultado resultado, List<int[]> disparosMaquina, Fase fase) {
+    }
+
+    private static final int MAX_JUGADAS = 2 * MascaraCeldas.CELDAS;
+    private static final TipoResultado[] RESULTADOS = TipoResultado.values();
+
+    private final Jugador humano;
+    private final Jugador maquina;
+    private final MetricasPartida metricas;
+    private final HistorialCompacto historial = new HistorialCompacto(MAX_JUGADAS);
+    private final int idHumano = historial.jugador("Humano");
+    private final int idMaquina = historial.jugador("Máquina");
+    private Fase fase = Fase.COLOCACION;
+    private boolean turnoJugador = true;
+
+    /**
+     * Crea la partida con la flota de la máquina ya colocada.
+     *
+     * @param nickname Nombre del jugador humano
+     * @param pool Colocaciones para la máquina (vacío = al azar)
+     * @param libro Libro de aperturas para la IA (puede ser null)
+     * @param aleatorio Fuente de aleatoriedad propia de esta partida
+     */
+    public MotorPartida(String nickname, PoolColocaciones pool, LibroAperturas libro, SplittableRandom aleatorio) {
+        this.humano = new Jugador(nickname);
+        this.maquina = new Jugador("Máquina");
+        this.metricas = new MetricasPartida("servidor " + nickname);
+        this.maquina.setLibroAperturas(libro);
+        this.maquina.setMetricasPartida(metricas);
+        pool.colocarEn(maquina, aleatorio);
+    }
+
+    // ========== COLOCACIÓN ==========
+
+    /**
+     * @return true si el barco quedó colocado
+     * @throws IllegalStateException si la partida ya empezó
+     */
+    public boolean colocarBarco(int indiceBarco, int fila, int columna, boolean horizontal) {
+        exigirFase(Fase.COLOCACION);
+        return humano.colocarBarco(indiceBarco, fila, columna, horizontal);
+    }
+
+    /**
+     * Coloca al azar la flota del humano.
+     */
+    public void colocarAleatoriamente() {
+        exigirFase(Fase.COLOCACION);
+        humano.colocarBarcosAleatoriamente();
+    }
+
+    /**
+     * Empieza la partida; el primer turno es del humano.
+     *
+     * @throws IllegalStateException si faltan barcos por colocar
+     */
+    public void iniciar() {
+        exigirFase(Fase.COLOCACION);
+        if (!humano.todosBarcosColocados()) {
+            throw new IllegalStateException("Faltan barcos por colocar");
+        }
+        fase = Fase.EN_CURSO;
+    }
+
+    // ========== TURNOS ==========
+
+    /**
+     * Dispara el humano. Si falla, la máquina responde en el mismo turno
+     * disparando hasta que falle o gane.
+     *
+     * @param fila Fila (0-9)
+     * @param columna Columna (0-9)
+     * @return Resultado del turno completo
+     * @throws IllegalStateException si la partida no está en curso
+     */
+    public ResultadoTurno disparar(int fila, int columna) {
+        exigirFase(Fase.EN_CURSO);
+        if (!maquina.getTableroPropio().estaEnLimites(fila, columna)) {
+            return new ResultadoTurno(TipoResultado.INVALIDO, List.of(), fase);
+        }
+        TipoResultado resultado = TipoResultado.valueOf(humano.realizarDisparo(fila, columna, maquina));
+        if (resultado == TipoResultado.REPETIDO || resultado == TipoResultado.INVALIDO) {
+            return new ResultadoTurno(resultado, List.of(), fase);
+        }
+        registrar(fila, columna, true, resultado);
+
+        if (maquina.haPerdido()) {
+            fase = Fase.TERMINADA;
+            return new ResultadoTurno(resultado, List.of(), fase);
+        }
+        if (resultado != TipoResultado.AGUA) {
+            return new ResultadoTurno(resultado, List.of(), fase);
+        }
+
+        turnoJugador = false;
+        List<int[]> respuesta = new ArrayList<>(4);
+        while (!turnoJugador && fase == Fase.EN_CURSO) {
+            int[] disparo = maquina.realizarDisparoOptimo(humano);
+            respuesta.add(disparo);
+            registrar(disparo[0], disparo[1], false, RESULTADOS[disparo[2]]);
+            if (humano.haPerdido()) {
+                fase = Fase.TERMINADA;
+            } else if (disparo[2] == 0) {
+                turnoJugador = true;
+            }
+        }
+        return new ResultadoTurno(resultado, respuesta, fase);
+    }
+
+    private void registrar(int fila, int columna, boolean disparaHumano, TipoResultado resultado) {
+        // Cada lado dispara como mucho una vez a cada casilla: nunca se llena
+        historial.apilar(disparaHumano ? idHumano : idMaquina, fila, columna, resultado, disparaHumano);
+    }
+
+    private void exigirFase(Fase esperada) {
+        if (fase != esperada) {
+            throw new IllegalStateException("Operación no válida en fase " + fase);
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public Fase getFase() {
+        return fase;
+    }
+
+    public boolean isTurnoJugador() {
+        return turnoJugador;
+    }
+
+    /**
+     * @return true si terminó y ganó el humano
+     */
+    public boolean ganoHumano() {
+        return fase == Fase.TERMINADA && maquina.haPerdido();
+    }
+
+    public int getCantidadJugadas() {
+        return historial.tamanio();
+    }
+
+    /**
+     * @return Instantánea inmutable de ambos tableros
+     */
+    public EstadoPartida getEstado() {
+        return EstadoPartida.desde(humano, maquina, turnoJugador);
+    }
+
+    /**
+     * Materializa el historial como movimientos (para archivar o repetir la partida).
+     *
+     * @return Movimientos en orden cronológico
+     */
+    public List<Movimiento> getMovimientos() {
+        return historial.toList();
+    }
+
+    public Jugador getHumano() {
+        return humano;
+    }
+
+    public Jugador getMaquina() {
+        return maquina;
+    }
+
+    public MetricasPartida getMetricas() {
+        return metricas;
+    }
+}
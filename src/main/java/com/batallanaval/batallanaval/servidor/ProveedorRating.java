@@ -0,0 +1,32 @@
+package com.batallanaval.batallanaval.servidor;
+
+/**
+ * Fuente del rating de un jugador para el emparejamiento, en escala Elo
+ * (1500 = jugador medio, 400 puntos = ventaja de 10 a 1).
+ *
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ProveedorRating {
+
+    int RATING_INICIAL = 1500;
+    int RATING_MINIMO = 0;
+    int RATING_MAXIMO = 3000;
+
+    /**
+     * @param nickname Nombre del jugador
+     * @return Rating entre RATING_MINIMO y RATING_MAXIMO
+     */
+    int rating(String nickname);
+
+    /**
+     * Todos los jugadores con el mismo rating: el emparejamiento queda por orden de llegada.
+     */
+    static ProveedorRating uniforme() {
+        return nickname -> RATING_INICIAL;
+    }
+
+    static int acotar(int rating) {
+        return Math.max(RATING_MINIMO, Math.min(RATING_MAXIMO, rating));
+    }
+}
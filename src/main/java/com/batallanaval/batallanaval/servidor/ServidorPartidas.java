@@ -0,0 +1,230 @@
+package com.batallanaval.batallanaval.servidor;
+
+import com.batallanaval.batallanaval.ia.LibroAperturas;
+import com.batallanaval.batallanaval.ia.PoolColocaciones;
+import com.batallanaval.batallanaval.utils.ArchivoManager;
+import com.batallanaval.batallanaval.utils.Bitacora;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Servidor que aloja muchas partidas humano contra máquina en una sola JVM.
+ *
+ * Cada sesión tiene su propio MotorPartida y se identifica por un id numérico.
+ * Las órdenes de cada sesión pasan por su BuzonSerial sobre un pool de hilos
+ * compartido (uno por núcleo), de modo que una sesión se comporta como si
+ * tuviera su propio hilo sin ocupar uno mientras espera al jugador. Un hilo
+ * programado cierra las sesiones sin actividad durante tiempoInactividad.
+ *
+ * El pool de colocaciones y el libro de aperturas son inmutables y se
+ * comparten entre todas las máquinas.
+ *
+ * @version 1.0
+ */
+public final class ServidorPartidas implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ServidorPartidas.class);
+
+    public static final int MAX_SESIONES_POR_DEFECTO = 10_000;
+    public static final long INACTIVIDAD_POR_DEFECTO_MILLIS = 10 * 60_000L;
+
+    private final Map<Long, SesionJuego> sesiones = new ConcurrentHashMap<>();
+    private final AtomicLong siguienteId = new AtomicLong(1);
+    private final AtomicInteger cantidadSesiones = new AtomicInteger();
+    private final AtomicLong expulsadas = new AtomicLong();
+
+    private final int maxSesiones;
+    private final long inactividadNanos;
+    private final ExecutorService pool;
+    private final ScheduledExecutorService limpieza;
+    private final SplittableRandom aleatorio = new SplittableRandom();
+    private final PoolColocaciones colocaciones;
+    private final LibroAperturas libro;
+
+    /**
+     * Servidor con los valores por defecto y el conocimiento de IA del directorio de juegos.
+     */
+    public ServidorPartidas() {
+        this(MAX_SESIONES_POR_DEFECTO, INACTIVIDAD_POR_DEFECTO_MILLIS,
+                PoolColocaciones.cargar(ArchivoManager.getDirectorioJuegos()),
+                LibroAperturas.cargar(ArchivoManager.getDirectorioJuegos()));
+    }
+
+    /**
+     * @param maxSesiones Sesiones simultáneas como máximo
+     * @param inactividadMillis Tiempo sin órdenes tras el que se cierra una sesión
+     * @param colocaciones Colocaciones para las flotas de las máquinas
+     * @param libro Libro de aperturas para las máquinas (puede ser null)
+     */
+    public ServidorPartidas(int maxSesiones, long inactividadMillis,
+                            PoolColocaciones colocaciones, LibroAperturas libro) {
+        if (maxSesiones <= 0 || inactividadMillis <= 0) {
+            throw new IllegalArgumentException("El máximo de sesiones y la inactividad deben ser positivos");
+        }
+        this.maxSesiones = maxSesiones;
+        this.inactividadNanos = TimeUnit.MILLISECONDS.toNanos(inactividadMillis);
+        this.colocaciones = colocaciones;
+        this.libro = libro;
+        this.pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                hilo("partida"));
+        this.limpieza = Executors.newSingleThreadScheduledExecutor(hilo("limpieza-sesiones"));
+
+        long periodo = Math.max(1, inactividadMillis / 4);
+        limpieza.scheduleWithFixedDelay(this::expulsarInactivas, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory hilo(String nombre) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> {
+            Thread hilo = new Thread(tarea, nombre + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    // ========== SESIONES ==========
+
+    /**
+     * Crea una sesión nueva con la flota de la máquina ya colocada.
+     *
+     * @param nickname Nombre del jugador humano
+     * @return Sesión creada
+     * @throws IllegalStateException si se alcanzó el máximo de sesiones
+     */
+    public SesionJuego crearSesion(String nickname) {
+        if (cantidadSesiones.incrementAndGet() > maxSesiones) {
+            cantidadSesiones.decrementAndGet();
+            throw new IllegalStateException("Servidor lleno: " + maxSesiones + " sesiones");
+        }
+        SplittableRandom propio;
+        synchronized (aleatorio) {
+            propio = aleatorio.split();
+        }
+        long id = siguienteId.getAndIncrement();
+        SesionJuego sesion = new SesionJuego(id, new MotorPartida(nickname, colocaciones, libro, propio), pool);
+        sesiones.put(id, sesion);
+        return sesion;
+    }
+
+    public Optional<SesionJuego> obtener(long id) {
+        return Optional.ofNullable(sesiones.get(id));
+    }
+
+    /**
+     * Encola una orden sobre la partida de la sesión indicada.
+     *
+     * @param id Id de la sesión
+     * @param orden Operación sobre el motor
+     * @return Futuro con el resultado; falla con IllegalArgumentException si la sesión no existe
+     */
+    public <T> CompletableFuture<T> ejecutar(long id, Function<MotorPartida, T> orden) {
+        SesionJuego sesion = sesiones.get(id);
+        if (sesion == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Sesión desconocida: " + id));
+        }
+        return sesion.ejecutar(orden);
+    }
+
+    /**
+     * @return true si la sesión existía
+     */
+    public boolean cerrarSesion(long id) {
+        if (sesiones.remove(id) != null) {
+            cantidadSesiones.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void expulsarInactivas() {
+        long limite = System.nanoTime() - inactividadNanos;
+        long antes = expulsadas.get();
+        for (Map.Entry<Long, SesionJuego> entrada : sesiones.entrySet()) {
+            SesionJuego sesion = entrada.getValue();
+            // Solo descuenta quien la quita: cerrarSesion() puede haberla cerrado en paralelo
+            if (sesion.getUltimoAcceso() - limite < 0 && sesiones.remove(entrada.getKey(), sesion)) {
+                cantidadSesiones.decrementAndGet();
+                expulsadas.incrementAndGet();
+            }
+        }
+        long cerradas = expulsadas.get() - antes;
+        if (cerradas > 0) {
+            LOG.info(() -> "🧹 " + cerradas + " sesiones inactivas cerradas; quedan " + cantidadSesiones.get());
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    public int getSesionesActivas() {
+        return cantidadSesiones.get();
+    }
+
+    public long getSesionesExpulsadas() {
+        return expulsadas.get();
+    }
+
+    @Override
+    public void close() {
+        limpieza.shutdownNow();
+        pool.shutdown();
+        sesiones.clear();
+        cantidadSesiones.set(0);
+    }
+
+    // ========== PRUEBA DE CARGA ==========
+
+    /**
+     * Juega N partidas simultáneas con disparos al azar del humano y mide
+     * tiempo y memoria por partida.
+     * Uso: ServidorPartidas [partidas] (por defecto 2000)
+     *
+     * @param args Argumentos de línea de comandos
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Runtime runtime = Runtime.getRuntime();
+        try (ServidorPartidas servidor = new ServidorPartidas(partidas, INACTIVIDAD_POR_DEFECTO_MILLIS,
+                PoolColocaciones.vacio(), null)) {
+            System.gc();
+            long memoriaInicial = runtime.totalMemory() - runtime.freeMemory();
+            long inicio = System.nanoTime();
+
+            CompletableFuture<?>[] futuros = new CompletableFuture<?>[partidas];
+            for (int i = 0; i < partidas; i++) {
+                SesionJuego sesion = servidor.crearSesion("Jugador" + i);
+                futuros[i] = sesion.ejecutar(motor -> {
+                    motor.colocarAleatoriamente();
+                    motor.iniciar();
+                    return null;
+                }).thenCompose(v -> jugarAlAzar(sesion, new SplittableRandom(sesion.getId())));
+            }
+            CompletableFuture.allOf(futuros).join();
+
+            System.gc();
+            long memoria = runtime.totalMemory() - runtime.freeMemory() - memoriaInicial;
+            System.out.printf("✅ %d partidas en %d ms, ~%d KB por partida%n", partidas,
+                    (System.nanoTime() - inicio) / 1_000_000, memoria / 1024 / partidas);
+        }
+    }
+
+    private static CompletableFuture<Void> jugarAlAzar(SesionJuego sesion, SplittableRandom aleatorio) {
+        return sesion.ejecutar(motor -> {
+            int celda = aleatorio.nextInt(100);
+            motor.disparar(celda / 10, celda % 10);
+            return motor.getFase();
+        }).thenCompose(fase -> fase == MotorPartida.Fase.TERMINADA
+                ? CompletableFuture.completedFuture(null)
+                : jugarAlAzar(sesion, aleatorio));
+    }
+}
@@ -0,0 +1,51 @@
+package com.batallanaval.batallanaval.servidor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Sesión de juego alojada en el servidor: un identificador, su MotorPartida y
+ * el buzón que serializa las órdenes sobre el motor.
+ *
+ * @version 1.0
+ */
+public final class SesionJuego {
+
+    private final long id;
+    private final MotorPartida motor;
+    private final BuzonSerial buzon;
+    private volatile long ultimoAcceso; // System.nanoTime() de la última orden
+
+    SesionJuego(long id, MotorPartida motor, Executor pool) {
+        this.id = id;
+        this.motor = motor;
+        this.buzon = new BuzonSerial(pool);
+        this.ultimoAcceso = System.nanoTime();
+    }
+
+    /**
+     * Encola una orden sobre el motor. Las órdenes de una sesión se ejecutan
+     * en orden y nunca a la vez; las de sesiones distintas, en paralelo.
+     *
+     * @param orden Operación sobre el motor
+     * @return Futuro con el resultado (o con la excepción que lance la orden)
+     */
+    public <T> CompletableFuture<T> ejecutar(Function<MotorPartida, T> orden) {
+        ultimoAcceso = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> orden.apply(motor), buzon);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    long getUltimoAcceso() {
+        return ultimoAcceso;
+    }
+
+    @Override
+    public String toString() {
+        return "SesionJuego{id=" + id + "}";
+    }
+}
@@ -1,7 +1,10 @@
 package com.batallanaval.batallanaval.utils;
 
+import com.batallanaval.batallanaval.eventos.EventoArchivo;
 import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+import com.batallanaval.batallanaval.metricas.RegistroMetricas;
 import com.batallanaval.batallanaval.model.Jugador;
+import com.batallanaval.batallanaval.model.Movimiento;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -9,7 +12,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Clase para manejar el guardado y carga de juegos.
@@ -20,6 +27,7 @@ import java.util.Properties;
  * @version 1.0
  */
 public class ArchivoManager {
+    private static final Bitacora LOG = Bitacora.para(ArchivoManager.class);
 
     // Constantes para nombres de archivos
     private static final String DIRECTORIO_JUEGOS = "juegos_guardados";
@@ -27,6 +35,24 @@ public class ArchivoManager {
     private static final String ARCHIVO_ESTADISTICAS = "estadisticas.txt";
     private static final String ARCHIVO_CONFIG = "config.properties";
 
+    private final Path directorio;
+
+    /**
+     * Trabaja sobre el directorio de juegos por defecto (relativo al directorio de trabajo).
+     */
+    public ArchivoManager() {
+        this(getDirectorioJuegos());
+    }
+
+    /**
+     * Trabaja sobre otro directorio (entrenamientos, pruebas), sin tocar el del usuario.
+     *
+     * @param directorio Directorio de juegos, estadísticas y configuración
+     */
+    public ArchivoManager(Path directorio) {
+        this.directorio = directorio;
+    }
+
     /**
      * Guarda el estado completo del juego (serializable).
      *
@@ -39,7 +65,28 @@ public class ArchivoManager {
     public void guardarJuegoCompleto(Jugador jugadorHumano, Jugador jugadorMaquina,
                                      boolean juegoIniciado, boolean turnoJugador)
             throws JuegoGuardadoException {
+        guardarJuegoCompleto(jugadorHumano, jugadorMaquina, juegoIniciado, turnoJugador, List.of());
+    }
 
+    /**
+     * Guarda el estado completo del juego junto con su historial de movimientos,
+     * que permite repetir la partida (MotorRepeticion).
+     *
+     * @param jugadorHumano Jugador humano
+     * @param jugadorMaquina Jugador máquina
+     * @param juegoIniciado Estado del juego
+     * @param turnoJugador De quién es el turno
+     * @param movimientos Movimientos en orden cronológico
+     * @throws JuegoGuardadoException si hay error al guardar
+     */
+    public void guardarJuegoCompleto(Jugador jugadorHumano, Jugador jugadorMaquina,
+                                     boolean juegoIniciado, boolean turnoJugador,
+                                     List<Movimiento> movimientos)
+            throws JuegoGuardadoException {
+
+        long inicio = System.nanoTime();
+        EventoArchivo evento = new EventoArchivo();
+        evento.begin();
         try {
             // Crear directorio si no existe
             crearDirectorioJuegos();
@@ -50,12 +97,13 @@ public class ArchivoManager {
                     jugadorMaquina,
                     juegoIniciado,
                     turnoJugador,
-                    LocalDateTime.now()
+                    LocalDateTime.now(),
+                    new ArrayList<>(movimientos)
             );
 
             // Guardar con nombre único basado en fecha
             String nombreArchivo = generarNombreArchivo();
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, nombreArchivo);
+            Path rutaArchivo = directorio.resolve(nombreArchivo);
 
             // Serializar objeto
             try (ObjectOutputStream oos = new ObjectOutputStream(
@@ -69,7 +117,13 @@ public class ArchivoManager {
             // Guardar estadísticas (archivo plano)
             guardarEstadisticas(jugadorHumano);
 
-            System.out.println("✅ Juego guardado: " + rutaArchivo);
+            if (evento.shouldCommit()) {
+                evento.archivo = rutaArchivo.toString();
+                evento.bytes = Files.size(rutaArchivo);
+                evento.exitoso = true;
+            }
+
+            LOG.info(() -> "✅ Juego guardado: " + rutaArchivo);
 
         } catch (IOException e) {
             throw new JuegoGuardadoException(
@@ -77,6 +131,13 @@ public class ArchivoManager {
                     ARCHIVO_ULTIMO_JUEGO,
                     "GUARDAR"
             );
+        } finally {
+            RegistroMetricas.global().registrarGuardado(System.nanoTime() - inicio);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.operacion = "GUARDAR";
+                evento.commit();
+            }
         }
     }
 
@@ -87,8 +148,10 @@ public class ArchivoManager {
      * @throws JuegoGuardadoException si hay error al cargar o no existe archivo
      */
     public EstadoJuego cargarUltimoJuego() throws JuegoGuardadoException {
+        EventoArchivo evento = new EventoArchivo();
+        evento.begin();
         try {
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_ULTIMO_JUEGO);
+            Path rutaArchivo = directorio.resolve(ARCHIVO_ULTIMO_JUEGO);
 
             if (!Files.exists(rutaArchivo)) {
                 throw new JuegoGuardadoException(
@@ -103,7 +166,13 @@ public class ArchivoManager {
                     new FileInputStream(rutaArchivo.toFile()))) {
                 EstadoJuego estado = (EstadoJuego) ois.readObject();
 
-                System.out.println("✅ Juego cargado: " + estado.fechaGuardado());
+                if (evento.shouldCommit()) {
+                    evento.archivo = rutaArchivo.toString();
+                    evento.bytes = Files.size(rutaArchivo);
+                    evento.exitoso = true;
+                }
+
+                LOG.info(() -> "✅ Juego cargado: " + estado.fechaGuardado());
                 return estado;
             }
 
@@ -113,6 +182,12 @@ public class ArchivoManager {
                     ARCHIVO_ULTIMO_JUEGO,
                     "CARGAR"
             );
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.operacion = "CARGAR";
+                evento.commit();
+            }
         }
     }
 
@@ -125,7 +200,7 @@ public class ArchivoManager {
     public void guardarEstadisticas(Jugador jugador) throws JuegoGuardadoException {
         try {
             crearDirectorioJuegos();
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_ESTADISTICAS);
+            Path rutaArchivo = directorio.resolve(ARCHIVO_ESTADISTICAS);
 
             // Formato: nickname,fecha,barcos_hundidos,barcos_restantes
             String linea = String.format("%s,%s,%d,%d%n",
@@ -142,7 +217,7 @@ public class ArchivoManager {
                             java.nio.file.StandardOpenOption.CREATE
             );
 
-            System.out.println("📊 Estadísticas guardadas para: " + jugador.getNickname());
+            LOG.depuracion(() -> "📊 Estadísticas guardadas para: " + jugador.getNickname());
 
         } catch (IOException e) {
             throw new JuegoGuardadoException(
@@ -161,7 +236,7 @@ public class ArchivoManager {
      */
     public String cargarEstadisticas() throws JuegoGuardadoException {
         try {
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_ESTADISTICAS);
+            Path rutaArchivo = directorio.resolve(ARCHIVO_ESTADISTICAS);
 
             if (!Files.exists(rutaArchivo)) {
                 return "No hay estadísticas guardadas";
@@ -187,13 +262,13 @@ public class ArchivoManager {
     public void guardarConfiguracion(Properties propiedades) throws JuegoGuardadoException {
         try {
             crearDirectorioJuegos();
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_CONFIG);
+            Path rutaArchivo = directorio.resolve(ARCHIVO_CONFIG);
 
             try (FileOutputStream fos = new FileOutputStream(rutaArchivo.toFile())) {
                 propiedades.store(fos, "Configuración del juego Batalla Naval");
             }
 
-            System.out.println("⚙️ Configuración guardada");
+            LOG.info("⚙️ Configuración guardada");
 
         } catch (IOException e) {
             throw new JuegoGuardadoException(
@@ -212,7 +287,7 @@ public class ArchivoManager {
      */
     public Properties cargarConfiguracion() throws JuegoGuardadoException {
         try {
-            Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_CONFIG);
+            Path rutaArchivo = directorio.resolve(ARCHIVO_CONFIG);
 
             if (!Files.exists(rutaArchivo)) {
                 // Devolver propiedades por defecto
@@ -235,13 +310,85 @@ public class ArchivoManager {
         }
     }
 
+    /**
+     * Carga un juego guardado cualquiera (no solo el último).
+     *
+     * @param rutaArchivo Archivo .ser a deserializar
+     * @return Estado del juego guardado
+     * @throws JuegoGuardadoException si hay error al cargar
+     */
+    public EstadoJuego cargarJuego(Path rutaArchivo) throws JuegoGuardadoException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(rutaArchivo.toFile())))) {
+            return (EstadoJuego) ois.readObject();
+
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new JuegoGuardadoException(
+                    "Error al cargar el juego: " + e.getMessage(),
+                    rutaArchivo.getFileName().toString(),
+                    "CARGAR"
+            );
+        }
+    }
+
+    /**
+     * Lista los juegos archivados (juego_*.ser), del más antiguo al más reciente.
+     * No incluye ultimo_juego.ser, que es una copia del más reciente.
+     *
+     * @return Rutas de los juegos guardados (vacía si no hay directorio)
+     * @throws JuegoGuardadoException sí hay error
+     */
+    public List<Path> listarJuegosGuardados() throws JuegoGuardadoException {
+        if (!Files.isDirectory(directorio)) {
+            return List.of();
+        }
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .filter(path -> {
+                        String nombre = path.getFileName().toString();
+                        return nombre.startsWith("juego_") && nombre.endsWith(".ser");
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+
+        } catch (IOException e) {
+            throw new JuegoGuardadoException(
+                    "Error al listar juegos: " + e.getMessage(),
+                    directorio.toString(),
+                    "LISTAR"
+            );
+        }
+    }
+
+    /**
+     * @return Directorio de este gestor (el de juegos por defecto salvo que se indique otro)
+     */
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * @return Directorio por defecto donde se guardan juegos, estadísticas y configuración
+     */
+    public static Path getDirectorioJuegos() {
+        return Paths.get(DIRECTORIO_JUEGOS);
+    }
+
+    /**
+     * @return Archivo de configuración (lo vigila ConfiguracionViva)
+     */
+    public static Path getArchivoConfiguracion() {
+        return Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_CONFIG);
+    }
+
     /**
      * Verifica si existe un juego guardado.
      *
      * @return true si hay juego guardado, false en caso contrario
      */
     public boolean existeJuegoGuardado() {
-        Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_ULTIMO_JUEGO);
+        Path rutaArchivo = directorio.resolve(ARCHIVO_ULTIMO_JUEGO);
         return Files.exists(rutaArchivo);
     }
 
@@ -250,8 +397,6 @@ public class ArchivoManager {
      */
     public void eliminarJuegosGuardados() throws JuegoGuardadoException {
         try {
-            Path directorio = Paths.get(DIRECTORIO_JUEGOS);
-
             if (Files.exists(directorio)) {
                 // Eliminar todos los archivos .ser
                 Files.walk(directorio)
@@ -261,13 +406,13 @@ public class ArchivoManager {
                             catch (IOException e) { /* Ignorar */ }
                         });
 
-                System.out.println("🗑️ Juegos guardados eliminados");
+                LOG.info("🗑️ Juegos guardados eliminados");
             }
 
         } catch (IOException e) {
             throw new JuegoGuardadoException(
                     "Error al eliminar juegos: " + e.getMessage(),
-                    DIRECTORIO_JUEGOS,
+                    directorio.toString(),
                     "ELIMINAR"
             );
         }
@@ -276,15 +421,14 @@ public class ArchivoManager {
     // ========== MÉTODOS PRIVADOS ==========
 
     private void crearDirectorioJuegos() throws IOException {
-        Path directorio = Paths.get(DIRECTORIO_JUEGOS);
         if (!Files.exists(directorio)) {
             Files.createDirectories(directorio);
-            System.out.println("📁 Directorio creado: " + directorio.toAbsolutePath());
+            LOG.info(() -> "📁 Directorio creado: " + directorio.toAbsolutePath());
         }
     }
 
     private void guardarUltimoJuego(EstadoJuego estado) throws IOException {
-        Path rutaArchivo = Paths.get(DIRECTORIO_JUEGOS, ARCHIVO_ULTIMO_JUEGO);
+        Path rutaArchivo = directorio.resolve(ARCHIVO_ULTIMO_JUEGO);
 
         try (ObjectOutputStream oos = new ObjectOutputStream(
                 new FileOutputStream(rutaArchivo.toFile()))) {
@@ -304,7 +448,7 @@ public class ArchivoManager {
         propiedades.setProperty("musica_activada", "true");
         propiedades.setProperty("volumen", "80");
         propiedades.setProperty("mostrar_ayuda", "true");
-        return propiedades;
+        return Configuracion.POR_DEFECTO.aPropiedades(propiedades);
     }
 
     // ========== CLASE INTERNA PARA ESTADO DEL JUEGO ==========
@@ -312,11 +456,25 @@ public class ArchivoManager {
     /**
          * Clase interna que representa el estado completo del juego.
          * Serializable para poder guardar/cargar.
+         * Los juegos guardados antes de existir 'movimientos' se cargan con null.
          */
         public record EstadoJuego(Jugador jugadorHumano, Jugador jugadorMaquina, boolean juegoIniciado,
-                                  boolean turnoJugador, LocalDateTime fechaGuardado) implements Serializable {
+                                  boolean turnoJugador, LocalDateTime fechaGuardado,
+                                  List<Movimiento> movimientos) implements Serializable {
             private static final long serialVersionUID = 1L;
 
+        public EstadoJuego(Jugador jugadorHumano, Jugador jugadorMaquina, boolean juegoIniciado,
+                           boolean turnoJugador, LocalDateTime fechaGuardado) {
+            this(jugadorHumano, jugadorMaquina, juegoIniciado, turnoJugador, fechaGuardado, List.of());
+        }
+
+        /**
+         * @return Movimientos de la partida en orden cronológico (vacía en juegos antiguos)
+         */
+        public List<Movimiento> movimientosOVacio() {
+            return movimientos == null ? List.of() : movimientos;
+        }
+
         @Override
             public String toString() {
                 return String.format(
@@ -327,4 +485,4 @@ public class ArchivoManager {
                 );
             }
         }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package com.batallanaval.batallanaval.utils;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fachada de registro (logging) con niveles para el juego.
+ * Reemplaza los System.out de las rutas calientes: cuando un nivel está
+ * deshabilitado, el mensaje (un Supplier) nunca se construye.
+ *
+ * Configuración por propiedades del sistema:
+ * - batallanaval.log.nivel: DETALLE, DEPURACION, INFO, ADVERTENCIA, ERROR, APAGADO (por defecto INFO)
+ * - batallanaval.log.modo: asincrono, consola, nulo (por defecto asincrono)
+ *
+ * @version 1.0
+ */
+public final class Bitacora {
+
+    /**
+     * ENUM con los niveles de registro, del más detallado al más grave.
+     */
+    public enum Nivel {
+        DETALLE, DEPURACION, INFO, ADVERTENCIA, ERROR, APAGADO
+    }
+
+    /**
+     * Destino de los mensajes de la bitácora.
+     */
+    public interface Salida {
+
+        /**
+         * Escribe un mensaje ya construido.
+         *
+         * @param nivel Nivel del mensaje
+         * @param origen Nombre corto de la clase que registra
+         * @param mensaje Texto del mensaje
+         */
+        void escribir(Nivel nivel, String origen, String mensaje);
+
+        /**
+         * Libera recursos y vacía mensajes pendientes.
+         */
+        default void cerrar() {
+        }
+    }
+
+    private static volatile Nivel nivelGlobal = Nivel.INFO;
+    private static volatile Salida salida = new SalidaNula();
+
+    static {
+        configurarDesdePropiedades();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> salida.cerrar(), "bitacora-cierre"));
+    }
+
+    private final String origen;
+
+    private Bitacora(String origen) {
+        this.origen = origen;
+    }
+
+    /**
+     * Obtiene la bitácora para una clase.
+     *
+     * @param clase Clase que registra mensajes
+     * @return Bitácora asociada
+     */
+    public static Bitacora para(Class<?> clase) {
+        return new Bitacora(clase.getSimpleName());
+    }
+
+    // ========== CONFIGURACIÓN ==========
+
+    /**
+     * Cambia el nivel mínimo y la salida de todas las bitácoras.
+     *
+     * @param nivel Nivel mínimo a registrar
+     * @param nuevaSalida Destino de los mensajes
+     */
+    public static void configurar(Nivel nivel, Salida nuevaSalida) {
+        if (nivel == null || nuevaSalida == null) {
+            throw new IllegalArgumentException("El nivel y la salida no pueden ser null");
+        }
+        Salida anterior = salida;
+        salida = nuevaSalida;
+        nivelGlobal = nivel;
+        if (anterior != nuevaSalida) {
+            anterior.cerrar();
+        }
+    }
+
+    /**
+     * Desactiva por completo el registro (modo sin costo para simulaciones).
+     */
+    public static void desactivar() {
+        configurar(Nivel.APAGADO, new SalidaNula());
+    }
+
+    public static Nivel getNivel() {
+        return nivelGlobal;
+    }
+
+    private static void configurarDesdePropiedades() {
+        String nivel = System.getProperty("batallanaval.log.nivel", "INFO");
+        String modo = System.getProperty("batallanaval.log.modo", "asincrono");
+
+        Nivel nivelInicial;
+        try {
+            nivelInicial = Nivel.valueOf(nivel.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            nivelInicial = Nivel.INFO;
+        }
+
+        Salida salidaInicial;
+        switch (modo.trim().toLowerCase()) {
+            case "consola":
+                salidaInicial = new SalidaConsola();
+                break;
+            case "nulo":
+                salidaInicial = new SalidaNula();
+                nivelInicial = Nivel.APAGADO;
+                break;
+            default:
+                salidaInicial = new SalidaAsincrona(new SalidaConsola(), 4096);
+                break;
+        }
+
+        nivelGlobal = nivelInicial;
+        salida = salidaInicial;
+    }
+
+    // ========== REGISTRO ==========
+
+    /**
+     * Verifica si un nivel está habilitado (útil antes de cálculos costosos).
+     *
+     * @param nivel Nivel a verificar
+     * @return true si los mensajes de ese nivel se registrarán
+     */
+    public boolean estaHabilitado(Nivel nivel) {
+        return nivel.ordinal() >= nivelGlobal.ordinal() && nivel != Nivel.APAGADO;
+    }
+
+    public void detalle(Supplier<String> mensaje) {
+        registrar(Nivel.DETALLE, mensaje);
+    }
+
+    public void depuracion(Supplier<String> mensaje) {
+        registrar(Nivel.DEPURACION, mensaje);
+    }
+
+    public void info(Supplier<String> mensaje) {
+        registrar(Nivel.INFO, mensaje);
+    }
+
+    public void info(String mensaje) {
+        if (estaHabilitado(Nivel.INFO)) {
+            salida.escribir(Nivel.INFO, origen, mensaje);
+        }
+    }
+
+    public void advertencia(String mensaje) {
+        if (estaHabilitado(Nivel.ADVERTENCIA)) {
+            salida.escribir(Nivel.ADVERTENCIA, origen, mensaje);
+        }
+    }
+
+    public void error(String mensaje) {
+        if (estaHabilitado(Nivel.ERROR)) {
+            salida.escribir(Nivel.ERROR, origen, mensaje);
+        }
+    }
+
+    /**
+     * Registra un mensaje construido de forma perezosa.
+     *
+     * @param nivel Nivel del mensaje
+     * @param mensaje Proveedor del texto (solo se evalúa si el nivel está habilitado)
+     */
+    public void registrar(Nivel nivel, Supplier<String> mensaje) {
+        if (estaHabilitado(nivel)) {
+            salida.escribir(nivel, origen, mensaje.get());
+        }
+    }
+
+    // ========== SALIDAS ==========
+
+    /**
+     * Salida que descarta todos los mensajes.
+     */
+    public static final class SalidaNula implements Salida {
+        @Override
+        public void escribir(Nivel nivel, String origen, String mensaje) {
+            // Sin costo: se descarta
+        }
+    }
+
+    /**
+     * Salida síncrona a consola (ERROR y ADVERTENCIA van a System.err).
+     */
+    public static final class SalidaConsola implements Salida {
+        @Override
+        public void escribir(Nivel nivel, String origen, String mensaje) {
+            PrintStream destino = nivel.ordinal() >= Nivel.ADVERTENCIA.ordinal() ? System.err : System.out;
+            destino.println("[" + nivel + "] " + origen + ": " + mensaje);
+        }
+    }
+
+    /**
+     * Salida asíncrona: encola los mensajes y los escribe un hilo daemon.
+     * Si la cola se llena, el mensaje se descarta en lugar de bloquear el juego.
+     */
+    public static final class SalidaAsincrona implements Salida {
+        private final Salida destino;
+        private final BlockingQueue<Object[]> cola;
+        private final AtomicLong descartados = new AtomicLong();
+        private final Thread escritor;
+        private volatile boolean activa = true;
+
+        /**
+         * @param destino Salida real donde se escriben los mensajes
+         * @param capacidad Máximo de mensajes pendientes
+         */
+        public SalidaAsincrona(Salida destino, int capacidad) {
+            this.destino = destino;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+            this.escritor = new Thread(this::procesar, "bitacora-escritor");
+            this.escritor.setDaemon(true);
+            this.escritor.start();
+        }
+
+        @Override
+        public void escribir(Nivel nivel, String origen, String mensaje) {
+            if (!activa || !cola.offer(new Object[]{nivel, origen, mensaje})) {
+                descartados.incrementAndGet();
+            }
+        }
+
+        private void procesar() {
+            try {
+                while (activa || !cola.isEmpty()) {
+                    Object[] entrada = cola.poll(200, TimeUnit.MILLISECONDS);
+                    if (entrada != null) {
+                        destino.escribir((Nivel) entrada[0], (String) entrada[1], (String) entrada[2]);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void cerrar() {
+            activa = false;
+            try {
+                escritor.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            destino.cerrar();
+        }
+
+        /**
+         * @return Cantidad de mensajes descartados por cola llena
+         */
+        public long getDescartados() {
+            return descartados.get();
+        }
+    }
+}
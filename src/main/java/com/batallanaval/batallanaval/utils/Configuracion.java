@@ -0,0 +1,178 @@
+package com.batallanaval.batallanaval.utils;
+
+import com.batallanaval.batallanaval.datastructures.MascaraCeldas;
+import com.batallanaval.batallanaval.patterns.strategy.Dificultad;
+import com.batallanaval.batallanaval.patterns.strategy.EstrategiaDisparo;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Instantánea inmutable y tipada de config.properties.
+ *
+ * Se construye una vez por lectura del archivo (desde()); los valores que
+ * faltan o no son válidos toman el de POR_DEFECTO con una advertencia, así
+ * que una instantánea siempre es utilizable. Quien la lee nunca toca el
+ * disco: ConfiguracionViva reemplaza la instantánea entera al recargar.
+ *
+ * @param dificultad Nivel de la máquina
+ * @param parametros Parámetro calibrado de cada nivel ajustable
+ * @param tamanioTablero Lado del tablero (solo se admite MascaraCeldas.LADO)
+ * @param presupuestoIaMillis Tiempo máximo por jugada de las estrategias con presupuesto
+ * @param autoguardado Política de guardado automático
+ * @param eventosPorAutoguardado Eventos importantes entre guardados automáticos
+ * @param renderizado Modo de renderizado de JavaFX (se aplica al arrancar)
+ * @version 1.0
+ */
+public record Configuracion(Dificultad dificultad, Map<Dificultad, Double> parametros, int tamanioTablero,
+                            long presupuestoIaMillis, PoliticaAutoguardado autoguardado,
+                            int eventosPorAutoguardado, ModoRenderizado renderizado) {
+
+    private static final Bitacora LOG = Bitacora.para(Configuracion.class);
+
+    public static final String CLAVE_TAMANIO_TABLERO = "tamanio_tablero";
+    public static final String CLAVE_PRESUPUESTO_IA = "presupuesto_ia_ms";
+    public static final String CLAVE_AUTOGUARDADO = "autoguardado";
+    public static final String CLAVE_EVENTOS_AUTOGUARDADO = "eventos_autoguardado";
+    public static final String CLAVE_RENDERIZADO = "renderizado";
+
+    public static final Configuracion POR_DEFECTO = new Configuracion(Dificultad.NORMAL, Map.of(),
+            MascaraCeldas.LADO, Dificultad.PRESUPUESTO_JUGADA_MILLIS, PoliticaAutoguardado.CADA_N_EVENTOS,
+            2, ModoRenderizado.AUTOMATICO);
+
+    /**
+     * ENUM con las políticas de guardado automático de ObservadorGuardado.
+     */
+    public enum PoliticaAutoguardado {
+        DESACTIVADO, CADA_N_EVENTOS
+    }
+
+    /**
+     * ENUM con los modos de renderizado (propiedad prism.order de JavaFX).
+     */
+    public enum ModoRenderizado {
+        AUTOMATICO(null), HARDWARE("es2,d3d"), SOFTWARE("sw");
+
+        private final String ordenPrism;
+
+        ModoRenderizado(String ordenPrism) {
+            this.ordenPrism = ordenPrism;
+        }
+
+        /**
+         * Fija prism.order si no vino ya en la línea de comandos. Debe llamarse
+         * antes de arrancar JavaFX: cambiarlo después no tiene efecto.
+         */
+        public void aplicar() {
+            if (ordenPrism != null && System.getProperty("prism.order") == null) {
+                System.setProperty("prism.order", ordenPrism);
+            }
+        }
+    }
+
+    public Configuracion {
+        parametros = Map.copyOf(parametros);
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * @return Parámetro del nivel elegido (el de por defecto si no está calibrado)
+     */
+    public double parametroDificultad() {
+        return parametros.getOrDefault(dificultad, dificultad.getParametroPorDefecto());
+    }
+
+    /**
+     * @return Estrategia nueva para la máquina, o null para Caza/Búsqueda
+     */
+    public EstrategiaDisparo crearEstrategia() {
+        return dificultad.crearEstrategia(parametroDificultad(), presupuestoIaMillis);
+    }
+
+    public boolean autoguardadoActivo() {
+        return autoguardado != PoliticaAutoguardado.DESACTIVADO;
+    }
+
+    // ========== CONVERSIÓN ==========
+
+    /**
+     * Interpreta las propiedades del archivo de configuración.
+     *
+     * @param propiedades Propiedades leídas
+     * @return Instantánea con los valores válidos (los demás, por defecto)
+     */
+    public static Configuracion desde(Properties propiedades) {
+        Map<Dificultad, Double> parametros = new EnumMap<>(Dificultad.class);
+        for (Dificultad nivel : Dificultad.values()) {
+            if (nivel.esAjustable() && propiedades.containsKey(nivel.getClaveParametro())) {
+                parametros.put(nivel, nivel.parametro(propiedades));
+            }
+        }
+
+        int tamanio = entero(propiedades, CLAVE_TAMANIO_TABLERO, POR_DEFECTO.tamanioTablero);
+        if (tamanio != MascaraCeldas.LADO) {
+            LOG.advertencia("Solo se admite un tablero de " + MascaraCeldas.LADO + " casillas de lado, no " + tamanio);
+            tamanio = MascaraCeldas.LADO;
+        }
+        long presupuesto = entero(propiedades, CLAVE_PRESUPUESTO_IA, (int) POR_DEFECTO.presupuestoIaMillis);
+        int eventos = entero(propiedades, CLAVE_EVENTOS_AUTOGUARDADO, POR_DEFECTO.eventosPorAutoguardado);
+
+        return new Configuracion(
+                Dificultad.desde(propiedades),
+                parametros,
+                tamanio,
+                presupuesto > 0 ? presupuesto : POR_DEFECTO.presupuestoIaMillis,
+                constante(propiedades, CLAVE_AUTOGUARDADO, PoliticaAutoguardado.class, POR_DEFECTO.autoguardado),
+                eventos > 0 ? eventos : POR_DEFECTO.eventosPorAutoguardado,
+                constante(propiedades, CLAVE_RENDERIZADO, ModoRenderizado.class, POR_DEFECTO.renderizado));
+    }
+
+    /**
+     * Escribe los valores tipados sobre 'base', conservando las demás claves
+     * (sonido, volumen...).
+     *
+     * @param base Propiedades de partida (no se modifican)
+     * @return Copia con los valores de esta instantánea
+     */
+    public Properties aPropiedades(Properties base) {
+        Properties propiedades = new Properties();
+        propiedades.putAll(base);
+        propiedades.setProperty(Dificultad.CLAVE, dificultad.name());
+        parametros.forEach((nivel, valor) -> propiedades.setProperty(nivel.getClaveParametro(), String.valueOf(valor)));
+        propiedades.setProperty(CLAVE_TAMANIO_TABLERO, String.valueOf(tamanioTablero));
+        propiedades.setProperty(CLAVE_PRESUPUESTO_IA, String.valueOf(presupuestoIaMillis));
+        propiedades.setProperty(CLAVE_AUTOGUARDADO, autoguardado.name());
+        propiedades.setProperty(CLAVE_EVENTOS_AUTOGUARDADO, String.valueOf(eventosPorAutoguardado));
+        propiedades.setProperty(CLAVE_RENDERIZADO, renderizado.name());
+        return propiedades;
+    }
+
+    private static int entero(Properties propiedades, String clave, int porDefecto) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            LOG.advertencia("Valor no válido para " + clave + ": '" + valor + "'");
+            return porDefecto;
+        }
+    }
+
+    private static <E extends Enum<E>> E constante(Properties propiedades, String clave, Class<E> tipo, E porDefecto) {
+        String valor = propiedades.getProperty(clave);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.advertencia("Valor no válido para " + clave + ": '" + valor + "'");
+            return porDefecto;
+        }
+    }
+}
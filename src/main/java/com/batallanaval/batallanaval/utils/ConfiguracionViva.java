@@ -0,0 +1,189 @@
+package com.batallanaval.batallanaval.utils;
+
+import com.batallanaval.batallanaval.exceptions.JuegoGuardadoException;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Configuración vigente del juego, recargada en caliente.
+ *
+ * La configuración se lee una vez al crear el objeto y queda en una
+ * AtomicReference: actual() es una lectura volátil, sin disco ni candados,
+ * apta para rutas calientes. vigilar() arranca un hilo daemon con un
+ * WatchService sobre el directorio de juegos; cuando config.properties
+ * cambia, lo vuelve a leer, construye una instantánea nueva y la reemplaza
+ * de una vez, así que nadie ve una configuración a medio actualizar. Si el
+ * archivo no se puede leer se conserva la instantánea anterior.
+ *
+ * Quien necesite reaccionar (p. ej. cambiar de estrategia en la próxima
+ * partida) se suscribe con agregarOyente(); los oyentes corren en el hilo de
+ * vigilancia.
+ *
+ * @version 1.0
+ */
+public final class ConfiguracionViva implements AutoCloseable {
+    private static final Bitacora LOG = Bitacora.para(ConfiguracionViva.class);
+
+    /** Espera tras el primer aviso para juntar las escrituras de un mismo guardado. */
+    private static final long ESPERA_RAFAGA_MILLIS = 100;
+
+    private static final class Contenedor {
+        static final ConfiguracionViva GLOBAL = new ConfiguracionViva(new ArchivoManager(),
+                ArchivoManager.getArchivoConfiguracion());
+    }
+
+    private final ArchivoManager archivoManager;
+    private final Path archivo;
+    private final AtomicReference<Configuracion> actual;
+    private final List<Consumer<Configuracion>> oyentes = new CopyOnWriteArrayList<>();
+    private WatchService vigilante;
+    private Thread hilo;
+
+    /**
+     * Lee la configuración una vez.
+     *
+     * @param archivoManager Lector de config.properties
+     * @param archivo Ruta del archivo a vigilar
+     */
+    public ConfiguracionViva(ArchivoManager archivoManager, Path archivo) {
+        this.archivoManager = archivoManager;
+        this.archivo = archivo.toAbsolutePath();
+        this.actual = new AtomicReference<>(leer(Configuracion.POR_DEFECTO));
+    }
+
+    /**
+     * @return Configuración compartida por toda la aplicación
+     */
+    public static ConfiguracionViva global() {
+        return Contenedor.GLOBAL;
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * @return Instantánea vigente (lectura volátil, sin disco)
+     */
+    public Configuracion actual() {
+        return actual.get();
+    }
+
+    /**
+     * @param oyente Recibe cada instantánea nueva tras una recarga
+     */
+    public void agregarOyente(Consumer<Configuracion> oyente) {
+        oyentes.add(oyente);
+    }
+
+    public void quitarOyente(Consumer<Configuracion> oyente) {
+        oyentes.remove(oyente);
+    }
+
+    // ========== RECARGA ==========
+
+    /**
+     * Vuelve a leer el archivo y, si cambió algo, reemplaza la instantánea y
+     * avisa a los oyentes.
+     *
+     * @return Instantánea vigente tras la recarga
+     */
+    public Configuracion recargar() {
+        Configuracion anterior = actual.get();
+        Configuracion nueva = leer(anterior);
+        if (nueva.equals(anterior) || !actual.compareAndSet(anterior, nueva)) {
+            return actual.get();
+        }
+        LOG.info("⚙️ Configuración recargada: " + nueva);
+        for (Consumer<Configuracion> oyente : oyentes) {
+            try {
+                oyente.accept(nueva);
+            } catch (RuntimeException e) {
+                LOG.error("Error en un oyente de la configuración: " + e.getMessage());
+            }
+        }
+        return nueva;
+    }
+
+    private Configuracion leer(Configuracion siFalla) {
+        try {
+            return Configuracion.desde(archivoManager.cargarConfiguracion());
+        } catch (JuegoGuardadoException e) {
+            LOG.advertencia("No se pudo leer la configuración, se conserva la anterior: " + e.getMessage());
+            return siFalla;
+        }
+    }
+
+    /**
+     * Arranca la vigilancia del archivo (una sola vez; las llamadas siguientes no hacen nada).
+     */
+    public synchronized void vigilar() {
+        if (hilo != null) {
+            return;
+        }
+        try {
+            Path directorio = archivo.getParent();
+            Files.createDirectories(directorio);
+            vigilante = FileSystems.getDefault().newWatchService();
+            directorio.register(vigilante, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            LOG.advertencia("No se puede vigilar la configuración: " + e.getMessage());
+            return;
+        }
+        hilo = new Thread(this::bucleVigilancia, "configuracion");
+        hilo.setDaemon(true);
+        hilo.start();
+        LOG.info("👁️ Vigilando " + archivo);
+    }
+
+    private void bucleVigilancia() {
+        Path nombre = archivo.getFileName();
+        try {
+            while (true) {
+                WatchKey clave = vigilante.take();
+                boolean cambio = false;
+                for (WatchEvent<?> evento : clave.pollEvents()) {
+                    cambio |= nombre.equals(evento.context());
+                }
+                clave.reset();
+                if (cambio) {
+                    // Un guardado produce varios avisos (truncar, escribir): se juntan
+                    Thread.sleep(ESPERA_RAFAGA_MILLIS);
+                    WatchKey resto = vigilante.poll();
+                    if (resto != null) {
+                        resto.pollEvents();
+                        resto.reset();
+                    }
+                    recargar();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Cierre normal
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (hilo == null) {
+            return;
+        }
+        try {
+            vigilante.close();
+        } catch (IOException e) {
+            LOG.advertencia("Error al cerrar la vigilancia: " + e.getMessage());
+        }
+        hilo.interrupt();
+        hilo = null;
+    }
+}
@@ -0,0 +1,150 @@
+package com.batallanaval.batallanaval.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Marca de agua de los procesos incrementales sobre los juegos archivados
+ * (analítica, ratings, libro de aperturas): la fecha de modificación más
+ * reciente ya procesada y los nombres de los juegos con exactamente esa fecha.
+ *
+ * Con solo la fecha, un juego guardado en el mismo instante que la marca (los
+ * sistemas de archivos con fechas gruesas, como FAT, HFS+ o algunos montajes
+ * de red, lo hacen fácil) quedaría fuera para siempre. Por eso un juego es
+ * nuevo si es posterior a la marca, o si tiene la misma fecha y su nombre
+ * todavía no se procesó.
+ *
+ * Es inmutable: nuevos() devuelve los juegos a procesar y la marca que queda
+ * una vez procesados.
+ *
+ * @version 1.0
+ */
+public final class MarcaAguaJuegos {
+
+    /** Marca sin juegos procesados. */
+    public static final MarcaAguaJuegos VACIA = new MarcaAguaJuegos(Long.MIN_VALUE, Set.of());
+
+    private final long millis;
+    private final Set<String> enLaMarca;
+
+    private MarcaAguaJuegos(long millis, Set<String> enLaMarca) {
+        this.millis = millis;
+        this.enLaMarca = enLaMarca;
+    }
+
+    /**
+     * Juegos nuevos respecto de una marca y marca resultante de procesarlos.
+     *
+     * @param juegos Juegos a procesar, en el orden del listado
+     * @param siguiente Marca una vez procesados
+     */
+    public record Lote(List<Path> juegos, MarcaAguaJuegos siguiente) {
+
+        public boolean estaVacio() {
+            return juegos.isEmpty();
+        }
+    }
+
+    // ========== CONSULTA ==========
+
+    /**
+     * Separa los juegos todavía no procesados. Los que desaparecen entre el
+     * listado y la consulta de su fecha se ignoran.
+     *
+     * @param juegos Juegos archivados (ArchivoManager.listarJuegosGuardados())
+     * @return Juegos nuevos y la marca que queda al procesarlos
+     */
+    public Lote nuevos(List<Path> juegos) {
+        List<Path> nuevos = new ArrayList<>();
+        long[] fechas = new long[juegos.size()];
+        long maxima = millis;
+
+        for (Path juego : juegos) {
+            long modificado;
+            try {
+                modificado = Files.getLastModifiedTime(juego).toMillis();
+            } catch (IOException e) {
+                continue;
+            }
+            if (modificado < millis
+                    || (modificado == millis && enLaMarca.contains(juego.getFileName().toString()))) {
+                continue;
+            }
+            fechas[nuevos.size()] = modificado;
+            nuevos.add(juego);
+            maxima = Math.max(maxima, modificado);
+        }
+        if (nuevos.isEmpty()) {
+            return new Lote(List.of(), this);
+        }
+
+        Set<String> siguientes = maxima == millis ? new HashSet<>(enLaMarca) : new HashSet<>();
+        for (int i = 0; i < nuevos.size(); i++) {
+            if (fechas[i] == maxima) {
+                siguientes.add(nuevos.get(i).getFileName().toString());
+            }
+        }
+        return new Lote(nuevos, new MarcaAguaJuegos(maxima, Set.copyOf(siguientes)));
+    }
+
+    /**
+     * Combina dos marcas del mismo proceso (actualizaciones concurrentes):
+     * queda la más reciente o, si tienen la misma fecha, la unión de sus nombres.
+     */
+    public MarcaAguaJuegos unir(MarcaAguaJuegos otra) {
+        if (otra.millis != millis) {
+            return otra.millis > millis ? otra : this;
+        }
+        Set<String> union = new HashSet<>(enLaMarca);
+        union.addAll(otra.enLaMarca);
+        return new MarcaAguaJuegos(millis, Set.copyOf(union));
+    }
+
+    /**
+     * @return Fecha de modificación más reciente procesada, en milisegundos (Long.MIN_VALUE si ninguna)
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    // ========== PERSISTENCIA ==========
+
+    /**
+     * Formato: millis (long), cantidad (int), cantidad × nombre (UTF).
+     */
+    public void escribir(DataOutputStream salida) throws IOException {
+        salida.writeLong(millis);
+        salida.writeInt(enLaMarca.size());
+        for (String nombre : enLaMarca) {
+            salida.writeUTF(nombre);
+        }
+    }
+
+    /**
+     * @throws IOException si la marca está truncada o dañada
+     */
+    public static MarcaAguaJuegos leer(DataInputStream entrada) throws IOException {
+        long millis = entrada.readLong();
+        int cantidad = entrada.readInt();
+        if (cantidad < 0) {
+            throw new IOException("Marca de agua dañada: " + cantidad + " nombres");
+        }
+        Set<String> nombres = new HashSet<>();
+        for (int i = 0; i < cantidad; i++) {
+            nombres.add(entrada.readUTF());
+        }
+        return new MarcaAguaJuegos(millis, Set.copyOf(nombres));
+    }
+
+    @Override
+    public String toString() {
+        return "MarcaAguaJuegos{millis=" + millis + ", enLaMarca=" + enLaMarca.size() + "}";
+    }
+}
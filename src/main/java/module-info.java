@@ -3,6 +3,14 @@ module com.batallanaval.batallanaval {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics; // Si se usa alguna clase de JavaFX Graphics
+    requires java.management; // Métricas expuestas por JMX
+    requires jdk.jfr;         // Eventos propios de Java Flight Recorder
+
+    // El MXBean de métricas debe ser visible para el servidor JMX
+    exports com.batallanaval.batallanaval.metricas to java.management;
+
+    // Los eventos JFR deben ser accesibles para el grabador
+    exports com.batallanaval.batallanaval.eventos to jdk.jfr;
 
     // DEBES ABRIR el paquete que contiene la clase BatallaNavalApp (para Launcher)
     opens com.batallanaval.batallanaval to javafx.fxml, javafx.graphics;
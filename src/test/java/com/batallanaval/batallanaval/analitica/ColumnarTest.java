@@ -0,0 +1,131 @@
+package com.batallanaval.batallanaval.analitica;
+
+import com.batallanaval.batallanaval.analitica.ExportadorColumnar.Columna;
+import com.batallanaval.batallanaval.model.Movimiento.TipoResultado;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ExportadorColumnar y LectorColumnar juntos: lo que se escribe se lee igual
+ * y el filtro salta los bloques que no coinciden.
+ */
+class ColumnarTest {
+
+    private static final int AGUAS = ExportadorColumnar.FILAS_POR_BLOQUE + 904; // Un bloque lleno y uno parcial
+    private static final int TOCADOS = 300;
+    private static final int HUNDIDOS = 17;
+
+    @TempDir
+    Path directorio;
+
+    /**
+     * Exporta disparos con valores conocidos.
+     *
+     * @return Filas escritas, indexadas por Columna.ordinal()
+     */
+    private List<long[]> exportar(Path archivo) throws IOException {
+        List<long[]> escritas = new ArrayList<>();
+        SplittableRandom aleatorio = new SplittableRandom(50);
+        long marca = 1_700_000_000_000L;
+        try (ExportadorColumnar exportador = new ExportadorColumnar(archivo)) {
+            int partida = exportador.iniciarPartida();
+            int turno = 0;
+            int[] restantes = {AGUAS, TOCADOS, HUNDIDOS};
+            TipoResultado[] resultados = {TipoResultado.AGUA, TipoResultado.TOCADO, TipoResultado.HUNDIDO};
+            while (restantes[0] + restantes[1] + restantes[2] > 0) {
+                int tipo = aleatorio.nextInt(3);
+                if (restantes[tipo] == 0) {
+                    continue;
+                }
+                restantes[tipo]--;
+                if (turno == 150) {
+                    partida = exportador.iniciarPartida();
+                    turno = 0;
+                }
+                int fila = aleatorio.nextInt(10);
+                int columna = aleatorio.nextInt(10);
+                boolean humano = aleatorio.nextBoolean();
+                marca += aleatorio.nextInt(5000);
+                exportador.agregar(fila, columna, resultados[tipo], humano, marca);
+                escritas.add(new long[]{partida, turno++, humano ? 1 : 0, fila, columna,
+                        resultados[tipo].ordinal(), marca});
+            }
+            exportador.terminar();
+        }
+        return escritas;
+    }
+
+    private static List<long[]> ordenadas(List<long[]> filas) {
+        List<long[]> copia = new ArrayList<>(filas);
+        copia.sort(Comparator.<long[]>comparingLong(f -> f[Columna.PARTIDA.ordinal()])
+                .thenComparingLong(f -> f[Columna.TURNO.ordinal()]));
+        return copia;
+    }
+
+    @Test
+    void lasFilasSeLeenComoSeEscribieron() throws IOException {
+        Path archivo = directorio.resolve(ExportadorColumnar.ARCHIVO);
+        List<long[]> escritas = exportar(archivo);
+
+        List<long[]> leidas = new ArrayList<>();
+        LectorColumnar.Escaneo escaneo = LectorColumnar.escanear(archivo, Columna.PARTIDA,
+                Long.MIN_VALUE, Long.MAX_VALUE, fila -> leidas.add(fila.clone()));
+
+        assertEquals(escritas.size(), escaneo.filas());
+        assertEquals(0, escaneo.bloquesSaltados());
+        List<long[]> esperadas = ordenadas(escritas);
+        List<long[]> obtenidas = ordenadas(leidas);
+        for (int i = 0; i < esperadas.size(); i++) {
+            assertArrayEquals(esperadas.get(i), obtenidas.get(i), "fila " + i);
+        }
+    }
+
+    @Test
+    void elFiltroSaltaLosBloquesDeOtrosResultados() throws IOException {
+        Path archivo = directorio.resolve(ExportadorColumnar.ARCHIVO);
+        exportar(archivo);
+        long hundido = TipoResultado.HUNDIDO.ordinal();
+
+        long[] contados = new long[1];
+        LectorColumnar.Escaneo escaneo = LectorColumnar.escanear(archivo, Columna.RESULTADO,
+                hundido, hundido, fila -> {
+                    assertEquals(hundido, fila[Columna.RESULTADO.ordinal()]);
+                    contados[0]++;
+                });
+
+        // Un bloque por resultado: AGUA llena uno y deja otro parcial, TOCADO y HUNDIDO uno cada uno
+        assertEquals(HUNDIDOS, escaneo.filas());
+        assertEquals(HUNDIDOS, contados[0]);
+        assertEquals(1, escaneo.bloquesLeidos());
+        assertEquals(3, escaneo.bloquesSaltados());
+    }
+
+    @Test
+    void rechazaFilasPorBloqueFueraDeRango() throws IOException {
+        Path archivo = directorio.resolve(ExportadorColumnar.ARCHIVO);
+        exportar(archivo);
+        byte[] bytes = Files.readAllBytes(archivo);
+
+        for (int filasPorBloque : new int[]{0, -1, ExportadorColumnar.FILAS_POR_BLOQUE + 1, Integer.MAX_VALUE}) {
+            byte[] corrupto = Arrays.copyOf(bytes, bytes.length);
+            ByteBuffer.wrap(corrupto).putInt(8, filasPorBloque); // Tras MAGICO y VERSION
+            Path copia = Files.write(directorio.resolve("corrupto.bncol"), corrupto);
+            assertThrows(IOException.class, () -> LectorColumnar.escanear(copia, Columna.PARTIDA,
+                    Long.MIN_VALUE, Long.MAX_VALUE, fila -> { }));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.batallanaval.batallanaval.datastructures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArbolEstadisticoTest {
+
+    /**
+     * Inserciones y eliminaciones al azar; tras cada una, posición y k-ésimo
+     * deben coincidir con una lista ordenada.
+     */
+    @Test
+    void posicionYKesimoCoincidenConUnaListaOrdenada() {
+        ArbolEstadistico<Integer> arbol = new ArbolEstadistico<>(Comparator.naturalOrder());
+        List<Integer> ordenada = new ArrayList<>();
+        Random aleatorio = new Random(44);
+
+        for (int paso = 0; paso < 2000; paso++) {
+            int valor = aleatorio.nextInt(500);
+            int indice = Collections.binarySearch(ordenada, valor);
+            if (aleatorio.nextInt(3) == 0) {
+                assertEquals(indice >= 0, arbol.eliminar(valor));
+                if (indice >= 0) {
+                    ordenada.remove(indice);
+                }
+            } else {
+                assertEquals(indice < 0, arbol.insertar(valor));
+                if (indice < 0) {
+                    ordenada.add(-indice - 1, valor);
+                }
+            }
+
+            assertEquals(ordenada.size(), arbol.tamanio());
+            if (paso % 50 == 0) {
+                for (int k = 0; k < ordenada.size(); k++) {
+                    assertEquals(ordenada.get(k), arbol.kesimo(k));
+                    assertEquals(k, arbol.posicion(ordenada.get(k)));
+                }
+            }
+        }
+        assertEquals(ordenada.subList(0, Math.min(10, ordenada.size())), arbol.primeros(10));
+    }
+
+    @Test
+    void laPosicionDeUnAusenteCuentaLosMenores() {
+        ArbolEstadistico<Integer> arbol = new ArbolEstadistico<>(Comparator.naturalOrder());
+        for (int valor : new int[]{10, 20, 30, 40}) {
+            arbol.insertar(valor);
+        }
+        assertEquals(0, arbol.posicion(5));
+        assertEquals(2, arbol.posicion(25));
+        assertEquals(4, arbol.posicion(99));
+        assertFalse(arbol.contiene(25));
+        assertTrue(arbol.contiene(30));
+    }
+
+    @Test
+    void kesimoFueraDeRangoFalla() {
+        ArbolEstadistico<Integer> arbol = new ArbolEstadistico<>(Comparator.naturalOrder());
+        arbol.insertar(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> arbol.kesimo(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> arbol.kesimo(-1));
+    }
+}
@@ -0,0 +1,68 @@
+package com.batallanaval.batallanaval.servidor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColaEmparejamientoTest {
+
+    private static final long ESPERA_MAXIMA_MILLIS = 3000;
+
+    @Test
+    void emparejaAlLlegarDentroDeLaVentanaInicial() {
+        List<String> parejas = new CopyOnWriteArrayList<>();
+        try (ColaEmparejamiento<String> cola = new ColaEmparejamiento<>(
+                (a, b) -> parejas.add(a + "-" + b), 100, 0, 100)) {
+            cola.encolar("primero", 1500);
+            ColaEmparejamiento.Solicitud<String> segundo = cola.encolar("segundo", 1580);
+
+            assertFalse(segundo.estaEsperando());
+            assertEquals(List.of("primero-segundo"), parejas);
+            assertEquals(0, cola.getEnEspera());
+        }
+    }
+
+    @Test
+    void elRevisorNoSeDetieneEnUnaCabezaSinRival() throws InterruptedException {
+        List<String> parejas = new CopyOnWriteArrayList<>();
+        try (ColaEmparejamiento<String> cola = new ColaEmparejamiento<>(
+                (a, b) -> parejas.add(a + "-" + b), 0, 1000, 20)) {
+            // Cada cubeta tiene en la cabeza a alguien que nunca tendrá rival...
+            cola.encolar("aislado-bajo", 1000);
+            cola.encolar("aislado-alto", 1099);
+            // ...y detrás, dos jugadores de cubetas vecinas que se alcanzan al ensanchar la ventana
+            ColaEmparejamiento.Solicitud<String> b = cola.encolar("b", 1040);
+            ColaEmparejamiento.Solicitud<String> c = cola.encolar("c", 1055);
+            assertTrue(b.estaEsperando() && c.estaEsperando());
+
+            long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ESPERA_MAXIMA_MILLIS);
+            while (parejas.isEmpty() && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(List.of("b-c"), parejas);
+            assertEquals(2, cola.getEnEspera());
+        }
+    }
+
+    @Test
+    void lasCanceladasNoSeEmparejan() {
+        List<String> parejas = new CopyOnWriteArrayList<>();
+        try (ColaEmparejamiento<String> cola = new ColaEmparejamiento<>(
+                (a, b) -> parejas.add(a + "-" + b), 100, 0, 100)) {
+            ColaEmparejamiento.Solicitud<String> cancelada = cola.encolar("cancelada", 1500);
+            assertTrue(cola.cancelar(cancelada));
+            cola.encolar("nuevo", 1500);
+
+            assertTrue(parejas.isEmpty());
+            assertEquals(1, cola.getEnEspera());
+            assertFalse(cola.cancelar(cancelada));
+        }
+    }
+}
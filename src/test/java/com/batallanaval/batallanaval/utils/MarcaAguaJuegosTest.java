@@ -0,0 +1,70 @@
+package com.batallanaval.batallanaval.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarcaAguaJuegosTest {
+
+    private static final long FECHA = 1_700_000_000_000L;
+
+    @TempDir
+    Path directorio;
+
+    private Path juego(String nombre, long millis) throws IOException {
+        Path ruta = Files.writeString(directorio.resolve(nombre), nombre);
+        Files.setLastModifiedTime(ruta, FileTime.fromMillis(millis));
+        return ruta;
+    }
+
+    @Test
+    void unJuegoConLaMismaFechaQueLaMarcaNoSePierde() throws IOException {
+        Path primero = juego("juego_1.ser", FECHA);
+        MarcaAguaJuegos.Lote lote = MarcaAguaJuegos.VACIA.nuevos(List.of(primero));
+        assertEquals(List.of(primero), lote.juegos());
+
+        // Guardado en el mismo tick del sistema de archivos que el anterior
+        Path segundo = juego("juego_2.ser", FECHA);
+        MarcaAguaJuegos.Lote siguiente = lote.siguiente().nuevos(List.of(primero, segundo));
+        assertEquals(List.of(segundo), siguiente.juegos());
+
+        assertTrue(siguiente.siguiente().nuevos(List.of(primero, segundo)).estaVacio());
+    }
+
+    @Test
+    void losJuegosAnterioresALaMarcaNoSeRepiten() throws IOException {
+        Path viejo = juego("juego_1.ser", FECHA - 1000);
+        Path nuevo = juego("juego_2.ser", FECHA);
+        MarcaAguaJuegos marca = MarcaAguaJuegos.VACIA.nuevos(List.of(viejo, nuevo)).siguiente();
+        assertEquals(FECHA, marca.getMillis());
+
+        Path otro = juego("juego_3.ser", FECHA + 1000);
+        assertEquals(List.of(otro), marca.nuevos(List.of(viejo, nuevo, otro)).juegos());
+    }
+
+    @Test
+    void sobreviveAlGuardarYLeer() throws IOException {
+        Path primero = juego("juego_1.ser", FECHA);
+        MarcaAguaJuegos marca = MarcaAguaJuegos.VACIA.nuevos(List.of(primero)).siguiente();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        marca.escribir(new DataOutputStream(bytes));
+        MarcaAguaJuegos leida = MarcaAguaJuegos.leer(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        Path segundo = juego("juego_2.ser", FECHA);
+        assertEquals(List.of(segundo), leida.nuevos(List.of(primero, segundo)).juegos());
+    }
+}